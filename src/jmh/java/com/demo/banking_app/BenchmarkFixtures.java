@@ -0,0 +1,116 @@
+package com.demo.banking_app;
+
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.AccountType;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.PhoneNumber;
+import com.demo.banking_app.domain.model.Version;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Shared fixtures for the benchmarks: domain accounts built in memory, and an application
+ * context on an in-memory H2 database for the persistence paths.
+ */
+public final class BenchmarkFixtures {
+
+	private static final String[] FIRST_NAMES = {"James", "Maria", "Wei", "Amara", "Lukas", "Sofia", "Kwame",
+			"Yuki", "Olga", "Mateo", "Aisha", "Noah", "Ingrid", "Ravi", "Chloe", "Tomasz"};
+	private static final String[] LAST_NAMES = {"Okafor", "Schmidt", "Nakamura", "Fernandes", "Kowalski", "Dubois",
+			"Mensah", "Andersson", "Patel", "Rossi", "Novak", "Haddad", "O'Brien", "Lindqvist", "Moreau", "Tanaka"};
+
+	private BenchmarkFixtures() {
+	}
+
+	public static String holderName(long sequence) {
+		return FIRST_NAMES[(int) (sequence % FIRST_NAMES.length)] + " "
+				+ LAST_NAMES[(int) ((sequence / FIRST_NAMES.length) % LAST_NAMES.length)] + " " + sequence;
+	}
+
+	public static Account account(long sequence, BigDecimal balance) {
+		LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+		return Account.builder()
+				.id(AccountId.of(sequence))
+				.accountNumber(AccountNumber.fromSequence(sequence))
+				.holderName(AccountHolderName.of(holderName(sequence)))
+				.email(Email.of("holder" + sequence + "@example.com"))
+				.phoneNumber(PhoneNumber.of("+1555" + sequence))
+				.balance(Money.of(balance))
+				.type(AccountType.CHECKING)
+				.status(AccountStatus.ACTIVE)
+				.version(Version.of(7L))
+				.createdAt(createdAt)
+				.updatedAt(createdAt)
+				.build();
+	}
+
+	/**
+	 * Starts the application without a web server on a private in-memory H2 database.
+	 * Extra properties override the defaults, e.g. to select an adapter.
+	 */
+	public static ConfigurableApplicationContext startApplication(Map<String, Object> overrides) {
+		return startApplication(overrides, WebApplicationType.NONE);
+	}
+
+	/**
+	 * Same as {@link #startApplication(Map)}, optionally with the embedded server on a random port.
+	 */
+	public static ConfigurableApplicationContext startApplication(Map<String, Object> overrides, WebApplicationType webType) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+		properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+		properties.put("spring.datasource.username", "sa");
+		properties.put("spring.datasource.password", "");
+		properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+		properties.put("spring.jpa.show-sql", "false");
+		properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+		properties.put("spring.flyway.enabled", "false");
+		properties.put("logging.level.root", "WARN");
+		properties.put("server.port", "0");
+		properties.putAll(overrides);
+		return new SpringApplicationBuilder(BankingAppApplication.class)
+				.web(webType)
+				.properties(properties)
+				.run();
+	}
+
+	/**
+	 * Inserts accounts with sequences 1..count directly, far faster than going through the
+	 * use case one transaction at a time.
+	 */
+	public static void seedAccounts(JdbcTemplate jdbcTemplate, int count, BigDecimal balance) {
+		Timestamp now = Timestamp.valueOf(LocalDateTime.of(2026, 1, 1, 0, 0));
+		List<Long> sequences = LongStream.rangeClosed(1, count).boxed().toList();
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO accounts (account_number, account_number_hash, account_holder_name, email, email_hash, "
+						+ "balance, account_type, status, version, created_at, updated_at) "
+						+ "VALUES (?, ?, ?, ?, ?, ?, 'CHECKING', 'ACTIVE', 0, ?, ?)",
+				sequences, 1000, (ps, sequence) -> {
+					AccountNumber accountNumber = AccountNumber.fromSequence(sequence);
+					Email email = Email.of("holder" + sequence + "@example.com");
+					ps.setString(1, accountNumber.getValue());
+					ps.setString(2, accountNumber.getHash());
+					ps.setString(3, holderName(sequence));
+					ps.setString(4, email.getValue());
+					ps.setString(5, email.getHash());
+					ps.setBigDecimal(6, balance);
+					ps.setTimestamp(7, now);
+					ps.setTimestamp(8, now);
+				});
+	}
+}
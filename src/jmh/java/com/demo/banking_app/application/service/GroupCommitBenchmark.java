@@ -0,0 +1,57 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads depositing into one account: one transaction per request versus group commits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class GroupCommitBenchmark {
+
+	@Param({"direct", "group-commit"})
+	public String writePath;
+
+	private ConfigurableApplicationContext context;
+	private DepositUseCase depositUseCase;
+	private String accountNumber;
+
+	@Setup
+	public void start() {
+		context = BenchmarkFixtures.startApplication(Map.of("banking.write-path", writePath));
+		BenchmarkFixtures.seedAccounts(context.getBean(JdbcTemplate.class), 1, new BigDecimal("0.00"));
+		depositUseCase = context.getBean(DepositUseCase.class);
+		accountNumber = AccountNumber.fromSequence(1).getValue();
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public DepositResponse depositToOneAccount() {
+		return depositUseCase.deposit(DepositCommand.of(accountNumber, "1.00", "bench", UUID.randomUUID().toString()));
+	}
+}
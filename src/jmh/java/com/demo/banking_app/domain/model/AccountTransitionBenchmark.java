@@ -0,0 +1,55 @@
+package com.demo.banking_app.domain.model;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account transitions. Read gc.alloc.rate.norm for the bytes each deposit allocates;
+ * builderCopyBaseline reproduces the builder copy with a clock read that transitions used
+ * to make.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccountTransitionBenchmark {
+
+	private final Account account = BenchmarkFixtures.account(42, new BigDecimal("1000.00"));
+	private final Money amount = Money.of(new BigDecimal("10.50"));
+	private final LocalDateTime now = LocalDateTime.of(2026, 10, 16, 9, 30);
+
+	@Benchmark
+	public Account deposit() {
+		return account.deposit(amount, now);
+	}
+
+	@Benchmark
+	public Account withdraw() {
+		return account.withdraw(amount, now);
+	}
+
+	@Benchmark
+	public Account builderCopyBaseline() {
+		return Account.builder()
+				.id(account.getId())
+				.accountNumber(account.getAccountNumber())
+				.holderName(account.getHolderName())
+				.email(account.getEmail())
+				.phoneNumber(account.getPhoneNumber())
+				.balance(account.getBalance().add(amount))
+				.type(account.getType())
+				.status(account.getStatus())
+				.version(account.getVersion())
+				.createdAt(account.getCreatedAt())
+				.updatedAt(LocalDateTime.now())
+				.build();
+	}
+}
@@ -0,0 +1,61 @@
+package com.demo.banking_app.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money arithmetic on long minor units, next to the BigDecimal arithmetic it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+	private final Money balance = Money.of(new BigDecimal("1000250.75"));
+	private final Money amount = Money.of(new BigDecimal("250.75"));
+	private final BigDecimal balanceDecimal = new BigDecimal("1000250.75");
+	private final BigDecimal amountDecimal = new BigDecimal("250.75");
+
+	@Benchmark
+	public Money add() {
+		return balance.add(amount);
+	}
+
+	@Benchmark
+	public Money subtract() {
+		return balance.subtract(amount);
+	}
+
+	@Benchmark
+	public boolean isLessThan() {
+		return balance.isLessThan(amount);
+	}
+
+	@Benchmark
+	public Money ofDecimal() {
+		return Money.of(amountDecimal);
+	}
+
+	@Benchmark
+	public BigDecimal toDecimal() {
+		return balance.getAmount();
+	}
+
+	@Benchmark
+	public BigDecimal bigDecimalAddBaseline() {
+		return balanceDecimal.add(amountDecimal).setScale(2, RoundingMode.HALF_EVEN);
+	}
+
+	@Benchmark
+	public boolean bigDecimalCompareBaseline() {
+		return balanceDecimal.compareTo(amountDecimal) < 0;
+	}
+}
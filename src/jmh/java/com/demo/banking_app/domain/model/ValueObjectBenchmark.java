@@ -0,0 +1,40 @@
+package com.demo.banking_app.domain.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value object construction on the request path: email validation and account number
+ * issuing and hashing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValueObjectBenchmark {
+
+	private final String email = "first.last+banking@mail.example.com";
+	private final String accountNumber = "00001234565";
+	private long sequence;
+
+	@Benchmark
+	public Email emailOf() {
+		return Email.of(email);
+	}
+
+	@Benchmark
+	public AccountNumber accountNumberFromSequence() {
+		sequence = sequence == AccountNumber.MAX_SEQUENCE ? 1 : sequence + 1;
+		return AccountNumber.fromSequence(sequence);
+	}
+
+	@Benchmark
+	public AccountNumber accountNumberOf() {
+		return AccountNumber.of(accountNumber);
+	}
+}
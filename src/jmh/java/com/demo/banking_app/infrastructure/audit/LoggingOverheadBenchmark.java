@@ -0,0 +1,89 @@
+package com.demo.banking_app.infrastructure.audit;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deposit latency distribution under concurrent load with the previous logging setup (SQL
+ * echoed and formatted, every diagnostic line at INFO, no audit channel) versus the audit
+ * pipeline with sampled diagnostics. Compare the p0.99 rows of the two {@code logging} values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(32)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+public class LoggingOverheadBenchmark {
+
+	private static final int ACCOUNTS = 10_000;
+
+	@Param({"legacy", "pipeline"})
+	public String logging;
+
+	private ConfigurableApplicationContext context;
+	private DepositUseCase depositUseCase;
+	private String[] accountNumbers;
+	private Path auditDirectory;
+	private final AtomicLong keys = new AtomicLong();
+
+	@Setup
+	public void start() throws IOException {
+		auditDirectory = Files.createTempDirectory("bench-audit");
+		Map<String, Object> overrides = "legacy".equals(logging)
+				? Map.of("logging.level.root", "INFO",
+						"spring.jpa.show-sql", "true",
+						"spring.jpa.properties.hibernate.format_sql", "true",
+						"banking.logging.sample-rate.default", "1.0",
+						"banking.audit.enabled", "false")
+				: Map.of("logging.level.root", "INFO",
+						"banking.logging.sample-rate.default", "0.01",
+						"banking.audit.enabled", "true",
+						"banking.audit.directory", auditDirectory.toString());
+		context = BenchmarkFixtures.startApplication(overrides);
+		BenchmarkFixtures.seedAccounts(context.getBean(JdbcTemplate.class), ACCOUNTS, new BigDecimal("0.00"));
+		depositUseCase = context.getBean(DepositUseCase.class);
+		accountNumbers = new String[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accountNumbers[i] = AccountNumber.fromSequence(i + 1).getValue();
+		}
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public DepositResponse deposit() {
+		String accountNumber = accountNumbers[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+		return depositUseCase.deposit(DepositCommand.of(accountNumber, "1.00", "Benchmark deposit",
+				"bench-" + logging + "-" + keys.incrementAndGet()));
+	}
+}
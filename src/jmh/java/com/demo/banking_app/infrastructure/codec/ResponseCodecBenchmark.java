@@ -0,0 +1,60 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.infrastructure.util.JsonUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of stored idempotent responses: JsonUtils against the binary format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseCodecBenchmark {
+
+	private final BinaryDepositResponseCodec binaryCodec = new BinaryDepositResponseCodec();
+	private final JsonDepositResponseCodec jsonCodec = new JsonDepositResponseCodec();
+	private final DepositResponse response = new DepositResponse("00001234565", "DEPOSIT", "250.75", "1000250.75",
+			"Monthly salary", "3f1c9a52-8d7e-4b6a-9c0d-2e4f5a6b7c8d", LocalDateTime.of(2026, 10, 16, 9, 30, 15));
+	private final String json = JsonUtils.serializeDepositResponse(response);
+	private final byte[] jsonBytes = jsonCodec.encode(response);
+	private final byte[] binaryBytes = binaryCodec.encode(response);
+
+	@Benchmark
+	public String jsonSerialize() {
+		return JsonUtils.serializeDepositResponse(response);
+	}
+
+	@Benchmark
+	public DepositResponse jsonParse() {
+		return JsonUtils.parseDepositResponse(json);
+	}
+
+	@Benchmark
+	public byte[] jsonEncode() {
+		return jsonCodec.encode(response);
+	}
+
+	@Benchmark
+	public DepositResponse jsonDecode() {
+		return jsonCodec.decode(jsonBytes);
+	}
+
+	@Benchmark
+	public byte[] binaryEncode() {
+		return binaryCodec.encode(response);
+	}
+
+	@Benchmark
+	public DepositResponse binaryDecode() {
+		return binaryCodec.decode(binaryBytes);
+	}
+}
@@ -0,0 +1,72 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposits from many threads across a set of accounts: the JPA write path versus the in-memory
+ * balance engine with a forced journal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(32)
+public class BalanceEngineBenchmark {
+
+	private static final int ACCOUNTS = 1024;
+
+	@Param({"direct", "engine"})
+	public String writePath;
+
+	private ConfigurableApplicationContext context;
+	private DepositUseCase depositUseCase;
+	private String[] accountNumbers;
+
+	@Setup
+	public void start() throws IOException {
+		String directory = Files.createTempDirectory("engine-bench").toString();
+		context = BenchmarkFixtures.startApplication(Map.of(
+				"banking.write-path", writePath,
+				"banking.engine.directory", directory));
+		BenchmarkFixtures.seedAccounts(context.getBean(JdbcTemplate.class), ACCOUNTS, new BigDecimal("0.00"));
+		depositUseCase = context.getBean(DepositUseCase.class);
+		accountNumbers = new String[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accountNumbers[i] = AccountNumber.fromSequence(i + 1).getValue();
+		}
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public DepositResponse deposit() {
+		String accountNumber = accountNumbers[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+		return depositUseCase.deposit(DepositCommand.of(accountNumber, "1.00", "bench", UUID.randomUUID().toString()));
+	}
+}
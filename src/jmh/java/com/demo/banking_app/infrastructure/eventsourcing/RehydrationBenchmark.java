@@ -0,0 +1,101 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.out.AccountEventStore;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilding one account with a 100k-event stream: folding the whole stream versus starting from
+ * the newest snapshot, for several snapshot intervals. The newest snapshot is a full interval
+ * behind the end of the stream, the slowest case for each interval.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RehydrationBenchmark {
+
+	private static final int EVENTS = 100_000;
+	private static final int BATCH = 5_000;
+
+	// 0 stores no snapshots at all
+	@Param({"0", "100", "1000", "10000"})
+	public int snapshotEvery;
+
+	private ConfigurableApplicationContext context;
+	private AccountEventStore eventStore;
+	private AccountNumber accountNumber;
+
+	@Setup
+	public void start() {
+		context = BenchmarkFixtures.startApplication(Map.of(
+				"banking.write-path", "event-sourced",
+				"banking.event-store.projection.interval-ms", "3600000"));
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		BenchmarkFixtures.seedAccounts(jdbcTemplate, 1, new BigDecimal("0.00"));
+		eventStore = context.getBean(AccountEventStore.class);
+		accountNumber = AccountNumber.fromSequence(1);
+		long accountId = eventStore.load(accountNumber).orElseThrow().getId().getValue();
+		seedStream(jdbcTemplate, accountId);
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public Account rehydrate() {
+		return eventStore.load(accountNumber).orElseThrow();
+	}
+
+	// Opening balance of zero followed by deposits of 1.00, so the balance after event n is n - 1
+	private void seedStream(JdbcTemplate jdbcTemplate, long accountId) {
+		Timestamp at = Timestamp.valueOf(LocalDateTime.of(2026, 1, 1, 0, 0));
+		List<Object[]> events = new ArrayList<>(BATCH);
+		List<Object[]> snapshots = new ArrayList<>();
+		for (long sequence = 1; sequence <= EVENTS; sequence++) {
+			events.add(new Object[]{accountId, sequence, sequence == 1 ? JdbcAccountEventStore.OPENING_BALANCE : "DEPOSIT",
+					sequence == 1 ? BigDecimal.ZERO : BigDecimal.ONE, "USD", null, "bench", at});
+			if (snapshotEvery > 0 && sequence % snapshotEvery == 0 && sequence < EVENTS) {
+				snapshots.add(new Object[]{accountId, sequence, BigDecimal.valueOf(sequence - 1), "USD", "ACTIVE", at});
+			}
+			if (events.size() == BATCH) {
+				insertEvents(jdbcTemplate, events);
+			}
+		}
+		insertEvents(jdbcTemplate, events);
+		if (!snapshots.isEmpty()) {
+			jdbcTemplate.batchUpdate("INSERT INTO account_snapshots (account_id, sequence_number, balance, currency, status, created_at) "
+					+ "VALUES (?, ?, ?, ?, ?, ?)", snapshots);
+		}
+	}
+
+	private static void insertEvents(JdbcTemplate jdbcTemplate, List<Object[]> events) {
+		if (events.isEmpty()) {
+			return;
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO account_events (account_id, sequence_number, event_type, amount, currency, "
+				+ "idempotency_key, description, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", events);
+		events.clear();
+	}
+}
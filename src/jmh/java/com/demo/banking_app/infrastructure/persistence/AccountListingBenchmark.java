@@ -0,0 +1,79 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Walking every account: loading the whole table at once, keyset pages, and the detached
+ * stream. gc.alloc.rate.norm shows what each approach allocates per full walk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountListingBenchmark {
+
+	private static final int ACCOUNTS = 20_000;
+	private static final int PAGE_SIZE = 500;
+
+	private ConfigurableApplicationContext context;
+	private AccountRepository store;
+	private AccountJpaRepository jpaRepository;
+	private AccountMapper mapper;
+
+	@Setup
+	public void start() {
+		context = BenchmarkFixtures.startApplication(Map.of());
+		BenchmarkFixtures.seedAccounts(context.getBean(JdbcTemplate.class), ACCOUNTS, new BigDecimal("100.00"));
+		store = context.getBean("accountStore", AccountRepository.class);
+		jpaRepository = context.getBean(AccountJpaRepository.class);
+		mapper = context.getBean(AccountMapper.class);
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public long loadAllBaseline() {
+		return jpaRepository.findAll().stream().map(mapper::toDomain).count();
+	}
+
+	@Benchmark
+	public long keysetPages() {
+		long count = 0;
+		long afterId = 0;
+		List<Account> page;
+		do {
+			page = store.findPage(afterId, PAGE_SIZE);
+			count += page.size();
+			if (!page.isEmpty()) {
+				afterId = page.get(page.size() - 1).getId().getValue();
+			}
+		} while (page.size() == PAGE_SIZE);
+		return count;
+	}
+
+	@Benchmark
+	public long stream() {
+		long[] count = {0};
+		store.forEachAfter(0, account -> count[0]++);
+		return count[0];
+	}
+}
@@ -0,0 +1,33 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.domain.model.Account;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AccountMapperBenchmark {
+
+	private final AccountMapper mapper = new AccountMapper();
+	private final Account account = BenchmarkFixtures.account(42, new BigDecimal("1000.00"));
+	private final AccountEntity entity = mapper.toEntity(account);
+
+	@Benchmark
+	public Account toDomain() {
+		return mapper.toDomain(entity);
+	}
+
+	@Benchmark
+	public AccountEntity toEntity() {
+		return mapper.toEntity(account);
+	}
+}
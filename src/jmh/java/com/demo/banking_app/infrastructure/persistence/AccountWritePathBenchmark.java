@@ -0,0 +1,83 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-account deposit against H2: the conditional UPDATE used by the money paths versus
+ * loading the account, applying the transition and saving it back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccountWritePathBenchmark {
+
+	private static final int ACCOUNTS = 1_000;
+
+	private ConfigurableApplicationContext context;
+	private AccountRepository store;
+	private TimeSource timeSource;
+	private TransactionTemplate transaction;
+	private AccountNumber[] accountNumbers;
+	private final Money amount = Money.of(new BigDecimal("1.00"));
+	private int next;
+
+	@Setup
+	public void start() {
+		context = BenchmarkFixtures.startApplication(Map.of());
+		BenchmarkFixtures.seedAccounts(context.getBean(JdbcTemplate.class), ACCOUNTS, new BigDecimal("0.00"));
+		store = context.getBean("accountStore", AccountRepository.class);
+		timeSource = context.getBean(TimeSource.class);
+		transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		accountNumbers = new AccountNumber[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++) {
+			accountNumbers[i] = AccountNumber.fromSequence(i + 1);
+		}
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public AccountBalance conditionalUpdate() {
+		AccountNumber accountNumber = nextAccount();
+		return transaction.execute(status -> store.deposit(accountNumber, amount, timeSource.now()).orElseThrow());
+	}
+
+	@Benchmark
+	public Account readModifySave() {
+		AccountNumber accountNumber = nextAccount();
+		return transaction.execute(status -> {
+			Account account = store.findByAccountNumber(accountNumber).orElseThrow();
+			return store.save(account.deposit(amount, timeSource.now()));
+		});
+	}
+
+	private AccountNumber nextAccount() {
+		next = next == ACCOUNTS - 1 ? 0 : next + 1;
+		return accountNumbers[next];
+	}
+}
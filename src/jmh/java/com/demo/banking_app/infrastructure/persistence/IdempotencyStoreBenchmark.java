@@ -0,0 +1,68 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The idempotency round trip of one request (claim, complete, replay lookup) on each store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IdempotencyStoreBenchmark {
+
+	@Param({"jpa", "partitioned"})
+	public String store;
+
+	private ConfigurableApplicationContext context;
+	private IdempotencyRepository repository;
+	private TransactionTemplate transaction;
+	private final Money amount = Money.of(new BigDecimal("25.00"));
+	private final byte[] response = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+	private long sequence;
+
+	@Setup
+	public void start() {
+		context = BenchmarkFixtures.startApplication(Map.of("banking.idempotency.store", store));
+		repository = context.getBean("idempotencyStore", IdempotencyRepository.class);
+		transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public Optional<IdempotencyKey> claimCompleteAndFind() {
+		String key = "bench-" + store + "-" + sequence++;
+		transaction.executeWithoutResult(status -> {
+			IdempotencyKey claimed = IdempotencyKey.create(key, IdempotencyKey.OperationType.DEPOSIT, "hash", amount,
+					LocalDateTime.now());
+			repository.claim(claimed);
+			repository.complete(claimed.markCompleted(response));
+		});
+		return repository.findByIdempotencyKey(key);
+	}
+}
@@ -0,0 +1,69 @@
+package com.demo.banking_app.infrastructure.search;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.infrastructure.persistence.AccountEntity;
+import com.demo.banking_app.infrastructure.persistence.AccountJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holder-name search for one page of results: the trigram index plus a primary-key fetch,
+ * against the LIKE '%name%' query it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HolderSearchBenchmark {
+
+	private static final int ACCOUNTS = 50_000;
+	private static final int PAGE_SIZE = 20;
+
+	@Param({"Okafor", "Maria Kow", "Tanaka 4999"})
+	public String query;
+
+	private ConfigurableApplicationContext context;
+	private TrigramAccountSearchIndex searchIndex;
+	private AccountRepository store;
+	private AccountJpaRepository jpaRepository;
+
+	@Setup
+	public void start() {
+		context = BenchmarkFixtures.startApplication(Map.of());
+		BenchmarkFixtures.seedAccounts(context.getBean(JdbcTemplate.class), ACCOUNTS, new BigDecimal("100.00"));
+		searchIndex = context.getBean(TrigramAccountSearchIndex.class);
+		searchIndex.refresh();
+		store = context.getBean("accountStore", AccountRepository.class);
+		jpaRepository = context.getBean(AccountJpaRepository.class);
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Account> trigramIndex() {
+		return store.findAllById(searchIndex.search(query, 0, PAGE_SIZE));
+	}
+
+	@Benchmark
+	public List<AccountEntity> likeQueryBaseline() {
+		return jpaRepository.findByAccountHolderNameContaining(query);
+	}
+}
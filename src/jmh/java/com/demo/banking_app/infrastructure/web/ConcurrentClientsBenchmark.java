@@ -0,0 +1,108 @@
+package com.demo.banking_app.infrastructure.web;
+
+import com.demo.banking_app.BenchmarkFixtures;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 2,000 concurrent clients posting deposits over HTTP, once with Tomcat's platform thread
+ * pool and once with virtual threads. Compare throughput, the latency percentiles and the
+ * failure counter between the two values of {@code virtualThreads}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(2000)
+@Warmup(iterations = 1, time = 15)
+@Measurement(iterations = 3, time = 20)
+public class ConcurrentClientsBenchmark {
+
+	private static final int ACCOUNTS = 1_000;
+
+	@Param({"false", "true"})
+	public String virtualThreads;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient client;
+	private URI[] depositUris;
+
+	@Setup
+	public void start() {
+		context = BenchmarkFixtures.startApplication(Map.of("spring.threads.virtual.enabled", virtualThreads),
+				WebApplicationType.SERVLET);
+		BenchmarkFixtures.seedAccounts(context.getBean(JdbcTemplate.class), ACCOUNTS, new BigDecimal("0.00"));
+		String port = context.getEnvironment().getProperty("local.server.port");
+		depositUris = new URI[ACCOUNTS];
+		for (int i = 0; i < ACCOUNTS; i++) {
+			depositUris[i] = URI.create("http://localhost:" + port + "/api/v2/accounts/"
+					+ AccountNumber.fromSequence(i + 1).getValue() + "/deposit");
+		}
+		client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+	}
+
+	@TearDown
+	public void stop() {
+		context.close();
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class Outcomes {
+		public long failures;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			failures = 0;
+		}
+	}
+
+	@Benchmark
+	public int deposit(Outcomes outcomes) throws InterruptedException {
+		URI uri = depositUris[ThreadLocalRandom.current().nextInt(ACCOUNTS)];
+		HttpRequest request = HttpRequest.newBuilder(uri)
+				.timeout(Duration.ofSeconds(30))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1.00,\"description\":\"load test\"}"))
+				.build();
+		try {
+			int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+			if (status != 200) {
+				outcomes.failures++;
+			}
+			return status;
+		} catch (IOException e) {
+			outcomes.failures++;
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.demo.banking_app.application.port.in;
+
+import com.demo.banking_app.application.service.BatchTransactionCommand;
+import com.demo.banking_app.application.service.BatchTransactionResponse;
+
+public interface BatchTransactionUseCase {
+    
+    /**
+     * Applies every item independently and reports each outcome; a rejected item never
+     * prevents the others from being applied.
+     */
+    BatchTransactionResponse execute(BatchTransactionCommand command);
+}
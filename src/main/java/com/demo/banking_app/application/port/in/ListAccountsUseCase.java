@@ -0,0 +1,17 @@
+package com.demo.banking_app.application.port.in;
+
+import com.demo.banking_app.application.service.GetAccountResponse;
+import com.demo.banking_app.application.service.ListAccountsCommand;
+import com.demo.banking_app.application.service.ListAccountsResponse;
+
+import java.util.function.Consumer;
+
+public interface ListAccountsUseCase {
+    ListAccountsResponse listAccounts(ListAccountsCommand command);
+    
+    /**
+     * Hands every account after the command's cursor to the consumer, one at a time.
+     * The page limit is ignored.
+     */
+    void streamAccounts(ListAccountsCommand command, Consumer<GetAccountResponse> consumer);
+}
@@ -0,0 +1,8 @@
+package com.demo.banking_app.application.port.in;
+
+import com.demo.banking_app.application.service.SearchAccountsCommand;
+import com.demo.banking_app.application.service.SearchAccountsResponse;
+
+public interface SearchAccountsUseCase {
+    SearchAccountsResponse searchAccounts(SearchAccountsCommand command);
+}
@@ -0,0 +1,16 @@
+package com.demo.banking_app.application.port.in;
+
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.SubmissionResponse;
+import com.demo.banking_app.application.service.WithdrawCommand;
+
+/**
+ * Accepts deposits and withdrawals for asynchronous processing and reports their progress.
+ */
+public interface SubmitTransactionUseCase {
+    SubmissionResponse submitDeposit(DepositCommand command);
+    
+    SubmissionResponse submitWithdrawal(WithdrawCommand command);
+    
+    SubmissionResponse getSubmission(String submissionId);
+}
@@ -0,0 +1,8 @@
+package com.demo.banking_app.application.port.in;
+
+import com.demo.banking_app.application.service.TransferCommand;
+import com.demo.banking_app.application.service.TransferResponse;
+
+public interface TransferUseCase {
+    TransferResponse transfer(TransferCommand command);
+}
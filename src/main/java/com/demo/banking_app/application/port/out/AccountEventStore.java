@@ -0,0 +1,27 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.LedgerEntry;
+
+import java.util.Optional;
+
+/**
+ * Event-sourced account balances: every movement is appended to the account's event stream, and
+ * the account is rebuilt by folding the stream from its newest snapshot.
+ */
+public interface AccountEventStore {
+    
+    /**
+     * Rebuilds the account from its newest snapshot and the events after it. The returned
+     * account's version is the sequence of its last event, zero while its stream is empty.
+     */
+    Optional<Account> load(AccountNumber accountNumber);
+    
+    /**
+     * Appends the movement as the next event of the account's stream. The stream must still end
+     * at the version the account was loaded with; otherwise throws
+     * {@link org.springframework.dao.OptimisticLockingFailureException}.
+     */
+    void append(Account loaded, LedgerEntry entry);
+}
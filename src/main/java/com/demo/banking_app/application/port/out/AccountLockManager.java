@@ -0,0 +1,23 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.AccountNumber;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+public interface AccountLockManager {
+    
+    /**
+     * Runs the action while holding the in-process lock for the account. Callers take the lock
+     * before starting their transaction and run the transaction inside the action, so threads
+     * queued on the lock do not hold pooled connections. Inside an already active transaction
+     * the lock is held until that transaction completes.
+     */
+    <T> T executeLocked(AccountNumber accountNumber, Supplier<T> action);
+    
+    /**
+     * Runs the action while holding the locks of all given accounts. Locks are always taken in
+     * the same global order, so overlapping multi-account calls cannot deadlock.
+     */
+    <T> T executeLocked(Collection<AccountNumber> accountNumbers, Supplier<T> action);
+}
@@ -0,0 +1,11 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.AccountNumber;
+
+/**
+ * Issues account numbers that are unique across all nodes, so callers never need to probe
+ * for an existing account before using one.
+ */
+public interface AccountNumberGenerator {
+    AccountNumber next();
+}
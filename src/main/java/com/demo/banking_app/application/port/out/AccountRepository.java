@@ -1,21 +1,76 @@
 package com.demo.banking_app.application.port.out;
 
 import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
 import com.demo.banking_app.domain.model.AccountId;
 import com.demo.banking_app.domain.model.AccountNumber;
 import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface AccountRepository {
     Account save(Account account);
     Optional<Account> findById(AccountId id);
     Optional<Account> findByAccountNumber(AccountNumber accountNumber);
     Optional<Account> findByEmail(Email email);
-    List<Account> findAll();
-    List<Account> findByHolderNameContaining(String name);
+    
+    /**
+     * Returns up to {@code limit} accounts with an id greater than {@code afterId}, in id order.
+     */
+    List<Account> findPage(long afterId, int limit);
+    
+    /**
+     * Streams every account with an id greater than {@code afterId}, in id order, without
+     * materializing the result. The consumer runs while the database cursor is open.
+     */
+    void forEachAfter(long afterId, Consumer<Account> consumer);
+    
+    
+    /**
+     * Loads the given accounts in one query, returned in the order of the ids.
+     * Ids without an account are skipped.
+     */
+    List<Account> findAllById(List<AccountId> ids);
+    
+    /**
+     * Loads the given accounts in one query, bypassing any cache. Numbers without an
+     * account are skipped.
+     */
+    List<Account> findAllByAccountNumbers(Collection<AccountNumber> accountNumbers);
+    
     boolean existsByEmail(Email email);
     boolean existsByAccountNumber(AccountNumber accountNumber);
+    
+    /**
+     * Credits an active account in a single conditional update, stamping it with {@code at}.
+     * Returns empty when no active account matches the number.
+     */
+    Optional<AccountBalance> deposit(AccountNumber accountNumber, Money amount, LocalDateTime at);
+    
+    /**
+     * Debits an active account in a single conditional update that also checks the balance,
+     * stamping it with {@code at}. Returns empty when no active account matches or the balance
+     * does not cover the amount.
+     */
+    Optional<AccountBalance> withdraw(AccountNumber accountNumber, Money amount, LocalDateTime at);
+    
+    /**
+     * Writes the balances of the given accounts as one JDBC batch. Each row is checked against
+     * the version the account was loaded with and must still be active; if any row fails the
+     * check, throws {@link com.demo.banking_app.domain.exception.ConcurrentModificationException}.
+     */
+    void updateBalances(List<Account> accounts);
+    
+    /**
+     * Drops any cached copy of the given accounts, for balances written to the store by another
+     * path such as the balance engine's sync or the event projection. Within a transaction the
+     * copies are dropped again when it completes. Does nothing when the repository does not cache.
+     */
+    default void evict(Collection<AccountNumber> accountNumbers) {
+    }
 }
-
@@ -0,0 +1,26 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountId;
+
+import java.util.List;
+
+/**
+ * Holder-name search. Implementations apply changes only once the surrounding transaction
+ * commits, so searches never surface an account that was rolled back.
+ */
+public interface AccountSearchIndex {
+    
+    /**
+     * Adds the account, or replaces the name it is indexed under.
+     */
+    void index(AccountId accountId, AccountHolderName holderName);
+    
+    void remove(AccountId accountId);
+    
+    /**
+     * Returns matching account ids, best match first. Queries of one or two characters
+     * match word prefixes; longer queries match anywhere in the name.
+     */
+    List<AccountId> search(String query, int offset, int limit);
+}
@@ -0,0 +1,15 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.LedgerEntry;
+
+/**
+ * Append-only audit channel for business actions. Records are taken once the surrounding
+ * transaction commits; recording never blocks the caller.
+ */
+public interface AuditLog {
+    
+    void record(LedgerEntry entry);
+    
+    void accountOpened(Account account);
+}
@@ -0,0 +1,20 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+
+/**
+ * Applies deposits and withdrawals to balances held in memory. A movement is durably journaled
+ * before it is returned; the database catches up asynchronously.
+ */
+public interface BalanceEngine {
+    
+    /**
+     * Applies a {@code DEPOSIT} or {@code WITHDRAWAL} under the account's domain rules and returns
+     * the resulting entry. A key already applied for the same request returns the original entry;
+     * for a different request it throws {@code IdempotencyException}.
+     */
+    LedgerEntry apply(LedgerEntry.Type type, AccountNumber accountNumber, Money amount, String idempotencyKey,
+                      String description);
+}
@@ -5,8 +5,25 @@ import com.demo.banking_app.domain.model.IdempotencyKey;
 import java.util.Optional;
 
 public interface IdempotencyRepository {
+    
+    /**
+     * Returns the key unless it has expired. An expired key is treated as absent, even while its
+     * row waits for the purge.
+     */
     Optional<IdempotencyKey> findByIdempotencyKey(String key);
     IdempotencyKey save(IdempotencyKey key);
+    
+    /**
+     * Atomically inserts a pending key, replacing an expired one. Returns false when a live key
+     * exists; if another transaction holds it uncommitted, this waits for that transaction to
+     * finish first.
+     */
+    boolean claim(IdempotencyKey key);
+    
+    /**
+     * Stores the final state of a key claimed in the current transaction.
+     */
+    void complete(IdempotencyKey key);
+    
     void deleteExpiredKeys();
 }
-
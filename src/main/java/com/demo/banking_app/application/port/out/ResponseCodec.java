@@ -0,0 +1,9 @@
+package com.demo.banking_app.application.port.out;
+
+/**
+ * Encodes use case responses for storage alongside their idempotency key.
+ */
+public interface ResponseCodec<T> {
+    byte[] encode(T response);
+    T decode(byte[] data);
+}
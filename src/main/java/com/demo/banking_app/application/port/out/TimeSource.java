@@ -0,0 +1,11 @@
+package com.demo.banking_app.application.port.out;
+
+import java.time.LocalDateTime;
+
+/**
+ * Supplies the timestamps stamped on accounts, so callers never read the system clock
+ * directly and the resolution can be traded for cost in one place.
+ */
+public interface TimeSource {
+    LocalDateTime now();
+}
@@ -0,0 +1,20 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.TransactionSubmission;
+
+import java.util.Optional;
+
+/**
+ * Durable queue of submitted deposits and withdrawals, drained by a background worker.
+ */
+public interface TransactionQueue {
+    
+    /**
+     * Durably stores a new submission. When one with the same idempotency key is already queued,
+     * that one is returned instead. Throws {@code SubmissionQueueFullException} when the queue
+     * has reached its limit.
+     */
+    TransactionSubmission enqueue(TransactionSubmission submission);
+    
+    Optional<TransactionSubmission> findBySubmissionId(String submissionId);
+}
@@ -0,0 +1,21 @@
+package com.demo.banking_app.application.port.out;
+
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.LedgerEntry;
+
+import java.util.List;
+
+/**
+ * Append-only ledger of balance movements. Entries join the caller's transaction, so they
+ * commit exactly when the balance change they describe commits.
+ */
+public interface TransactionRepository {
+    void append(LedgerEntry entry);
+    
+    /**
+     * Appends several entries as one JDBC batch.
+     */
+    void appendAll(List<LedgerEntry> entries);
+    
+    List<LedgerEntry> findByAccountId(AccountId accountId);
+}
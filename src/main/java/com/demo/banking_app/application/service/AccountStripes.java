@@ -0,0 +1,34 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.domain.model.AccountNumber;
+
+/**
+ * Maps accounts onto a power-of-two number of stripes by their number hash. The account lock
+ * manager and the group-commit coalescer both stripe through this, so they spread accounts the
+ * same way.
+ */
+public final class AccountStripes {
+    
+    private final int size;
+    private final int mask;
+    
+    /**
+     * Rounds the requested stripe count up to the next power of two.
+     */
+    public AccountStripes(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+        this.size = Integer.highestOneBit(stripeCount - 1 > 0 ? (stripeCount - 1) << 1 : 1);
+        this.mask = size - 1;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public int indexOf(AccountNumber accountNumber) {
+        int h = accountNumber.getHash().hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,58 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Money;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Value
+public class BatchTransactionCommand {
+    List<Item> items;
+    
+    public static BatchTransactionCommand of(List<Item> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        return new BatchTransactionCommand(List.copyOf(items));
+    }
+    
+    public enum Type {
+        DEPOSIT, WITHDRAWAL
+    }
+    
+    @Value
+    public static class Item {
+        Type type;
+        AccountNumber accountNumber;
+        Money amount;
+        String description;
+        String idempotencyKey;
+        
+        public static Item of(String type, String accountNumber, String amount, String description, String idempotencyKey) {
+            if (type == null) {
+                throw new IllegalArgumentException("Transaction type is required");
+            }
+            return new Item(
+                Type.valueOf(type),
+                AccountNumber.of(accountNumber),
+                Money.of(new BigDecimal(amount)),
+                description,
+                idempotencyKey
+            );
+        }
+        
+        DepositCommand toDepositCommand() {
+            return new DepositCommand(accountNumber, amount, description, idempotencyKey);
+        }
+        
+        WithdrawCommand toWithdrawCommand() {
+            return new WithdrawCommand(accountNumber, amount, description, idempotencyKey);
+        }
+        
+        boolean hasIdempotencyKey() {
+            return idempotencyKey != null && !idempotencyKey.isBlank();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.demo.banking_app.application.service;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Value
+public class BatchTransactionResponse {
+    int applied;
+    int replayed;
+    int rejected;
+    List<ItemResult> results;
+    
+    public static BatchTransactionResponse of(List<ItemResult> results) {
+        int applied = 0;
+        int replayed = 0;
+        int rejected = 0;
+        for (ItemResult result : results) {
+            switch (result.getStatus()) {
+                case APPLIED -> applied++;
+                case REPLAYED -> replayed++;
+                case REJECTED -> rejected++;
+            }
+        }
+        return new BatchTransactionResponse(applied, replayed, rejected, results);
+    }
+    
+    public enum Status {
+        APPLIED, REPLAYED, REJECTED
+    }
+    
+    @Value
+    public static class ItemResult {
+        int index;
+        Status status;
+        String accountNumber;
+        String transactionType;
+        String amount;
+        String newBalance;
+        String idempotencyKey;
+        String errorCode;
+        String message;
+        LocalDateTime timestamp;
+        
+        static ItemResult of(int index, Status status, DepositResponse response) {
+            return new ItemResult(index, status, response.getAccountNumber(), response.getTransactionType(),
+                    response.getAmount(), response.getNewBalance(), response.getIdempotencyKey(), null, null,
+                    response.getTimestamp());
+        }
+        
+        static ItemResult of(int index, Status status, WithdrawResponse response) {
+            return new ItemResult(index, status, response.getAccountNumber(), response.getTransactionType(),
+                    response.getAmount(), response.getNewBalance(), response.getIdempotencyKey(), null, null,
+                    response.getTimestamp());
+        }
+        
+        static ItemResult rejected(int index, BatchTransactionCommand.Item item, String errorCode, String message,
+                                   LocalDateTime at) {
+            return new ItemResult(index, Status.REJECTED, item.getAccountNumber().getValue(), item.getType().name(),
+                    item.getAmount().getAmount().toString(), null, item.getIdempotencyKey(), errorCode, message, at);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.BatchTransactionUseCase;
+import com.demo.banking_app.application.port.out.AccountLockManager;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionRepository;
+import com.demo.banking_app.application.service.BatchTransactionCommand.Item;
+import com.demo.banking_app.application.service.BatchTransactionResponse.ItemResult;
+import com.demo.banking_app.application.service.BatchTransactionResponse.Status;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.DomainException;
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import com.demo.banking_app.domain.exception.InactiveAccountException;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.DepositCompletedEvent;
+import com.demo.banking_app.domain.model.DomainEvent;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.WithdrawalCompletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Applies batches in chunks, one transaction per chunk. Within a chunk the affected accounts
+ * are locked and loaded with a single query, items are applied to the in-memory accounts, and
+ * balances, ledger entries and events are written once per chunk. Items the domain rejects
+ * leave no trace, so they never roll back their neighbours.
+ * <p>
+ * Not available with the balance engine or event-sourced accounts, which would never see a
+ * balance moved here.
+ */
+@Service
+@ConditionalOnExpression("'${banking.write-path:direct}' != 'engine' and '${banking.write-path:direct}' != 'event-sourced'")
+@Slf4j
+public class BatchTransactionService implements BatchTransactionUseCase {
+    
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
+    private final EventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<DepositResponse> depositCodec;
+    private final ResponseCodec<WithdrawResponse> withdrawCodec;
+    private final TimeSource timeSource;
+    private final AuditLog auditLog;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final int maxItems;
+    
+    public BatchTransactionService(
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            AccountLockManager accountLockManager,
+            EventPublisher eventPublisher,
+            IdempotencyService idempotencyService,
+            ResponseCodec<DepositResponse> depositCodec,
+            ResponseCodec<WithdrawResponse> withdrawCodec,
+            TimeSource timeSource,
+            AuditLog auditLog,
+            PlatformTransactionManager transactionManager,
+            @Value("${banking.batch.chunk-size:500}") int chunkSize,
+            @Value("${banking.batch.max-items:10000}") int maxItems) {
+        if (chunkSize <= 0 || maxItems <= 0) {
+            throw new IllegalArgumentException("Batch chunk size and item limit must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountLockManager = accountLockManager;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyService = idempotencyService;
+        this.depositCodec = depositCodec;
+        this.withdrawCodec = withdrawCodec;
+        this.timeSource = timeSource;
+        this.auditLog = auditLog;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+    
+    @Override
+    public BatchTransactionResponse execute(BatchTransactionCommand command) {
+        List<Item> items = command.getItems();
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("Batch cannot contain more than " + maxItems + " items");
+        }
+        log.debug("Processing batch of {} transactions in chunks of {}", items.size(), chunkSize);
+        
+        List<ItemResult> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            int offset = from;
+            List<Item> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            try {
+                List<ItemOutcome> outcomes = applyInOneTransaction(chunk);
+                for (int i = 0; i < outcomes.size(); i++) {
+                    results.add(outcomes.get(i).toItemResult(offset + i, chunk.get(i)));
+                }
+            } catch (ConcurrentModificationException e) {
+                // The chunk rolled back as a whole; resubmitting with the same keys is safe
+                log.warn("Batch chunk at offset {} lost a concurrent update and was rolled back", offset);
+                results.addAll(rejectAll(chunk, offset, "CONCURRENT_MODIFICATION", e.getMessage(), timeSource.now()));
+            } catch (RuntimeException e) {
+                log.error("Batch chunk at offset {} failed and was rolled back", offset, e);
+                results.addAll(rejectAll(chunk, offset, "CHUNK_FAILED", "Items in this chunk were not applied. Please retry.",
+                        timeSource.now()));
+            }
+        }
+        
+        BatchTransactionResponse response = BatchTransactionResponse.of(results);
+        log.debug("Batch finished: {} applied, {} replayed, {} rejected",
+                response.getApplied(), response.getReplayed(), response.getRejected());
+        return response;
+    }
+    
+    /**
+     * Applies the items in order in a single transaction, with one balance write per touched
+     * account. Items the domain rejects are reported individually; a lost concurrent update
+     * rolls back all of them. The accounts are locked before the transaction checks out a
+     * connection and stay locked until it has committed.
+     */
+    List<ItemOutcome> applyInOneTransaction(List<Item> items) {
+        List<AccountNumber> accountNumbers = items.stream().map(Item::getAccountNumber).toList();
+        return accountLockManager.executeLocked(accountNumbers,
+                () -> chunkTransaction.execute(status -> applyChunk(items, accountNumbers)));
+    }
+    
+    private List<ItemOutcome> applyChunk(List<Item> chunk, List<AccountNumber> accountNumbers) {
+        Map<String, Account> accounts = new HashMap<>();
+        for (Account account : accountRepository.findAllByAccountNumbers(accountNumbers)) {
+            accounts.put(account.getAccountNumber().getHash(), account);
+        }
+        
+        // One timestamp stamps every account the chunk touches
+        ChunkWrites writes = new ChunkWrites(timeSource.now());
+        List<ItemOutcome> outcomes = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            outcomes.add(applyItem(item, accounts, writes));
+        }
+        
+        accountRepository.updateBalances(new ArrayList<>(writes.touched.values()));
+        transactionRepository.appendAll(writes.ledger);
+        writes.ledger.forEach(auditLog::record);
+        writes.events.forEach(eventPublisher::publish);
+        return outcomes;
+    }
+    
+    private ItemOutcome applyItem(Item item, Map<String, Account> accounts, ChunkWrites writes) {
+        try {
+            return item.getType() == BatchTransactionCommand.Type.DEPOSIT
+                    ? applyDeposit(item, accounts, writes)
+                    : applyWithdrawal(item, accounts, writes);
+        } catch (ConcurrentModificationException e) {
+            throw e;
+        } catch (DomainException | IllegalArgumentException e) {
+            return ItemOutcome.rejected(e, writes.at);
+        }
+    }
+    
+    private ItemOutcome applyDeposit(Item item, Map<String, Account> accounts, ChunkWrites writes) {
+        DepositCommand command = item.toDepositCommand();
+        if (item.hasIdempotencyKey()) {
+            Optional<DepositResponse> replayed = idempotencyService.findReplay(item.getIdempotencyKey(),
+                    IdempotencyKey.OperationType.DEPOSIT, item.getAccountNumber(), item.getAmount(), writes.at, depositCodec);
+            if (replayed.isPresent()) {
+                return ItemOutcome.of(Status.REPLAYED, replayed.get());
+            }
+        }
+        
+        // Validate against the in-memory account before claiming, so a rejection leaves nothing behind
+        Account updated = account(item, accounts).deposit(item.getAmount(), writes.at);
+        Optional<IdempotencyKey> claim = claim(item, IdempotencyKey.OperationType.DEPOSIT, writes.at);
+        if (item.hasIdempotencyKey() && claim.isEmpty()) {
+            return ItemOutcome.of(Status.REPLAYED, idempotencyService.claimedElsewhere(item.getIdempotencyKey(),
+                    IdempotencyKey.OperationType.DEPOSIT, item.getAccountNumber(), item.getAmount(), writes.at, depositCodec));
+        }
+        
+        AccountBalance balance = writes.apply(accounts, updated);
+        writes.ledger.add(LedgerEntry.deposit(balance, item.getAmount(), item.getIdempotencyKey(), item.getDescription(), writes.at));
+        writes.events.add(new DepositCompletedEvent(balance, item.getAmount(), writes.at));
+        
+        DepositResponse response = DepositResponse.from(balance, command, writes.at);
+        claim.ifPresent(key -> idempotencyService.complete(key, depositCodec, response));
+        return ItemOutcome.of(Status.APPLIED, response);
+    }
+    
+    private ItemOutcome applyWithdrawal(Item item, Map<String, Account> accounts, ChunkWrites writes) {
+        WithdrawCommand command = item.toWithdrawCommand();
+        if (item.hasIdempotencyKey()) {
+            Optional<WithdrawResponse> replayed = idempotencyService.findReplay(item.getIdempotencyKey(),
+                    IdempotencyKey.OperationType.WITHDRAWAL, item.getAccountNumber(), item.getAmount(), writes.at, withdrawCodec);
+            if (replayed.isPresent()) {
+                return ItemOutcome.of(Status.REPLAYED, replayed.get());
+            }
+        }
+        
+        Account updated = account(item, accounts).withdraw(item.getAmount(), writes.at);
+        Optional<IdempotencyKey> claim = claim(item, IdempotencyKey.OperationType.WITHDRAWAL, writes.at);
+        if (item.hasIdempotencyKey() && claim.isEmpty()) {
+            return ItemOutcome.of(Status.REPLAYED, idempotencyService.claimedElsewhere(item.getIdempotencyKey(),
+                    IdempotencyKey.OperationType.WITHDRAWAL, item.getAccountNumber(), item.getAmount(), writes.at, withdrawCodec));
+        }
+        
+        AccountBalance balance = writes.apply(accounts, updated);
+        writes.ledger.add(LedgerEntry.withdrawal(balance, item.getAmount(), item.getIdempotencyKey(), item.getDescription(), writes.at));
+        writes.events.add(new WithdrawalCompletedEvent(balance, item.getAmount(), writes.at));
+        
+        WithdrawResponse response = WithdrawResponse.from(balance, command, writes.at);
+        claim.ifPresent(key -> idempotencyService.complete(key, withdrawCodec, response));
+        return ItemOutcome.of(Status.APPLIED, response);
+    }
+    
+    private Optional<IdempotencyKey> claim(Item item, IdempotencyKey.OperationType operationType, LocalDateTime at) {
+        if (!item.hasIdempotencyKey()) {
+            return Optional.empty();
+        }
+        return idempotencyService.tryClaim(item.getIdempotencyKey(), operationType, item.getAccountNumber(), item.getAmount(), at);
+    }
+    
+    private static Account account(Item item, Map<String, Account> accounts) {
+        Account account = accounts.get(item.getAccountNumber().getHash());
+        if (account == null) {
+            throw new AccountNotFoundException("Account with number " + item.getAccountNumber().getValue() + " not found");
+        }
+        return account;
+    }
+    
+    private static List<ItemResult> rejectAll(List<Item> chunk, int offset, String errorCode, String message, LocalDateTime at) {
+        List<ItemResult> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            results.add(ItemResult.rejected(offset + i, chunk.get(i), errorCode, message, at));
+        }
+        return results;
+    }
+    
+    /**
+     * Everything a chunk writes once its items have been applied in memory.
+     */
+    private static final class ChunkWrites {
+        private final Map<String, Account> touched = new LinkedHashMap<>();
+        private final List<LedgerEntry> ledger = new ArrayList<>();
+        private final List<DomainEvent> events = new ArrayList<>();
+        private final LocalDateTime at;
+        
+        private ChunkWrites(LocalDateTime at) {
+            this.at = at;
+        }
+        
+        private AccountBalance apply(Map<String, Account> accounts, Account updated) {
+            String hash = updated.getAccountNumber().getHash();
+            accounts.put(hash, updated);
+            touched.put(hash, updated);
+            return AccountBalance.of(updated.getId(), updated.getAccountNumber(), updated.getBalance(), updated.getVersion());
+        }
+    }
+    
+    /**
+     * What happened to one item: the response it produced, or the domain exception that
+     * rejected it.
+     */
+    static final class ItemOutcome {
+        private final Status status;
+        private final DepositResponse deposit;
+        private final WithdrawResponse withdrawal;
+        private final RuntimeException rejection;
+        private final LocalDateTime rejectedAt;
+        
+        private ItemOutcome(Status status, DepositResponse deposit, WithdrawResponse withdrawal, RuntimeException rejection,
+                            LocalDateTime rejectedAt) {
+            this.status = status;
+            this.deposit = deposit;
+            this.withdrawal = withdrawal;
+            this.rejection = rejection;
+            this.rejectedAt = rejectedAt;
+        }
+        
+        static ItemOutcome of(Status status, DepositResponse deposit) {
+            return new ItemOutcome(status, deposit, null, null, null);
+        }
+        
+        static ItemOutcome of(Status status, WithdrawResponse withdrawal) {
+            return new ItemOutcome(status, null, withdrawal, null, null);
+        }
+        
+        static ItemOutcome rejected(RuntimeException rejection, LocalDateTime at) {
+            return new ItemOutcome(Status.REJECTED, null, null, rejection, at);
+        }
+        
+        DepositResponse depositOrThrow() {
+            if (rejection != null) {
+                throw rejection;
+            }
+            return deposit;
+        }
+        
+        WithdrawResponse withdrawalOrThrow() {
+            if (rejection != null) {
+                throw rejection;
+            }
+            return withdrawal;
+        }
+        
+        ItemResult toItemResult(int index, Item item) {
+            if (rejection != null) {
+                return ItemResult.rejected(index, item, errorCode(rejection), rejection.getMessage(), rejectedAt);
+            }
+            return deposit != null ? ItemResult.of(index, status, deposit) : ItemResult.of(index, status, withdrawal);
+        }
+        
+        private static String errorCode(RuntimeException rejection) {
+            if (rejection instanceof AccountNotFoundException) {
+                return "ACCOUNT_NOT_FOUND";
+            }
+            if (rejection instanceof InsufficientFundsException) {
+                return "INSUFFICIENT_FUNDS";
+            }
+            if (rejection instanceof InactiveAccountException) {
+                return "INACTIVE_ACCOUNT";
+            }
+            if (rejection instanceof IdempotencyException) {
+                return "IDEMPOTENCY_VIOLATION";
+            }
+            return "REJECTED";
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.demo.banking_app.application.service;
 
 import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.out.AccountNumberGenerator;
 import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.application.port.out.AccountSearchIndex;
 import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.TimeSource;
 import com.demo.banking_app.domain.exception.AccountAlreadyExistsException;
 import com.demo.banking_app.domain.model.Account;
 import com.demo.banking_app.domain.model.AccountCreatedEvent;
@@ -23,27 +27,27 @@ import java.time.LocalDateTime;
 public class CreateAccountService implements CreateAccountUseCase {
     
     private final AccountRepository accountRepository;
+    private final AccountNumberGenerator accountNumberGenerator;
     private final EventPublisher eventPublisher;
+    private final AccountSearchIndex accountSearchIndex;
+    private final TimeSource timeSource;
+    private final AuditLog auditLog;
     
     @Override
     @Transactional
     public CreateAccountResponse createAccount(CreateAccountCommand command) {
-        log.info("Creating account for email: {}", command.getEmail().getValue());
+        log.debug("Creating {} account", command.getAccountType());
         
         // Check if account already exists
         if (accountRepository.existsByEmail(command.getEmail())) {
             throw new AccountAlreadyExistsException("Account with email " + command.getEmail().getValue() + " already exists");
         }
         
-        // Generate account number
-        AccountNumber accountNumber = AccountNumber.generate();
-        
-        // Check if account number already exists (very unlikely but possible)
-        while (accountRepository.existsByAccountNumber(accountNumber)) {
-            accountNumber = AccountNumber.generate();
-        }
+        // Issued from a reserved block, so the number is unique without a lookup
+        AccountNumber accountNumber = accountNumberGenerator.next();
         
         // Create domain entity
+        LocalDateTime now = timeSource.now();
         Account account = Account.builder()
                 .id(null) // Let the database generate the ID
                 .accountNumber(accountNumber)
@@ -54,17 +58,20 @@ public class CreateAccountService implements CreateAccountUseCase {
                 .type(command.getAccountType())
                 .status(AccountStatus.ACTIVE)
                 .version(Version.initial())
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
+                .createdAt(now)
+                .updatedAt(now)
                 .build();
         
         // Save account
         Account savedAccount = accountRepository.save(account);
         
+        // Make the holder searchable once the account commits
+        accountSearchIndex.index(savedAccount.getId(), savedAccount.getHolderName());
+        
         // Publish domain event
         eventPublisher.publish(new AccountCreatedEvent(savedAccount));
         
-        log.info("Account created successfully with account number: {}", savedAccount.getAccountNumber().getValue());
+        auditLog.accountOpened(savedAccount);
         
         return CreateAccountResponse.from(savedAccount);
     }
@@ -1,6 +1,9 @@
 package com.demo.banking_app.application.service;
 
 import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.LedgerEntry;
 import com.demo.banking_app.domain.model.Money;
 import lombok.Value;
 
@@ -16,7 +19,7 @@ public class DepositResponse {
     String idempotencyKey;
     LocalDateTime timestamp;
     
-    public static DepositResponse from(Account account, DepositCommand command) {
+    public static DepositResponse from(Account account, DepositCommand command, LocalDateTime at) {
         return new DepositResponse(
             account.getAccountNumber().getValue(),
             "DEPOSIT",
@@ -24,7 +27,34 @@ public class DepositResponse {
             account.getBalance().getAmount().toString(),
             command.getDescription(),
             command.getIdempotencyKey(),
-            LocalDateTime.now()
+            at
+        );
+    }
+    
+    public static DepositResponse from(AccountBalance balance, DepositCommand command, LocalDateTime at) {
+        return new DepositResponse(
+            balance.getAccountNumber().getValue(),
+            "DEPOSIT",
+            command.getAmount().getAmount().toString(),
+            balance.getBalance().getAmount().toString(),
+            command.getDescription(),
+            command.getIdempotencyKey(),
+            at
+        );
+    }
+    
+    /**
+     * Response for an applied ledger entry; a replay of the same entry yields an equal response.
+     */
+    public static DepositResponse from(LedgerEntry entry, AccountNumber accountNumber) {
+        return new DepositResponse(
+            accountNumber.getValue(),
+            "DEPOSIT",
+            entry.getAmount().getAmount().toString(),
+            entry.getBalanceAfter().getAmount().toString(),
+            entry.getDescription(),
+            entry.getIdempotencyKey(),
+            entry.getCreatedAt()
         );
     }
 }
@@ -1,17 +1,30 @@
 package com.demo.banking_app.application.service;
 
 import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.out.AccountLockManager;
 import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AuditLog;
 import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionRepository;
 import com.demo.banking_app.domain.exception.AccountNotFoundException;
 import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.DomainException;
 import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
 import com.demo.banking_app.domain.model.DepositCompletedEvent;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Service
@@ -20,40 +33,64 @@ import org.springframework.transaction.annotation.Transactional;
 public class DepositService implements DepositUseCase {
     
     private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
     private final EventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<DepositResponse> responseCodec;
+    private final TimeSource timeSource;
+    private final AuditLog auditLog;
+    private final TransactionTemplate transactionTemplate;
     
     @Override
-    @Transactional
+    @RetryOnConflict
     public DepositResponse deposit(DepositCommand command) {
-        log.info("Processing deposit of {} for account: {} with idempotency key: {}",
-                command.getAmount().getAmount(), command.getAccountNumber().getValue(), command.getIdempotencyKey());
-        
+        log.debug("Processing deposit with idempotency key: {}", command.getIdempotencyKey());
         
+        // Same-account mutations queue here instead of contending on the row lock; the lock is taken before
+        // the transaction checks out a connection and released once it has committed
+        return accountLockManager.executeLocked(command.getAccountNumber(), () -> transactionTemplate.execute(status -> {
+            // One clock reading stamps the claim, the balance row, the ledger entry and the event
+            LocalDateTime at = timeSource.now();
+            return idempotencyService.execute(command.getIdempotencyKey(), IdempotencyKey.OperationType.DEPOSIT,
+                    command.getAccountNumber(), command.getAmount(), at, responseCodec, () -> applyDeposit(command, at));
+        }));
+    }
+    
+    private DepositResponse applyDeposit(DepositCommand command, LocalDateTime at) {
         try {
-            // Find account
-            Account account = accountRepository.findByAccountNumber(command.getAccountNumber())
-                    .orElseThrow(() -> new AccountNotFoundException("Account with number " + command.getAccountNumber().getValue() + " not found"));
+            // Apply the deposit as a single conditional UPDATE
+            AccountBalance balance = accountRepository.deposit(command.getAccountNumber(), command.getAmount(), at)
+                    .orElseThrow(() -> rejection(command, at));
             
-            // Perform deposit (domain logic)
-            Account updatedAccount = account.deposit(command.getAmount());
-            
-            // Save with optimistic locking
-            Account savedAccount = accountRepository.save(updatedAccount);
+            // Record the movement in the ledger within the same transaction
+            LedgerEntry entry = LedgerEntry.deposit(balance, command.getAmount(),
+                    command.getIdempotencyKey(), command.getDescription(), at);
+            transactionRepository.append(entry);
+            auditLog.record(entry);
             
             // Create response
-            DepositResponse response = DepositResponse.from(savedAccount, command);
-            
+            DepositResponse response = DepositResponse.from(balance, command, at);
             
             // Publish domain event
-            eventPublisher.publish(new DepositCompletedEvent(savedAccount, command.getAmount()));
+            eventPublisher.publish(new DepositCompletedEvent(balance, command.getAmount(), at));
             
-            log.info("Deposit successful. New balance: {}", savedAccount.getBalance().getAmount());
             return response;
             
         } catch (ObjectOptimisticLockingFailureException e) {
             throw new ConcurrentModificationException("Account was modified by another transaction. Please retry.", e);
-        } catch (Exception e) {
-            throw e;
         }
     }
+    
+    // The conditional update only tells us that nothing matched; the domain model explains why.
+    // The row is read past the cache, so a stale cached copy cannot hide the real reason
+    private DomainException rejection(DepositCommand command, LocalDateTime at) {
+        Account account = accountRepository.findAllByAccountNumbers(List.of(command.getAccountNumber())).stream()
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException("Account with number " + command.getAccountNumber().getValue() + " not found"));
+        account.deposit(command.getAmount(), at);
+        // The row accepts the deposit now, so it changed after the update missed it; worth a retry
+        return new ConcurrentModificationException("Account was modified by another transaction. Please retry.",
+                new OptimisticLockingFailureException("Account " + command.getAccountNumber().getValue() + " changed during the conditional update"));
+    }
 }
@@ -0,0 +1,45 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.out.BalanceEngine;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Deposits applied by the in-memory {@link BalanceEngine}. Keys older than the engine's own
+ * retention window are answered from the idempotency store the engine syncs into.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "engine")
+@RequiredArgsConstructor
+public class EngineDepositService implements DepositUseCase {
+    
+    private final BalanceEngine balanceEngine;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<DepositResponse> responseCodec;
+    private final TimeSource timeSource;
+    
+    @Override
+    public DepositResponse deposit(DepositCommand command) {
+        if (command.getIdempotencyKey() != null && !command.getIdempotencyKey().isBlank()) {
+            Optional<DepositResponse> replayed = idempotencyService.findReplay(command.getIdempotencyKey(),
+                    IdempotencyKey.OperationType.DEPOSIT, command.getAccountNumber(), command.getAmount(), timeSource.now(),
+                    responseCodec);
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
+        }
+        LedgerEntry entry = balanceEngine.apply(LedgerEntry.Type.DEPOSIT, command.getAccountNumber(), command.getAmount(),
+                command.getIdempotencyKey(), command.getDescription());
+        return DepositResponse.from(entry, command.getAccountNumber());
+    }
+}
@@ -0,0 +1,45 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.port.out.BalanceEngine;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Withdrawals applied by the in-memory {@link BalanceEngine}. Keys older than the engine's own
+ * retention window are answered from the idempotency store the engine syncs into.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "engine")
+@RequiredArgsConstructor
+public class EngineWithdrawService implements WithdrawUseCase {
+    
+    private final BalanceEngine balanceEngine;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<WithdrawResponse> responseCodec;
+    private final TimeSource timeSource;
+    
+    @Override
+    public WithdrawResponse withdraw(WithdrawCommand command) {
+        if (command.getIdempotencyKey() != null && !command.getIdempotencyKey().isBlank()) {
+            Optional<WithdrawResponse> replayed = idempotencyService.findReplay(command.getIdempotencyKey(),
+                    IdempotencyKey.OperationType.WITHDRAWAL, command.getAccountNumber(), command.getAmount(), timeSource.now(),
+                    responseCodec);
+            if (replayed.isPresent()) {
+                return replayed.get();
+            }
+        }
+        LedgerEntry entry = balanceEngine.apply(LedgerEntry.Type.WITHDRAWAL, command.getAccountNumber(), command.getAmount(),
+                command.getIdempotencyKey(), command.getDescription());
+        return WithdrawResponse.from(entry, command.getAccountNumber());
+    }
+}
@@ -0,0 +1,84 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.out.AccountEventStore;
+import com.demo.banking_app.application.port.out.AccountLockManager;
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionRepository;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.DepositCompletedEvent;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deposits recorded as events in the {@link AccountEventStore}. The write is insert-only: the
+ * event, the ledger entry and the idempotency key, with no balance row to update.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "event-sourced")
+@RequiredArgsConstructor
+@Slf4j
+public class EventSourcedDepositService implements DepositUseCase {
+    
+    private final AccountEventStore eventStore;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
+    private final EventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<DepositResponse> responseCodec;
+    private final TimeSource timeSource;
+    private final AuditLog auditLog;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Override
+    @RetryOnConflict
+    public DepositResponse deposit(DepositCommand command) {
+        log.debug("Processing event-sourced deposit with idempotency key: {}", command.getIdempotencyKey());
+        
+        // Same-account appends queue here instead of racing for the next sequence; the lock is taken before
+        // the transaction checks out a connection and released once it has committed
+        return accountLockManager.executeLocked(command.getAccountNumber(), () -> transactionTemplate.execute(status -> {
+            // One clock reading stamps the claim, the appended event, the ledger entry and the published event
+            LocalDateTime at = timeSource.now();
+            return idempotencyService.execute(command.getIdempotencyKey(), IdempotencyKey.OperationType.DEPOSIT,
+                    command.getAccountNumber(), command.getAmount(), at, responseCodec, () -> applyDeposit(command, at));
+        }));
+    }
+    
+    private DepositResponse applyDeposit(DepositCommand command, LocalDateTime at) {
+        Account account = eventStore.load(command.getAccountNumber())
+                .orElseThrow(() -> new AccountNotFoundException("Account with number " + command.getAccountNumber().getValue() + " not found"));
+        Account deposited = account.deposit(command.getAmount(), at);
+        
+        LedgerEntry entry = new LedgerEntry(null, account.getId(), LedgerEntry.Type.DEPOSIT, command.getAmount(),
+                deposited.getBalance(), command.getIdempotencyKey(), command.getDescription(), deposited.getUpdatedAt());
+        try {
+            eventStore.append(account, entry);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConcurrentModificationException("Account was modified by another transaction. Please retry.", e);
+        }
+        transactionRepository.append(entry);
+        auditLog.record(entry);
+        
+        AccountBalance balance = AccountBalance.of(account.getId(), account.getAccountNumber(), deposited.getBalance(),
+                account.getVersion().increment());
+        eventPublisher.publish(new DepositCompletedEvent(balance, command.getAmount(), at));
+        return DepositResponse.from(entry, command.getAccountNumber());
+    }
+}
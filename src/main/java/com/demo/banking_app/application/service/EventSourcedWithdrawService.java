@@ -0,0 +1,84 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.port.out.AccountEventStore;
+import com.demo.banking_app.application.port.out.AccountLockManager;
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionRepository;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.WithdrawalCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Withdrawals recorded as events in the {@link AccountEventStore}. The balance check runs on the
+ * account rebuilt from its stream.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "event-sourced")
+@RequiredArgsConstructor
+@Slf4j
+public class EventSourcedWithdrawService implements WithdrawUseCase {
+    
+    private final AccountEventStore eventStore;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
+    private final EventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<WithdrawResponse> responseCodec;
+    private final TimeSource timeSource;
+    private final AuditLog auditLog;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Override
+    @RetryOnConflict
+    public WithdrawResponse withdraw(WithdrawCommand command) {
+        log.debug("Processing event-sourced withdrawal with idempotency key: {}", command.getIdempotencyKey());
+        
+        // Same-account appends queue here instead of racing for the next sequence; the lock is taken before
+        // the transaction checks out a connection and released once it has committed
+        return accountLockManager.executeLocked(command.getAccountNumber(), () -> transactionTemplate.execute(status -> {
+            // One clock reading stamps the claim, the appended event, the ledger entry and the published event
+            LocalDateTime at = timeSource.now();
+            return idempotencyService.execute(command.getIdempotencyKey(), IdempotencyKey.OperationType.WITHDRAWAL,
+                    command.getAccountNumber(), command.getAmount(), at, responseCodec, () -> applyWithdrawal(command, at));
+        }));
+    }
+    
+    private WithdrawResponse applyWithdrawal(WithdrawCommand command, LocalDateTime at) {
+        Account account = eventStore.load(command.getAccountNumber())
+                .orElseThrow(() -> new AccountNotFoundException("Account with number " + command.getAccountNumber().getValue() + " not found"));
+        Account withdrawn = account.withdraw(command.getAmount(), at);
+        
+        LedgerEntry entry = new LedgerEntry(null, account.getId(), LedgerEntry.Type.WITHDRAWAL, command.getAmount(),
+                withdrawn.getBalance(), command.getIdempotencyKey(), command.getDescription(), withdrawn.getUpdatedAt());
+        try {
+            eventStore.append(account, entry);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConcurrentModificationException("Account was modified by another transaction. Please retry.", e);
+        }
+        transactionRepository.append(entry);
+        auditLog.record(entry);
+        
+        AccountBalance balance = AccountBalance.of(account.getId(), account.getAccountNumber(), withdrawn.getBalance(),
+                account.getVersion().increment());
+        eventPublisher.publish(new WithdrawalCompletedEvent(balance, command.getAmount(), at));
+        return WithdrawResponse.from(entry, command.getAccountNumber());
+    }
+}
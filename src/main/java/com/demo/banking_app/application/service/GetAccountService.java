@@ -6,7 +6,6 @@ import com.demo.banking_app.domain.exception.AccountNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -16,10 +15,10 @@ public class GetAccountService implements GetAccountUseCase {
     private final AccountRepository accountRepository;
     
     @Override
-    @Transactional(readOnly = true)
     public GetAccountResponse getAccount(GetAccountCommand command) {
-        log.info("Fetching account: {}", command.getAccountNumber().getValue());
+        log.debug("Fetching account");
         
+        // Deliberately non-transactional: cached reads should not pay for a connection
         return accountRepository.findByAccountNumber(command.getAccountNumber())
                 .map(GetAccountResponse::from)
                 .orElseThrow(() -> new AccountNotFoundException("Account with number " + command.getAccountNumber().getValue() + " not found"));
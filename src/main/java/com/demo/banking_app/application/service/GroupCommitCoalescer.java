@@ -0,0 +1,168 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.service.BatchTransactionCommand.Item;
+import com.demo.banking_app.application.service.BatchTransactionService.ItemOutcome;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Coalesces concurrent deposits and withdrawals on the same account into group commits.
+ * Requests queue per account stripe. The first caller to find its stripe idle becomes the
+ * leader: it waits a short window for more requests to arrive, then applies up to
+ * {@code max-batch} of them in arrival order in one transaction, with one balance write per
+ * account and one commit, and hands every waiting caller its own outcome. The leader keeps
+ * writing groups until its own request is done, then passes leadership to the next waiter.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "group-commit")
+public class GroupCommitCoalescer {
+    
+    private static final long FOLLOWER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    
+    private final BatchTransactionService batchTransactionService;
+    private final AccountStripes stripes;
+    private final Group[] groups;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final DistributionSummary groupSize;
+    
+    public GroupCommitCoalescer(
+            BatchTransactionService batchTransactionService,
+            MeterRegistry meterRegistry,
+            @Value("${banking.group-commit.stripes:256}") int stripeCount,
+            @Value("${banking.group-commit.window-micros:200}") long windowMicros,
+            @Value("${banking.group-commit.max-batch:64}") int maxBatch) {
+        if (stripeCount <= 0 || maxBatch <= 0 || windowMicros < 0) {
+            throw new IllegalArgumentException("Group commit stripes and batch size must be positive and the window non-negative");
+        }
+        this.batchTransactionService = batchTransactionService;
+        this.stripes = new AccountStripes(stripeCount);
+        this.groups = new Group[stripes.size()];
+        this.windowNanos = TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        this.maxBatch = maxBatch;
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = new Group();
+        }
+        this.groupSize = DistributionSummary.builder("banking.group-commit.size")
+                .description("Requests applied per group commit")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Applies the item as part of the next group commit on its account and returns its own
+     * outcome. Throws whatever failed the whole group, for example a lost concurrent update.
+     */
+    ItemOutcome submit(Item item) {
+        Group group = groups[stripes.indexOf(item.getAccountNumber())];
+        Pending pending = new Pending(item, Thread.currentThread());
+        group.queue.add(pending);
+        group.queued.incrementAndGet();
+        
+        while (!pending.done) {
+            if (group.leader.tryLock()) {
+                try {
+                    lead(group, pending);
+                } finally {
+                    group.leader.unlock();
+                }
+                // Hand leadership to the next waiter instead of leaving it parked until its timeout
+                Pending next = group.queue.peek();
+                if (next != null) {
+                    LockSupport.unpark(next.waiter);
+                }
+            } else {
+                LockSupport.parkNanos(this, FOLLOWER_PARK_NANOS);
+            }
+        }
+        if (pending.failure != null) {
+            throw pending.failure;
+        }
+        return pending.outcome;
+    }
+    
+    private void lead(Group group, Pending own) {
+        while (!own.done) {
+            if (windowNanos > 0 && group.queued.get() < maxBatch) {
+                LockSupport.parkNanos(this, windowNanos);
+            }
+            List<Pending> batch = new ArrayList<>(Math.min(group.queued.get(), maxBatch));
+            Pending next;
+            while (batch.size() < maxBatch && (next = group.queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            group.queued.addAndGet(-batch.size());
+            commit(batch);
+        }
+    }
+    
+    private void commit(List<Pending> batch) {
+        List<Item> items = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            items.add(pending.item);
+        }
+        groupSize.record(batch.size());
+        
+        List<ItemOutcome> outcomes;
+        try {
+            outcomes = batchTransactionService.applyInOneTransaction(items);
+        } catch (RuntimeException e) {
+            // The group rolled back as a whole; every caller sees the failure and may retry
+            for (Pending pending : batch) {
+                pending.fail(e);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(outcomes.get(i));
+        }
+    }
+    
+    private static final class Group {
+        private final ReentrantLock leader = new ReentrantLock();
+        private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+    }
+    
+    private static final class Pending {
+        private final Item item;
+        private final Thread waiter;
+        private ItemOutcome outcome;
+        private RuntimeException failure;
+        private volatile boolean done;
+        
+        private Pending(Item item, Thread waiter) {
+            this.item = item;
+            this.waiter = waiter;
+        }
+        
+        private void complete(ItemOutcome outcome) {
+            this.outcome = outcome;
+            finish();
+        }
+        
+        private void fail(RuntimeException failure) {
+            this.failure = failure;
+            finish();
+        }
+        
+        private void finish() {
+            done = true;
+            LockSupport.unpark(waiter);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.service.BatchTransactionCommand.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Deposits applied through {@link GroupCommitCoalescer}, so concurrent deposits to one account
+ * share a transaction and a commit instead of queueing on its row lock.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "group-commit")
+@RequiredArgsConstructor
+public class GroupCommitDepositService implements DepositUseCase {
+    
+    private final GroupCommitCoalescer coalescer;
+    
+    @Override
+    @RetryOnConflict
+    public DepositResponse deposit(DepositCommand command) {
+        return coalescer.submit(new Item(BatchTransactionCommand.Type.DEPOSIT, command.getAccountNumber(),
+                command.getAmount(), command.getDescription(), command.getIdempotencyKey())).depositOrThrow();
+    }
+}
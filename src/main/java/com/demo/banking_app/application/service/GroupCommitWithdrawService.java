@@ -0,0 +1,29 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.service.BatchTransactionCommand.Item;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Withdrawals applied through {@link GroupCommitCoalescer}. Each withdrawal is checked against
+ * the balance left by the requests ahead of it in the group, so an overdraft rejects only
+ * that request.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "group-commit")
+@RequiredArgsConstructor
+public class GroupCommitWithdrawService implements WithdrawUseCase {
+    
+    private final GroupCommitCoalescer coalescer;
+    
+    @Override
+    @RetryOnConflict
+    public WithdrawResponse withdraw(WithdrawCommand command) {
+        return coalescer.submit(new Item(BatchTransactionCommand.Type.WITHDRAWAL, command.getAccountNumber(),
+                command.getAmount(), command.getDescription(), command.getIdempotencyKey())).withdrawalOrThrow();
+    }
+}
@@ -0,0 +1,138 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.Money;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per idempotency key. Must be called inside the transaction
+ * that performs the operation, so the claim commits or rolls back together with it. Callers
+ * pass the time of the operation, which stamps the claim and decides whether a key has expired.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+    
+    private final IdempotencyRepository idempotencyRepository;
+    
+    public <T> T execute(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber, Money amount,
+                         LocalDateTime at, ResponseCodec<T> codec, Supplier<T> operation) {
+        return execute(key, operationType, accountNumber, null, amount, at, codec, operation);
+    }
+    
+    /**
+     * Variant for operations between two accounts: a key reused with another counterparty is a
+     * different request.
+     */
+    public <T> T execute(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber,
+                         AccountNumber counterpartyAccountNumber, Money amount, LocalDateTime at, ResponseCodec<T> codec,
+                         Supplier<T> operation) {
+        if (key == null || key.isBlank()) {
+            return operation.get();
+        }
+        
+        // Served from the front cache for recent retries; the accounts table is never touched
+        Optional<T> replayed = findReplay(key, operationType, accountNumber, counterpartyAccountNumber, amount, at, codec);
+        if (replayed.isPresent()) {
+            return replayed.get();
+        }
+        
+        Optional<IdempotencyKey> claim = tryClaim(key, operationType, accountNumber, counterpartyAccountNumber, amount, at);
+        if (claim.isEmpty()) {
+            return claimedElsewhere(key, operationType, accountNumber, counterpartyAccountNumber, amount, at, codec);
+        }
+        
+        T response = operation.get();
+        complete(claim.get(), codec, response);
+        return response;
+    }
+    
+    /**
+     * Returns the stored response when the key was already used for this exact request.
+     * Throws when it was used for a different request, or its outcome is not final. An expired
+     * key is treated as never used.
+     */
+    public <T> Optional<T> findReplay(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber,
+                                      Money amount, LocalDateTime at, ResponseCodec<T> codec) {
+        return findReplay(key, operationType, accountNumber, null, amount, at, codec);
+    }
+    
+    private <T> Optional<T> findReplay(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber,
+                                       AccountNumber counterpartyAccountNumber, Money amount, LocalDateTime at,
+                                       ResponseCodec<T> codec) {
+        return idempotencyRepository.findByIdempotencyKey(key)
+                .filter(existing -> !existing.isExpired(at))
+                .map(existing -> replay(existing, operationType, accountNumber, counterpartyAccountNumber, amount, codec));
+    }
+    
+    /**
+     * Claims the key in the current transaction, or returns empty when it already exists.
+     */
+    public Optional<IdempotencyKey> tryClaim(String key, IdempotencyKey.OperationType operationType,
+                                             AccountNumber accountNumber, Money amount, LocalDateTime at) {
+        return tryClaim(key, operationType, accountNumber, null, amount, at);
+    }
+    
+    private Optional<IdempotencyKey> tryClaim(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber,
+                                              AccountNumber counterpartyAccountNumber, Money amount, LocalDateTime at) {
+        IdempotencyKey claim = IdempotencyKey.create(key, operationType, accountNumber.getHash(),
+                counterpartyAccountNumber != null ? counterpartyAccountNumber.getHash() : null, amount, at);
+        return idempotencyRepository.claim(claim) ? Optional.of(claim) : Optional.empty();
+    }
+    
+    /**
+     * Resolves a lost claim: the competing request has finished by the time the claim fails,
+     * so its outcome is readable now.
+     */
+    public <T> T claimedElsewhere(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber,
+                                  Money amount, LocalDateTime at, ResponseCodec<T> codec) {
+        return claimedElsewhere(key, operationType, accountNumber, null, amount, at, codec);
+    }
+    
+    private <T> T claimedElsewhere(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber,
+                                   AccountNumber counterpartyAccountNumber, Money amount, LocalDateTime at,
+                                   ResponseCodec<T> codec) {
+        IdempotencyKey existing = idempotencyRepository.findByIdempotencyKey(key)
+                .filter(found -> !found.isExpired(at))
+                .orElseThrow(() -> new IdempotencyException("Request with idempotency key " + key + " is already being processed"));
+        return replay(existing, operationType, accountNumber, counterpartyAccountNumber, amount, codec);
+    }
+    
+    public <T> void complete(IdempotencyKey claim, ResponseCodec<T> codec, T response) {
+        idempotencyRepository.complete(claim.markCompleted(codec.encode(response)));
+    }
+    
+    private <T> T replay(IdempotencyKey existing, IdempotencyKey.OperationType operationType, AccountNumber accountNumber,
+                         AccountNumber counterpartyAccountNumber, Money amount, ResponseCodec<T> codec) {
+        if (existing.getOperationType() != operationType
+                || !accountNumber.matchesHash(existing.getAccountNumberHash())
+                || !matches(counterpartyAccountNumber, existing.getCounterpartyAccountNumberHash())
+                || existing.getAmount() == null
+                || !existing.getAmount().equals(amount)) {
+            throw new IdempotencyException("Idempotency key " + existing.getIdempotencyKey() + " was already used for a different request");
+        }
+        if (existing.getStatus() == IdempotencyKey.Status.FAILED) {
+            throw new IdempotencyException("Request with idempotency key " + existing.getIdempotencyKey() + " previously failed");
+        }
+        if (existing.getStatus() != IdempotencyKey.Status.COMPLETED) {
+            throw new IdempotencyException("Request with idempotency key " + existing.getIdempotencyKey() + " is already being processed");
+        }
+        log.debug("Replaying stored response for idempotency key: {}", existing.getIdempotencyKey());
+        return codec.decode(existing.getResponseData());
+    }
+    
+    private static boolean matches(AccountNumber accountNumber, String storedHash) {
+        return accountNumber == null ? storedHash == null : accountNumber.matchesHash(storedHash);
+    }
+}
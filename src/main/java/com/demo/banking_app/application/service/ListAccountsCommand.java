@@ -0,0 +1,25 @@
+package com.demo.banking_app.application.service;
+
+import lombok.Value;
+
+@Value
+public class ListAccountsCommand {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+    
+    long afterId;
+    int limit;
+    
+    public static ListAccountsCommand of(Long afterId, Integer limit) {
+        if (afterId != null && afterId < 0) {
+            throw new IllegalArgumentException("Cursor must not be negative");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return new ListAccountsCommand(
+            afterId != null ? afterId : 0L,
+            limit != null ? limit : DEFAULT_LIMIT
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.banking_app.application.service;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class ListAccountsResponse {
+    List<GetAccountResponse> accounts;
+    /**
+     * Cursor for the next page, or null when this page reached the end.
+     */
+    Long nextCursor;
+}
@@ -0,0 +1,38 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.ListAccountsUseCase;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ListAccountsService implements ListAccountsUseCase {
+    
+    private final AccountRepository accountRepository;
+    
+    @Override
+    public ListAccountsResponse listAccounts(ListAccountsCommand command) {
+        log.debug("Listing accounts after id {} (limit {})", command.getAfterId(), command.getLimit());
+        
+        // Fetch one extra row to learn whether another page exists
+        List<Account> accounts = accountRepository.findPage(command.getAfterId(), command.getLimit() + 1);
+        boolean hasMore = accounts.size() > command.getLimit();
+        List<Account> page = hasMore ? accounts.subList(0, command.getLimit()) : accounts;
+        
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId().getValue() : null;
+        return new ListAccountsResponse(page.stream().map(GetAccountResponse::from).toList(), nextCursor);
+    }
+    
+    @Override
+    public void streamAccounts(ListAccountsCommand command, Consumer<GetAccountResponse> consumer) {
+        log.debug("Streaming accounts after id {}", command.getAfterId());
+        accountRepository.forEachAfter(command.getAfterId(), account -> consumer.accept(GetAccountResponse.from(account)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.demo.banking_app.application.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional use case whose whole transaction may be re-run when it loses
+ * an optimistic or pessimistic locking race. Attempts, backoff and jitter come from
+ * the {@code banking.retry.*} properties.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
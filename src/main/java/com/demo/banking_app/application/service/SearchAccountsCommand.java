@@ -0,0 +1,30 @@
+package com.demo.banking_app.application.service;
+
+import lombok.Value;
+
+@Value
+public class SearchAccountsCommand {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    
+    String query;
+    int offset;
+    int limit;
+    
+    public static SearchAccountsCommand of(String query, Integer offset, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query cannot be null or empty");
+        }
+        if (offset != null && offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit != null && (limit < 1 || limit > MAX_LIMIT)) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return new SearchAccountsCommand(
+            query.trim(),
+            offset != null ? offset : 0,
+            limit != null ? limit : DEFAULT_LIMIT
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.demo.banking_app.application.service;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SearchAccountsResponse {
+    List<GetAccountResponse> accounts;
+    /**
+     * Offset of the next page of results, or null when there are no more.
+     */
+    Integer nextOffset;
+}
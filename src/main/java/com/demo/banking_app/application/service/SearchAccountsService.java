@@ -0,0 +1,35 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.SearchAccountsUseCase;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AccountSearchIndex;
+import com.demo.banking_app.domain.model.AccountId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchAccountsService implements SearchAccountsUseCase {
+    
+    private final AccountSearchIndex accountSearchIndex;
+    private final AccountRepository accountRepository;
+    
+    @Override
+    public SearchAccountsResponse searchAccounts(SearchAccountsCommand command) {
+        log.debug("Searching accounts by holder name (offset {}, limit {})", command.getOffset(), command.getLimit());
+        
+        // Ask for one extra id to learn whether another page exists
+        List<AccountId> ids = accountSearchIndex.search(command.getQuery(), command.getOffset(), command.getLimit() + 1);
+        boolean hasMore = ids.size() > command.getLimit();
+        List<AccountId> page = hasMore ? ids.subList(0, command.getLimit()) : ids;
+        
+        List<GetAccountResponse> accounts = accountRepository.findAllById(page).stream()
+                .map(GetAccountResponse::from)
+                .toList();
+        return new SearchAccountsResponse(accounts, hasMore ? command.getOffset() + command.getLimit() : null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.domain.model.TransactionSubmission;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class SubmissionResponse {
+    String submissionId;
+    String transactionType;
+    String status;
+    String accountNumber;
+    String amount;
+    String newBalance;
+    String description;
+    String idempotencyKey;
+    String errorCode;
+    String errorMessage;
+    LocalDateTime submittedAt;
+    LocalDateTime completedAt;
+    
+    public static SubmissionResponse from(TransactionSubmission submission) {
+        return new SubmissionResponse(
+            submission.getSubmissionId(),
+            submission.getOperation().name(),
+            submission.getStatus().name(),
+            submission.getAccountNumber().getValue(),
+            submission.getAmount().getAmount().toString(),
+            submission.getNewBalance() != null ? submission.getNewBalance().getAmount().toString() : null,
+            submission.getDescription(),
+            submission.getIdempotencyKey(),
+            submission.getErrorCode(),
+            submission.getErrorMessage(),
+            submission.getSubmittedAt(),
+            submission.getCompletedAt()
+        );
+    }
+}
@@ -0,0 +1,67 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.SubmitTransactionUseCase;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionQueue;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import com.demo.banking_app.domain.exception.SubmissionNotFoundException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.TransactionSubmission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Validates a deposit or withdrawal and queues it; the queue worker later applies it through
+ * the synchronous use case with the same idempotency key, so a submission is applied at most once.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmitTransactionService implements SubmitTransactionUseCase {
+    
+    private final AccountRepository accountRepository;
+    private final TransactionQueue transactionQueue;
+    private final TimeSource timeSource;
+    
+    @Override
+    public SubmissionResponse submitDeposit(DepositCommand command) {
+        return submit(TransactionSubmission.Operation.DEPOSIT, command.getAccountNumber(), command.getAmount(),
+                command.getDescription(), command.getIdempotencyKey());
+    }
+    
+    @Override
+    public SubmissionResponse submitWithdrawal(WithdrawCommand command) {
+        return submit(TransactionSubmission.Operation.WITHDRAWAL, command.getAccountNumber(), command.getAmount(),
+                command.getDescription(), command.getIdempotencyKey());
+    }
+    
+    @Override
+    public SubmissionResponse getSubmission(String submissionId) {
+        return transactionQueue.findBySubmissionId(submissionId)
+                .map(SubmissionResponse::from)
+                .orElseThrow(() -> new SubmissionNotFoundException("Submission " + submissionId + " not found"));
+    }
+    
+    private SubmissionResponse submit(TransactionSubmission.Operation operation, AccountNumber accountNumber,
+                                      Money amount, String description, String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("Asynchronous submissions require an idempotency key");
+        }
+        // Served from the account cache, so an unknown account is rejected now rather than after queueing
+        if (accountRepository.findByAccountNumber(accountNumber).isEmpty()) {
+            throw new AccountNotFoundException("Account with number " + accountNumber.getValue() + " not found");
+        }
+        
+        TransactionSubmission queued = transactionQueue.enqueue(TransactionSubmission.create(operation, accountNumber,
+                amount, description, idempotencyKey, timeSource.now()));
+        if (!queued.matches(operation, accountNumber, amount)) {
+            throw new IdempotencyException("Idempotency key " + idempotencyKey + " was already used for a different submission");
+        }
+        log.debug("Queued {} submission {}", operation, queued.getSubmissionId());
+        return SubmissionResponse.from(queued);
+    }
+}
@@ -0,0 +1,31 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.domain.exception.InvalidTransferException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Money;
+import lombok.Value;
+
+@Value
+public class TransferCommand {
+    AccountNumber fromAccountNumber;
+    AccountNumber toAccountNumber;
+    Money amount;
+    String description;
+    String idempotencyKey;
+    
+    public static TransferCommand of(String fromAccountNumber, String toAccountNumber, String amount,
+                                     String description, String idempotencyKey) {
+        AccountNumber from = AccountNumber.of(fromAccountNumber);
+        AccountNumber to = AccountNumber.of(toAccountNumber);
+        if (from.getHash().equals(to.getHash())) {
+            throw new InvalidTransferException("Cannot transfer to the same account");
+        }
+        return new TransferCommand(
+            from,
+            to,
+            Money.of(new java.math.BigDecimal(amount)),
+            description,
+            idempotencyKey
+        );
+    }
+}
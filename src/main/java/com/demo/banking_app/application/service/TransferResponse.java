@@ -0,0 +1,33 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.domain.model.AccountBalance;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class TransferResponse {
+    String fromAccountNumber;
+    String toAccountNumber;
+    String transactionType;
+    String amount;
+    String fromNewBalance;
+    String toNewBalance;
+    String description;
+    String idempotencyKey;
+    LocalDateTime timestamp;
+    
+    public static TransferResponse from(AccountBalance from, AccountBalance to, TransferCommand command, LocalDateTime at) {
+        return new TransferResponse(
+            from.getAccountNumber().getValue(),
+            to.getAccountNumber().getValue(),
+            "TRANSFER",
+            command.getAmount().getAmount().toString(),
+            from.getBalance().getAmount().toString(),
+            to.getBalance().getAmount().toString(),
+            command.getDescription(),
+            command.getIdempotencyKey(),
+            at
+        );
+    }
+}
@@ -0,0 +1,121 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.TransferUseCase;
+import com.demo.banking_app.application.port.out.AccountLockManager;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionRepository;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.DomainException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.TransferCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Not available with the balance engine or event-sourced accounts, which would never see a balance moved here
+@Service
+@ConditionalOnExpression("'${banking.write-path:direct}' != 'engine' and '${banking.write-path:direct}' != 'event-sourced'")
+@RequiredArgsConstructor
+@Slf4j
+public class TransferService implements TransferUseCase {
+    
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
+    private final EventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<TransferResponse> responseCodec;
+    private final TimeSource timeSource;
+    private final AuditLog auditLog;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Override
+    @RetryOnConflict
+    public TransferResponse transfer(TransferCommand command) {
+        log.debug("Processing transfer with idempotency key: {}", command.getIdempotencyKey());
+        
+        // Both accounts are locked before the transaction checks out a connection and released once it has committed
+        return accountLockManager.executeLocked(
+                List.of(command.getFromAccountNumber(), command.getToAccountNumber()),
+                () -> transactionTemplate.execute(status -> {
+                    // One clock reading stamps the claim, both balance rows, both ledger legs and the event
+                    LocalDateTime at = timeSource.now();
+                    return idempotencyService.execute(command.getIdempotencyKey(), IdempotencyKey.OperationType.TRANSFER,
+                            command.getFromAccountNumber(), command.getToAccountNumber(), command.getAmount(), at, responseCodec,
+                            () -> applyTransfer(command, at));
+                }));
+    }
+    
+    private TransferResponse applyTransfer(TransferCommand command, LocalDateTime at) {
+        try {
+            // Row locks are taken in account_number_hash order, so opposing transfers between
+            // the same pair of accounts queue behind each other instead of deadlocking
+            AccountBalance from;
+            AccountBalance to;
+            if (command.getFromAccountNumber().getHash().compareTo(command.getToAccountNumber().getHash()) < 0) {
+                from = debit(command, at);
+                to = credit(command, at);
+            } else {
+                to = credit(command, at);
+                from = debit(command, at);
+            }
+            
+            // Record both legs in the ledger within the same transaction
+            List<LedgerEntry> entries = List.of(
+                    LedgerEntry.transferOut(from, command.getAmount(), command.getIdempotencyKey(), command.getDescription(), at),
+                    LedgerEntry.transferIn(to, command.getAmount(), command.getIdempotencyKey(), command.getDescription(), at));
+            transactionRepository.appendAll(entries);
+            entries.forEach(auditLog::record);
+            
+            // Create response
+            TransferResponse response = TransferResponse.from(from, to, command, at);
+            
+            // Publish domain event
+            eventPublisher.publish(new TransferCompletedEvent(from, to, command.getAmount(), at));
+            
+            return response;
+            
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ConcurrentModificationException("Account was modified by another transaction. Please retry.", e);
+        }
+    }
+    
+    private AccountBalance debit(TransferCommand command, LocalDateTime at) {
+        return accountRepository.withdraw(command.getFromAccountNumber(), command.getAmount(), at)
+                .orElseThrow(() -> rejection(command.getFromAccountNumber(), account -> account.withdraw(command.getAmount(), at)));
+    }
+    
+    private AccountBalance credit(TransferCommand command, LocalDateTime at) {
+        return accountRepository.deposit(command.getToAccountNumber(), command.getAmount(), at)
+                .orElseThrow(() -> rejection(command.getToAccountNumber(), account -> account.deposit(command.getAmount(), at)));
+    }
+    
+    // The conditional update only tells us that nothing matched; the domain model explains why.
+    // The row is read past the cache, so a stale cached copy cannot hide the real reason
+    private DomainException rejection(AccountNumber accountNumber, Consumer<Account> transition) {
+        Account account = accountRepository.findAllByAccountNumbers(List.of(accountNumber)).stream()
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException("Account with number " + accountNumber.getValue() + " not found"));
+        transition.accept(account);
+        // The row accepts this leg now, so it changed after the update missed it; worth a retry
+        return new ConcurrentModificationException("Account was modified by another transaction. Please retry.",
+                new OptimisticLockingFailureException("Account " + accountNumber.getValue() + " changed during the conditional update"));
+    }
+}
@@ -1,6 +1,9 @@
 package com.demo.banking_app.application.service;
 
 import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.LedgerEntry;
 import lombok.Value;
 
 import java.time.LocalDateTime;
@@ -15,7 +18,7 @@ public class WithdrawResponse {
     String idempotencyKey;
     LocalDateTime timestamp;
     
-    public static WithdrawResponse from(Account account, WithdrawCommand command) {
+    public static WithdrawResponse from(Account account, WithdrawCommand command, LocalDateTime at) {
         return new WithdrawResponse(
             account.getAccountNumber().getValue(),
             "WITHDRAWAL",
@@ -23,7 +26,34 @@ public class WithdrawResponse {
             account.getBalance().getAmount().toString(),
             command.getDescription(),
             command.getIdempotencyKey(),
-            LocalDateTime.now()
+            at
+        );
+    }
+    
+    public static WithdrawResponse from(AccountBalance balance, WithdrawCommand command, LocalDateTime at) {
+        return new WithdrawResponse(
+            balance.getAccountNumber().getValue(),
+            "WITHDRAWAL",
+            command.getAmount().getAmount().toString(),
+            balance.getBalance().getAmount().toString(),
+            command.getDescription(),
+            command.getIdempotencyKey(),
+            at
+        );
+    }
+    
+    /**
+     * Response for an applied ledger entry; a replay of the same entry yields an equal response.
+     */
+    public static WithdrawResponse from(LedgerEntry entry, AccountNumber accountNumber) {
+        return new WithdrawResponse(
+            accountNumber.getValue(),
+            "WITHDRAWAL",
+            entry.getAmount().getAmount().toString(),
+            entry.getBalanceAfter().getAmount().toString(),
+            entry.getDescription(),
+            entry.getIdempotencyKey(),
+            entry.getCreatedAt()
         );
     }
 }
@@ -1,16 +1,30 @@
 package com.demo.banking_app.application.service;
 
 import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.port.out.AccountLockManager;
 import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AuditLog;
 import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionRepository;
 import com.demo.banking_app.domain.exception.AccountNotFoundException;
 import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.DomainException;
 import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.WithdrawalCompletedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Service
@@ -19,37 +33,64 @@ import org.springframework.transaction.annotation.Transactional;
 public class WithdrawService implements WithdrawUseCase {
     
     private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountLockManager accountLockManager;
     private final EventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final ResponseCodec<WithdrawResponse> responseCodec;
+    private final TimeSource timeSource;
+    private final AuditLog auditLog;
+    private final TransactionTemplate transactionTemplate;
     
     @Override
-    @Transactional
+    @RetryOnConflict
     public WithdrawResponse withdraw(WithdrawCommand command) {
-        log.info("Processing withdrawal of {} for account: {} with idempotency key: {}",
-                command.getAmount().getAmount(), command.getAccountNumber().getValue(), command.getIdempotencyKey());
-        
+        log.debug("Processing withdrawal with idempotency key: {}", command.getIdempotencyKey());
         
+        // Same-account mutations queue here instead of contending on the row lock; the lock is taken before
+        // the transaction checks out a connection and released once it has committed
+        return accountLockManager.executeLocked(command.getAccountNumber(), () -> transactionTemplate.execute(status -> {
+            // One clock reading stamps the claim, the balance row, the ledger entry and the event
+            LocalDateTime at = timeSource.now();
+            return idempotencyService.execute(command.getIdempotencyKey(), IdempotencyKey.OperationType.WITHDRAWAL,
+                    command.getAccountNumber(), command.getAmount(), at, responseCodec, () -> applyWithdrawal(command, at));
+        }));
+    }
+    
+    private WithdrawResponse applyWithdrawal(WithdrawCommand command, LocalDateTime at) {
         try {
-            // Find account
-            Account account = accountRepository.findByAccountNumber(command.getAccountNumber())
-                    .orElseThrow(() -> new AccountNotFoundException("Account with number " + command.getAccountNumber().getValue() + " not found"));
+            // Apply the withdrawal as a single conditional UPDATE guarded by the balance
+            AccountBalance balance = accountRepository.withdraw(command.getAccountNumber(), command.getAmount(), at)
+                    .orElseThrow(() -> rejection(command, at));
             
-            // Perform withdrawal (domain logic)
-            Account updatedAccount = account.withdraw(command.getAmount());
-            
-            // Save with optimistic locking
-            Account savedAccount = accountRepository.save(updatedAccount);
+            // Record the movement in the ledger within the same transaction
+            LedgerEntry entry = LedgerEntry.withdrawal(balance, command.getAmount(),
+                    command.getIdempotencyKey(), command.getDescription(), at);
+            transactionRepository.append(entry);
+            auditLog.record(entry);
             
             // Create response
-            WithdrawResponse response = WithdrawResponse.from(savedAccount, command);
+            WithdrawResponse response = WithdrawResponse.from(balance, command, at);
             
+            // Publish domain event
+            eventPublisher.publish(new WithdrawalCompletedEvent(balance, command.getAmount(), at));
             
-            log.info("Withdrawal successful. New balance: {}", savedAccount.getBalance().getAmount());
             return response;
             
         } catch (ObjectOptimisticLockingFailureException e) {
             throw new ConcurrentModificationException("Account was modified by another transaction. Please retry.", e);
-        } catch (Exception e) {
-            throw e;
         }
     }
+    
+    // The conditional update only tells us that nothing matched; the domain model explains why.
+    // The row is read past the cache, so a stale cached copy cannot hide the real reason
+    private DomainException rejection(WithdrawCommand command, LocalDateTime at) {
+        Account account = accountRepository.findAllByAccountNumbers(List.of(command.getAccountNumber())).stream()
+                .findFirst()
+                .orElseThrow(() -> new AccountNotFoundException("Account with number " + command.getAccountNumber().getValue() + " not found"));
+        account.withdraw(command.getAmount(), at);
+        // The row accepts the withdrawal now, so it changed after the update missed it; worth a retry
+        return new ConcurrentModificationException("Account was modified by another transaction. Please retry.",
+                new OptimisticLockingFailureException("Account " + command.getAccountNumber().getValue() + " changed during the conditional update"));
+    }
 }
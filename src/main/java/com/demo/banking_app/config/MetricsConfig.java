@@ -0,0 +1,31 @@
+package com.demo.banking_app.config;
+
+import com.demo.banking_app.infrastructure.metrics.TimedDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Times SQL execution on every connection so use case metrics can report database time
+ * next to total time.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banking.metrics.db-time.enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+    
+    @Bean
+    static BeanPostProcessor timedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)) {
+                    return new TimedDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
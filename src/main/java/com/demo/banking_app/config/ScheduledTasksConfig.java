@@ -5,8 +5,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @RequiredArgsConstructor
@@ -16,10 +14,10 @@ public class ScheduledTasksConfig {
     private final IdempotencyRepository idempotencyRepository;
     
     /**
-     * Clean up expired idempotency keys every hour
+     * Clean up expired idempotency keys. The store manages its own short transactions,
+     * so no transaction is held open for the whole run.
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge.interval-ms:3600000}")
     public void cleanupExpiredIdempotencyKeys() {
         log.debug("Starting cleanup of expired idempotency keys");
         try {
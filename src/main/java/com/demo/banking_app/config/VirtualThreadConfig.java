@@ -0,0 +1,57 @@
+package com.demo.banking_app.config;
+
+import com.demo.banking_app.infrastructure.persistence.ConnectionLimitingDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}. Spring Boot already moves
+ * Tomcat, {@code @Scheduled} tasks and the application task executor onto virtual threads;
+ * this bounds how many of them reach the connection pool at once. Like Spring Boot's own
+ * switch, it only applies on a Java 21+ runtime; the build itself targets Java 17.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+    
+    @Bean
+    static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        int maxConnections = environment.getProperty("banking.datasource.max-concurrent-connections", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        long acquireTimeoutMs = environment.getProperty("banking.datasource.acquire-timeout-ms", Long.class, 30000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionLimitingDataSource)) {
+                    return new ConnectionLimitingDataSource(dataSource, maxConnections, acquireTimeoutMs);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    MeterBinder connectionLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            // Other wrappers (statement timing) may sit in front of the limiter
+            ConnectionLimitingDataSource limited = DataSourceUnwrapper.unwrap(dataSource, ConnectionLimitingDataSource.class);
+            if (limited != null) {
+                Gauge.builder("banking.datasource.permits.available", limited, ConnectionLimitingDataSource::availablePermits)
+                        .description("Database connections that can be handed out without waiting")
+                        .register(registry);
+                Gauge.builder("banking.datasource.permits.queued", limited, ConnectionLimitingDataSource::queuedThreads)
+                        .description("Threads queued for a database connection")
+                        .register(registry);
+            }
+        };
+    }
+}
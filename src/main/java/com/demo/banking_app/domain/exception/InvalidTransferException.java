@@ -0,0 +1,8 @@
+package com.demo.banking_app.domain.exception;
+
+public class InvalidTransferException extends DomainException {
+    
+    public InvalidTransferException(String message) {
+        super(message);
+    }
+}
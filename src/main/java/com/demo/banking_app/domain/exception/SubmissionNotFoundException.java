@@ -0,0 +1,8 @@
+package com.demo.banking_app.domain.exception;
+
+public class SubmissionNotFoundException extends DomainException {
+    
+    public SubmissionNotFoundException(String message) {
+        super(message);
+    }
+}
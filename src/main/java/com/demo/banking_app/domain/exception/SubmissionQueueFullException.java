@@ -0,0 +1,15 @@
+package com.demo.banking_app.domain.exception;
+
+public class SubmissionQueueFullException extends DomainException {
+    
+    private final long retryAfterSeconds;
+    
+    public SubmissionQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -23,29 +23,19 @@ public class Account {
     private final LocalDateTime createdAt;
     private final LocalDateTime updatedAt;
     
-    public Account deposit(Money amount) {
+    // Transitions keep the version they were loaded with; persistence advances it on write
+    // so that stale copies are detected by the optimistic lock check. The caller supplies the
+    // timestamp, so a transition costs exactly one new Account and reads no clock.
+    
+    public Account deposit(Money amount, LocalDateTime at) {
         if (status != AccountStatus.ACTIVE) {
             throw new InactiveAccountException();
         }
         
-        Money newBalance = balance.add(amount);
-        
-        return Account.builder()
-                .id(this.id)
-                .accountNumber(this.accountNumber)
-                .holderName(this.holderName)
-                .email(this.email)
-                .phoneNumber(this.phoneNumber)
-                .balance(newBalance)
-                .type(this.type)
-                .status(this.status)
-                .version(this.version.increment())
-                .createdAt(this.createdAt)
-                .updatedAt(LocalDateTime.now())
-                .build();
+        return withBalance(balance.add(amount), at);
     }
     
-    public Account withdraw(Money amount) {
+    public Account withdraw(Money amount, LocalDateTime at) {
         if (status != AccountStatus.ACTIVE) {
             throw new InactiveAccountException();
         }
@@ -54,37 +44,17 @@ public class Account {
             throw new InsufficientFundsException(balance, amount);
         }
         
-        Money newBalance = balance.subtract(amount);
-        
-        return Account.builder()
-                .id(this.id)
-                .accountNumber(this.accountNumber)
-                .holderName(this.holderName)
-                .email(this.email)
-                .phoneNumber(this.phoneNumber)
-                .balance(newBalance)
-                .type(this.type)
-                .status(this.status)
-                .version(this.version.increment())
-                .createdAt(this.createdAt)
-                .updatedAt(LocalDateTime.now())
-                .build();
+        return withBalance(balance.subtract(amount), at);
+    }
+    
+    public Account updateStatus(AccountStatus newStatus, LocalDateTime at) {
+        return new Account(id, accountNumber, holderName, email, phoneNumber, balance, type,
+                newStatus, version, createdAt, at);
     }
     
-    public Account updateStatus(AccountStatus newStatus) {
-        return Account.builder()
-                .id(this.id)
-                .accountNumber(this.accountNumber)
-                .holderName(this.holderName)
-                .email(this.email)
-                .phoneNumber(this.phoneNumber)
-                .balance(this.balance)
-                .type(this.type)
-                .status(newStatus)
-                .version(this.version.increment())
-                .createdAt(this.createdAt)
-                .updatedAt(LocalDateTime.now())
-                .build();
+    private Account withBalance(Money newBalance, LocalDateTime at) {
+        return new Account(id, accountNumber, holderName, email, phoneNumber, newBalance, type,
+                status, version, createdAt, at);
     }
     
     public boolean isActive() {
@@ -0,0 +1,18 @@
+package com.demo.banking_app.domain.model;
+
+import lombok.Value;
+
+/**
+ * Balance of an account as observed right after a balance mutation was applied.
+ */
+@Value
+public class AccountBalance {
+    AccountId accountId;
+    AccountNumber accountNumber;
+    Money balance;
+    Version version;
+    
+    public static AccountBalance of(AccountId accountId, AccountNumber accountNumber, Money balance, Version version) {
+        return new AccountBalance(accountId, accountNumber, balance, version);
+    }
+}
@@ -9,6 +9,7 @@ public class AccountCreatedEvent extends DomainEvent {
     private final Email email;
     
     public AccountCreatedEvent(Account account) {
+        super(account.getCreatedAt());
         this.accountId = account.getId();
         this.accountNumber = account.getAccountNumber();
         this.email = account.getEmail();
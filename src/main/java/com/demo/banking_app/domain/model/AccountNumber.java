@@ -1,10 +1,16 @@
 package com.demo.banking_app.domain.model;
 
 import lombok.Value;
-import java.util.UUID;
 
 @Value
 public class AccountNumber {
+    /**
+     * Digits before the check digit in numbers issued from a sequence. Legacy random numbers
+     * have ten digits in total, so sequence numbers (eleven) can never collide with them.
+     */
+    public static final int SEQUENCE_DIGITS = 10;
+    public static final long MAX_SEQUENCE = 9_999_999_999L;
+    
     String value;
     String hash;
     
@@ -13,10 +19,23 @@ public class AccountNumber {
         this.hash = hash;
     }
     
-    public static AccountNumber generate() {
-        String accountNumber = String.format("%010d", Math.abs(UUID.randomUUID().hashCode()) % 10000000000L);
-        String hash = generateHash(accountNumber);
-        return new AccountNumber(accountNumber, hash);
+    /**
+     * Builds the account number for a sequence value: the zero-padded value followed by a
+     * Luhn check digit.
+     */
+    public static AccountNumber fromSequence(long sequence) {
+        if (sequence <= 0 || sequence > MAX_SEQUENCE) {
+            throw new IllegalArgumentException("Account number sequence out of range: " + sequence);
+        }
+        char[] digits = new char[SEQUENCE_DIGITS + 1];
+        long remaining = sequence;
+        for (int i = SEQUENCE_DIGITS - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        digits[SEQUENCE_DIGITS] = (char) ('0' + luhnCheckDigit(digits, SEQUENCE_DIGITS));
+        String accountNumber = new String(digits);
+        return new AccountNumber(accountNumber, generateHash(accountNumber));
     }
     
     public static AccountNumber of(String value) {
@@ -27,9 +46,50 @@ public class AccountNumber {
         return new AccountNumber(value, hash);
     }
     
+    /**
+     * Whether the last digit is the Luhn check digit of the others. Only numbers issued from
+     * a sequence carry one.
+     */
+    public boolean hasValidCheckDigit() {
+        int length = value.length();
+        if (length < 2) {
+            return false;
+        }
+        char[] digits = value.toCharArray();
+        for (char digit : digits) {
+            if (digit < '0' || digit > '9') {
+                return false;
+            }
+        }
+        return digits[length - 1] - '0' == luhnCheckDigit(digits, length - 1);
+    }
+    
+    private static int luhnCheckDigit(char[] digits, int length) {
+        int sum = 0;
+        boolean doubled = true;
+        for (int i = length - 1; i >= 0; i--) {
+            int digit = digits[i] - '0';
+            if (doubled) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubled = !doubled;
+        }
+        return (10 - sum % 10) % 10;
+    }
+    
+    /**
+     * Whether a stored hash was taken from this number, including hashes written before the
+     * switch to SHA-256 that outlive the account backfill, such as idempotency keys.
+     */
+    public boolean matchesHash(String storedHash) {
+        return hash.equals(storedHash) || ValueHash.legacy(value).equals(storedHash);
+    }
+    
     private static String generateHash(String value) {
-        // Simple hash for demo - in production use proper hashing
-        return String.valueOf(value.hashCode());
+        return ValueHash.of(value);
     }
 }
-
@@ -2,6 +2,8 @@ package com.demo.banking_app.domain.model;
 
 import lombok.Getter;
 
+import java.time.LocalDateTime;
+
 @Getter
 public class DepositCompletedEvent extends DomainEvent {
     private final AccountId accountId;
@@ -9,12 +11,21 @@ public class DepositCompletedEvent extends DomainEvent {
     private final Money amount;
     private final Money newBalance;
     
-    public DepositCompletedEvent(Account account, Money amount) {
+    public DepositCompletedEvent(Account account, Money amount, LocalDateTime occurredOn) {
+        super(occurredOn);
         this.accountId = account.getId();
         this.accountNumber = account.getAccountNumber();
         this.amount = amount;
         this.newBalance = account.getBalance();
     }
+    
+    public DepositCompletedEvent(AccountBalance balance, Money amount, LocalDateTime occurredOn) {
+        super(occurredOn);
+        this.accountId = balance.getAccountId();
+        this.accountNumber = balance.getAccountNumber();
+        this.amount = amount;
+        this.newBalance = balance.getBalance();
+    }
 }
 
 
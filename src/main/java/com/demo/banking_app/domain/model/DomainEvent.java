@@ -7,9 +7,9 @@ public abstract class DomainEvent {
     private final String eventId;
     private final LocalDateTime occurredOn;
     
-    protected DomainEvent() {
+    protected DomainEvent(LocalDateTime occurredOn) {
         this.eventId = UUID.randomUUID().toString();
-        this.occurredOn = LocalDateTime.now();
+        this.occurredOn = occurredOn;
     }
     
     public String getEventId() {
@@ -29,7 +29,7 @@ public class Email {
     }
     
     private static String generateHash(String value) {
-        return String.valueOf(value.hashCode());
+        return ValueHash.of(value);
     }
 }
 
@@ -3,17 +3,24 @@ package com.demo.banking_app.domain.model;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Getter
 @Builder
 public class IdempotencyKey {
+    /** How long a key is kept and replayed after it was first claimed. */
+    public static final Duration TTL = Duration.ofHours(24);
+    
     private final String idempotencyKey;
     private final OperationType operationType;
     private final String accountNumberHash;
+    /** Hash of the receiving account of a transfer; null for single-account operations. */
+    private final String counterpartyAccountNumberHash;
     private final Money amount;
     private final Status status;
-    private final String responseData;
+    private final byte[] responseData;
     private final LocalDateTime createdAt;
     private final LocalDateTime expiresAt;
     
@@ -25,15 +32,22 @@ public class IdempotencyKey {
         PENDING, COMPLETED, FAILED
     }
     
-    public static IdempotencyKey create(String key, OperationType operationType, String accountNumberHash, Money amount) {
+    public static IdempotencyKey create(String key, OperationType operationType, String accountNumberHash, Money amount,
+                                        LocalDateTime now) {
+        return create(key, operationType, accountNumberHash, null, amount, now);
+    }
+    
+    public static IdempotencyKey create(String key, OperationType operationType, String accountNumberHash,
+                                        String counterpartyAccountNumberHash, Money amount, LocalDateTime now) {
         return IdempotencyKey.builder()
                 .idempotencyKey(key)
                 .operationType(operationType)
                 .accountNumberHash(accountNumberHash)
+                .counterpartyAccountNumberHash(counterpartyAccountNumberHash)
                 .amount(amount)
                 .status(Status.PENDING)
-                .createdAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.now().plusHours(24))
+                .createdAt(now)
+                .expiresAt(now.plus(TTL))
                 .build();
     }
     
@@ -42,6 +56,7 @@ public class IdempotencyKey {
                 .idempotencyKey(this.idempotencyKey)
                 .operationType(this.operationType)
                 .accountNumberHash(this.accountNumberHash)
+                .counterpartyAccountNumberHash(this.counterpartyAccountNumberHash)
                 .amount(this.amount)
                 .status(Status.COMPLETED)
                 .responseData(this.responseData)
@@ -50,11 +65,12 @@ public class IdempotencyKey {
                 .build();
     }
     
-    public IdempotencyKey markCompleted(String responseData) {
+    public IdempotencyKey markCompleted(byte[] responseData) {
         return IdempotencyKey.builder()
                 .idempotencyKey(this.idempotencyKey)
                 .operationType(this.operationType)
                 .accountNumberHash(this.accountNumberHash)
+                .counterpartyAccountNumberHash(this.counterpartyAccountNumberHash)
                 .amount(this.amount)
                 .status(Status.COMPLETED)
                 .responseData(responseData)
@@ -68,16 +84,17 @@ public class IdempotencyKey {
                 .idempotencyKey(this.idempotencyKey)
                 .operationType(this.operationType)
                 .accountNumberHash(this.accountNumberHash)
+                .counterpartyAccountNumberHash(this.counterpartyAccountNumberHash)
                 .amount(this.amount)
                 .status(Status.FAILED)
-                .responseData(errorMessage)
+                .responseData(errorMessage != null ? errorMessage.getBytes(StandardCharsets.UTF_8) : null)
                 .createdAt(this.createdAt)
                 .expiresAt(this.expiresAt)
                 .build();
     }
     
-    public boolean isExpired() {
-        return LocalDateTime.now().isAfter(expiresAt);
+    public boolean isExpired(LocalDateTime now) {
+        return now.isAfter(expiresAt);
     }
 }
 
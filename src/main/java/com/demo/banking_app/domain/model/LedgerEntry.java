@@ -0,0 +1,55 @@
+package com.demo.banking_app.domain.model;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * One immutable balance movement, recorded together with the balance it produced.
+ */
+@Value
+public class LedgerEntry {
+    Long id;
+    AccountId accountId;
+    Type type;
+    Money amount;
+    Money balanceAfter;
+    String idempotencyKey;
+    String description;
+    LocalDateTime createdAt;
+    
+    public static LedgerEntry deposit(AccountBalance balance, Money amount, String idempotencyKey, String description,
+                                      LocalDateTime at) {
+        return new LedgerEntry(null, balance.getAccountId(), Type.DEPOSIT, amount, balance.getBalance(),
+                idempotencyKey, description, at);
+    }
+    
+    public static LedgerEntry withdrawal(AccountBalance balance, Money amount, String idempotencyKey, String description,
+                                         LocalDateTime at) {
+        return new LedgerEntry(null, balance.getAccountId(), Type.WITHDRAWAL, amount, balance.getBalance(),
+                idempotencyKey, description, at);
+    }
+    
+    public static LedgerEntry transferOut(AccountBalance balance, Money amount, String idempotencyKey, String description,
+                                          LocalDateTime at) {
+        return new LedgerEntry(null, balance.getAccountId(), Type.TRANSFER_OUT, amount, balance.getBalance(),
+                idempotencyKey, description, at);
+    }
+    
+    public static LedgerEntry transferIn(AccountBalance balance, Money amount, String idempotencyKey, String description,
+                                         LocalDateTime at) {
+        return new LedgerEntry(null, balance.getAccountId(), Type.TRANSFER_IN, amount, balance.getBalance(),
+                idempotencyKey, description, at);
+    }
+    
+    public enum Type {
+        DEPOSIT, WITHDRAWAL, TRANSFER_IN, TRANSFER_OUT;
+        
+        /**
+         * Whether entries of this type add to the balance.
+         */
+        public boolean isCredit() {
+            return this == DEPOSIT || this == TRANSFER_IN;
+        }
+    }
+}
@@ -1,64 +1,123 @@
 package com.demo.banking_app.domain.model;
 
-import lombok.Value;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Currency;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-@Value
-public class Money {
-    BigDecimal amount;
-    Currency currency;
+/**
+ * Non-negative amount held as a count of the currency's minor units (cents for USD), so
+ * arithmetic and comparisons are plain overflow-checked long operations. {@link BigDecimal}
+ * is only produced or consumed at the persistence and API boundary.
+ */
+@Getter
+@EqualsAndHashCode
+public final class Money {
     
-    private Money(BigDecimal amount, Currency currency) {
-        if (amount == null) {
-            throw new IllegalArgumentException("Amount cannot be null");
-        }
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
+    public static final Currency USD = Currency.getInstance("USD");
+    
+    private static final Map<String, Currency> CURRENCIES = new ConcurrentHashMap<>(Map.of("USD", USD));
+    private static final Money ZERO_USD = new Money(0, USD);
+    
+    private final long minorUnits;
+    private final Currency currency;
+    
+    private Money(long minorUnits, Currency currency) {
+        if (minorUnits < 0) {
             throw new IllegalArgumentException("Amount cannot be negative");
         }
-        this.amount = amount;
-        this.currency = currency != null ? currency : Currency.getInstance("USD");
+        this.minorUnits = minorUnits;
+        this.currency = currency;
     }
     
     public static Money of(BigDecimal amount) {
-        return new Money(amount, Currency.getInstance("USD"));
+        return of(amount, USD);
     }
     
     public static Money of(BigDecimal amount, Currency currency) {
-        return new Money(amount, currency);
+        if (amount == null) {
+            throw new IllegalArgumentException("Amount cannot be null");
+        }
+        Currency resolved = currency != null ? currency : USD;
+        try {
+            return new Money(amount.setScale(scale(resolved), RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), resolved);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " cannot be represented exactly in "
+                    + resolved.getCurrencyCode(), e);
+        }
+    }
+    
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency != null ? currency : USD);
     }
     
     public static Money zero() {
-        return new Money(BigDecimal.ZERO, Currency.getInstance("USD"));
+        return ZERO_USD;
+    }
+    
+    /**
+     * Cached lookup of a currency by ISO code.
+     */
+    public static Currency currency(String code) {
+        return CURRENCIES.computeIfAbsent(code, Currency::getInstance);
+    }
+    
+    /**
+     * Decimal value of this amount, at the currency's scale. Intended for the persistence and
+     * API boundary only.
+     */
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(minorUnits, scale(currency));
     }
     
     public Money add(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new IllegalArgumentException("Cannot add money with different currencies");
+        requireSameCurrency(other, "add");
+        try {
+            return new Money(Math.addExact(this.minorUnits, other.minorUnits), this.currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount overflow", e);
         }
-        return new Money(this.amount.add(other.amount), this.currency);
     }
     
     public Money subtract(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new IllegalArgumentException("Cannot subtract money with different currencies");
-        }
-        BigDecimal result = this.amount.subtract(other.amount);
-        if (result.compareTo(BigDecimal.ZERO) < 0) {
+        requireSameCurrency(other, "subtract");
+        long result = this.minorUnits - other.minorUnits;
+        if (result < 0) {
             throw new IllegalArgumentException("Result cannot be negative");
         }
         return new Money(result, this.currency);
     }
     
     public boolean isLessThan(Money other) {
-        if (!this.currency.equals(other.currency)) {
-            throw new IllegalArgumentException("Cannot compare money with different currencies");
-        }
-        return this.amount.compareTo(other.amount) < 0;
+        requireSameCurrency(other, "compare");
+        return this.minorUnits < other.minorUnits;
     }
     
     public boolean isGreaterThanOrEqual(Money other) {
         return !isLessThan(other);
     }
+    
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+    
+    @Override
+    public String toString() {
+        return getAmount().toPlainString() + " " + currency.getCurrencyCode();
+    }
+    
+    private void requireSameCurrency(Money other, String operation) {
+        if (this.currency != other.currency && !this.currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot " + operation + " money with different currencies");
+        }
+    }
+    
+    private static int scale(Currency currency) {
+        // Pseudo-currencies report -1 fraction digits; treat them as whole units
+        return Math.max(currency.getDefaultFractionDigits(), 0);
+    }
 }
-
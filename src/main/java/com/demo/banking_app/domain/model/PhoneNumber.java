@@ -21,7 +21,7 @@ public class PhoneNumber {
     }
     
     private static String generateHash(String value) {
-        return String.valueOf(value.hashCode());
+        return ValueHash.of(value);
     }
 }
 
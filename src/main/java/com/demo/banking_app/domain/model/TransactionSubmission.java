@@ -0,0 +1,65 @@
+package com.demo.banking_app.domain.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A deposit or withdrawal accepted for later processing, together with how far it has got.
+ * Once completed it carries the resulting balance; once failed, an error code and message.
+ */
+@Getter
+@Builder
+public class TransactionSubmission {
+    private final String submissionId;
+    private final Operation operation;
+    private final AccountNumber accountNumber;
+    private final Money amount;
+    private final String description;
+    private final String idempotencyKey;
+    private final Status status;
+    private final int attempts;
+    private final Money newBalance;
+    private final String errorCode;
+    private final String errorMessage;
+    private final LocalDateTime submittedAt;
+    private final LocalDateTime completedAt;
+    
+    public enum Operation {
+        DEPOSIT, WITHDRAWAL
+    }
+    
+    public enum Status {
+        PENDING, PROCESSING, COMPLETED, FAILED
+    }
+    
+    public static TransactionSubmission create(Operation operation, AccountNumber accountNumber, Money amount,
+                                               String description, String idempotencyKey, LocalDateTime submittedAt) {
+        return TransactionSubmission.builder()
+                .submissionId(UUID.randomUUID().toString())
+                .operation(operation)
+                .accountNumber(accountNumber)
+                .amount(amount)
+                .description(description)
+                .idempotencyKey(idempotencyKey)
+                .status(Status.PENDING)
+                .submittedAt(submittedAt)
+                .build();
+    }
+    
+    /**
+     * Whether this submission asks for the same movement, so a resubmission can be answered
+     * with the existing one.
+     */
+    public boolean matches(Operation operation, AccountNumber accountNumber, Money amount) {
+        return this.operation == operation
+                && this.accountNumber.equals(accountNumber)
+                && this.amount.equals(amount);
+    }
+    
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,27 @@
+package com.demo.banking_app.domain.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class TransferCompletedEvent extends DomainEvent {
+    private final AccountId fromAccountId;
+    private final AccountNumber fromAccountNumber;
+    private final AccountId toAccountId;
+    private final AccountNumber toAccountNumber;
+    private final Money amount;
+    private final Money fromBalance;
+    private final Money toBalance;
+    
+    public TransferCompletedEvent(AccountBalance from, AccountBalance to, Money amount, LocalDateTime occurredOn) {
+        super(occurredOn);
+        this.fromAccountId = from.getAccountId();
+        this.fromAccountNumber = from.getAccountNumber();
+        this.toAccountId = to.getAccountId();
+        this.toAccountNumber = to.getAccountNumber();
+        this.amount = amount;
+        this.fromBalance = from.getBalance();
+        this.toBalance = to.getBalance();
+    }
+}
@@ -0,0 +1,40 @@
+package com.demo.banking_app.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Lookup hashes for the value objects stored alongside a hash column. Every hash is the
+ * hex SHA-256 of the value; rows written before the switch carry the decimal
+ * {@link String#hashCode()} of the value until they are backfilled.
+ */
+public final class ValueHash {
+    
+    /** Length of a current hash; legacy hashes are at most eleven characters. */
+    public static final int LENGTH = 64;
+    
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+    
+    private ValueHash() {
+    }
+    
+    public static String of(String value) {
+        return HexFormat.of().formatHex(SHA_256.get().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    public static String legacy(String value) {
+        return String.valueOf(value.hashCode());
+    }
+    
+    public static boolean isLegacy(String hash) {
+        return hash != null && hash.length() != LENGTH;
+    }
+}
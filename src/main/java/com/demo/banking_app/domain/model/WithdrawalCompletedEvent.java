@@ -0,0 +1,21 @@
+package com.demo.banking_app.domain.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+public class WithdrawalCompletedEvent extends DomainEvent {
+    private final AccountId accountId;
+    private final AccountNumber accountNumber;
+    private final Money amount;
+    private final Money newBalance;
+    
+    public WithdrawalCompletedEvent(AccountBalance balance, Money amount, LocalDateTime occurredOn) {
+        super(occurredOn);
+        this.accountId = balance.getAccountId();
+        this.accountNumber = balance.getAccountNumber();
+        this.amount = amount;
+        this.newBalance = balance.getBalance();
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.banking_app.dto.v2;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of accounts. To fetch the following page, pass next_cursor back as {@code after}
+ * when listing, or as {@code offset} when searching.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPageResponseV2 {
+    
+    @JsonProperty("accounts")
+    private List<AccountResponseV2> accounts;
+    
+    @JsonProperty("next_cursor")
+    private Long nextCursor;
+}
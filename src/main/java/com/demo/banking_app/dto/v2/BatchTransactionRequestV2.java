@@ -0,0 +1,61 @@
+package com.demo.banking_app.dto.v2;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Batch of deposits and withdrawals, applied item by item
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionRequestV2 {
+    
+    @JsonProperty("items")
+    @NotEmpty(message = "At least one item is required")
+    @Valid
+    private List<Item> items;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        @JsonProperty("type")
+        @NotNull(message = "Transaction type is required")
+        private TransactionType type;
+        
+        @JsonProperty("account_number")
+        @NotBlank(message = "Account number is required")
+        @Size(min = 10, max = 20, message = "Account number must be between 10 and 20 characters")
+        private String accountNumber;
+        
+        @JsonProperty("amount")
+        @NotNull(message = "Amount is required")
+        @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+        @DecimalMax(value = "1000000.0", message = "Amount cannot exceed 1,000,000")
+        private BigDecimal amount;
+        
+        @JsonProperty("description")
+        @Size(max = 200, message = "Description cannot exceed 200 characters")
+        private String description;
+        
+        @JsonProperty("idempotency_key")
+        @Size(max = 255, message = "Idempotency key cannot exceed 255 characters")
+        private String idempotencyKey;
+    }
+    
+    public enum TransactionType {
+        DEPOSIT, WITHDRAWAL
+    }
+}
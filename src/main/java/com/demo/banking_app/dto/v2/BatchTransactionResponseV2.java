@@ -0,0 +1,74 @@
+package com.demo.banking_app.dto.v2;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch, in request order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchTransactionResponseV2 {
+    
+    @JsonProperty("applied")
+    private int applied;
+    
+    @JsonProperty("replayed")
+    private int replayed;
+    
+    @JsonProperty("rejected")
+    private int rejected;
+    
+    @JsonProperty("results")
+    private List<ItemResult> results;
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class ItemResult {
+        
+        @JsonProperty("index")
+        private int index;
+        
+        @JsonProperty("status")
+        private String status;
+        
+        @JsonProperty("account_number")
+        private String accountNumber;
+        
+        @JsonProperty("transaction_type")
+        private String transactionType;
+        
+        @JsonProperty("amount")
+        private BigDecimal amount;
+        
+        @JsonProperty("new_balance")
+        private BigDecimal newBalance;
+        
+        @JsonProperty("idempotency_key")
+        private String idempotencyKey;
+        
+        @JsonProperty("error_code")
+        private String errorCode;
+        
+        @JsonProperty("message")
+        private String message;
+        
+        @JsonProperty("timestamp")
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        private LocalDateTime timestamp;
+    }
+}
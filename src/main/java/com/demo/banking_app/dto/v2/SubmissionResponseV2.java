@@ -0,0 +1,63 @@
+package com.demo.banking_app.dto.v2;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronously submitted deposit or withdrawal. Poll {@code status_url} until
+ * the status is COMPLETED or FAILED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmissionResponseV2 {
+    
+    @JsonProperty("submission_id")
+    private String submissionId;
+    
+    @JsonProperty("status")
+    private String status;
+    
+    @JsonProperty("status_url")
+    private String statusUrl;
+    
+    @JsonProperty("transaction_type")
+    private String transactionType;
+    
+    @JsonProperty("account_number")
+    private String accountNumber;
+    
+    @JsonProperty("amount")
+    private BigDecimal amount;
+    
+    @JsonProperty("new_balance")
+    private BigDecimal newBalance;
+    
+    @JsonProperty("description")
+    private String description;
+    
+    @JsonProperty("idempotency_key")
+    private String idempotencyKey;
+    
+    @JsonProperty("error_code")
+    private String errorCode;
+    
+    @JsonProperty("error_message")
+    private String errorMessage;
+    
+    @JsonProperty("submitted_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime submittedAt;
+    
+    @JsonProperty("completed_at")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,45 @@
+package com.demo.banking_app.dto.v2;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Transfer Request DTO for API v2
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferRequestV2 {
+    
+    @JsonProperty("from_account_number")
+    @NotBlank(message = "Source account number is required")
+    @Size(min = 10, max = 20, message = "Account number must be between 10 and 20 characters")
+    private String fromAccountNumber;
+    
+    @JsonProperty("to_account_number")
+    @NotBlank(message = "Destination account number is required")
+    @Size(min = 10, max = 20, message = "Account number must be between 10 and 20 characters")
+    private String toAccountNumber;
+    
+    @JsonProperty("amount")
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @DecimalMax(value = "1000000.0", message = "Amount cannot exceed 1,000,000")
+    private BigDecimal amount;
+    
+    @JsonProperty("description")
+    @Size(max = 200, message = "Description cannot exceed 200 characters")
+    private String description;
+    
+    @JsonProperty("idempotency_key")
+    @NotBlank(message = "Idempotency key is required")
+    @Size(max = 255, message = "Idempotency key cannot exceed 255 characters")
+    private String idempotencyKey;
+}
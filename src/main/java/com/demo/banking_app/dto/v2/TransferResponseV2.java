@@ -0,0 +1,46 @@
+package com.demo.banking_app.dto.v2;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Transfer Response DTO for API v2
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferResponseV2 {
+    
+    @JsonProperty("from_account_number")
+    private String fromAccountNumber;
+    
+    @JsonProperty("to_account_number")
+    private String toAccountNumber;
+    
+    @JsonProperty("amount")
+    private BigDecimal amount;
+    
+    @JsonProperty("from_new_balance")
+    private BigDecimal fromNewBalance;
+    
+    @JsonProperty("to_new_balance")
+    private BigDecimal toNewBalance;
+    
+    @JsonProperty("description")
+    private String description;
+    
+    @JsonProperty("idempotency_key")
+    private String idempotencyKey;
+    
+    @JsonProperty("timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime timestamp;
+}
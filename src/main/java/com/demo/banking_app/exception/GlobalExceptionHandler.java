@@ -4,8 +4,10 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.MDC;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -52,6 +54,29 @@ public class GlobalExceptionHandler {
         return createProblemDetail(HttpStatus.CONFLICT, "Idempotency Violation", ex.getMessage(), "IDEMPOTENCY_VIOLATION", request);
     }
 
+    @ExceptionHandler(com.demo.banking_app.domain.exception.InvalidTransferException.class)
+    public ProblemDetail handleDomainInvalidTransferException(com.demo.banking_app.domain.exception.InvalidTransferException ex, HttpServletRequest request) {
+        return createProblemDetail(HttpStatus.BAD_REQUEST, "Invalid Transfer", ex.getMessage(), "INVALID_TRANSFER", request);
+    }
+
+    @ExceptionHandler(com.demo.banking_app.domain.exception.SubmissionNotFoundException.class)
+    public ProblemDetail handleDomainSubmissionNotFoundException(com.demo.banking_app.domain.exception.SubmissionNotFoundException ex, HttpServletRequest request) {
+        return createProblemDetail(HttpStatus.NOT_FOUND, "Submission Not Found", ex.getMessage(), "SUBMISSION_NOT_FOUND", request);
+    }
+
+    @ExceptionHandler(com.demo.banking_app.domain.exception.SubmissionQueueFullException.class)
+    public ResponseEntity<ProblemDetail> handleDomainSubmissionQueueFullException(com.demo.banking_app.domain.exception.SubmissionQueueFullException ex, HttpServletRequest request) {
+        ProblemDetail pd = createProblemDetail(HttpStatus.SERVICE_UNAVAILABLE, "Submission Queue Full", ex.getMessage(), "SUBMISSION_QUEUE_FULL", request);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(pd);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgumentException(IllegalArgumentException ex, HttpServletRequest request) {
+        return createProblemDetail(HttpStatus.BAD_REQUEST, "Invalid Request", ex.getMessage(), "INVALID_REQUEST", request);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ProblemDetail handleValidationExceptions(MethodArgumentNotValidException ex, HttpServletRequest request) {
         Map<String, Object> errors = new HashMap<>();
@@ -0,0 +1,92 @@
+package com.demo.banking_app.infrastructure.audit;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer queue over preallocated slots. Producers claim a
+ * sequence with a CAS and fill the slot in place, so publishing allocates nothing; when the
+ * consumer falls a full buffer behind, new records are refused instead of waiting.
+ */
+final class AuditRingBuffer {
+    
+    static final long NONE = Long.MIN_VALUE;
+    
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    
+    AuditRingBuffer(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit buffer size must be a positive power of two");
+        }
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+    
+    boolean tryPublish(String action, long accountId, long amountMinor, long balanceMinor, Currency currency,
+                       String reference, LocalDateTime at) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        
+        Slot slot = slots[(int) sequence & mask];
+        slot.action = action;
+        slot.accountId = accountId;
+        slot.amountMinor = amountMinor;
+        slot.balanceMinor = balanceMinor;
+        slot.currency = currency;
+        slot.reference = reference;
+        slot.at = at;
+        // The volatile write publishes the fields above to the consumer
+        slot.published = sequence;
+        return true;
+    }
+    
+    /**
+     * Passes up to {@code max} published records to the consumer in sequence order. Must only be
+     * called from the single consumer thread; the slot is only valid during the callback.
+     */
+    int drain(Consumer<Slot> consumer, int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max) {
+            Slot slot = slots[(int) next & mask];
+            if (slot.published != next) {
+                break;
+            }
+            consumer.accept(slot);
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            consumed = next;
+        }
+        return count;
+    }
+    
+    long depth() {
+        return claimed.get() - consumed;
+    }
+    
+    static final class Slot {
+        volatile long published = -1;
+        String action;
+        long accountId;
+        long amountMinor;
+        long balanceMinor;
+        Currency currency;
+        String reference;
+        LocalDateTime at;
+    }
+}
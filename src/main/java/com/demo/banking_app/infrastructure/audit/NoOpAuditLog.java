@@ -0,0 +1,20 @@
+package com.demo.banking_app.infrastructure.audit;
+
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "banking.audit.enabled", havingValue = "false")
+public class NoOpAuditLog implements AuditLog {
+    
+    @Override
+    public void record(LedgerEntry entry) {
+    }
+    
+    @Override
+    public void accountOpened(Account account) {
+    }
+}
@@ -0,0 +1,222 @@
+package com.demo.banking_app.infrastructure.audit;
+
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit log fed through a lock-free ring buffer and written by one background thread as
+ * newline-delimited JSON with short keys, one line per action:
+ * {@code {"ts":"...","act":"DEPOSIT","acct":42,"amt":"10.00","bal":"110.00","cur":"USD","ref":"..."}}.
+ * Request threads only fill a preallocated slot. When the writer falls a full buffer behind,
+ * records are dropped and counted rather than slowing the request path down.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.audit.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class RingBufferAuditLog implements AuditLog {
+    
+    static final String ACCOUNT_OPENED = "ACCOUNT_OPENED";
+    
+    private static final int MAX_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    
+    private final AuditRingBuffer buffer;
+    private final RollingAuditFile file;
+    private final long flushIntervalNanos;
+    private final StringBuilder lines = new StringBuilder(MAX_BATCH * 128);
+    private final Thread writer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter writeFailures;
+    
+    private volatile boolean running = true;
+    
+    public RingBufferAuditLog(
+            MeterRegistry meterRegistry,
+            @Value("${banking.audit.directory:logs/audit}") String directory,
+            @Value("${banking.audit.buffer-size:65536}") int bufferSize,
+            @Value("${banking.audit.max-file-size-mb:64}") long maxFileSizeMb,
+            @Value("${banking.audit.max-files:30}") int maxFiles,
+            @Value("${banking.audit.flush-interval-ms:200}") long flushIntervalMs) {
+        this.buffer = new AuditRingBuffer(bufferSize);
+        this.file = new RollingAuditFile(Path.of(directory), "audit", maxFileSizeMb * 1024 * 1024, maxFiles);
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        this.written = Counter.builder("banking.audit.written")
+                .description("Audit records written to the audit files")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("banking.audit.dropped")
+                .description("Audit records dropped because the buffer was full")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("banking.audit.write.failures")
+                .description("Audit batches that could not be written")
+                .register(meterRegistry);
+        Gauge.builder("banking.audit.buffer.depth", buffer, AuditRingBuffer::depth)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+        this.writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Writing audit records to {}", Path.of(directory).toAbsolutePath());
+    }
+    
+    @Override
+    public void record(LedgerEntry entry) {
+        afterCommit(() -> publish(entry.getType().name(), entry.getAccountId().getValue(),
+                entry.getAmount().getMinorUnits(), entry.getBalanceAfter(), entry.getIdempotencyKey(), entry.getCreatedAt()));
+    }
+    
+    @Override
+    public void accountOpened(Account account) {
+        afterCommit(() -> publish(ACCOUNT_OPENED, account.getId().getValue(), AuditRingBuffer.NONE,
+                account.getBalance(), null, account.getCreatedAt()));
+    }
+    
+    private void publish(String action, long accountId, long amountMinor, Money balance, String reference, LocalDateTime at) {
+        if (!buffer.tryPublish(action, accountId, amountMinor, balance.getMinorUnits(), balance.getCurrency(), reference, at)) {
+            dropped.increment();
+        }
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private void run() {
+        long lastFlush = System.nanoTime();
+        boolean unflushed = false;
+        while (running || buffer.depth() > 0) {
+            int count = buffer.drain(this::format, MAX_BATCH);
+            if (count > 0) {
+                write(count);
+                unflushed = true;
+            }
+            long now = System.nanoTime();
+            // Flush as soon as the buffer runs dry, and at least once per interval under steady load
+            if (unflushed && (count < MAX_BATCH || now - lastFlush >= flushIntervalNanos)) {
+                flush();
+                unflushed = false;
+                lastFlush = now;
+            }
+            if (count == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        flush();
+        try {
+            file.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit file: {}", e.getMessage());
+        }
+    }
+    
+    private void write(int count) {
+        try {
+            file.append(lines);
+            written.increment(count);
+        } catch (IOException e) {
+            writeFailures.increment();
+            log.error("Failed to write {} audit records: {}", count, e.getMessage());
+        } finally {
+            lines.setLength(0);
+        }
+    }
+    
+    private void flush() {
+        try {
+            file.flush();
+        } catch (IOException e) {
+            writeFailures.increment();
+            log.error("Failed to flush audit file: {}", e.getMessage());
+        }
+    }
+    
+    private void format(AuditRingBuffer.Slot slot) {
+        int scale = Math.max(slot.currency.getDefaultFractionDigits(), 0);
+        lines.append("{\"ts\":\"").append(slot.at)
+                .append("\",\"act\":\"").append(slot.action)
+                .append("\",\"acct\":").append(slot.accountId);
+        if (slot.amountMinor != AuditRingBuffer.NONE) {
+            appendAmount(lines.append(",\"amt\":\""), slot.amountMinor, scale).append('"');
+        }
+        appendAmount(lines.append(",\"bal\":\""), slot.balanceMinor, scale)
+                .append("\",\"cur\":\"").append(slot.currency.getCurrencyCode()).append('"');
+        if (slot.reference != null) {
+            appendEscaped(lines.append(",\"ref\":\""), slot.reference).append('"');
+        }
+        lines.append("}\n");
+    }
+    
+    static StringBuilder appendAmount(StringBuilder out, long minorUnits, int scale) {
+        if (scale == 0) {
+            return out.append(minorUnits);
+        }
+        long unit = 1;
+        for (int i = 0; i < scale; i++) {
+            unit *= 10;
+        }
+        String fraction = Long.toString(minorUnits % unit);
+        out.append(minorUnits / unit).append('.');
+        for (int i = fraction.length(); i < scale; i++) {
+            out.append('0');
+        }
+        return out.append(fraction);
+    }
+    
+    static StringBuilder appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+    
+    /**
+     * Stops the writer once everything already published has been written.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
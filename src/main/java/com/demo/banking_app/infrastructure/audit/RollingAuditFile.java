@@ -0,0 +1,103 @@
+package com.demo.banking_app.infrastructure.audit;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Appends to {@code <prefix>-<date>.<index>.ndjson}, starting a new file when the day changes
+ * or the current one reaches the size limit, and deleting the oldest files beyond the limit.
+ * Names sort in the order they were written. Not thread-safe; owned by the writer thread.
+ */
+final class RollingAuditFile implements Closeable {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Path directory;
+    private final String prefix;
+    private final long maxBytes;
+    private final int maxFiles;
+    
+    private BufferedWriter writer;
+    private LocalDate day;
+    private int index;
+    private long bytes;
+    
+    RollingAuditFile(Path directory, String prefix, long maxBytes, int maxFiles) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+    
+    void append(CharSequence lines) throws IOException {
+        LocalDate today = LocalDate.now();
+        if (writer == null || !today.equals(day) || bytes >= maxBytes) {
+            roll(today);
+        }
+        writer.append(lines);
+        // Audit lines are ASCII apart from the reference, so characters approximate bytes well enough
+        bytes += lines.length();
+    }
+    
+    void flush() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+    
+    private void roll(LocalDate today) throws IOException {
+        close();
+        Files.createDirectories(directory);
+        index = today.equals(day) ? index + 1 : nextIndex(today);
+        day = today;
+        Path file = directory.resolve(String.format("%s-%s.%03d.ndjson", prefix, today, index));
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), BUFFER_SIZE);
+        bytes = Files.size(file);
+        prune();
+    }
+    
+    // After a restart, continue after the files already written today
+    private int nextIndex(LocalDate today) throws IOException {
+        String dayPrefix = prefix + "-" + today + ".";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(dayPrefix) && name.endsWith(".ndjson"))
+                    .mapToInt(name -> Integer.parseInt(name.substring(dayPrefix.length(), name.length() - ".ndjson".length())))
+                    .max()
+                    .orElse(-1) + 1;
+        }
+    }
+    
+    private void prune() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix + "-") && name.endsWith(".ndjson");
+                    })
+                    .sorted()
+                    .toList();
+        }
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.demo.banking_app.infrastructure.cache;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache of accounts keyed by account number hash. Every write through this
+ * repository evicts the entry immediately and again when its transaction completes, so a
+ * read racing an uncommitted write cannot leave a stale or rolled-back account behind.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "banking.cache.accounts.enabled", havingValue = "true")
+public class CachingAccountRepository implements AccountRepository {
+    
+    private final AccountRepository delegate;
+    private final Cache<String, Account> cache;
+    
+    public CachingAccountRepository(
+            @Qualifier("accountStore") AccountRepository delegate,
+            MeterRegistry meterRegistry,
+            @Value("${banking.cache.accounts.max-size:100000}") long maxSize,
+            @Value("${banking.cache.accounts.ttl-seconds:30}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "accounts");
+    }
+    
+    @Override
+    public Optional<Account> findByAccountNumber(AccountNumber accountNumber) {
+        return Optional.ofNullable(cache.get(accountNumber.getHash(),
+                hash -> delegate.findByAccountNumber(accountNumber).orElse(null)));
+    }
+    
+    @Override
+    public Account save(Account account) {
+        Account saved = delegate.save(account);
+        evict(saved.getAccountNumber());
+        return saved;
+    }
+    
+    @Override
+    public Optional<AccountBalance> deposit(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+        Optional<AccountBalance> balance = delegate.deposit(accountNumber, amount, at);
+        evict(accountNumber);
+        return balance;
+    }
+    
+    @Override
+    public void updateBalances(List<Account> accounts) {
+        delegate.updateBalances(accounts);
+        accounts.forEach(account -> evict(account.getAccountNumber()));
+    }
+    
+    @Override
+    public Optional<AccountBalance> withdraw(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+        Optional<AccountBalance> balance = delegate.withdraw(accountNumber, amount, at);
+        evict(accountNumber);
+        return balance;
+    }
+    
+    @Override
+    public void evict(Collection<AccountNumber> accountNumbers) {
+        accountNumbers.forEach(this::evict);
+    }
+    
+    @Override
+    public Optional<Account> findById(AccountId id) {
+        return delegate.findById(id);
+    }
+    
+    @Override
+    public Optional<Account> findByEmail(Email email) {
+        return delegate.findByEmail(email);
+    }
+    
+    @Override
+    public List<Account> findPage(long afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+    
+    @Override
+    public void forEachAfter(long afterId, Consumer<Account> consumer) {
+        delegate.forEachAfter(afterId, consumer);
+    }
+    
+    @Override
+    public List<Account> findAllById(List<AccountId> ids) {
+        return delegate.findAllById(ids);
+    }
+    
+    @Override
+    public List<Account> findAllByAccountNumbers(Collection<AccountNumber> accountNumbers) {
+        return delegate.findAllByAccountNumbers(accountNumbers);
+    }
+    
+    @Override
+    public boolean existsByEmail(Email email) {
+        return delegate.existsByEmail(email);
+    }
+    
+    @Override
+    public boolean existsByAccountNumber(AccountNumber accountNumber) {
+        return delegate.existsByAccountNumber(accountNumber);
+    }
+    
+    private void evict(AccountNumber accountNumber) {
+        String hash = accountNumber.getHash();
+        cache.invalidate(hash);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(hash);
+                }
+            });
+        }
+    }
+}
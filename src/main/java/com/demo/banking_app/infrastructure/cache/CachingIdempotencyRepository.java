@@ -0,0 +1,101 @@
+package com.demo.banking_app.infrastructure.cache;
+
+import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Size- and TTL-bounded in-memory front for the configured idempotency store. Only finished
+ * keys are cached, and only after their transaction commits, so a cached entry is always final.
+ * A cached key that passes its own {@code expiresAt} is dropped and reported as absent.
+ */
+@Repository
+@Primary
+public class CachingIdempotencyRepository implements IdempotencyRepository {
+    
+    private final IdempotencyRepository delegate;
+    private final Cache<String, IdempotencyKey> cache;
+    private final TimeSource timeSource;
+    
+    public CachingIdempotencyRepository(
+            @Qualifier("idempotencyStore") IdempotencyRepository delegate,
+            MeterRegistry meterRegistry,
+            TimeSource timeSource,
+            @Value("${banking.idempotency.cache.max-size:100000}") long maxSize,
+            @Value("${banking.idempotency.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency-keys");
+        this.timeSource = timeSource;
+    }
+    
+    @Override
+    public Optional<IdempotencyKey> findByIdempotencyKey(String key) {
+        LocalDateTime now = timeSource.now();
+        IdempotencyKey cached = cache.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return Optional.of(cached);
+            }
+            cache.invalidate(key);
+        }
+        Optional<IdempotencyKey> stored = delegate.findByIdempotencyKey(key).filter(found -> !found.isExpired(now));
+        stored.filter(this::isFinal).ifPresent(found -> cache.put(key, found));
+        return stored;
+    }
+    
+    @Override
+    public IdempotencyKey save(IdempotencyKey key) {
+        cache.invalidate(key.getIdempotencyKey());
+        return delegate.save(key);
+    }
+    
+    @Override
+    public boolean claim(IdempotencyKey key) {
+        // An expired copy must not outlive the row the claim replaces
+        cache.invalidate(key.getIdempotencyKey());
+        return delegate.claim(key);
+    }
+    
+    @Override
+    public void complete(IdempotencyKey key) {
+        delegate.complete(key);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.put(key.getIdempotencyKey(), key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(key.getIdempotencyKey(), key);
+            }
+        });
+    }
+    
+    @Override
+    public void deleteExpiredKeys() {
+        delegate.deleteExpiredKeys();
+    }
+    
+    private boolean isFinal(IdempotencyKey key) {
+        return key.getStatus() != IdempotencyKey.Status.PENDING;
+    }
+}
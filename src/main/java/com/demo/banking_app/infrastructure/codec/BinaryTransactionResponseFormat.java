@@ -0,0 +1,251 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Compact, versioned layout for stored transaction responses.
+ *
+ * <pre>
+ * version:u8 | type:u8 [| type:str] | accountNumber:str | amount:dec | newBalance:dec
+ *            | description:str | idempotencyKey:str | timestamp:ts
+ *            [| counterpartyAccountNumber:str | counterpartyBalance:dec]   (TRANSFER only)
+ *
+ * str = varint(byteLength + 1) utf8   (0 encodes null)
+ * dec = varint(scale + 1) zigzag-varlong(unscaled)   (0 encodes null)
+ * ts  = varint(0) for null, else varint(nanos + 1) zigzag-varlong(epochSecond at UTC)
+ * </pre>
+ */
+final class BinaryTransactionResponseFormat {
+    
+    static final byte VERSION_1 = (byte) 0xB1;
+    
+    private static final String[] KNOWN_TYPES = { "DEPOSIT", "WITHDRAWAL", "TRANSFER" };
+    private static final int TRANSFER_TYPE = 2;
+    private static final int CUSTOM_TYPE = 0xFF;
+    
+    private BinaryTransactionResponseFormat() {
+    }
+    
+    static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] == VERSION_1;
+    }
+    
+    static byte[] encode(Fields fields) {
+        Writer out = new Writer(64);
+        out.writeByte(VERSION_1);
+        int typeCode = typeCode(fields.getTransactionType());
+        out.writeByte(typeCode);
+        if (typeCode == CUSTOM_TYPE) {
+            out.writeString(fields.getTransactionType());
+        }
+        out.writeString(fields.getAccountNumber());
+        out.writeDecimal(fields.getAmount());
+        out.writeDecimal(fields.getNewBalance());
+        out.writeString(fields.getDescription());
+        out.writeString(fields.getIdempotencyKey());
+        out.writeTimestamp(fields.getTimestamp());
+        if (typeCode == TRANSFER_TYPE) {
+            out.writeString(fields.getCounterpartyAccountNumber());
+            out.writeDecimal(fields.getCounterpartyBalance());
+        }
+        return out.toByteArray();
+    }
+    
+    static Fields decode(byte[] data) {
+        Reader in = new Reader(data);
+        int version = in.readByte();
+        if (version != (VERSION_1 & 0xFF)) {
+            throw new IllegalArgumentException("Unsupported response format version: " + version);
+        }
+        int typeCode = in.readByte();
+        if (typeCode != CUSTOM_TYPE && typeCode >= KNOWN_TYPES.length) {
+            throw new IllegalArgumentException("Unknown transaction type code: " + typeCode);
+        }
+        String transactionType = typeCode == CUSTOM_TYPE ? in.readString() : KNOWN_TYPES[typeCode];
+        String accountNumber = in.readString();
+        String amount = in.readDecimal();
+        String newBalance = in.readDecimal();
+        String description = in.readString();
+        String idempotencyKey = in.readString();
+        LocalDateTime timestamp = in.readTimestamp();
+        boolean transfer = typeCode == TRANSFER_TYPE;
+        return new Fields(
+                transactionType,
+                accountNumber,
+                amount,
+                newBalance,
+                description,
+                idempotencyKey,
+                timestamp,
+                transfer ? in.readString() : null,
+                transfer ? in.readDecimal() : null);
+    }
+    
+    private static int typeCode(String transactionType) {
+        for (int i = 0; i < KNOWN_TYPES.length; i++) {
+            if (KNOWN_TYPES[i].equals(transactionType)) {
+                return i;
+            }
+        }
+        return CUSTOM_TYPE;
+    }
+    
+    @Value
+    static class Fields {
+        String transactionType;
+        String accountNumber;
+        String amount;
+        String newBalance;
+        String description;
+        String idempotencyKey;
+        LocalDateTime timestamp;
+        String counterpartyAccountNumber;
+        String counterpartyBalance;
+        
+        static Fields single(String transactionType, String accountNumber, String amount, String newBalance,
+                             String description, String idempotencyKey, LocalDateTime timestamp) {
+            return new Fields(transactionType, accountNumber, amount, newBalance, description, idempotencyKey,
+                    timestamp, null, null);
+        }
+    }
+    
+    private static final class Writer {
+        private byte[] buffer;
+        private int position;
+        
+        private Writer(int capacity) {
+            this.buffer = new byte[capacity];
+        }
+        
+        private void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+        
+        private void writeVarLong(long value) {
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+        
+        private void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+        
+        private void writeString(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length + 1L);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+        
+        private void writeDecimal(String value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            BigDecimal decimal = new BigDecimal(value);
+            if (decimal.scale() < 0) {
+                decimal = decimal.setScale(0);
+            }
+            writeVarLong(decimal.scale() + 1L);
+            writeZigZag(decimal.unscaledValue().longValueExact());
+        }
+        
+        private void writeTimestamp(LocalDateTime value) {
+            if (value == null) {
+                writeVarLong(0);
+                return;
+            }
+            writeVarLong(value.getNano() + 1L);
+            writeZigZag(value.toEpochSecond(ZoneOffset.UTC));
+        }
+        
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+        
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+    
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+        
+        private Reader(byte[] data) {
+            this.data = data;
+        }
+        
+        private int readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated response data");
+            }
+            return data[position++] & 0xFF;
+        }
+        
+        private long readVarLong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in response data");
+        }
+        
+        private long readZigZag() {
+            long raw = readVarLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+        
+        private String readString() {
+            long length = readVarLong();
+            if (length == 0) {
+                return null;
+            }
+            int byteLength = Math.toIntExact(length - 1);
+            if (position + byteLength > data.length) {
+                throw new IllegalArgumentException("Truncated response data");
+            }
+            String value = new String(data, position, byteLength, StandardCharsets.UTF_8);
+            position += byteLength;
+            return value;
+        }
+        
+        private String readDecimal() {
+            long scale = readVarLong();
+            if (scale == 0) {
+                return null;
+            }
+            return BigDecimal.valueOf(readZigZag(), Math.toIntExact(scale - 1)).toPlainString();
+        }
+        
+        private LocalDateTime readTimestamp() {
+            long nanos = readVarLong();
+            if (nanos == 0) {
+                return null;
+            }
+            return LocalDateTime.ofEpochSecond(readZigZag(), Math.toIntExact(nanos - 1), ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.service.TransferResponse;
+import com.demo.banking_app.infrastructure.util.JsonUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@ConditionalOnProperty(name = "banking.idempotency.codec", havingValue = "binary", matchIfMissing = true)
+public class BinaryTransferResponseCodec implements ResponseCodec<TransferResponse> {
+    
+    @Override
+    public byte[] encode(TransferResponse response) {
+        return BinaryTransactionResponseFormat.encode(new BinaryTransactionResponseFormat.Fields(
+                response.getTransactionType(),
+                response.getFromAccountNumber(),
+                response.getAmount(),
+                response.getFromNewBalance(),
+                response.getDescription(),
+                response.getIdempotencyKey(),
+                response.getTimestamp(),
+                response.getToAccountNumber(),
+                response.getToNewBalance()));
+    }
+    
+    @Override
+    public TransferResponse decode(byte[] data) {
+        // Keys written with the JSON codec stay readable after switching
+        if (!BinaryTransactionResponseFormat.isBinary(data)) {
+            return JsonUtils.parseTransferResponse(new String(data, StandardCharsets.UTF_8));
+        }
+        BinaryTransactionResponseFormat.Fields fields = BinaryTransactionResponseFormat.decode(data);
+        return new TransferResponse(
+                fields.getAccountNumber(),
+                fields.getCounterpartyAccountNumber(),
+                fields.getTransactionType(),
+                fields.getAmount(),
+                fields.getNewBalance(),
+                fields.getCounterpartyBalance(),
+                fields.getDescription(),
+                fields.getIdempotencyKey(),
+                fields.getTimestamp());
+    }
+}
@@ -0,0 +1,43 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.service.WithdrawResponse;
+import com.demo.banking_app.infrastructure.util.JsonUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@ConditionalOnProperty(name = "banking.idempotency.codec", havingValue = "binary", matchIfMissing = true)
+public class BinaryWithdrawResponseCodec implements ResponseCodec<WithdrawResponse> {
+    
+    @Override
+    public byte[] encode(WithdrawResponse response) {
+        return BinaryTransactionResponseFormat.encode(BinaryTransactionResponseFormat.Fields.single(
+                response.getTransactionType(),
+                response.getAccountNumber(),
+                response.getAmount(),
+                response.getNewBalance(),
+                response.getDescription(),
+                response.getIdempotencyKey(),
+                response.getTimestamp()));
+    }
+    
+    @Override
+    public WithdrawResponse decode(byte[] data) {
+        // Keys written before the switch to the binary codec still hold JSON
+        if (!BinaryTransactionResponseFormat.isBinary(data)) {
+            return JsonUtils.parseWithdrawResponse(new String(data, StandardCharsets.UTF_8));
+        }
+        BinaryTransactionResponseFormat.Fields fields = BinaryTransactionResponseFormat.decode(data);
+        return new WithdrawResponse(
+                fields.getAccountNumber(),
+                fields.getTransactionType(),
+                fields.getAmount(),
+                fields.getNewBalance(),
+                fields.getDescription(),
+                fields.getIdempotencyKey(),
+                fields.getTimestamp());
+    }
+}
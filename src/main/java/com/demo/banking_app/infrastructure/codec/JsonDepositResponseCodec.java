@@ -0,0 +1,24 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.infrastructure.util.JsonUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@ConditionalOnProperty(name = "banking.idempotency.codec", havingValue = "json")
+public class JsonDepositResponseCodec implements ResponseCodec<DepositResponse> {
+    
+    @Override
+    public byte[] encode(DepositResponse response) {
+        return JsonUtils.serializeDepositResponse(response).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public DepositResponse decode(byte[] data) {
+        return JsonUtils.parseDepositResponse(new String(data, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,24 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.service.TransferResponse;
+import com.demo.banking_app.infrastructure.util.JsonUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@ConditionalOnProperty(name = "banking.idempotency.codec", havingValue = "json")
+public class JsonTransferResponseCodec implements ResponseCodec<TransferResponse> {
+    
+    @Override
+    public byte[] encode(TransferResponse response) {
+        return JsonUtils.serializeTransferResponse(response).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public TransferResponse decode(byte[] data) {
+        return JsonUtils.parseTransferResponse(new String(data, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,24 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.service.WithdrawResponse;
+import com.demo.banking_app.infrastructure.util.JsonUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+@Component
+@ConditionalOnProperty(name = "banking.idempotency.codec", havingValue = "json")
+public class JsonWithdrawResponseCodec implements ResponseCodec<WithdrawResponse> {
+    
+    @Override
+    public byte[] encode(WithdrawResponse response) {
+        return JsonUtils.serializeWithdrawResponse(response).getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public WithdrawResponse decode(byte[] data) {
+        return JsonUtils.parseWithdrawResponse(new String(data, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema of the balance engine's sync checkpoints: per shard, the last journal sequence copied
+ * into the database. Read and advanced with plain JDBC by {@link JournalSyncer}.
+ */
+@Entity
+@Table(name = "engine_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EngineCheckpointEntity {
+    
+    @Id
+    @Column(name = "shard")
+    private Integer shard;
+    
+    @Column(name = "synced_sequence", nullable = false)
+    private long syncedSequence;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,388 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.DomainException;
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * One shard of the balance engine: the accounts whose number hash maps to it, owned by a single
+ * writer thread. Callers queue commands; the writer takes whatever has queued up, up to
+ * {@code max-batch}, applies each through the account's domain transitions, appends the results
+ * to the journal, forces it once for the whole batch and only then answers the callers. If the
+ * journal cannot be written the shard stops and refuses everything after, rather than answer
+ * from a state it could not make durable.
+ */
+@Slf4j
+final class EngineShard {
+    
+    private static final long IDLE_POLL_MS = 50;
+    
+    private final int index;
+    private final Path directory;
+    private final MappedJournal journal;
+    private final BlockingQueue<Command> commands;
+    private final int maxBatch;
+    private final boolean force;
+    private final long snapshotEvery;
+    private final Duration keyRetention;
+    private final Timer batchTimer;
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private final LinkedHashMap<String, JournalRecord> keys = new LinkedHashMap<>();
+    private Thread writer;
+    private long sinceSnapshot;
+    private volatile long snapshotSequence;
+    private volatile long syncedSequence;
+    private volatile boolean running = true;
+    private volatile IllegalStateException failure;
+    
+    EngineShard(int index, Path directory, int segmentBytes, int queueCapacity, int maxBatch, boolean force,
+                long snapshotEvery, Duration keyRetention, Timer batchTimer) throws IOException {
+        this.index = index;
+        this.directory = directory;
+        this.journal = MappedJournal.open(directory, segmentBytes);
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.force = force;
+        this.snapshotEvery = snapshotEvery;
+        this.keyRetention = keyRetention;
+        this.batchTimer = batchTimer;
+    }
+    
+    int index() {
+        return index;
+    }
+    
+    MappedJournal journal() {
+        return journal;
+    }
+    
+    int queueDepth() {
+        return commands.size();
+    }
+    
+    long snapshotSequence() {
+        return snapshotSequence;
+    }
+    
+    long syncedSequence() {
+        return syncedSequence;
+    }
+    
+    void markSynced(long sequence) {
+        syncedSequence = sequence;
+    }
+    
+    boolean isResident(String accountNumberHash) {
+        return accounts.containsKey(accountNumberHash);
+    }
+    
+    /**
+     * Rebuilds the resident accounts from the newest snapshot plus the journal after it, and the
+     * recent idempotency keys from the journal after the database checkpoint. Must run before
+     * {@link #start()}.
+     */
+    void recover(long checkpoint) throws IOException {
+        Optional<EngineSnapshot.Loaded> snapshot = EngineSnapshot.readLatest(directory);
+        long fromSnapshot = snapshot.map(EngineSnapshot.Loaded::sequence).orElse(0L);
+        long lastSequence = journal.lastSequence();
+        if (fromSnapshot > lastSequence || checkpoint > lastSequence) {
+            throw new IllegalStateException("Journal of engine shard " + index + " ends at " + lastSequence
+                    + " but the snapshot is at " + fromSnapshot + " and the database at " + checkpoint);
+        }
+        snapshot.ifPresent(loaded -> loaded.accounts().forEach(account -> accounts.put(account.getAccountNumber().getHash(), account)));
+        
+        LocalDateTime keysSince = LocalDateTime.now().minus(keyRetention);
+        int replayed = 0;
+        try (MappedJournal.Reader reader = journal.reader(Math.min(fromSnapshot, checkpoint))) {
+            JournalRecord record;
+            while ((record = reader.next(lastSequence)) != null) {
+                if (record.sequence() > fromSnapshot) {
+                    // Redo the recorded outcome; the domain rules already ran when it was journaled
+                    AccountNumber accountNumber = record.toAccountNumber();
+                    Account current = accounts.get(accountNumber.getHash());
+                    AccountStatus status = current != null ? current.getStatus() : AccountStatus.ACTIVE;
+                    accounts.put(accountNumber.getHash(),
+                            EngineSnapshot.resident(record.accountId(), accountNumber, record.balanceAfter(), status));
+                    replayed++;
+                }
+                if (record.idempotencyKey() != null && record.createdAt().isAfter(keysSince)) {
+                    keys.put(record.idempotencyKey(), record);
+                }
+            }
+        }
+        snapshotSequence = fromSnapshot;
+        syncedSequence = checkpoint;
+        sinceSnapshot = lastSequence - fromSnapshot;
+        log.info("Engine shard {} recovered {} accounts from snapshot {} and {} journal records", index,
+                accounts.size(), fromSnapshot, replayed);
+    }
+    
+    /**
+     * Takes each resident account's status from the database, where status changes are made:
+     * the journal and snapshots only carry what the engine itself changed. Must run after
+     * {@link #recover(long)} and before {@link #start()}.
+     */
+    void loadStatuses(Function<List<AccountId>, List<Account>> loader, int chunkSize) {
+        List<AccountId> ids = accounts.values().stream().map(Account::getId).toList();
+        Map<Long, AccountStatus> stored = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            loader.apply(ids.subList(from, Math.min(ids.size(), from + chunkSize)))
+                    .forEach(account -> stored.put(account.getId().getValue(), account.getStatus()));
+        }
+        accounts.replaceAll((hash, account) -> {
+            AccountStatus status = stored.get(account.getId().getValue());
+            return status == null || status == account.getStatus()
+                    ? account
+                    : EngineSnapshot.resident(account.getId().getValue(), account.getAccountNumber(), account.getBalance(), status);
+        });
+    }
+    
+    void start() {
+        writer = new Thread(this::run, "engine-shard-" + index);
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /**
+     * Queues the command and waits until it is journaled. Throws the command's own rejection,
+     * or {@link ConcurrentModificationException} when the shard is saturated or does not answer
+     * in time; a command that timed out may still be applied, so retries need the same key.
+     */
+    JournalRecord submit(Command command, long timeoutMs) {
+        IllegalStateException stopped = failure;
+        if (stopped != null) {
+            throw stopped;
+        }
+        if (!running) {
+            throw new IllegalStateException("Balance engine is shutting down");
+        }
+        if (!commands.offer(command)) {
+            throw new ConcurrentModificationException("Too many operations queued for the balance engine. Please retry.");
+        }
+        try {
+            return command.result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException rejection) {
+                throw rejection;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConcurrentModificationException("Timed out waiting for the balance engine. Please retry.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentModificationException("Interrupted while waiting for the balance engine", e);
+        }
+    }
+    
+    /**
+     * Stops taking commands, applies what is queued, writes a final snapshot and closes the journal.
+     */
+    void shutdown(Duration timeout) throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(timeout.toMillis());
+        }
+    }
+    
+    private void run() {
+        List<Command> batch = new ArrayList<>(maxBatch);
+        while (running || !commands.isEmpty()) {
+            Command first;
+            try {
+                first = commands.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                expireKeys();
+                continue;
+            }
+            batch.add(first);
+            commands.drainTo(batch, maxBatch - 1);
+            long start = System.nanoTime();
+            process(batch);
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batch.clear();
+        }
+        if (failure == null) {
+            snapshot();
+        }
+        try {
+            journal.close();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to close journal of engine shard {}: {}", index, e.getMessage());
+        }
+    }
+    
+    private void process(List<Command> batch) {
+        if (failure != null) {
+            batch.forEach(command -> command.result.completeExceptionally(failure));
+            return;
+        }
+        Map<String, Account> touched = new HashMap<>();
+        Map<String, JournalRecord> appliedKeys = new HashMap<>();
+        List<Command> accepted = new ArrayList<>(batch.size());
+        List<JournalRecord> results = new ArrayList<>(batch.size());
+        long firstSequence = journal.lastSequence() + 1;
+        try {
+            for (Command command : batch) {
+                try {
+                    results.add(apply(command, touched, appliedKeys));
+                    accepted.add(command);
+                } catch (DomainException | IllegalArgumentException e) {
+                    command.result.completeExceptionally(e);
+                }
+            }
+            journal.sync(force);
+        } catch (IOException | UncheckedIOException e) {
+            failure = new IllegalStateException("Balance engine shard " + index + " could not write its journal", e);
+            log.error("Stopping engine shard {}: journal write failed", index, e);
+            batch.forEach(command -> command.result.completeExceptionally(failure));
+            return;
+        }
+        
+        // Visible to later commands only once durable, so nothing is answered from an unforced state
+        accounts.putAll(touched);
+        keys.putAll(appliedKeys);
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).result.complete(results.get(i));
+        }
+        
+        sinceSnapshot += journal.lastSequence() - firstSequence + 1;
+        if (sinceSnapshot >= snapshotEvery) {
+            snapshot();
+        }
+        expireKeys();
+    }
+    
+    private JournalRecord apply(Command command, Map<String, Account> touched, Map<String, JournalRecord> appliedKeys)
+            throws IOException {
+        String key = command.idempotencyKey;
+        if (key != null) {
+            JournalRecord previous = appliedKeys.containsKey(key) ? appliedKeys.get(key) : keys.get(key);
+            if (previous != null) {
+                return replay(previous, command);
+            }
+        }
+        
+        String hash = command.accountNumber.getHash();
+        Account current = touched.get(hash);
+        if (current == null) {
+            current = accounts.get(hash);
+        }
+        if (current == null) {
+            current = command.loaded;
+        }
+        if (current == null) {
+            throw new AccountNotFoundException("Account with number " + command.accountNumber.getValue() + " not found");
+        }
+        Account next = command.type == LedgerEntry.Type.DEPOSIT
+                ? current.deposit(command.amount, command.at)
+                : current.withdraw(command.amount, command.at);
+        
+        Money balance = next.getBalance();
+        JournalRecord record = new JournalRecord(journal.lastSequence() + 1, command.type, current.getId().getValue(),
+                current.getAccountNumber().getValue(), command.amount.getMinorUnits(), balance.getMinorUnits(),
+                balance.getCurrency().getCurrencyCode(), key, command.description, command.at);
+        journal.append(record);
+        touched.put(hash, next);
+        if (key != null) {
+            appliedKeys.put(key, record);
+        }
+        return record;
+    }
+    
+    private static JournalRecord replay(JournalRecord previous, Command command) {
+        if (previous.type() != command.type
+                || !previous.accountNumber().equals(command.accountNumber.getValue())
+                || !previous.amount().equals(command.amount)) {
+            throw new IdempotencyException("Idempotency key " + command.idempotencyKey + " was already used for a different request");
+        }
+        return previous;
+    }
+    
+    private void snapshot() {
+        long sequence = journal.lastSequence();
+        if (sequence == snapshotSequence) {
+            return;
+        }
+        try {
+            // A snapshot must never get ahead of the journal on disk
+            journal.sync(true);
+            EngineSnapshot.write(directory, sequence, accounts.values());
+            snapshotSequence = sequence;
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to write snapshot of engine shard {}: {}", index, e.getMessage());
+        }
+        sinceSnapshot = 0;
+    }
+    
+    private void expireKeys() {
+        // Keys older than the retention window are answered by the idempotency table once synced
+        LocalDateTime cutoff = LocalDateTime.now().minus(keyRetention);
+        long synced = syncedSequence;
+        Iterator<JournalRecord> oldest = keys.values().iterator();
+        while (oldest.hasNext()) {
+            JournalRecord record = oldest.next();
+            if (record.createdAt().isAfter(cutoff) || record.sequence() > synced) {
+                return;
+            }
+            oldest.remove();
+        }
+    }
+    
+    static final class Command {
+        private final LedgerEntry.Type type;
+        private final AccountNumber accountNumber;
+        private final Money amount;
+        private final String idempotencyKey;
+        private final String description;
+        private final LocalDateTime at;
+        private final Account loaded;
+        private final CompletableFuture<JournalRecord> result = new CompletableFuture<>();
+        
+        /**
+         * {@code loaded} is the account as stored, for accounts not yet resident in the shard.
+         */
+        Command(LedgerEntry.Type type, AccountNumber accountNumber, Money amount, String idempotencyKey,
+                String description, LocalDateTime at, Account loaded) {
+            this.type = type;
+            this.accountNumber = accountNumber;
+            this.amount = amount;
+            this.idempotencyKey = idempotencyKey;
+            this.description = description;
+            this.at = at;
+            this.loaded = loaded;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Point-in-time copy of a shard's resident balances, so a restart replays only the journal
+ * written after it. Files are written under a temporary name, forced and then renamed, and end
+ * with a CRC32C of their content; a snapshot that fails the check is skipped in favour of the
+ * previous one. Only the newest {@value #KEEP} are kept.
+ */
+@Slf4j
+final class EngineSnapshot {
+    
+    static final int KEEP = 2;
+    
+    private static final int MAGIC = 0x424e4b53;
+    private static final int FORMAT = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".dat";
+    
+    private EngineSnapshot() {
+    }
+    
+    /**
+     * Resident accounts as of a journal sequence.
+     */
+    record Loaded(long sequence, List<Account> accounts) {
+    }
+    
+    static void write(Path directory, long sequence, Collection<Account> accounts) throws IOException {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (OutputStream file = Files.newOutputStream(temporary);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(sequence);
+            out.writeInt(accounts.size());
+            for (Account account : accounts) {
+                out.writeLong(account.getId().getValue());
+                out.writeUTF(account.getAccountNumber().getValue());
+                out.writeLong(account.getBalance().getMinorUnits());
+                out.writeUTF(account.getBalance().getCurrency().getCurrencyCode());
+                out.writeByte(account.getStatus().ordinal());
+            }
+            out.flush();
+            // The checksum trails the content it covers, so it goes straight to the file
+            new DataOutputStream(file).writeInt((int) crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        
+        List<Path> snapshots = list(directory);
+        for (int i = KEEP; i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+    }
+    
+    /**
+     * Reads the newest intact snapshot, if any.
+     */
+    static Optional<Loaded> readLatest(Path directory) throws IOException {
+        for (Path file : list(directory)) {
+            try {
+                return Optional.of(read(file));
+            } catch (IOException | IllegalArgumentException | IndexOutOfBoundsException e) {
+                log.warn("Skipping unreadable engine snapshot {}: {}", file, e.getMessage());
+            }
+        }
+        return Optional.empty();
+    }
+    
+    private static Loaded read(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (InputStream raw = Files.newInputStream(file);
+             BufferedInputStream buffered = new BufferedInputStream(raw, 64 * 1024)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(buffered, crc));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT) {
+                throw new IOException("Not an engine snapshot");
+            }
+            long sequence = in.readLong();
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Negative account count");
+            }
+            List<Account> accounts = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                long id = in.readLong();
+                String accountNumber = in.readUTF();
+                long balanceMinor = in.readLong();
+                String currency = in.readUTF();
+                AccountStatus status = AccountStatus.values()[in.readUnsignedByte()];
+                accounts.add(resident(id, AccountNumber.of(accountNumber), Money.ofMinor(balanceMinor, Money.currency(currency)), status));
+            }
+            int expected = (int) crc.getValue();
+            if (new DataInputStream(buffered).readInt() != expected) {
+                throw new IOException("Checksum mismatch");
+            }
+            return new Loaded(sequence, accounts);
+        }
+    }
+    
+    /**
+     * Resident copy of an account. It carries only what the balance rules and responses read.
+     */
+    static Account resident(long id, AccountNumber accountNumber, Money balance, AccountStatus status) {
+        return Account.builder()
+                .id(AccountId.of(id))
+                .accountNumber(accountNumber)
+                .balance(balance)
+                .status(status)
+                .version(Version.initial())
+                .build();
+    }
+    
+    private static List<Path> list(Path directory) throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            files.forEach(snapshots::add);
+        }
+        // Zero-padded sequences sort by name; newest first
+        snapshots.sort(Comparator.comparing((Path path) -> path.getFileName().toString()).reversed());
+        return snapshots;
+    }
+}
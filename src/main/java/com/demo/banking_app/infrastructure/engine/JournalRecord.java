@@ -0,0 +1,34 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * One applied balance movement as written to a shard's journal. Sequences are per shard,
+ * start at 1 and have no gaps.
+ */
+record JournalRecord(long sequence, LedgerEntry.Type type, long accountId, String accountNumber, long amountMinor,
+                     long balanceAfterMinor, String currency, String idempotencyKey, String description,
+                     LocalDateTime createdAt) {
+    
+    Money amount() {
+        return Money.ofMinor(amountMinor, Money.currency(currency));
+    }
+    
+    Money balanceAfter() {
+        return Money.ofMinor(balanceAfterMinor, Money.currency(currency));
+    }
+    
+    AccountNumber toAccountNumber() {
+        return AccountNumber.of(accountNumber);
+    }
+    
+    LedgerEntry toLedgerEntry() {
+        return new LedgerEntry(null, AccountId.of(accountId), type, amount(), balanceAfter(), idempotencyKey,
+                description, createdAt);
+    }
+}
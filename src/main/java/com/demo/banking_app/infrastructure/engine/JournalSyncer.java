@@ -0,0 +1,184 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TransactionRepository;
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.application.service.WithdrawResponse;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.DepositCompletedEvent;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Version;
+import com.demo.banking_app.domain.model.WithdrawalCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Copies journaled movements into the database in journal order, one transaction per batch:
+ * the net balance change of each account touched, the ledger entries, the idempotency keys with
+ * their responses, the domain events and audit records, and the shard's checkpoint. A batch
+ * that fails is retried unchanged on the next run, so every movement lands exactly once.
+ * Cached copies of the touched accounts are evicted with the batch.
+ */
+@RequiredArgsConstructor
+final class JournalSyncer {
+    
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1, updated_at = ? WHERE id = ?";
+    private static final String ADVANCE_CHECKPOINT_SQL =
+            "UPDATE engine_checkpoints SET synced_sequence = ?, updated_at = ? WHERE shard = ? AND synced_sequence = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final IdempotencyRepository idempotencyRepository;
+    private final ResponseCodec<DepositResponse> depositCodec;
+    private final ResponseCodec<WithdrawResponse> withdrawCodec;
+    private final EventPublisher eventPublisher;
+    private final AuditLog auditLog;
+    private final int batchSize;
+    private final Map<Integer, Cursor> cursors = new LinkedHashMap<>();
+    
+    OptionalLong findCheckpoint(int shard) {
+        List<Long> rows = jdbcTemplate.queryForList(
+                "SELECT synced_sequence FROM engine_checkpoints WHERE shard = ?", Long.class, shard);
+        return rows.isEmpty() ? OptionalLong.empty() : OptionalLong.of(rows.get(0));
+    }
+    
+    void createCheckpoint(int shard) {
+        jdbcTemplate.update("INSERT INTO engine_checkpoints (shard, synced_sequence, updated_at) VALUES (?, 0, ?)",
+                shard, Timestamp.valueOf(LocalDateTime.now()));
+    }
+    
+    /**
+     * Starts following the shard's journal after the given checkpoint. Call once per shard,
+     * before the first {@link #sync}.
+     */
+    void follow(EngineShard shard, long checkpoint) {
+        cursors.put(shard.index(), new Cursor(shard.journal().reader(checkpoint), checkpoint, new ArrayList<>(batchSize)));
+    }
+    
+    /**
+     * Copies up to one batch of durable movements of the shard and returns how many were copied.
+     */
+    int sync(EngineShard shard) {
+        Cursor cursor = cursors.get(shard.index());
+        long durable = shard.journal().durableSequence();
+        try {
+            JournalRecord record;
+            while (cursor.pending.size() < batchSize && (record = cursor.reader.next(durable)) != null) {
+                cursor.pending.add(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (cursor.pending.isEmpty()) {
+            return 0;
+        }
+        
+        List<JournalRecord> batch = cursor.pending;
+        long last = batch.get(batch.size() - 1).sequence();
+        transactionTemplate.executeWithoutResult(status -> write(shard.index(), cursor.synced, last, batch));
+        int copied = batch.size();
+        batch.clear();
+        cursor.synced = last;
+        shard.markSynced(last);
+        return copied;
+    }
+    
+    private void write(int shard, long previous, long last, List<JournalRecord> batch) {
+        if (jdbcTemplate.update(ADVANCE_CHECKPOINT_SQL, last, Timestamp.valueOf(LocalDateTime.now()), shard, previous) != 1) {
+            throw new IllegalStateException("Checkpoint of engine shard " + shard + " moved past " + previous
+                    + "; another instance is syncing the same shard");
+        }
+        
+        Map<Long, BalanceChange> changes = new LinkedHashMap<>();
+        List<LedgerEntry> entries = new ArrayList<>(batch.size());
+        for (JournalRecord record : batch) {
+            BigDecimal amount = record.amount().getAmount();
+            changes.computeIfAbsent(record.accountId(), id -> new BalanceChange(record.toAccountNumber()))
+                    .add(record.type() == LedgerEntry.Type.DEPOSIT ? amount : amount.negate(), record.createdAt());
+            entries.add(record.toLedgerEntry());
+        }
+        // One net change per account; applied relative to the row, so it never undoes a write made elsewhere
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, changes.entrySet(), changes.size(), (ps, change) -> {
+            ps.setBigDecimal(1, change.getValue().delta);
+            ps.setTimestamp(2, Timestamp.valueOf(change.getValue().updatedAt));
+            ps.setLong(3, change.getKey());
+        });
+        accountRepository.evict(changes.values().stream().map(change -> change.accountNumber).toList());
+        transactionRepository.appendAll(entries);
+        
+        for (int i = 0; i < batch.size(); i++) {
+            JournalRecord record = batch.get(i);
+            LedgerEntry entry = entries.get(i);
+            AccountNumber accountNumber = record.toAccountNumber();
+            if (record.idempotencyKey() != null) {
+                storeKey(record, entry, accountNumber);
+            }
+            AccountBalance balance = AccountBalance.of(entry.getAccountId(), accountNumber, entry.getBalanceAfter(), Version.initial());
+            eventPublisher.publish(record.type() == LedgerEntry.Type.DEPOSIT
+                    ? new DepositCompletedEvent(balance, entry.getAmount(), entry.getCreatedAt())
+                    : new WithdrawalCompletedEvent(balance, entry.getAmount(), entry.getCreatedAt()));
+            auditLog.record(entry);
+        }
+    }
+    
+    private void storeKey(JournalRecord record, LedgerEntry entry, AccountNumber accountNumber) {
+        boolean deposit = record.type() == LedgerEntry.Type.DEPOSIT;
+        IdempotencyKey claim = IdempotencyKey.create(record.idempotencyKey(),
+                deposit ? IdempotencyKey.OperationType.DEPOSIT : IdempotencyKey.OperationType.WITHDRAWAL,
+                accountNumber.getHash(), entry.getAmount(), entry.getCreatedAt());
+        if (idempotencyRepository.claim(claim)) {
+            byte[] response = deposit
+                    ? depositCodec.encode(DepositResponse.from(entry, accountNumber))
+                    : withdrawCodec.encode(WithdrawResponse.from(entry, accountNumber));
+            idempotencyRepository.complete(claim.markCompleted(response));
+        }
+    }
+    
+    private static final class BalanceChange {
+        private final AccountNumber accountNumber;
+        private BigDecimal delta = BigDecimal.ZERO;
+        private LocalDateTime updatedAt;
+        
+        private BalanceChange(AccountNumber accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+        
+        private void add(BigDecimal amount, LocalDateTime at) {
+            delta = delta.add(amount);
+            updatedAt = at;
+        }
+    }
+    
+    private static final class Cursor {
+        private final MappedJournal.Reader reader;
+        private final List<JournalRecord> pending;
+        private long synced;
+        
+        private Cursor(MappedJournal.Reader reader, long synced, List<JournalRecord> pending) {
+            this.reader = reader;
+            this.synced = synced;
+            this.pending = pending;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.domain.model.LedgerEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of one engine shard, kept in fixed-size memory-mapped segment files named
+ * after the first sequence they hold. Records are framed as {@code [int length][int crc32c][payload]}
+ * and a zero length marks the end of written data. Opening the journal scans the newest segment
+ * and zeroes everything after the last intact record, so a write torn by a crash is discarded and
+ * appends continue right behind the last acknowledged movement.
+ * <p>
+ * Only the shard's writer thread appends. Readers map the segments on their own and never read
+ * past {@link #durableSequence()}.
+ */
+@Slf4j
+final class MappedJournal implements Closeable {
+    
+    static final int HEADER_BYTES = 8;
+    
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".dat";
+    private static final int FIXED_PAYLOAD_BYTES = 45;
+    private static final LedgerEntry.Type[] TYPES = LedgerEntry.Type.values();
+    private static final byte[] ZEROS = new byte[64 * 1024];
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final ConcurrentSkipListMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer payload = ByteBuffer.allocate(1024);
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastSequence;
+    private volatile long durableSequence;
+    
+    private MappedJournal(Path directory, int segmentBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+    }
+    
+    static MappedJournal open(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes <= HEADER_BYTES + FIXED_PAYLOAD_BYTES) {
+            throw new IllegalArgumentException("Journal segments must hold at least one record");
+        }
+        Files.createDirectories(directory);
+        MappedJournal journal = new MappedJournal(directory, segmentBytes);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                journal.segments.put(firstSequence(file), file);
+            }
+        }
+        journal.recoverTail();
+        return journal;
+    }
+    
+    long lastSequence() {
+        return lastSequence;
+    }
+    
+    /**
+     * Highest sequence that readers may see: everything up to it is completely written and, when
+     * the journal is forced, on disk.
+     */
+    long durableSequence() {
+        return durableSequence;
+    }
+    
+    int segmentCount() {
+        return segments.size();
+    }
+    
+    void append(JournalRecord record) throws IOException {
+        if (record.sequence() != lastSequence + 1) {
+            throw new IllegalArgumentException("Expected journal sequence " + (lastSequence + 1) + " but got " + record.sequence());
+        }
+        encode(record);
+        int length = payload.remaining();
+        if (HEADER_BYTES + length > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + length + " bytes does not fit in a segment");
+        }
+        if (segment == null || segment.remaining() < HEADER_BYTES + length) {
+            roll(record.sequence());
+        }
+        int position = segment.position();
+        crc.reset();
+        crc.update(payload.duplicate());
+        segment.put(position + HEADER_BYTES, payload, 0, length);
+        segment.putInt(position + 4, (int) crc.getValue());
+        // Length goes in last, so a reader never finds a header without its payload
+        segment.putInt(position, length);
+        segment.position(position + HEADER_BYTES + length);
+        lastSequence = record.sequence();
+    }
+    
+    /**
+     * Makes everything appended so far visible to readers, forcing it to disk first when asked.
+     */
+    void sync(boolean force) {
+        if (force && segment != null) {
+            segment.force();
+        }
+        durableSequence = lastSequence;
+    }
+    
+    /**
+     * Returns a reader positioned after the given sequence.
+     */
+    Reader reader(long afterSequence) {
+        return new Reader(afterSequence + 1);
+    }
+    
+    /**
+     * Deletes the segments whose records all have a sequence up to the given one. The segment
+     * being written is never deleted.
+     */
+    void deleteSegmentsThrough(long sequence) throws IOException {
+        for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+            Long following = segments.higherKey(entry.getKey());
+            if (following == null || following > sequence + 1) {
+                return;
+            }
+            Files.deleteIfExists(entry.getValue());
+            segments.remove(entry.getKey());
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        if (segment != null) {
+            segment.force();
+            channel.close();
+            segment = null;
+        }
+    }
+    
+    private void recoverTail() throws IOException {
+        Map.Entry<Long, Path> last = segments.lastEntry();
+        if (last == null) {
+            return;
+        }
+        channel = FileChannel.open(last.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, (int) channel.size()));
+        
+        lastSequence = last.getKey() - 1;
+        int position = 0;
+        while (readAt(segment, position, lastSequence + 1, crc) != null) {
+            position += HEADER_BYTES + segment.getInt(position);
+            lastSequence++;
+        }
+        if (position + HEADER_BYTES <= segment.capacity() && segment.getInt(position) != 0) {
+            log.warn("Discarding torn journal record after sequence {} in {}", lastSequence, last.getValue());
+        }
+        // Zero the whole tail: stale bytes further on could otherwise pass for records after new appends
+        for (int offset = position; offset < segment.capacity(); offset += ZEROS.length) {
+            segment.put(offset, ZEROS, 0, Math.min(ZEROS.length, segment.capacity() - offset));
+        }
+        segment.force();
+        segment.position(position);
+        durableSequence = lastSequence;
+    }
+    
+    private void roll(long firstSequence) throws IOException {
+        if (segment != null) {
+            segment.force();
+            channel.close();
+        }
+        Path file = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        segments.put(firstSequence, file);
+    }
+    
+    private void encode(JournalRecord record) {
+        payload.clear();
+        ensure(FIXED_PAYLOAD_BYTES);
+        payload.putLong(record.sequence())
+                .put((byte) record.type().ordinal())
+                .putLong(record.accountId())
+                .putLong(record.amountMinor())
+                .putLong(record.balanceAfterMinor())
+                .putLong(record.createdAt().toEpochSecond(ZoneOffset.UTC))
+                .putInt(record.createdAt().getNano());
+        putString(record.accountNumber());
+        putString(record.currency());
+        putString(record.idempotencyKey());
+        putString(record.description());
+        payload.flip();
+    }
+    
+    private void putString(String value) {
+        if (value == null) {
+            ensure(4);
+            payload.putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensure(4 + bytes.length);
+        payload.putInt(bytes.length).put(bytes);
+    }
+    
+    private void ensure(int bytes) {
+        if (payload.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(payload.capacity() * 2, payload.position() + bytes));
+            payload.flip();
+            payload = larger.put(payload);
+        }
+    }
+    
+    /**
+     * Returns the record at the position when it is intact and carries the expected sequence,
+     * otherwise null.
+     */
+    static JournalRecord readAt(ByteBuffer buffer, int position, long expectedSequence, CRC32C crc) {
+        if (position + HEADER_BYTES > buffer.capacity()) {
+            return null;
+        }
+        int length = buffer.getInt(position);
+        if (length < FIXED_PAYLOAD_BYTES || length > buffer.capacity() - position - HEADER_BYTES) {
+            return null;
+        }
+        ByteBuffer body = buffer.slice(position + HEADER_BYTES, length);
+        crc.reset();
+        crc.update(body.duplicate());
+        if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+        try {
+            JournalRecord record = decode(body);
+            return record.sequence() == expectedSequence ? record : null;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static JournalRecord decode(ByteBuffer body) {
+        long sequence = body.getLong();
+        LedgerEntry.Type type = TYPES[body.get()];
+        long accountId = body.getLong();
+        long amountMinor = body.getLong();
+        long balanceAfterMinor = body.getLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(body.getLong(), body.getInt(), ZoneOffset.UTC);
+        return new JournalRecord(sequence, type, accountId, getString(body), amountMinor, balanceAfterMinor,
+                getString(body), getString(body), getString(body), createdAt);
+    }
+    
+    private static String getString(ByteBuffer body) {
+        int length = body.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private static long firstSequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+    
+    /**
+     * Sequential reader used for recovery and for syncing the database.
+     */
+    final class Reader implements Closeable {
+        
+        private final CRC32C readCrc = new CRC32C();
+        private long currentFirst;
+        private FileChannel readChannel;
+        private MappedByteBuffer buffer;
+        private int position;
+        private long nextSequence;
+        
+        private Reader(long nextSequence) {
+            this.nextSequence = nextSequence;
+        }
+        
+        /**
+         * Returns the next record if its sequence is at most {@code upToSequence}, otherwise null.
+         */
+        JournalRecord next(long upToSequence) throws IOException {
+            if (nextSequence > upToSequence) {
+                return null;
+            }
+            if (buffer == null) {
+                open(nextSequence);
+            }
+            JournalRecord record = readAt(buffer, position, nextSequence, readCrc);
+            if (record == null) {
+                Long following = segments.higherKey(currentFirst);
+                if (following == null || following != nextSequence) {
+                    throw new IllegalStateException("Journal record " + nextSequence + " in " + directory + " is missing or corrupt");
+                }
+                open(nextSequence);
+                record = readAt(buffer, position, nextSequence, readCrc);
+                if (record == null) {
+                    throw new IllegalStateException("Journal record " + nextSequence + " in " + directory + " is missing or corrupt");
+                }
+            }
+            position += HEADER_BYTES + buffer.getInt(position);
+            nextSequence++;
+            return record;
+        }
+        
+        private void open(long sequence) throws IOException {
+            Map.Entry<Long, Path> entry = segments.floorEntry(sequence);
+            if (entry == null) {
+                throw new IllegalStateException("Journal in " + directory + " no longer holds sequence " + sequence);
+            }
+            close();
+            currentFirst = entry.getKey();
+            readChannel = FileChannel.open(entry.getValue(), StandardOpenOption.READ);
+            buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+            position = 0;
+            for (long skipped = currentFirst; skipped < sequence; skipped++) {
+                if (readAt(buffer, position, skipped, readCrc) == null) {
+                    throw new IllegalStateException("Journal record " + skipped + " in " + directory + " is missing or corrupt");
+                }
+                position += HEADER_BYTES + buffer.getInt(position);
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (readChannel != null) {
+                readChannel.close();
+                readChannel = null;
+            }
+        }
+    }
+}
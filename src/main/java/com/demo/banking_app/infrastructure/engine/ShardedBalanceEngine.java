@@ -0,0 +1,258 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AuditLog;
+import com.demo.banking_app.application.port.out.BalanceEngine;
+import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.application.port.out.TransactionRepository;
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.application.service.WithdrawResponse;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance engine for the highest-volume tier: balances live in memory, split into shards by
+ * account number hash with one writer thread per shard, so same-account movements never wait
+ * on a lock or a database round trip. Each movement is journaled before it is answered;
+ * snapshots keep restarts short, and a background thread copies the journal into the database.
+ * <p>
+ * The engine must be the only writer of the balances it holds, so transfers and batches are
+ * switched off on this write path and other instances must not change them while it runs.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "engine")
+@Slf4j
+public class ShardedBalanceEngine implements BalanceEngine, SmartInitializingSingleton {
+    
+    private static final String LAYOUT_FILE = "shards";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+    
+    private final AccountRepository accountRepository;
+    private final TimeSource timeSource;
+    private final MeterRegistry meterRegistry;
+    private final JournalSyncer syncer;
+    private final Path directory;
+    private final EngineShard[] shards;
+    private final int mask;
+    private final int segmentBytes;
+    private final int queueCapacity;
+    private final int maxBatch;
+    private final boolean force;
+    private final long snapshotEvery;
+    private final Duration keyRetention;
+    private final long syncIntervalMs;
+    private final int syncBatchSize;
+    private final long ackTimeoutMs;
+    private final ScheduledExecutorService syncExecutor;
+    private final Counter syncFailures;
+    
+    public ShardedBalanceEngine(
+            AccountRepository accountRepository,
+            TimeSource timeSource,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TransactionRepository transactionRepository,
+            IdempotencyRepository idempotencyRepository,
+            ResponseCodec<DepositResponse> depositCodec,
+            ResponseCodec<WithdrawResponse> withdrawCodec,
+            EventPublisher eventPublisher,
+            AuditLog auditLog,
+            MeterRegistry meterRegistry,
+            @Value("${banking.engine.directory:data/engine}") String directory,
+            @Value("${banking.engine.shards:8}") int shardCount,
+            @Value("${banking.engine.queue-capacity:65536}") int queueCapacity,
+            @Value("${banking.engine.max-batch:256}") int maxBatch,
+            @Value("${banking.engine.journal.segment-size-mb:64}") int segmentSizeMb,
+            @Value("${banking.engine.journal.fsync:true}") boolean force,
+            @Value("${banking.engine.snapshot-every:100000}") long snapshotEvery,
+            @Value("${banking.engine.idempotency-retention-seconds:600}") long keyRetentionSeconds,
+            @Value("${banking.engine.sync.interval-ms:100}") long syncIntervalMs,
+            @Value("${banking.engine.sync.batch-size:1000}") int syncBatchSize,
+            @Value("${banking.engine.ack-timeout-ms:5000}") long ackTimeoutMs) {
+        if (shardCount <= 0 || queueCapacity <= 0 || maxBatch <= 0 || segmentSizeMb <= 0 || segmentSizeMb > 1024
+                || snapshotEvery <= 0 || syncBatchSize <= 0) {
+            throw new IllegalArgumentException("Engine shards, queue capacity, batch sizes and snapshot interval must be positive "
+                    + "and journal segments at most 1024 MB");
+        }
+        int size = Integer.highestOneBit(shardCount - 1 > 0 ? (shardCount - 1) << 1 : 1);
+        this.accountRepository = accountRepository;
+        this.timeSource = timeSource;
+        this.meterRegistry = meterRegistry;
+        this.syncer = new JournalSyncer(jdbcTemplate, new TransactionTemplate(transactionManager), accountRepository, transactionRepository,
+                idempotencyRepository, depositCodec, withdrawCodec, eventPublisher, auditLog, syncBatchSize);
+        this.directory = Path.of(directory);
+        this.shards = new EngineShard[size];
+        this.mask = size - 1;
+        this.segmentBytes = segmentSizeMb * 1024 * 1024;
+        this.queueCapacity = queueCapacity;
+        this.maxBatch = maxBatch;
+        this.force = force;
+        this.snapshotEvery = snapshotEvery;
+        this.keyRetention = Duration.ofSeconds(keyRetentionSeconds);
+        this.syncIntervalMs = syncIntervalMs;
+        this.syncBatchSize = syncBatchSize;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "engine-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.syncFailures = Counter.builder("banking.engine.sync.failures")
+                .description("Journal batches that could not be copied to the database")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Recovers every shard once the schema exists and before any request is served.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            checkLayout();
+            for (int i = 0; i < shards.length; i++) {
+                shards[i] = openShard(i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover the balance engine from " + directory.toAbsolutePath(), e);
+        }
+        for (EngineShard shard : shards) {
+            shard.start();
+        }
+        syncExecutor.scheduleWithFixedDelay(this::syncAll, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Balance engine running {} shards from {}", shards.length, directory.toAbsolutePath());
+    }
+    
+    @Override
+    public LedgerEntry apply(LedgerEntry.Type type, AccountNumber accountNumber, Money amount, String idempotencyKey,
+                             String description) {
+        if (type != LedgerEntry.Type.DEPOSIT && type != LedgerEntry.Type.WITHDRAWAL) {
+            throw new IllegalArgumentException("The balance engine applies deposits and withdrawals only");
+        }
+        EngineShard shard = shards[shardIndex(accountNumber)];
+        Account loaded = null;
+        if (!shard.isResident(accountNumber.getHash())) {
+            // Never moved by the engine, so the stored account is current
+            loaded = accountRepository.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new AccountNotFoundException("Account with number " + accountNumber.getValue() + " not found"));
+        }
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey;
+        EngineShard.Command command = new EngineShard.Command(type, accountNumber, amount, key, description,
+                timeSource.now(), loaded);
+        return shard.submit(command, ackTimeoutMs).toLedgerEntry();
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        syncExecutor.shutdown();
+        syncExecutor.awaitTermination(SHUTDOWN_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        for (EngineShard shard : shards) {
+            if (shard != null) {
+                shard.shutdown(SHUTDOWN_TIMEOUT);
+            }
+        }
+        // Whatever is not copied now is copied from the journal on the next start
+        syncAll();
+    }
+    
+    int shardIndex(AccountNumber accountNumber) {
+        int h = accountNumber.getHash().hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+    
+    private EngineShard openShard(int index) throws IOException {
+        Timer batchTimer = Timer.builder("banking.engine.batch")
+                .description("Time for a shard writer to apply, journal and force one batch of commands")
+                .tag("shard", Integer.toString(index))
+                .register(meterRegistry);
+        EngineShard shard = new EngineShard(index, directory.resolve("shard-" + index), segmentBytes, queueCapacity,
+                maxBatch, force, snapshotEvery, keyRetention, batchTimer);
+        
+        OptionalLong checkpoint = syncer.findCheckpoint(index);
+        if (checkpoint.isEmpty()) {
+            if (shard.journal().lastSequence() > 0) {
+                throw new IllegalStateException("Journal of engine shard " + index + " has records but the database has no "
+                        + "checkpoint for it; it belongs to a different database");
+            }
+            syncer.createCheckpoint(index);
+        }
+        long synced = checkpoint.orElse(0L);
+        shard.recover(synced);
+        shard.loadStatuses(accountRepository::findAllById, syncBatchSize);
+        syncer.follow(shard, synced);
+        
+        Gauge.builder("banking.engine.queue.depth", shard, EngineShard::queueDepth)
+                .description("Commands waiting for a shard writer")
+                .tag("shard", Integer.toString(index))
+                .register(meterRegistry);
+        Gauge.builder("banking.engine.sync.lag", shard, s -> s.journal().durableSequence() - s.syncedSequence())
+                .description("Journaled movements not yet copied to the database")
+                .tag("shard", Integer.toString(index))
+                .register(meterRegistry);
+        return shard;
+    }
+    
+    // Accounts map to shards by hash, so a journal is only valid for the shard count that wrote it
+    private void checkLayout() throws IOException {
+        Files.createDirectories(directory);
+        Path layout = directory.resolve(LAYOUT_FILE);
+        String expected = Integer.toString(shards.length);
+        if (Files.exists(layout)) {
+            String found = Files.readString(layout, StandardCharsets.US_ASCII).trim();
+            if (!found.equals(expected)) {
+                throw new IllegalStateException("Engine directory " + directory.toAbsolutePath() + " was written with " + found
+                        + " shards but " + expected + " are configured");
+            }
+        } else {
+            Files.writeString(layout, expected, StandardCharsets.US_ASCII);
+        }
+    }
+    
+    private void syncAll() {
+        for (EngineShard shard : shards) {
+            if (shard == null) {
+                continue;
+            }
+            try {
+                // Keep copying while full batches are waiting
+                int copied;
+                do {
+                    copied = syncer.sync(shard);
+                } while (copied == syncBatchSize);
+                shard.journal().deleteSegmentsThrough(Math.min(shard.snapshotSequence(), shard.syncedSequence()));
+            } catch (IOException | RuntimeException e) {
+                syncFailures.increment();
+                log.warn("Failed to sync engine shard {} to the database: {}", shard.index(), e.getMessage());
+            }
+        }
+    }
+}
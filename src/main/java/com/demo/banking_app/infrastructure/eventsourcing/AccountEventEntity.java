@@ -0,0 +1,54 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Schema of the account event store. Each account has one stream, numbered from 1 without gaps;
+ * the unique stream position is what rejects a concurrent append. The id orders all events for
+ * {@link AccountProjector}. Written and read with plain JDBC by {@link JdbcAccountEventStore}.
+ */
+@Entity
+@Table(name = "account_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_account_events_stream", columnNames = {"account_id", "sequence_number"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEventEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+    
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+    
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+    
+    @Column(name = "description")
+    private String description;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,351 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.AccountNumber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the {@code balance} column of {@code accounts} as a projection of the event store, so
+ * account reads and listings see event-sourced balances without folding streams. New events
+ * are followed in id order from a checkpoint and each account they touch gets its folded balance
+ * written and its cached copy evicted. An id the checkpoint had to move past is kept as a gap
+ * and checked on every run, so an append that commits late is still projected. A full rebuild
+ * refolds every account, split into partitions by account id that run in parallel.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "event-sourced")
+@Slf4j
+public class AccountProjector implements SmartInitializingSingleton {
+    
+    static final String NAME = "account-balances";
+    
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE accounts SET balance = ?, version = version + 1, updated_at = ? WHERE id = ?";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcAccountEventStore eventStore;
+    private final AccountRepository accountRepository;
+    private final int batchSize;
+    private final int partitions;
+    private final Duration gapTimeout;
+    private final Duration gapRetention;
+    private final boolean rebuildOnStartup;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Counter projected;
+    private final Counter expiredGaps;
+    private final Timer rebuildTimer;
+    
+    public AccountProjector(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            JdbcAccountEventStore eventStore,
+            AccountRepository accountRepository,
+            MeterRegistry meterRegistry,
+            @Value("${banking.event-store.projection.batch-size:1000}") int batchSize,
+            @Value("${banking.event-store.projection.partitions:8}") int partitions,
+            @Value("${banking.event-store.projection.gap-timeout-ms:10000}") long gapTimeoutMs,
+            @Value("${banking.event-store.projection.gap-retention-ms:3600000}") long gapRetentionMs,
+            @Value("${banking.event-store.projection.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        if (batchSize <= 0 || partitions <= 0) {
+            throw new IllegalArgumentException("Projection batch size and partitions must be positive");
+        }
+        if (gapRetentionMs < gapTimeoutMs) {
+            throw new IllegalArgumentException("Projection gaps must be retained at least as long as they are waited on");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventStore = eventStore;
+        this.accountRepository = accountRepository;
+        this.batchSize = batchSize;
+        this.partitions = partitions;
+        this.gapTimeout = Duration.ofMillis(gapTimeoutMs);
+        this.gapRetention = Duration.ofMillis(gapRetentionMs);
+        this.rebuildOnStartup = rebuildOnStartup;
+        
+        this.projected = Counter.builder("banking.event-store.projection.events")
+                .description("Events applied to the account balance projection")
+                .register(meterRegistry);
+        this.expiredGaps = Counter.builder("banking.event-store.projection.gaps.expired")
+                .description("Skipped event ids given up on after the gap retention, normally rolled-back appends")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("banking.event-store.projection.rebuild")
+                .description("Time to refold every account balance from the event store")
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Creates the checkpoint once the schema exists and before the first scheduled run.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (findCheckpoint().isEmpty()) {
+            jdbcTemplate.update("INSERT INTO projection_checkpoints (name, last_event_id, updated_at) VALUES (?, 0, ?)",
+                    NAME, Timestamp.valueOf(LocalDateTime.now()));
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${banking.event-store.projection.interval-ms:200}")
+    public void project() {
+        try {
+            catchUp();
+        } catch (Exception e) {
+            log.error("Error while projecting account events", e);
+        }
+    }
+    
+    /**
+     * Applies the events appended since the checkpoint, and those that filled a gap the
+     * checkpoint moved past, and returns how many were applied.
+     */
+    public int catchUp() {
+        lock.lock();
+        try {
+            int total = resolveGaps();
+            int applied;
+            do {
+                applied = catchUpBatch();
+                total += applied;
+            } while (applied == batchSize);
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Refolds the balance of every account with events, one partition per thread, and returns
+     * how many accounts were written. Following new events waits until it is done.
+     */
+    public long rebuild() {
+        lock.lock();
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(partitions, runnable -> {
+            Thread thread = new Thread(runnable, "projection-rebuild-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long started = System.nanoTime();
+            List<Future<Long>> results = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                int partition = i;
+                results.add(executor.submit(() -> rebuildPartition(partition)));
+            }
+            long accounts = 0;
+            for (Future<Long> result : results) {
+                accounts += result.get();
+            }
+            long elapsed = System.nanoTime() - started;
+            rebuildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Rebuilt balances of {} accounts from the event store in {} partitions in {} ms",
+                    accounts, partitions, elapsed / 1_000_000);
+            return accounts;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to rebuild the account balance projection", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the account balance projection", e);
+        } finally {
+            executor.shutdownNow();
+            lock.unlock();
+        }
+    }
+    
+    private int catchUpBatch() {
+        long checkpoint = findCheckpoint().orElse(0L);
+        List<EventPosition> events = jdbcTemplate.query(
+                "SELECT id, account_id, occurred_at FROM account_events WHERE id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new EventPosition(rs.getLong(1), rs.getLong(2), rs.getTimestamp(3).toLocalDateTime()),
+                checkpoint, batchSize);
+        
+        // An id skipped by a rolled-back append never shows up, but one held by a transaction
+        // still open will: stop at a gap until the events behind it are too old for that, then
+        // move past it and keep the missing ids to check again
+        LocalDateTime settled = LocalDateTime.now().minus(gapTimeout);
+        long position = checkpoint;
+        Set<Long> accountIds = new LinkedHashSet<>();
+        List<Long> gaps = new ArrayList<>();
+        int applied = 0;
+        for (EventPosition event : events) {
+            if (event.id() != position + 1) {
+                if (event.occurredAt().isAfter(settled)) {
+                    break;
+                }
+                for (long missing = position + 1; missing < event.id(); missing++) {
+                    gaps.add(missing);
+                }
+            }
+            position = event.id();
+            accountIds.add(event.accountId());
+            applied++;
+        }
+        if (applied == 0) {
+            return 0;
+        }
+        
+        long last = position;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> {
+            writeBalances(accountIds);
+            if (!gaps.isEmpty()) {
+                jdbcTemplate.batchUpdate("INSERT INTO projection_gaps (name, event_id, created_at) VALUES (?, ?, ?)",
+                        gaps, gaps.size(), (ps, eventId) -> {
+                            ps.setString(1, NAME);
+                            ps.setLong(2, eventId);
+                            ps.setTimestamp(3, now);
+                        });
+            }
+            jdbcTemplate.update("UPDATE projection_checkpoints SET last_event_id = ?, updated_at = ? WHERE name = ?",
+                    last, now, NAME);
+        });
+        projected.increment(applied);
+        return applied;
+    }
+    
+    // Projects the accounts of events that have since filled a gap, and drops gaps that are
+    // old enough to have come from a rolled-back append
+    private int resolveGaps() {
+        LocalDateTime expiry = LocalDateTime.now().minus(gapRetention);
+        long after = 0;
+        int applied = 0;
+        while (true) {
+            List<Gap> gaps = jdbcTemplate.query(
+                    "SELECT event_id, created_at FROM projection_gaps WHERE name = ? AND event_id > ? ORDER BY event_id LIMIT ?",
+                    (rs, rowNum) -> new Gap(rs.getLong(1), rs.getTimestamp(2).toLocalDateTime()),
+                    NAME, after, batchSize);
+            if (gaps.isEmpty()) {
+                return applied;
+            }
+            after = gaps.get(gaps.size() - 1).eventId();
+            
+            List<Long> eventIds = gaps.stream().map(Gap::eventId).toList();
+            List<long[]> filled = namedJdbcTemplate.query(
+                    "SELECT id, account_id FROM account_events WHERE id IN (:ids)",
+                    Map.of("ids", eventIds),
+                    (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+            Set<Long> filledIds = new LinkedHashSet<>();
+            Set<Long> accountIds = new LinkedHashSet<>();
+            for (long[] event : filled) {
+                filledIds.add(event[0]);
+                accountIds.add(event[1]);
+            }
+            List<Long> expired = gaps.stream()
+                    .filter(gap -> !filledIds.contains(gap.eventId()) && gap.createdAt().isBefore(expiry))
+                    .map(Gap::eventId)
+                    .toList();
+            if (filledIds.isEmpty() && expired.isEmpty()) {
+                if (gaps.size() < batchSize) {
+                    return applied;
+                }
+                continue;
+            }
+            
+            List<Long> resolved = new ArrayList<>(filledIds);
+            resolved.addAll(expired);
+            transactionTemplate.executeWithoutResult(status -> {
+                writeBalances(accountIds);
+                namedJdbcTemplate.update("DELETE FROM projection_gaps WHERE name = :name AND event_id IN (:ids)",
+                        Map.of("name", NAME, "ids", resolved));
+            });
+            applied += filledIds.size();
+            projected.increment(filledIds.size());
+            if (!expired.isEmpty()) {
+                expiredGaps.increment(expired.size());
+                log.debug("Gave up on {} skipped event ids older than {}", expired.size(), gapRetention);
+            }
+            if (gaps.size() < batchSize) {
+                return applied;
+            }
+        }
+    }
+    
+    private long rebuildPartition(int partition) {
+        List<Long> accountIds = jdbcTemplate.queryForList(
+                "SELECT id FROM accounts WHERE MOD(id, ?) = ? ORDER BY id", Long.class, partitions, partition);
+        long written = 0;
+        for (int from = 0; from < accountIds.size(); from += batchSize) {
+            List<Long> chunk = accountIds.subList(from, Math.min(from + batchSize, accountIds.size()));
+            Integer count = transactionTemplate.execute(status -> writeBalances(chunk));
+            written += count != null ? count : 0;
+        }
+        return written;
+    }
+    
+    // Accounts whose stream is still empty keep the balance they have
+    private int writeBalances(Iterable<Long> accountIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        List<Long> written = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            eventStore.fold(accountId).ifPresent(folded -> {
+                rows.add(new Object[]{folded.balance().getAmount(), now, accountId});
+                written.add(accountId);
+            });
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, rows);
+        // The cache is keyed by account number; evicted now and again when the transaction completes
+        accountRepository.evict(namedJdbcTemplate.queryForList(
+                        "SELECT account_number FROM accounts WHERE id IN (:ids)", Map.of("ids", written), String.class)
+                .stream()
+                .map(AccountNumber::of)
+                .toList());
+        return rows.size();
+    }
+    
+    private Optional<Long> findCheckpoint() {
+        return jdbcTemplate.queryForList("SELECT last_event_id FROM projection_checkpoints WHERE name = ?", Long.class, NAME)
+                .stream()
+                .findFirst();
+    }
+    
+    private record EventPosition(long id, long accountId, LocalDateTime occurredAt) {
+    }
+    
+    private record Gap(long eventId, LocalDateTime createdAt) {
+    }
+}
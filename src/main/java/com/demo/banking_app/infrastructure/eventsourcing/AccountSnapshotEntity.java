@@ -0,0 +1,48 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Schema of account snapshots: the account an account's stream folds to at a sequence number,
+ * which is also its version, stamped with the time of that event.
+ * Written and read with plain JDBC by {@link JdbcAccountEventStore}.
+ */
+@Entity
+@Table(name = "account_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_account_snapshots_stream", columnNames = {"account_id", "sequence_number"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountSnapshotEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+    
+    @Column(name = "sequence_number", nullable = false)
+    private long sequenceNumber;
+    
+    @Column(name = "balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+    
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,161 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import com.demo.banking_app.application.port.out.AccountEventStore;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Event store on two insert-only tables. An account's stream starts with an opening balance
+ * event carrying the balance it had when it was first moved in this mode; every
+ * {@code snapshot-every} events a snapshot of the folded account (balance, status, version and
+ * last movement time) is stored with the event that reached it, so rebuilding an account reads
+ * one snapshot and fewer than that many events.
+ */
+@Repository
+@ConditionalOnProperty(name = "banking.write-path", havingValue = "event-sourced")
+public class JdbcAccountEventStore implements AccountEventStore {
+    
+    static final String OPENING_BALANCE = "OPENING_BALANCE";
+    
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO account_events (account_id, sequence_number, event_type, amount, currency, idempotency_key, description, occurred_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SNAPSHOT_SQL =
+            "INSERT INTO account_snapshots (account_id, sequence_number, balance, currency, status, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long snapshotEvery;
+    
+    public JdbcAccountEventStore(
+            AccountRepository accountRepository,
+            JdbcTemplate jdbcTemplate,
+            @Value("${banking.event-store.snapshot-every:100}") long snapshotEvery) {
+        if (snapshotEvery <= 0) {
+            throw new IllegalArgumentException("Snapshot interval must be positive");
+        }
+        this.accountRepository = accountRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotEvery = snapshotEvery;
+    }
+    
+    /**
+     * Folded state of a stream after the event with the given sequence, which is also the
+     * account's version. The status is the one recorded by the newest snapshot, or null when no
+     * snapshot was read; {@code updatedAt} is the time of the last movement.
+     */
+    public record Folded(long sequence, Money balance, AccountStatus status, LocalDateTime updatedAt) {
+    }
+    
+    @Override
+    public Optional<Account> load(AccountNumber accountNumber) {
+        // Uncached: before the first event the stored balance becomes the opening balance
+        return accountRepository.findAllByAccountNumbers(List.of(accountNumber)).stream()
+                .findFirst()
+                .map(stored -> fold(stored.getId().getValue())
+                        .map(folded -> rehydrate(stored, folded.balance(), folded.sequence(), folded.updatedAt()))
+                        .orElseGet(() -> rehydrate(stored, stored.getBalance(), 0, stored.getUpdatedAt())));
+    }
+    
+    @Override
+    public void append(Account loaded, LedgerEntry entry) {
+        long accountId = loaded.getId().getValue();
+        long loadedSequence = loaded.getVersion().getValue();
+        Timestamp at = Timestamp.valueOf(entry.getCreatedAt());
+        
+        long sequence = loadedSequence;
+        List<Object[]> events = new ArrayList<>(2);
+        if (sequence == 0) {
+            events.add(new Object[]{accountId, ++sequence, OPENING_BALANCE, loaded.getBalance().getAmount(),
+                    loaded.getBalance().getCurrency().getCurrencyCode(), null, null, at});
+        }
+        events.add(new Object[]{accountId, ++sequence, entry.getType().name(), entry.getAmount().getAmount(),
+                entry.getAmount().getCurrency().getCurrencyCode(), entry.getIdempotencyKey(), entry.getDescription(), at});
+        try {
+            jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, events);
+        } catch (DuplicateKeyException e) {
+            throw new OptimisticLockingFailureException("Event stream of account " + accountId
+                    + " moved past sequence " + loadedSequence, e);
+        }
+        
+        if (sequence / snapshotEvery > loadedSequence / snapshotEvery) {
+            jdbcTemplate.update(INSERT_SNAPSHOT_SQL, accountId, sequence, entry.getBalanceAfter().getAmount(),
+                    entry.getBalanceAfter().getCurrency().getCurrencyCode(), loaded.getStatus().name(), at);
+        }
+    }
+    
+    /**
+     * Folds the account's stream from its newest snapshot. Empty while the stream is.
+     */
+    public Optional<Folded> fold(long accountId) {
+        List<Folded> snapshots = jdbcTemplate.query(
+                "SELECT sequence_number, balance, currency, status, created_at FROM account_snapshots WHERE account_id = ? " +
+                "ORDER BY sequence_number DESC LIMIT 1",
+                (rs, rowNum) -> new Folded(rs.getLong(1), Money.of(rs.getBigDecimal(2), Money.currency(rs.getString(3))),
+                        AccountStatus.valueOf(rs.getString(4)), rs.getTimestamp(5).toLocalDateTime()),
+                accountId);
+        Folded[] state = {snapshots.isEmpty() ? null : snapshots.get(0)};
+        jdbcTemplate.query(
+                "SELECT sequence_number, event_type, amount, currency, occurred_at FROM account_events " +
+                "WHERE account_id = ? AND sequence_number > ? ORDER BY sequence_number",
+                rs -> {
+                    state[0] = apply(accountId, state[0], rs.getLong(1), rs.getString(2),
+                            Money.of(rs.getBigDecimal(3), Money.currency(rs.getString(4))), rs.getTimestamp(5).toLocalDateTime());
+                },
+                accountId, state[0] != null ? state[0].sequence() : 0L);
+        return Optional.ofNullable(state[0]);
+    }
+    
+    // Replays the recorded outcome; the domain rules already ran when the event was appended
+    private static Folded apply(long accountId, Folded state, long sequence, String type, Money amount, LocalDateTime at) {
+        long expected = state != null ? state.sequence() + 1 : 1;
+        if (sequence != expected) {
+            throw new IllegalStateException("Event stream of account " + accountId + " has no event " + expected);
+        }
+        if (OPENING_BALANCE.equals(type)) {
+            return new Folded(sequence, amount, null, at);
+        }
+        if (state == null) {
+            throw new IllegalStateException("Event stream of account " + accountId + " has no opening balance");
+        }
+        Money balance = LedgerEntry.Type.valueOf(type).isCredit()
+                ? state.balance().add(amount)
+                : state.balance().subtract(amount);
+        return new Folded(sequence, balance, state.status(), at);
+    }
+    
+    // Status changes are made on the account row rather than appended to the stream, so the
+    // row's status applies over whatever the snapshot recorded
+    private static Account rehydrate(Account stored, Money balance, long sequence, LocalDateTime updatedAt) {
+        return Account.builder()
+                .id(stored.getId())
+                .accountNumber(stored.getAccountNumber())
+                .holderName(stored.getHolderName())
+                .email(stored.getEmail())
+                .phoneNumber(stored.getPhoneNumber())
+                .balance(balance)
+                .type(stored.getType())
+                .status(stored.getStatus())
+                .version(Version.of(sequence))
+                .createdAt(stored.getCreatedAt())
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
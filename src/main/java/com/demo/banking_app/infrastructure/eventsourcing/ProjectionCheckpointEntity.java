@@ -0,0 +1,33 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema of projection checkpoints: per projection, the event id up to which
+ * every event has been applied.
+ * Read and advanced with plain JDBC by {@link AccountProjector}.
+ */
+@Entity
+@Table(name = "projection_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionCheckpointEntity {
+    
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+    
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema of projection gaps: event ids a projection's checkpoint moved past while no event
+ * held them, checked again on every run until the event shows up or the gap is old enough
+ * to have come from a rolled-back append.
+ * Written and read with plain JDBC by {@link AccountProjector}.
+ */
+@Entity
+@Table(name = "projection_gaps", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_projection_gaps_event", columnNames = {"name", "event_id"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionGapEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "name", nullable = false, length = 64)
+    private String name;
+    
+    @Column(name = "event_id", nullable = false)
+    private long eventId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
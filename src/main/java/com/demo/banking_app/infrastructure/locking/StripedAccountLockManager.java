@@ -0,0 +1,231 @@
+package com.demo.banking_app.infrastructure.locking;
+
+import com.demo.banking_app.application.port.out.AccountLockManager;
+import com.demo.banking_app.application.service.AccountStripes;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes mutations of the same account inside this JVM using a fixed set of fair locks.
+ * Accounts are mapped to stripes by their number hash, so memory stays bounded no matter how
+ * many accounts exist, and the number of threads queued per stripe is capped.
+ */
+@Component
+@Slf4j
+public class StripedAccountLockManager implements AccountLockManager {
+    
+    private final AccountStripes accountStripes;
+    private final Stripe[] stripes;
+    private final int maxWaitersPerStripe;
+    private final long acquireTimeoutNanos;
+    
+    @Autowired
+    public StripedAccountLockManager(
+            @Value("${banking.locking.stripes:256}") int stripeCount,
+            @Value("${banking.locking.max-waiters-per-stripe:128}") int maxWaitersPerStripe,
+            @Value("${banking.locking.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            MeterRegistry meterRegistry) {
+        this(stripeCount, maxWaitersPerStripe, Duration.ofMillis(acquireTimeoutMs), meterRegistry);
+    }
+    
+    public StripedAccountLockManager(int stripeCount, int maxWaitersPerStripe, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        if (stripeCount <= 0 || maxWaitersPerStripe <= 0) {
+            throw new IllegalArgumentException("Stripe count and waiter limit must be positive");
+        }
+        this.accountStripes = new AccountStripes(stripeCount);
+        this.stripes = new Stripe[accountStripes.size()];
+        this.maxWaitersPerStripe = maxWaitersPerStripe;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        
+        for (int i = 0; i < stripes.length; i++) {
+            String stripeTag = Integer.toString(i);
+            Timer waitTimer = Timer.builder("banking.account.lock.wait")
+                    .description("Time spent waiting for an account lock stripe")
+                    .tag("stripe", stripeTag)
+                    .register(meterRegistry);
+            Stripe stripe = new Stripe(waitTimer);
+            Gauge.builder("banking.account.lock.queue.depth", stripe.waiters, AtomicInteger::get)
+                    .description("Threads currently queued on an account lock stripe")
+                    .tag("stripe", stripeTag)
+                    .register(meterRegistry);
+            stripes[i] = stripe;
+        }
+        Gauge.builder("banking.account.lock.rejections", this, manager -> manager.totalRejections())
+                .description("Lock requests rejected because a stripe queue was full or timed out")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public <T> T executeLocked(AccountNumber accountNumber, Supplier<T> action) {
+        Stripe stripe = stripes[stripeIndex(accountNumber)];
+        stripe.acquire();
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Keep the account serialized until commit so the next writer never waits on the row lock
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    stripe.lock.unlock();
+                }
+            });
+            return action.get();
+        }
+        
+        try {
+            return action.get();
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+    
+    @Override
+    public <T> T executeLocked(Collection<AccountNumber> accountNumbers, Supplier<T> action) {
+        // Ascending stripe order is the global lock order; accounts sharing a stripe lock it once
+        int[] indexes = accountNumbers.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+        List<Stripe> held = new ArrayList<>(indexes.length);
+        try {
+            for (int index : indexes) {
+                Stripe stripe = stripes[index];
+                stripe.acquire();
+                held.add(stripe);
+            }
+        } catch (RuntimeException e) {
+            unlockAll(held);
+            throw e;
+        }
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    unlockAll(held);
+                }
+            });
+            return action.get();
+        }
+        
+        try {
+            return action.get();
+        } finally {
+            unlockAll(held);
+        }
+    }
+    
+    private static void unlockAll(List<Stripe> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).lock.unlock();
+        }
+    }
+    
+    public int stripeIndex(AccountNumber accountNumber) {
+        return accountStripes.indexOf(accountNumber);
+    }
+    
+    public List<StripeStats> stripeStats() {
+        List<StripeStats> stats = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            stats.add(stripes[i].snapshot(i));
+        }
+        return stats;
+    }
+    
+    private long totalRejections() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.rejections.sum();
+        }
+        return total;
+    }
+    
+    @lombok.Value
+    public static class StripeStats {
+        int stripe;
+        long acquisitions;
+        long rejections;
+        long totalWaitNanos;
+        long maxWaitNanos;
+        int queueDepth;
+        int maxQueueDepth;
+    }
+    
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final AtomicInteger maxWaiters = new AtomicInteger();
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder rejections = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final Timer waitTimer;
+        
+        private Stripe(Timer waitTimer) {
+            this.waitTimer = waitTimer;
+        }
+        
+        private void acquire() {
+            if (lock.tryLock()) {
+                acquisitions.increment();
+                return;
+            }
+            
+            int queued = waiters.incrementAndGet();
+            if (queued > maxWaitersPerStripe) {
+                waiters.decrementAndGet();
+                rejections.increment();
+                throw new ConcurrentModificationException("Too many concurrent operations on this account. Please retry.");
+            }
+            maxWaiters.accumulateAndGet(queued, Math::max);
+            
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = lock.tryLock(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConcurrentModificationException("Interrupted while waiting for account lock", e);
+            } finally {
+                waiters.decrementAndGet();
+            }
+            
+            long waited = System.nanoTime() - start;
+            waitTimer.record(waited, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejections.increment();
+                log.warn("Timed out after {} ms waiting for account lock stripe", TimeUnit.NANOSECONDS.toMillis(waited));
+                throw new ConcurrentModificationException("Timed out waiting for account lock. Please retry.");
+            }
+            acquisitions.increment();
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+        
+        private StripeStats snapshot(int index) {
+            return new StripeStats(index, acquisitions.sum(), rejections.sum(), totalWaitNanos.sum(),
+                    maxWaitNanos.get(), waiters.get(), maxWaiters.get());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.banking_app.infrastructure.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides once per use case call whether its diagnostic logging is kept, using the rate in
+ * {@code banking.logging.sample-rate.<UseCase>} (for example {@code ...sample-rate.Deposit=0.1})
+ * or {@code banking.logging.sample-rate.default}. Calls that lose the draw run with
+ * {@link SampledDiagnosticsFilter} suppressing everything below WARN.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+@Slf4j
+public class DiagnosticSamplingAspect {
+    
+    private static final String SAMPLE_RATE_PREFIX = "banking.logging.sample-rate.";
+    
+    private final Environment environment;
+    private final SampledDiagnosticsFilter filter = new SampledDiagnosticsFilter();
+    private final Map<Class<?>, Double> sampleRates = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void install() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            filter.setName("sampled-diagnostics");
+            filter.start();
+            context.addTurboFilter(filter);
+        } else {
+            log.warn("Diagnostic log sampling needs Logback; all diagnostics will be logged");
+        }
+    }
+    
+    @PreDestroy
+    public void uninstall() {
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            context.getTurboFilterList().remove(filter);
+        }
+    }
+    
+    @Around("execution(* com.demo.banking_app.application.port.in.*UseCase.*(..))")
+    public Object sample(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> service = joinPoint.getTarget().getClass();
+        Double rate = sampleRates.get(service);
+        if (rate == null) {
+            rate = sampleRates.computeIfAbsent(service, key -> sampleRate(ClassUtils.getUserClass(key)));
+        }
+        
+        boolean sampled = rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+        boolean previous = SampledDiagnosticsFilter.suppress(!sampled);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            SampledDiagnosticsFilter.suppress(previous);
+        }
+    }
+    
+    private double sampleRate(Class<?> service) {
+        String useCase = service.getSimpleName().replaceFirst("Service$", "");
+        double defaultRate = environment.getProperty(SAMPLE_RATE_PREFIX + "default", Double.class, 1.0);
+        return environment.getProperty(SAMPLE_RATE_PREFIX + useCase, Double.class, defaultRate);
+    }
+}
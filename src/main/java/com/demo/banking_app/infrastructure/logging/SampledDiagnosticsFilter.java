@@ -0,0 +1,37 @@
+package com.demo.banking_app.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Drops application diagnostics below WARN while the current thread is inside a use case call
+ * that was not sampled. The decision is made before the message is formatted, so an unsampled
+ * call pays only for the level check. Warnings and errors always pass.
+ */
+public class SampledDiagnosticsFilter extends TurboFilter {
+    
+    private static final String APPLICATION_LOGGERS = "com.demo.banking_app";
+    private static final ThreadLocal<boolean[]> SUPPRESSED = ThreadLocal.withInitial(() -> new boolean[1]);
+    
+    /**
+     * Marks whether diagnostics on this thread are suppressed and returns the previous setting.
+     */
+    static boolean suppress(boolean suppressed) {
+        boolean[] flag = SUPPRESSED.get();
+        boolean previous = flag[0];
+        flag[0] = suppressed;
+        return previous;
+    }
+    
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.WARN) || !SUPPRESSED.get()[0]
+                || !logger.getName().startsWith(APPLICATION_LOGGERS)) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.DENY;
+    }
+}
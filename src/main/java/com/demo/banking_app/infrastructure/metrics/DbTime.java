@@ -0,0 +1,21 @@
+package com.demo.banking_app.infrastructure.metrics;
+
+/**
+ * Running total of time the current thread has spent inside JDBC statement execution. Callers
+ * read it before and after a unit of work and record the difference.
+ */
+public final class DbTime {
+    
+    private static final ThreadLocal<long[]> ELAPSED_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+    
+    private DbTime() {
+    }
+    
+    public static long currentNanos() {
+        return ELAPSED_NANOS.get()[0];
+    }
+    
+    static void add(long nanos) {
+        ELAPSED_NANOS.get()[0] += nanos;
+    }
+}
@@ -0,0 +1,129 @@
+package com.demo.banking_app.infrastructure.metrics;
+
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.DomainException;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.infrastructure.retry.ConflictRetryPolicy;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times every inbound use case call, tagged by use case and outcome, together with the share
+ * of that time spent executing SQL and the number of calls in flight. Outermost around the
+ * use case, so retries and the transaction commit are part of the measured time.
+ *
+ * <p>All meters of a use case are registered on its first call; after that a call only looks
+ * up its meters and records into them, without building tags or allocating.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class UseCaseMetricsAspect {
+    
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    
+    private final MeterRegistry meterRegistry;
+    private final ConflictRetryPolicy conflictRetryPolicy;
+    private final Map<Class<?>, UseCaseMeters> meters = new ConcurrentHashMap<>();
+    
+    @Around("execution(* com.demo.banking_app.application.port.in.*UseCase.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> service = joinPoint.getTarget().getClass();
+        UseCaseMeters useCase = meters.get(service);
+        if (useCase == null) {
+            useCase = meters.computeIfAbsent(service, key -> register(ClassUtils.getUserClass(key)));
+        }
+        
+        useCase.inFlight.incrementAndGet();
+        long dbStart = DbTime.currentNanos();
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable error) {
+            outcome = classify(error);
+            throw error;
+        } finally {
+            useCase.latency[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            useCase.dbTime.record(DbTime.currentNanos() - dbStart, TimeUnit.NANOSECONDS);
+            useCase.inFlight.decrementAndGet();
+        }
+    }
+    
+    private Outcome classify(Throwable error) {
+        if (error instanceof InsufficientFundsException) {
+            return Outcome.INSUFFICIENT_FUNDS;
+        }
+        if (error instanceof AccountNotFoundException) {
+            return Outcome.NOT_FOUND;
+        }
+        if (error instanceof ConcurrentModificationException || conflictRetryPolicy.isRetryable(error)) {
+            return Outcome.CONFLICT;
+        }
+        if (error instanceof DomainException || error instanceof IllegalArgumentException) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.ERROR;
+    }
+    
+    private UseCaseMeters register(Class<?> service) {
+        String useCase = service.getSimpleName().replaceFirst("Service$", "");
+        Outcome[] outcomes = Outcome.values();
+        Timer[] latency = new Timer[outcomes.length];
+        for (Outcome outcome : outcomes) {
+            latency[outcome.ordinal()] = Timer.builder("banking.usecase.latency")
+                    .description("Use case latency, including retries and commit")
+                    .tag("use_case", useCase)
+                    .tag("outcome", outcome.tag)
+                    .publishPercentiles(PERCENTILES)
+                    .percentilePrecision(2)
+                    .register(meterRegistry);
+        }
+        Timer dbTime = Timer.builder("banking.usecase.db.time")
+                .description("Time a use case call spent executing SQL statements")
+                .tag("use_case", useCase)
+                .publishPercentiles(PERCENTILES)
+                .percentilePrecision(2)
+                .register(meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("banking.usecase.in.flight", inFlight, AtomicInteger::get)
+                .description("Use case calls currently executing")
+                .tag("use_case", useCase)
+                .register(meterRegistry);
+        return new UseCaseMeters(latency, dbTime, inFlight);
+    }
+    
+    private enum Outcome {
+        SUCCESS("success"),
+        INSUFFICIENT_FUNDS("insufficient_funds"),
+        NOT_FOUND("not_found"),
+        CONFLICT("conflict"),
+        REJECTED("rejected"),
+        ERROR("error");
+        
+        private final String tag;
+        
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+    }
+    
+    private record UseCaseMeters(Timer[] latency, Timer dbTime, AtomicInteger inFlight) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.demo.banking_app.infrastructure.numbering;
+
+import com.demo.banking_app.application.port.out.AccountNumberGenerator;
+import com.demo.banking_app.domain.model.AccountNumber;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out numbers from a locally reserved block with a single atomic increment. Only the
+ * thread that finds the block exhausted goes to the allocator; numbers left in a block when
+ * the node stops are simply skipped.
+ */
+@Component
+@Slf4j
+public class BlockAccountNumberGenerator implements AccountNumberGenerator {
+    
+    private final SequenceBlockAllocator allocator;
+    private final int blockSize;
+    // Not synchronized: a virtual thread blocked on JDBC inside a monitor would pin its carrier
+    private final ReentrantLock refillLock = new ReentrantLock();
+    
+    private volatile Block block = new Block(0, 0);
+    
+    @Autowired
+    public BlockAccountNumberGenerator(SequenceBlockAllocator allocator,
+                                       @Value("${banking.account-numbers.block-size:1000}") int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Account number block size must be positive");
+        }
+        this.allocator = allocator;
+        this.blockSize = blockSize;
+    }
+    
+    @Override
+    public AccountNumber next() {
+        while (true) {
+            Block current = block;
+            long sequence = current.next.getAndIncrement();
+            if (sequence < current.end) {
+                return AccountNumber.fromSequence(sequence);
+            }
+            refill(current);
+        }
+    }
+    
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            // Another thread may already have replaced the block we saw run dry
+            if (block == exhausted) {
+                long start = allocator.reserve(blockSize);
+                block = new Block(start, start + blockSize);
+                log.debug("Reserved account number block [{}, {})", start, start + blockSize);
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+    
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+        
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
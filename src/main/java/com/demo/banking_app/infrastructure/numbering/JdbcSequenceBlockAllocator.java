@@ -0,0 +1,60 @@
+package com.demo.banking_app.infrastructure.numbering;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves blocks by advancing a row in {@code sequence_blocks} in its own short
+ * transaction. The row lock is held only for the increment, never for the caller's
+ * business transaction, and a reserved block stays reserved even if that transaction
+ * rolls back.
+ */
+@Component
+public class JdbcSequenceBlockAllocator implements SequenceBlockAllocator {
+    
+    static final String ACCOUNT_NUMBERS = "account_numbers";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final long initialValue;
+    
+    public JdbcSequenceBlockAllocator(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${banking.account-numbers.initial-value:1}") long initialValue) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.initialValue = initialValue;
+    }
+    
+    @Override
+    public long reserve(int size) {
+        Long start = reserveTransaction.execute(status -> {
+            int updated = jdbcTemplate.update(
+                    "UPDATE sequence_blocks SET next_value = next_value + ? WHERE sequence_name = ?", size, ACCOUNT_NUMBERS);
+            if (updated == 0) {
+                createSequence();
+                jdbcTemplate.update(
+                        "UPDATE sequence_blocks SET next_value = next_value + ? WHERE sequence_name = ?", size, ACCOUNT_NUMBERS);
+            }
+            // The row stays locked until commit, so this reads our own increment
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT next_value FROM sequence_blocks WHERE sequence_name = ?", Long.class, ACCOUNT_NUMBERS);
+            return next - size;
+        });
+        return start;
+    }
+    
+    private void createSequence() {
+        try {
+            jdbcTemplate.update("INSERT INTO sequence_blocks (sequence_name, next_value) VALUES (?, ?)", ACCOUNT_NUMBERS, initialValue);
+        } catch (DuplicateKeyException e) {
+            // Another node created it first
+        }
+    }
+}
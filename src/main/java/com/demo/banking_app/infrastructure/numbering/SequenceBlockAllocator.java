@@ -0,0 +1,13 @@
+package com.demo.banking_app.infrastructure.numbering;
+
+/**
+ * Reserves ranges of a shared sequence. Every call returns a range no other caller, on any
+ * node, will ever receive.
+ */
+public interface SequenceBlockAllocator {
+    
+    /**
+     * Reserves {@code size} consecutive values and returns the first one.
+     */
+    long reserve(int size);
+}
@@ -0,0 +1,28 @@
+package com.demo.banking_app.infrastructure.numbering;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Schema of the sequence table; {@code next_value} is the first value not yet reserved.
+ * Rows are read and advanced with plain JDBC, see {@link JdbcSequenceBlockAllocator}.
+ */
+@Entity
+@Table(name = "sequence_blocks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SequenceBlockEntity {
+    
+    @Id
+    @Column(name = "sequence_name", length = 64)
+    private String sequenceName;
+    
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
@@ -0,0 +1,11 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay delivers to. A batch that throws is redelivered on the next
+ * relay run, so sinks must tolerate duplicates.
+ */
+public interface EventSink {
+    void deliver(List<OutboxMessage> batch) throws Exception;
+}
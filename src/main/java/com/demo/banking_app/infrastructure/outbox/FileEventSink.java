@@ -0,0 +1,51 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Appends each event payload as one line of newline-delimited JSON. The file is opened per
+ * batch so it can be rotated externally.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.events.sink", havingValue = "file")
+@Slf4j
+public class FileEventSink implements EventSink {
+    
+    private final Path path;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    public FileEventSink(@Value("${banking.events.sink.file.path:events.ndjson}") String path) {
+        this.path = Path.of(path);
+    }
+    
+    @Override
+    public void deliver(List<OutboxMessage> batch) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writeLock.lock();
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : batch) {
+                writer.write(message.getPayload());
+                writer.newLine();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        log.debug("Appended {} events to {}", batch.size(), path);
+    }
+}
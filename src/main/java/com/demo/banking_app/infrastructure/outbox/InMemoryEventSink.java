@@ -0,0 +1,39 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent delivered events in memory. Intended for local runs and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.events.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEventSink implements EventSink {
+    
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+    
+    public InMemoryEventSink(@Value("${banking.events.sink.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+    
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+    
+    public synchronized List<OutboxMessage> snapshot() {
+        return new ArrayList<>(messages);
+    }
+}
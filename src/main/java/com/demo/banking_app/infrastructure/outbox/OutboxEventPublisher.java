@@ -0,0 +1,32 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import com.demo.banking_app.application.port.out.EventPublisher;
+import com.demo.banking_app.domain.model.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes events into the outbox table on the caller's connection, so they commit or roll
+ * back with the business change. Delivery happens later in {@link OutboxRelay}.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.events.publisher", havingValue = "outbox", matchIfMissing = true)
+@RequiredArgsConstructor
+public class OutboxEventPublisher implements EventPublisher {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxEventSerializer serializer;
+    
+    @Override
+    public void publish(DomainEvent event) {
+        jdbcTemplate.update(
+                "INSERT INTO event_outbox (event_id, event_type, aggregate_id, payload, occurred_at) VALUES (?, ?, ?, ?, ?)",
+                event.getEventId(),
+                serializer.eventType(event),
+                serializer.aggregateId(event),
+                serializer.serialize(event),
+                event.getOccurredOn());
+    }
+}
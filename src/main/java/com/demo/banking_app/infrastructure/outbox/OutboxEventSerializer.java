@@ -0,0 +1,95 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import com.demo.banking_app.domain.model.AccountCreatedEvent;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.DepositCompletedEvent;
+import com.demo.banking_app.domain.model.DomainEvent;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.TransferCompletedEvent;
+import com.demo.banking_app.domain.model.WithdrawalCompletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxEventSerializer {
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    public String eventType(DomainEvent event) {
+        return event.getClass().getSimpleName();
+    }
+    
+    public String aggregateId(DomainEvent event) {
+        AccountNumber accountNumber = accountNumber(event);
+        return accountNumber != null ? accountNumber.getHash() : null;
+    }
+    
+    public String serialize(DomainEvent event) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("eventId", event.getEventId());
+        node.put("eventType", eventType(event));
+        node.put("occurredOn", event.getOccurredOn().toString());
+        
+        if (event instanceof AccountCreatedEvent created) {
+            putAccount(node, created.getAccountId(), created.getAccountNumber());
+        } else if (event instanceof DepositCompletedEvent deposit) {
+            putAccount(node, deposit.getAccountId(), deposit.getAccountNumber());
+            putMoney(node, "amount", deposit.getAmount());
+            putMoney(node, "newBalance", deposit.getNewBalance());
+        } else if (event instanceof WithdrawalCompletedEvent withdrawal) {
+            putAccount(node, withdrawal.getAccountId(), withdrawal.getAccountNumber());
+            putMoney(node, "amount", withdrawal.getAmount());
+            putMoney(node, "newBalance", withdrawal.getNewBalance());
+        } else if (event instanceof TransferCompletedEvent transfer) {
+            putAccount(node, transfer.getFromAccountId(), transfer.getFromAccountNumber());
+            putMoney(node, "amount", transfer.getAmount());
+            putMoney(node, "newBalance", transfer.getFromBalance());
+            if (transfer.getToAccountId() != null) {
+                node.put("toAccountId", transfer.getToAccountId().getValue());
+            }
+            node.put("toAccountNumber", transfer.getToAccountNumber().getValue());
+            putMoney(node, "toNewBalance", transfer.getToBalance());
+        }
+        
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize domain event " + event.getEventId(), e);
+        }
+    }
+    
+    private AccountNumber accountNumber(DomainEvent event) {
+        if (event instanceof AccountCreatedEvent created) {
+            return created.getAccountNumber();
+        }
+        if (event instanceof DepositCompletedEvent deposit) {
+            return deposit.getAccountNumber();
+        }
+        if (event instanceof WithdrawalCompletedEvent withdrawal) {
+            return withdrawal.getAccountNumber();
+        }
+        if (event instanceof TransferCompletedEvent transfer) {
+            return transfer.getFromAccountNumber();
+        }
+        return null;
+    }
+    
+    private static void putAccount(ObjectNode node, AccountId accountId, AccountNumber accountNumber) {
+        if (accountId != null) {
+            node.put("accountId", accountId.getValue());
+        }
+        if (accountNumber != null) {
+            node.put("accountNumber", accountNumber.getValue());
+        }
+    }
+    
+    private static void putMoney(ObjectNode node, String field, Money money) {
+        if (money != null) {
+            node.put(field, money.getAmount().toPlainString());
+            node.put(field + "Currency", money.getCurrency().getCurrencyCode());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class OutboxMessage {
+    long id;
+    String eventId;
+    String eventType;
+    String aggregateId;
+    String payload;
+    LocalDateTime occurredAt;
+}
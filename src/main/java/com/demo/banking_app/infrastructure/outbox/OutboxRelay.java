@@ -0,0 +1,176 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox in id order. A batch is deleted only after the sink accepted it, so a
+ * failure or crash in between leads to redelivery rather than loss (at-least-once).
+ *
+ * <p>Each batch is first stamped with a claim token, the same way submission workers claim
+ * their rows, so several relays can drain one table without publishing a row twice. A batch
+ * the sink rejects is released at once; claims of a relay that died are taken over once they
+ * are older than the claim timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "banking.events.publisher", havingValue = "outbox", matchIfMissing = true)
+@Slf4j
+public class OutboxRelay {
+    
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("event_id"),
+            rs.getString("event_type"),
+            rs.getString("aggregate_id"),
+            rs.getString("payload"),
+            rs.getTimestamp("occurred_at").toLocalDateTime());
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final EventSink sink;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration claimTimeout;
+    
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter delivered;
+    private final Counter failures;
+    private final Timer batchTimer;
+    
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            EventSink sink,
+            MeterRegistry meterRegistry,
+            @Value("${banking.events.relay.batch-size:500}") int batchSize,
+            @Value("${banking.events.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${banking.events.relay.claim-timeout-ms:60000}") long claimTimeoutMs) {
+        if (batchSize <= 0 || maxBatchesPerRun <= 0 || claimTimeoutMs <= 0) {
+            throw new IllegalArgumentException("Relay batch size, batches per run and claim timeout must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+        
+        this.delivered = Counter.builder("banking.events.relay.delivered")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("banking.events.relay.failures")
+                .description("Outbox batches the sink rejected")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("banking.events.relay.batch")
+                .description("Time to read, deliver and delete one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("banking.events.relay.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event after the last relay run")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${banking.events.relay.interval-ms:500}")
+    public void relay() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.error("Error during outbox relay", e);
+        }
+    }
+    
+    public int drain() {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            Integer relayed = batchTimer.record(this::relayBatch);
+            if (relayed == null || relayed <= 0) {
+                break;
+            }
+            total += relayed;
+            if (relayed < batchSize) {
+                break;
+            }
+        }
+        updateLag();
+        if (total > 0) {
+            log.debug("Relayed {} outbox events", total);
+        }
+        return total;
+    }
+    
+    private int relayBatch() {
+        String token = claim();
+        if (token == null) {
+            return 0;
+        }
+        List<OutboxMessage> batch = jdbcTemplate.query(
+                "SELECT id, event_id, event_type, aggregate_id, payload, occurred_at FROM event_outbox WHERE claim_token = ? ORDER BY id",
+                ROW_MAPPER, token);
+        if (batch.isEmpty()) {
+            // Every row was claimed by another relay in the meantime; let it deliver them
+            return 0;
+        }
+        try {
+            sink.deliver(batch);
+        } catch (Exception e) {
+            failures.increment();
+            jdbcTemplate.update("UPDATE event_outbox SET claim_token = NULL, claimed_at = NULL WHERE claim_token = ?", token);
+            log.warn("Event sink rejected a batch of {} outbox events starting at id {}; will retry",
+                    batch.size(), batch.get(0).getId(), e);
+            return -1;
+        }
+        jdbcTemplate.update("DELETE FROM event_outbox WHERE claim_token = ?", token);
+        delivered.increment(batch.size());
+        return batch.size();
+    }
+    
+    /**
+     * Stamps up to one batch of unclaimed or abandoned rows with a fresh token, or returns null
+     * when there is nothing to relay.
+     */
+    private String claim() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime abandonedBefore = now.minus(claimTimeout);
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM event_outbox WHERE claim_token IS NULL OR claimed_at < ? ORDER BY id LIMIT ?",
+                Long.class, abandonedBefore, batchSize);
+        if (ids.isEmpty()) {
+            return null;
+        }
+        // Rows another relay claimed in the meantime no longer match the claim condition
+        String token = UUID.randomUUID().toString();
+        namedJdbcTemplate.update(
+                "UPDATE event_outbox SET claim_token = :token, claimed_at = :now "
+                        + "WHERE id IN (:ids) AND (claim_token IS NULL OR claimed_at < :abandonedBefore)",
+                new MapSqlParameterSource("token", token)
+                        .addValue("now", now)
+                        .addValue("ids", ids)
+                        .addValue("abandonedBefore", abandonedBefore));
+        return token;
+    }
+    
+    private void updateLag() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(occurred_at) FROM event_outbox", Timestamp.class);
+        lagMillis.set(oldest != null
+                ? Math.max(0, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toMillis())
+                : 0);
+    }
+}
@@ -0,0 +1,9 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import java.math.BigDecimal;
+
+public interface AccountBalanceView {
+    Long getId();
+    BigDecimal getBalance();
+    Long getVersion();
+}
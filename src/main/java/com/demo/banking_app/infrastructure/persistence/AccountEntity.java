@@ -6,12 +6,14 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "accounts")
+@DynamicUpdate
 @Data
 @Builder
 @NoArgsConstructor
@@ -54,7 +56,7 @@ public class AccountEntity {
     @Column(name = "status", nullable = false)
     private AccountStatus status;
     
-    // @Version - Temporarily disabled for testing
+    @Version
     @Column(name = "version", nullable = false)
     @Builder.Default
     private Long version = 0L;
@@ -66,9 +68,12 @@ public class AccountEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Writers stamp updatedAt from the TimeSource; this only covers updates that did not
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        if (updatedAt == null) {
+            updatedAt = LocalDateTime.now();
+        }
     }
     
     public enum AccountType {
@@ -0,0 +1,128 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.PhoneNumber;
+import com.demo.banking_app.domain.model.ValueHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Rewrites the account, email and phone hashes of rows written before the switch from
+ * {@link String#hashCode()} to SHA-256, so lookups by number or email match them again.
+ * Runs in id-ordered chunks, one short transaction each, before any request is served.
+ *
+ * <p>The scan cannot use an index, so it runs only until it has finished once: it then records
+ * a row in {@code maintenance_runs}, and later starts only look that row up. Setting
+ * {@code banking.accounts.hash-backfill.enabled=false} skips it entirely.
+ */
+@Component
+@Slf4j
+public class AccountHashBackfill implements SmartInitializingSingleton {
+    
+    private static final String LEGACY_ROWS_SQL =
+            "SELECT id, account_number, email, phone_number FROM accounts " +
+            "WHERE id > ? AND (LENGTH(account_number_hash) <> ? OR LENGTH(email_hash) <> ? " +
+            "OR email_hash IS NULL OR LENGTH(phone_hash) <> ?) ORDER BY id LIMIT ?";
+    
+    private static final String UPDATE_HASHES_SQL =
+            "UPDATE accounts SET account_number_hash = ?, email_hash = ?, phone_hash = ? WHERE id = ?";
+    
+    static final String RUN_NAME = "account-hash-backfill";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final TimeSource timeSource;
+    private final boolean enabled;
+    private final int chunkSize;
+    
+    public AccountHashBackfill(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               TimeSource timeSource,
+                               @Value("${banking.accounts.hash-backfill.enabled:true}") boolean enabled,
+                               @Value("${banking.accounts.hash-backfill.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Hash backfill chunk size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.timeSource = timeSource;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled || isDone()) {
+            return;
+        }
+        long total = backfill();
+        if (total > 0) {
+            log.info("Rehashed {} accounts written with legacy hashes", total);
+        }
+        markDone();
+    }
+    
+    boolean isDone() {
+        Integer runs = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM maintenance_runs WHERE name = ?", Integer.class, RUN_NAME);
+        return runs != null && runs > 0;
+    }
+    
+    private void markDone() {
+        try {
+            jdbcTemplate.update("INSERT INTO maintenance_runs (name, completed_at) VALUES (?, ?)", RUN_NAME, timeSource.now());
+        } catch (DuplicateKeyException e) {
+            // Another node finished the same pass first
+        }
+    }
+    
+    public long backfill() {
+        long cursor = 0;
+        long total = 0;
+        while (true) {
+            long after = cursor;
+            List<Rehash> chunk = chunkTransaction.execute(status -> rehashChunk(after));
+            if (chunk == null || chunk.isEmpty()) {
+                return total;
+            }
+            total += chunk.size();
+            cursor = chunk.get(chunk.size() - 1).id();
+        }
+    }
+    
+    private List<Rehash> rehashChunk(long afterId) {
+        List<Rehash> chunk = jdbcTemplate.query(LEGACY_ROWS_SQL,
+                (rs, rowNum) -> {
+                    PhoneNumber phone = PhoneNumber.of(rs.getString("phone_number"));
+                    return new Rehash(
+                            rs.getLong("id"),
+                            AccountNumber.of(rs.getString("account_number")).getHash(),
+                            Email.of(rs.getString("email")).getHash(),
+                            phone != null ? phone.getHash() : null);
+                },
+                afterId, ValueHash.LENGTH, ValueHash.LENGTH, ValueHash.LENGTH, chunkSize);
+        if (!chunk.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_HASHES_SQL, chunk, chunk.size(), (ps, rehash) -> {
+                ps.setString(1, rehash.accountNumberHash());
+                ps.setString(2, rehash.emailHash());
+                ps.setString(3, rehash.phoneHash());
+                ps.setLong(4, rehash.id());
+            });
+        }
+        return chunk;
+    }
+    
+    private record Rehash(long id, String accountNumberHash, String emailHash, String phoneHash) {
+    }
+}
@@ -1,12 +1,24 @@
 package com.demo.banking_app.infrastructure.persistence;
 
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountJpaRepository extends JpaRepository<AccountEntity, Long> {
@@ -17,9 +29,13 @@ public interface AccountJpaRepository extends JpaRepository<AccountEntity, Long>
     @Query("SELECT a FROM AccountEntity a WHERE a.accountNumberHash = :hash")
     Optional<AccountEntity> findByAccountNumberHash(@Param("hash") String hash);
     
+    @Query("SELECT a FROM AccountEntity a WHERE a.accountNumberHash IN :hashes")
+    List<AccountEntity> findByAccountNumberHashIn(@Param("hashes") Collection<String> hashes);
+    
     @Query("SELECT a FROM AccountEntity a WHERE a.emailHash = :hash")
     Optional<AccountEntity> findByEmailHash(@Param("hash") String hash);
     
+    // Full scan; kept as the baseline for the search index benchmark
     @Query("SELECT a FROM AccountEntity a WHERE a.accountHolderName LIKE %:name%")
     List<AccountEntity> findByAccountHolderNameContaining(@Param("name") String name);
     
@@ -28,8 +44,29 @@ public interface AccountJpaRepository extends JpaRepository<AccountEntity, Long>
     
     @Query("SELECT COUNT(a) > 0 FROM AccountEntity a WHERE a.accountNumberHash = :hash")
     boolean existsByAccountNumberHash(@Param("hash") String hash);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AccountEntity a SET a.balance = a.balance + :amount, a.version = a.version + 1, a.updatedAt = :now " +
+           "WHERE a.accountNumberHash = :hash AND a.status = 'ACTIVE'")
+    int creditBalance(@Param("hash") String hash, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AccountEntity a SET a.balance = a.balance - :amount, a.version = a.version + 1, a.updatedAt = :now " +
+           "WHERE a.accountNumberHash = :hash AND a.status = 'ACTIVE' AND a.balance >= :amount")
+    int debitBalance(@Param("hash") String hash, @Param("amount") BigDecimal amount, @Param("now") LocalDateTime now);
+    
+    @Query("SELECT a.id AS id, a.balance AS balance, a.version AS version FROM AccountEntity a WHERE a.accountNumberHash = :hash")
+    Optional<AccountBalanceView> findBalanceByAccountNumberHash(@Param("hash") String hash);
+    
+    @Query("SELECT a FROM AccountEntity a WHERE a.id > :afterId ORDER BY a.id")
+    List<AccountEntity> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+    
+    // Fetch-size cursor (useCursorFetch on MySQL): rows arrive in chunks instead of all at once
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT a FROM AccountEntity a WHERE a.id > :afterId ORDER BY a.id")
+    Stream<AccountEntity> streamAfter(@Param("afterId") long afterId);
 }
-
-
-
-
@@ -32,6 +32,9 @@ public class IdempotencyKeyEntity {
     @Column(name = "account_number_hash")
     private String accountNumberHash;
     
+    @Column(name = "counterparty_account_number_hash")
+    private String counterpartyAccountNumberHash;
+    
     @Column(name = "amount", precision = 19, scale = 2)
     private BigDecimal amount;
     
@@ -40,8 +43,8 @@ public class IdempotencyKeyEntity {
     @Builder.Default
     private Status status = Status.PENDING;
     
-    @Column(name = "response_data", columnDefinition = "TEXT")
-    private String responseData;
+    @Column(name = "response_data", length = 4096)
+    private byte[] responseData;
     
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
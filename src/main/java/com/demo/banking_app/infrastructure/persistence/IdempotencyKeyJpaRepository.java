@@ -1,5 +1,6 @@
 package com.demo.banking_app.infrastructure.persistence;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -7,6 +8,8 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,9 +17,23 @@ public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKe
     
     Optional<IdempotencyKeyEntity> findByIdempotencyKey(String idempotencyKey);
     
+    @Query("SELECT MIN(i.id) FROM IdempotencyKeyEntity i WHERE i.expiresAt < :now")
+    Long findFirstExpiredId(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT i.id FROM IdempotencyKeyEntity i WHERE i.id > :afterId AND i.expiresAt < :now ORDER BY i.id")
+    List<Long> findExpiredIdsAfter(@Param("afterId") long afterId, @Param("now") LocalDateTime now, Pageable page);
+    
     @Modifying
-    @Query("DELETE FROM IdempotencyKeyEntity i WHERE i.expiresAt < :now")
-    int deleteExpiredKeys(@Param("now") LocalDateTime now);
+    @Query("DELETE FROM IdempotencyKeyEntity i WHERE i.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT MIN(i.expiresAt) FROM IdempotencyKeyEntity i WHERE i.expiresAt < :now")
+    LocalDateTime findOldestExpiry(@Param("now") LocalDateTime now);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE IdempotencyKeyEntity i SET i.status = :status, i.responseData = :responseData WHERE i.idempotencyKey = :key")
+    int updateOutcome(@Param("key") String idempotencyKey, @Param("status") IdempotencyKeyEntity.Status status,
+                      @Param("responseData") byte[] responseData);
     
     @Query("SELECT i FROM IdempotencyKeyEntity i WHERE i.idempotencyKey = :key AND i.expiresAt > :now")
     Optional<IdempotencyKeyEntity> findValidByIdempotencyKey(@Param("key") String idempotencyKey, @Param("now") LocalDateTime now);
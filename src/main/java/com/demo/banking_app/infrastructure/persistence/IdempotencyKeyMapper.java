@@ -12,6 +12,7 @@ public class IdempotencyKeyMapper {
                 .idempotencyKey(entity.getIdempotencyKey())
                 .operationType(IdempotencyKey.OperationType.valueOf(entity.getOperationType().name()))
                 .accountNumberHash(entity.getAccountNumberHash())
+                .counterpartyAccountNumberHash(entity.getCounterpartyAccountNumberHash())
                 .amount(entity.getAmount() != null ? Money.of(entity.getAmount()) : null)
                 .status(IdempotencyKey.Status.valueOf(entity.getStatus().name()))
                 .responseData(entity.getResponseData())
@@ -25,6 +26,7 @@ public class IdempotencyKeyMapper {
                 .idempotencyKey(domain.getIdempotencyKey())
                 .operationType(IdempotencyKeyEntity.OperationType.valueOf(domain.getOperationType().name()))
                 .accountNumberHash(domain.getAccountNumberHash())
+                .counterpartyAccountNumberHash(domain.getCounterpartyAccountNumberHash())
                 .amount(domain.getAmount() != null ? domain.getAmount().getAmount() : null)
                 .status(IdempotencyKeyEntity.Status.valueOf(domain.getStatus().name()))
                 .responseData(domain.getResponseData())
@@ -0,0 +1,129 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes expired idempotency keys in primary-key order, one bounded chunk per short
+ * transaction, throttled to a configured row rate. Each run starts from the lowest expired id
+ * still in the table, so a run that hits its time budget, fails or is cut short by a restart
+ * is resumed by the next one; the cursor only moves past a chunk once its delete has committed.
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyPurger {
+    
+    private final IdempotencyKeyJpaRepository jpaRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final long maxRowsPerSecond;
+    private final Duration maxRunDuration;
+    
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter deletedRows;
+    
+    public IdempotencyKeyPurger(
+            IdempotencyKeyJpaRepository jpaRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${banking.idempotency.purge.chunk-size:1000}") int chunkSize,
+            @Value("${banking.idempotency.purge.max-rows-per-second:5000}") long maxRowsPerSecond,
+            @Value("${banking.idempotency.purge.max-run-seconds:300}") long maxRunSeconds) {
+        if (chunkSize <= 0 || maxRowsPerSecond <= 0) {
+            throw new IllegalArgumentException("Purge chunk size and rate must be positive");
+        }
+        this.jpaRepository = jpaRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.maxRunDuration = Duration.ofSeconds(maxRunSeconds);
+        
+        this.deletedRows = Counter.builder("banking.idempotency.purge.deleted")
+                .description("Expired idempotency keys deleted by the purger")
+                .register(meterRegistry);
+        Gauge.builder("banking.idempotency.purge.rows.per.second", lastRunRowsPerSecond, AtomicLong::get)
+                .description("Delete rate achieved by the last purge run")
+                .register(meterRegistry);
+        Gauge.builder("banking.idempotency.purge.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest expired key still present after the last purge run")
+                .register(meterRegistry);
+    }
+    
+    public long purge() {
+        LocalDateTime now = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + maxRunDuration.toNanos();
+        Long firstExpired = jpaRepository.findFirstExpiredId(now);
+        long startCursor = firstExpired != null ? firstExpired - 1 : 0;
+        long cursor = startCursor;
+        long total = 0;
+        boolean exhausted = firstExpired == null;
+        
+        while (!exhausted && System.nanoTime() < deadline) {
+            long after = cursor;
+            Chunk chunk = chunkTransaction.execute(status -> deleteChunk(after, now));
+            if (chunk == null) {
+                exhausted = true;
+                break;
+            }
+            cursor = chunk.lastId();
+            total += chunk.deleted();
+            deletedRows.increment(chunk.deleted());
+            if (!throttle(startNanos, total)) {
+                break;
+            }
+        }
+        
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        lastRunRowsPerSecond.set(total * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        LocalDateTime oldest = jpaRepository.findOldestExpiry(LocalDateTime.now());
+        lagSeconds.set(oldest != null ? Duration.between(oldest, LocalDateTime.now()).getSeconds() : 0);
+        
+        log.info("Purged {} expired idempotency keys in {} ms starting after id {} ({} rows/s, {} s lag{})",
+                total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), startCursor, lastRunRowsPerSecond.get(),
+                lagSeconds.get(), exhausted ? "" : ", will resume");
+        return total;
+    }
+    
+    private Chunk deleteChunk(long afterId, LocalDateTime now) {
+        List<Long> ids = jpaRepository.findExpiredIdsAfter(afterId, now, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return null;
+        }
+        return new Chunk(ids.get(ids.size() - 1), jpaRepository.deleteByIdIn(ids));
+    }
+    
+    private boolean throttle(long startNanos, long rowsSoFar) {
+        long targetNanos = rowsSoFar * TimeUnit.SECONDS.toNanos(1) / maxRowsPerSecond;
+        long aheadNanos = targetNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private record Chunk(long lastId, int deleted) {
+    }
+}
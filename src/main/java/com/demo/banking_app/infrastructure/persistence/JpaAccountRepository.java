@@ -3,34 +3,71 @@ package com.demo.banking_app.infrastructure.persistence;
 import com.demo.banking_app.application.port.out.AccountRepository;
 import com.demo.banking_app.domain.exception.ConcurrentModificationException;
 import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
 import com.demo.banking_app.domain.model.AccountId;
 import com.demo.banking_app.domain.model.AccountNumber;
 import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-@Repository
+@Repository("accountStore")
 @RequiredArgsConstructor
 public class JpaAccountRepository implements AccountRepository {
     
     private final AccountJpaRepository jpaRepository;
     private final AccountMapper mapper;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
     
     @Override
     public Account save(Account account) {
         try {
-            AccountEntity entity = mapper.toEntity(account);
-            AccountEntity saved = jpaRepository.save(entity);
-            return mapper.toDomain(saved);
-        } catch (ObjectOptimisticLockingFailureException e) {
+            if (account.getId() == null) {
+                AccountEntity saved = jpaRepository.save(mapper.toEntity(account));
+                return mapper.toDomain(saved);
+            }
+            return mapper.toDomain(update(account));
+        } catch (ObjectOptimisticLockingFailureException | OptimisticLockException e) {
             throw new ConcurrentModificationException("Account was modified concurrently", e);
         }
     }
     
+    // Applies the mutable state to the managed entity instead of merging a full copy, so dirty
+    // checking plus @DynamicUpdate writes only the columns that actually changed
+    private AccountEntity update(Account account) {
+        AccountEntity entity = entityManager.find(AccountEntity.class, account.getId().getValue());
+        if (entity == null || !entity.getVersion().equals(account.getVersion().getValue())) {
+            throw new ConcurrentModificationException("Account was modified concurrently");
+        }
+        entity.setBalance(account.getBalance().getAmount());
+        entity.setStatus(AccountEntity.AccountStatus.valueOf(account.getStatus().name()));
+        entity.setUpdatedAt(account.getUpdatedAt());
+        // Flush now so the version check runs here and the returned copy carries the new version
+        entityManager.flush();
+        return entity;
+    }
+    
     @Override
     public Optional<Account> findById(AccountId id) {
         return jpaRepository.findById(id.getValue())
@@ -50,15 +87,39 @@ public class JpaAccountRepository implements AccountRepository {
     }
     
     @Override
-    public List<Account> findAll() {
-        return jpaRepository.findAll().stream()
+    public List<Account> findPage(long afterId, int limit) {
+        return jpaRepository.findPageAfter(afterId, PageRequest.ofSize(limit)).stream()
                 .map(mapper::toDomain)
                 .toList();
     }
     
     @Override
-    public List<Account> findByHolderNameContaining(String name) {
-        return jpaRepository.findByAccountHolderNameContaining(name).stream()
+    @Transactional(readOnly = true)
+    public void forEachAfter(long afterId, Consumer<Account> consumer) {
+        try (Stream<AccountEntity> entities = jpaRepository.streamAfter(afterId)) {
+            entities.forEach(entity -> {
+                consumer.accept(mapper.toDomain(entity));
+                // Keep the persistence context flat however many rows pass through it
+                entityManager.detach(entity);
+            });
+        }
+    }
+    
+    @Override
+    public List<Account> findAllById(List<AccountId> ids) {
+        Map<Long, AccountEntity> byId = jpaRepository.findAllById(ids.stream().map(AccountId::getValue).toList()).stream()
+                .collect(Collectors.toMap(AccountEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(id -> byId.get(id.getValue()))
+                .filter(Objects::nonNull)
+                .map(mapper::toDomain)
+                .toList();
+    }
+    
+    @Override
+    public List<Account> findAllByAccountNumbers(Collection<AccountNumber> accountNumbers) {
+        List<String> hashes = accountNumbers.stream().map(AccountNumber::getHash).distinct().toList();
+        return jpaRepository.findByAccountNumberHashIn(hashes).stream()
                 .map(mapper::toDomain)
                 .toList();
     }
@@ -72,8 +133,56 @@ public class JpaAccountRepository implements AccountRepository {
     public boolean existsByAccountNumber(AccountNumber accountNumber) {
         return jpaRepository.existsByAccountNumberHash(accountNumber.getHash());
     }
+    
+    @Override
+    public Optional<AccountBalance> deposit(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+        int updated = jpaRepository.creditBalance(accountNumber.getHash(), amount.getAmount(), at);
+        return updated == 1 ? currentBalance(accountNumber) : Optional.empty();
+    }
+    
+    @Override
+    public Optional<AccountBalance> withdraw(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+        int updated = jpaRepository.debitBalance(accountNumber.getHash(), amount.getAmount(), at);
+        return updated == 1 ? currentBalance(accountNumber) : Optional.empty();
+    }
+    
+    @Override
+    public void updateBalances(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return;
+        }
+        // Flush pending JPA changes first so the batch does not race the persistence context
+        entityManager.flush();
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE accounts SET balance = ?, version = version + 1, updated_at = ? " +
+                "WHERE id = ? AND version = ? AND status = 'ACTIVE'",
+                accounts, accounts.size(), (ps, account) -> {
+                    ps.setBigDecimal(1, account.getBalance().getAmount());
+                    ps.setTimestamp(2, Timestamp.valueOf(account.getUpdatedAt()));
+                    ps.setLong(3, account.getId().getValue());
+                    ps.setLong(4, account.getVersion().getValue());
+                });
+        int row = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                Account account = accounts.get(row++);
+                if (count == 0) {
+                    // Carries the stale version as the cause, so it reads as a lost race rather than a rejection
+                    throw new ConcurrentModificationException("Account was modified concurrently",
+                            new OptimisticLockingFailureException("Account " + account.getId().getValue()
+                                    + " no longer has version " + account.getVersion().getValue() + " or is not active"));
+                }
+            }
+        }
+    }
+    
+    // The row is still locked by the preceding UPDATE, so this read sees exactly the balance we produced
+    private Optional<AccountBalance> currentBalance(AccountNumber accountNumber) {
+        return jpaRepository.findBalanceByAccountNumberHash(accountNumber.getHash())
+                .map(view -> AccountBalance.of(
+                        AccountId.of(view.getId()),
+                        accountNumber,
+                        Money.of(view.getBalance()),
+                        Version.of(view.getVersion())));
+    }
 }
-
-
-
-
@@ -1,24 +1,32 @@
 package com.demo.banking_app.infrastructure.persistence;
 
 import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.application.port.out.TimeSource;
 import com.demo.banking_app.domain.model.IdempotencyKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
-@Repository
+@Repository("idempotencyStore")
+@ConditionalOnProperty(name = "banking.idempotency.store", havingValue = "jpa", matchIfMissing = true)
 @RequiredArgsConstructor
 @Slf4j
 public class JpaIdempotencyRepository implements IdempotencyRepository {
     
     private final IdempotencyKeyJpaRepository jpaRepository;
     private final IdempotencyKeyMapper mapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyKeyPurger purger;
+    private final TimeSource timeSource;
     
     @Override
     public Optional<IdempotencyKey> findByIdempotencyKey(String key) {
-        return jpaRepository.findByIdempotencyKey(key)
+        return jpaRepository.findValidByIdempotencyKey(key, timeSource.now())
                 .map(mapper::toDomain);
     }
     
@@ -29,10 +37,47 @@ public class JpaIdempotencyRepository implements IdempotencyRepository {
         return mapper.toDomain(saved);
     }
     
+    @Override
+    public boolean claim(IdempotencyKey key) {
+        if (insert(key)) {
+            return true;
+        }
+        // The key may only be held by an expired row the purge has not reached yet
+        int replaced = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at < ?",
+                key.getIdempotencyKey(), timeSource.now());
+        return replaced > 0 && insert(key);
+    }
+    
+    private boolean insert(IdempotencyKey key) {
+        // Plain JDBC so a duplicate only fails this statement instead of poisoning the JPA session
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO idempotency_keys (idempotency_key, operation_type, account_number_hash, counterparty_account_number_hash, " +
+                    "amount, status, created_at, expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    key.getIdempotencyKey(),
+                    key.getOperationType().name(),
+                    key.getAccountNumberHash(),
+                    key.getCounterpartyAccountNumberHash(),
+                    key.getAmount() != null ? key.getAmount().getAmount() : null,
+                    key.getStatus().name(),
+                    key.getCreatedAt(),
+                    key.getExpiresAt());
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+    
+    @Override
+    public void complete(IdempotencyKey key) {
+        jpaRepository.updateOutcome(key.getIdempotencyKey(),
+                IdempotencyKeyEntity.Status.valueOf(key.getStatus().name()),
+                key.getResponseData());
+    }
+    
     @Override
     public void deleteExpiredKeys() {
-        int deletedCount = jpaRepository.deleteExpiredKeys(java.time.LocalDateTime.now());
-        log.info("Cleaned up {} expired idempotency keys", deletedCount);
+        purger.purge();
     }
 }
 
@@ -0,0 +1,29 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Schema of the one-off maintenance markers: a row per task that has finished. Read and written
+ * with plain JDBC by {@link AccountHashBackfill}.
+ */
+@Entity
+@Table(name = "maintenance_runs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaintenanceRunEntity {
+    
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+    
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+}
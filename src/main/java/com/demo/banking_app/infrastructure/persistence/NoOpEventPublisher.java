@@ -3,15 +3,17 @@ package com.demo.banking_app.infrastructure.persistence;
 import com.demo.banking_app.application.port.out.EventPublisher;
 import com.demo.banking_app.domain.model.DomainEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Component
+@ConditionalOnProperty(name = "banking.events.publisher", havingValue = "noop")
 @Slf4j
 public class NoOpEventPublisher implements EventPublisher {
     
     @Override
     public void publish(DomainEvent event) {
-        log.info("Publishing domain event: {} with ID: {}", event.getClass().getSimpleName(), event.getEventId());
+        log.debug("Publishing domain event: {} with ID: {}", event.getClass().getSimpleName(), event.getEventId());
         // In a real implementation, this would publish to a message broker
         // For now, we just log the event
     }
@@ -0,0 +1,286 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.application.port.out.TimeSource;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Idempotency store split into a ring of hourly segment tables keyed on {@code expiresAt}.
+ * A segment only ever holds keys expiring within one hour, so once that hour has passed the
+ * whole segment is truncated in constant time instead of deleting rows one by one.
+ *
+ * <p>Key uniqueness is enforced per segment. A duplicate that lands in a neighbouring hour is
+ * caught by checking the live segments right after the insert, which leaves only a narrow race
+ * between two uncommitted claims that straddle an hour boundary.
+ *
+ * <p>The ring must be longer than the key TTL plus the partial hours at either end, otherwise
+ * a live key's segment would be recycled. The segment tables are created once the context has
+ * started, before any request is served.
+ */
+@Repository("idempotencyStore")
+@ConditionalOnProperty(name = "banking.idempotency.store", havingValue = "partitioned")
+@Slf4j
+public class PartitionedIdempotencyRepository implements IdempotencyRepository, SmartInitializingSingleton {
+    
+    private static final long UNASSIGNED = Long.MIN_VALUE;
+    private static final String COLUMNS =
+            "idempotency_key, operation_type, account_number_hash, counterparty_account_number_hash, amount, status, response_data, "
+                    + "created_at, expires_at";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate segmentTransaction;
+    private final TimeSource timeSource;
+    private final int slots;
+    private final AtomicLongArray slotHours;
+    private final ReentrantLock rotationLock = new ReentrantLock();
+    private final String lookupSql;
+    
+    public PartitionedIdempotencyRepository(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            TimeSource timeSource,
+            @Value("${banking.idempotency.partitions.slots:26}") int slots) {
+        // Live keys span the TTL, rounded up to whole hours, plus the current hour
+        long ttlHours = IdempotencyKey.TTL.plusMinutes(59).toHours();
+        if (slots <= ttlHours + 1) {
+            throw new IllegalArgumentException("Idempotency keys live " + ttlHours + "h, so at least "
+                    + (ttlHours + 2) + " segments are required, got " + slots);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        // Segment DDL runs on its own connection: TRUNCATE commits implicitly on MySQL
+        this.segmentTransaction = new TransactionTemplate(transactionManager);
+        this.segmentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.timeSource = timeSource;
+        this.slots = slots;
+        this.slotHours = new AtomicLongArray(slots);
+        
+        StringBuilder lookup = new StringBuilder();
+        for (int slot = 0; slot < slots; slot++) {
+            if (slot > 0) {
+                lookup.append(" UNION ALL ");
+            }
+            lookup.append("SELECT ").append(COLUMNS).append(" FROM ").append(table(slot)).append(" WHERE idempotency_key = ?");
+        }
+        this.lookupSql = lookup.toString();
+    }
+    
+    @Override
+    public void afterSingletonsInstantiated() {
+        createSegments();
+    }
+    
+    @Override
+    public Optional<IdempotencyKey> findByIdempotencyKey(String key) {
+        // One round trip probes every segment through its primary key
+        LocalDateTime now = timeSource.now();
+        return jdbcTemplate.query(lookupSql, ROW_MAPPER, repeat(key)).stream()
+                .filter(found -> !found.isExpired(now))
+                .findFirst();
+    }
+    
+    @Override
+    public IdempotencyKey save(IdempotencyKey key) {
+        int slot = assignSlot(key.getExpiresAt());
+        jdbcTemplate.update("DELETE FROM " + table(slot) + " WHERE idempotency_key = ?", key.getIdempotencyKey());
+        insert(slot, key);
+        return key;
+    }
+    
+    @Override
+    public boolean claim(IdempotencyKey key) {
+        int slot = assignSlot(key.getExpiresAt());
+        try {
+            insert(slot, key);
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        // Expired keys waiting for their segment to rotate do not count as duplicates
+        LocalDateTime now = timeSource.now();
+        List<IdempotencyKey> live = jdbcTemplate.query(lookupSql, ROW_MAPPER, repeat(key.getIdempotencyKey())).stream()
+                .filter(found -> !found.isExpired(now))
+                .toList();
+        if (live.size() > 1) {
+            jdbcTemplate.update("DELETE FROM " + table(slot) + " WHERE idempotency_key = ?", key.getIdempotencyKey());
+            return false;
+        }
+        return true;
+    }
+    
+    @Override
+    public void complete(IdempotencyKey key) {
+        jdbcTemplate.update("UPDATE " + table(slotOf(key.getExpiresAt())) + " SET status = ?, response_data = ? WHERE idempotency_key = ?",
+                key.getStatus().name(), key.getResponseData(), key.getIdempotencyKey());
+    }
+    
+    /**
+     * Rotates the ring: every segment whose hour has fully passed is truncated and released.
+     */
+    @Override
+    public void deleteExpiredKeys() {
+        long currentHour = hourOf(timeSource.now());
+        int truncated = 0;
+        rotationLock.lock();
+        try {
+            // Other nodes may have rotated segments since we last looked
+            loadSegments();
+            for (int slot = 0; slot < slots; slot++) {
+                long hour = slotHours.get(slot);
+                if (hour != UNASSIGNED && hour < currentHour) {
+                    releaseSegment(slot);
+                    truncated++;
+                }
+            }
+        } finally {
+            rotationLock.unlock();
+        }
+        log.info("Rotated idempotency key segments: {} expired segment(s) truncated", truncated);
+    }
+    
+    private void createSegments() {
+        segmentTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS idempotency_key_segments (slot INT PRIMARY KEY, bucket_hour BIGINT)");
+            for (int slot = 0; slot < slots; slot++) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table(slot) + " (" +
+                        "idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY, " +
+                        "operation_type VARCHAR(20) NOT NULL, " +
+                        "account_number_hash VARCHAR(255), " +
+                        "counterparty_account_number_hash VARCHAR(255), " +
+                        "amount DECIMAL(19,2), " +
+                        "status VARCHAR(20) NOT NULL, " +
+                        "response_data VARBINARY(4096), " +
+                        "created_at DATETIME(6), " +
+                        "expires_at DATETIME(6) NOT NULL)");
+                addCounterpartyColumn(table(slot));
+            }
+        });
+        loadSegments();
+    }
+    
+    // Segments created before transfer keys recorded their receiving account lack the column
+    private void addCounterpartyColumn(String table) {
+        try {
+            jdbcTemplate.queryForList("SELECT counterparty_account_number_hash FROM " + table + " WHERE 1 = 0");
+        } catch (BadSqlGrammarException e) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN counterparty_account_number_hash VARCHAR(255)");
+        }
+    }
+    
+    private void loadSegments() {
+        for (int slot = 0; slot < slots; slot++) {
+            slotHours.set(slot, UNASSIGNED);
+        }
+        jdbcTemplate.query("SELECT slot, bucket_hour FROM idempotency_key_segments", rs -> {
+            int slot = rs.getInt("slot");
+            long hour = rs.getLong("bucket_hour");
+            if (slot < slots && !rs.wasNull()) {
+                slotHours.set(slot, hour);
+            }
+        });
+    }
+    
+    private int assignSlot(LocalDateTime expiresAt) {
+        long hour = hourOf(expiresAt);
+        int slot = slotOf(expiresAt);
+        if (slotHours.get(slot) == hour) {
+            return slot;
+        }
+        rotationLock.lock();
+        try {
+            long current = slotHours.get(slot);
+            if (current == hour) {
+                return slot;
+            }
+            if (current != UNASSIGNED && current > hour) {
+                throw new IllegalStateException("Idempotency key segment " + slot + " is held by a later hour");
+            }
+            // The ring is longer than the key TTL, so anything still in this segment has expired
+            if (current != UNASSIGNED) {
+                releaseSegment(slot);
+            }
+            segmentTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM idempotency_key_segments WHERE slot = ?", slot);
+                jdbcTemplate.update("INSERT INTO idempotency_key_segments (slot, bucket_hour) VALUES (?, ?)", slot, hour);
+            });
+            slotHours.set(slot, hour);
+            return slot;
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+    
+    private void releaseSegment(int slot) {
+        segmentTransaction.executeWithoutResult(status -> {
+            jdbcTemplate.execute("TRUNCATE TABLE " + table(slot));
+            jdbcTemplate.update("DELETE FROM idempotency_key_segments WHERE slot = ?", slot);
+        });
+        slotHours.set(slot, UNASSIGNED);
+    }
+    
+    private void insert(int slot, IdempotencyKey key) {
+        jdbcTemplate.update("INSERT INTO " + table(slot) + " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                key.getIdempotencyKey(),
+                key.getOperationType().name(),
+                key.getAccountNumberHash(),
+                key.getCounterpartyAccountNumberHash(),
+                key.getAmount() != null ? key.getAmount().getAmount() : null,
+                key.getStatus().name(),
+                key.getResponseData(),
+                key.getCreatedAt(),
+                key.getExpiresAt());
+    }
+    
+    private int slotOf(LocalDateTime expiresAt) {
+        return (int) Math.floorMod(hourOf(expiresAt), (long) slots);
+    }
+    
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600L);
+    }
+    
+    private Object[] repeat(String key) {
+        Object[] args = new Object[slots];
+        Arrays.fill(args, key);
+        return args;
+    }
+    
+    private static String table(int slot) {
+        return String.format("idempotency_keys_p%02d", slot);
+    }
+    
+    private static final RowMapper<IdempotencyKey> ROW_MAPPER = (rs, rowNum) -> {
+        BigDecimal amount = rs.getBigDecimal("amount");
+        return IdempotencyKey.builder()
+                .idempotencyKey(rs.getString("idempotency_key"))
+                .operationType(IdempotencyKey.OperationType.valueOf(rs.getString("operation_type")))
+                .accountNumberHash(rs.getString("account_number_hash"))
+                .counterpartyAccountNumberHash(rs.getString("counterparty_account_number_hash"))
+                .amount(amount != null ? Money.of(amount) : null)
+                .status(IdempotencyKey.Status.valueOf(rs.getString("status")))
+                .responseData(rs.getBytes("response_data"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .expiresAt(rs.getObject("expires_at", LocalDateTime.class))
+                .build();
+    };
+}
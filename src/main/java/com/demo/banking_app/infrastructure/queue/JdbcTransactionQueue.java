@@ -0,0 +1,236 @@
+package com.demo.banking_app.infrastructure.queue;
+
+import com.demo.banking_app.application.port.out.TransactionQueue;
+import com.demo.banking_app.domain.exception.SubmissionQueueFullException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.TransactionSubmission;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Submission queue on the {@code transaction_submissions} table. Each insert commits on its
+ * own, so a submission is durable once it has been acknowledged. Workers claim rows by
+ * stamping them with a claim token, which works the same on every database and lets several
+ * instances drain one table without taking a row twice.
+ */
+@Repository
+public class JdbcTransactionQueue implements TransactionQueue {
+    
+    private static final String COLUMNS = "submission_id, operation, account_number, amount, currency, description, "
+            + "idempotency_key, status, attempts, new_balance, error_code, error_message, submitted_at, completed_at";
+    
+    private static final RowMapper<TransactionSubmission> ROW_MAPPER = (rs, rowNum) -> {
+        Currency currency = Money.currency(rs.getString("currency"));
+        BigDecimal newBalance = rs.getBigDecimal("new_balance");
+        Timestamp completedAt = rs.getTimestamp("completed_at");
+        return TransactionSubmission.builder()
+                .submissionId(rs.getString("submission_id"))
+                .operation(TransactionSubmission.Operation.valueOf(rs.getString("operation")))
+                .accountNumber(AccountNumber.of(rs.getString("account_number")))
+                .amount(Money.of(rs.getBigDecimal("amount"), currency))
+                .description(rs.getString("description"))
+                .idempotencyKey(rs.getString("idempotency_key"))
+                .status(TransactionSubmission.Status.valueOf(rs.getString("status")))
+                .attempts(rs.getInt("attempts"))
+                .newBalance(newBalance != null ? Money.of(newBalance, currency) : null)
+                .errorCode(rs.getString("error_code"))
+                .errorMessage(rs.getString("error_message"))
+                .submittedAt(rs.getTimestamp("submitted_at").toLocalDateTime())
+                .completedAt(completedAt != null ? completedAt.toLocalDateTime() : null)
+                .build();
+    };
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final long maxPending;
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter accepted;
+    private final Counter rejected;
+    
+    public JdbcTransactionQueue(
+            JdbcTemplate jdbcTemplate,
+            NamedParameterJdbcTemplate namedJdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${banking.submissions.max-pending:100000}") long maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("Submission queue limit must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.maxPending = maxPending;
+        this.accepted = Counter.builder("banking.submissions.accepted")
+                .description("Submissions accepted into the queue")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("banking.submissions.rejected")
+                .description("Submissions refused because the queue was full")
+                .register(meterRegistry);
+        Gauge.builder("banking.submissions.queue.depth", depth, AtomicLong::get)
+                .description("Submissions waiting or being processed")
+                .register(meterRegistry);
+        Gauge.builder("banking.submissions.queue.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest submission still waiting to be processed")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public TransactionSubmission enqueue(TransactionSubmission submission) {
+        // The depth is refreshed from the table by the worker and counted up here in between
+        if (depth.get() >= maxPending) {
+            rejected.increment();
+            throw new SubmissionQueueFullException("Too many submissions are waiting to be processed. Please retry later.", 1);
+        }
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO transaction_submissions (submission_id, operation, account_number, amount, currency, "
+                            + "description, idempotency_key, status, attempts, submitted_at, available_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?)",
+                    submission.getSubmissionId(),
+                    submission.getOperation().name(),
+                    submission.getAccountNumber().getValue(),
+                    submission.getAmount().getAmount(),
+                    submission.getAmount().getCurrency().getCurrencyCode(),
+                    submission.getDescription(),
+                    submission.getIdempotencyKey(),
+                    TransactionSubmission.Status.PENDING.name(),
+                    submission.getSubmittedAt(),
+                    submission.getSubmittedAt());
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.query("SELECT " + COLUMNS + " FROM transaction_submissions WHERE idempotency_key = ?",
+                            ROW_MAPPER, submission.getIdempotencyKey())
+                    .stream()
+                    .findFirst()
+                    .orElseThrow(() -> e);
+        }
+        depth.incrementAndGet();
+        accepted.increment();
+        return submission;
+    }
+    
+    @Override
+    public Optional<TransactionSubmission> findBySubmissionId(String submissionId) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM transaction_submissions WHERE submission_id = ?",
+                        ROW_MAPPER, submissionId)
+                .stream()
+                .findFirst();
+    }
+    
+    /**
+     * Claims up to {@code limit} due submissions in id order and marks them as processing.
+     */
+    ClaimedBatch claim(int limit, LocalDateTime now) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM transaction_submissions WHERE status = 'PENDING' AND available_at <= ? ORDER BY id LIMIT ?",
+                Long.class, now, limit);
+        if (ids.isEmpty()) {
+            return new ClaimedBatch(null, List.of());
+        }
+        // Rows another instance claimed in the meantime no longer match the status condition
+        String token = UUID.randomUUID().toString();
+        namedJdbcTemplate.update(
+                "UPDATE transaction_submissions SET status = 'PROCESSING', claim_token = :token, started_at = :now "
+                        + "WHERE id IN (:ids) AND status = 'PENDING'",
+                new MapSqlParameterSource("token", token).addValue("now", now).addValue("ids", ids));
+        return new ClaimedBatch(token, jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM transaction_submissions WHERE claim_token = ? ORDER BY id", ROW_MAPPER, token));
+    }
+    
+    /**
+     * Stores the outcome of processed submissions in one JDBC batch. An outcome is only written
+     * while its submission still carries the claim it was processed under; a claim released as
+     * stale and taken by another worker is left to that worker. Returns the number of outcomes
+     * dropped that way.
+     */
+    int finish(List<SubmissionResult> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "UPDATE transaction_submissions SET status = ?, attempts = ?, new_balance = ?, error_code = ?, "
+                        + "error_message = ?, completed_at = ?, available_at = ?, claim_token = NULL "
+                        + "WHERE submission_id = ? AND claim_token = ?",
+                results, results.size(), (ps, result) -> {
+                    ps.setString(1, result.status().name());
+                    ps.setInt(2, result.attempts());
+                    ps.setBigDecimal(3, result.newBalance());
+                    ps.setString(4, result.errorCode());
+                    ps.setString(5, result.errorMessage());
+                    ps.setTimestamp(6, result.completedAt() != null ? Timestamp.valueOf(result.completedAt()) : null);
+                    ps.setTimestamp(7, Timestamp.valueOf(result.availableAt()));
+                    ps.setString(8, result.submissionId());
+                    ps.setString(9, result.claimToken());
+                });
+        int dropped = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == 0) {
+                    dropped++;
+                }
+            }
+        }
+        return dropped;
+    }
+    
+    /**
+     * Returns submissions whose worker disappeared mid-processing to the queue. Reprocessing
+     * is safe because the use cases replay by idempotency key.
+     */
+    int releaseStale(LocalDateTime startedBefore) {
+        return jdbcTemplate.update(
+                "UPDATE transaction_submissions SET status = 'PENDING', claim_token = NULL "
+                        + "WHERE status = 'PROCESSING' AND started_at < ?",
+                startedBefore);
+    }
+    
+    int purgeFinished(LocalDateTime completedBefore, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM transaction_submissions WHERE status IN ('COMPLETED', 'FAILED') AND completed_at < ? "
+                        + "ORDER BY id LIMIT ?",
+                Long.class, completedBefore, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update("DELETE FROM transaction_submissions WHERE id IN (:ids)",
+                new MapSqlParameterSource("ids", ids));
+    }
+    
+    void refreshStats() {
+        Long unfinished = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction_submissions WHERE status IN ('PENDING', 'PROCESSING')", Long.class);
+        depth.set(unfinished != null ? unfinished : 0);
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(submitted_at) FROM transaction_submissions WHERE status IN ('PENDING', 'PROCESSING')",
+                Timestamp.class);
+        lagMillis.set(oldest != null
+                ? Math.max(0, Duration.between(oldest.toLocalDateTime(), LocalDateTime.now()).toMillis())
+                : 0);
+    }
+    
+    record ClaimedBatch(String claimToken, List<TransactionSubmission> submissions) {
+    }
+    
+    record SubmissionResult(String submissionId, String claimToken, TransactionSubmission.Status status, int attempts,
+                            BigDecimal newBalance, String errorCode, String errorMessage,
+                            LocalDateTime completedAt, LocalDateTime availableAt) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.demo.banking_app.infrastructure.queue;
+
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.WithdrawCommand;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.DomainException;
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import com.demo.banking_app.domain.exception.InactiveAccountException;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.domain.model.TransactionSubmission;
+import com.demo.banking_app.infrastructure.queue.JdbcTransactionQueue.ClaimedBatch;
+import com.demo.banking_app.infrastructure.queue.JdbcTransactionQueue.SubmissionResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the submission queue. One dispatcher thread claims a batch, hands it to a fixed pool
+ * of workers that apply each submission through the synchronous use case, waits for the
+ * whole batch and then records all outcomes in one JDBC batch. Only one batch is in flight at
+ * a time, so the database never sees more than {@code worker-threads} submissions at once,
+ * however deep the queue gets; spikes wait in the table instead.
+ */
+@Component
+@Slf4j
+public class SubmissionWorker {
+    
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final JdbcTransactionQueue queue;
+    private final DepositUseCase depositUseCase;
+    private final WithdrawUseCase withdrawUseCase;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final long pollIntervalMs;
+    private final Duration retryBackoff;
+    private final Duration processingTimeout;
+    private final Duration retention;
+    private final long maintenanceIntervalMs;
+    
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService workers;
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter retried;
+    private final Timer batchTimer;
+    private final Timer endToEnd;
+    private long lastStatsRefresh;
+    
+    public SubmissionWorker(
+            JdbcTransactionQueue queue,
+            DepositUseCase depositUseCase,
+            WithdrawUseCase withdrawUseCase,
+            MeterRegistry meterRegistry,
+            @Value("${banking.submissions.worker.threads:8}") int threads,
+            @Value("${banking.submissions.worker.batch-size:200}") int batchSize,
+            @Value("${banking.submissions.worker.max-batches-per-run:20}") int maxBatchesPerRun,
+            @Value("${banking.submissions.worker.poll-interval-ms:100}") long pollIntervalMs,
+            @Value("${banking.submissions.worker.max-attempts:5}") int maxAttempts,
+            @Value("${banking.submissions.worker.retry-backoff-ms:1000}") long retryBackoffMs,
+            @Value("${banking.submissions.worker.processing-timeout-ms:300000}") long processingTimeoutMs,
+            @Value("${banking.submissions.retention-hours:24}") long retentionHours,
+            @Value("${banking.submissions.maintenance-interval-ms:60000}") long maintenanceIntervalMs) {
+        if (threads <= 0 || batchSize <= 0 || maxBatchesPerRun <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Submission worker threads, batch size, batches per run and attempts must be positive");
+        }
+        this.queue = queue;
+        this.depositUseCase = depositUseCase;
+        this.withdrawUseCase = withdrawUseCase;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMs = pollIntervalMs;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.processingTimeout = Duration.ofMillis(processingTimeoutMs);
+        this.retention = Duration.ofHours(retentionHours);
+        this.maintenanceIntervalMs = maintenanceIntervalMs;
+        
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "submission-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger workerIds = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "submission-worker-" + workerIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.completed = processed(meterRegistry, "completed");
+        this.failed = processed(meterRegistry, "failed");
+        this.retried = processed(meterRegistry, "retried");
+        this.batchTimer = Timer.builder("banking.submissions.batch")
+                .description("Time to claim, apply and record one batch of submissions")
+                .register(meterRegistry);
+        this.endToEnd = Timer.builder("banking.submissions.end.to.end")
+                .description("Time from acceptance to a final outcome")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+    
+    private static Counter processed(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.submissions.processed")
+                .description("Submissions processed by the worker")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    // Start once the schema is in place and the use cases are fully wired
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        dispatcher.scheduleWithFixedDelay(this::dispatch, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::maintain, maintenanceIntervalMs, maintenanceIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    private void dispatch() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                refreshStatsIfDue();
+                Integer processed = batchTimer.record(this::processBatch);
+                if (processed == null || processed < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error while draining the submission queue", e);
+        }
+    }
+    
+    private int processBatch() {
+        ClaimedBatch claimed = queue.claim(batchSize, LocalDateTime.now());
+        List<TransactionSubmission> batch = claimed.submissions();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        String claimToken = claimed.claimToken();
+        List<Callable<SubmissionResult>> tasks = new ArrayList<>(batch.size());
+        for (TransactionSubmission submission : batch) {
+            tasks.add(() -> process(submission, claimToken));
+        }
+        
+        List<SubmissionResult> results = new ArrayList<>(batch.size());
+        try {
+            List<Future<SubmissionResult>> futures = workers.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(resultOf(futures.get(i), batch.get(i), claimToken));
+            }
+        } catch (InterruptedException e) {
+            // Unrecorded submissions stay claimed and are released by the stale-claim sweep
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        int dropped = queue.finish(results);
+        if (dropped > 0) {
+            log.warn("{} submissions were released as stale before their outcome was recorded", dropped);
+        }
+        return batch.size();
+    }
+    
+    private SubmissionResult resultOf(Future<SubmissionResult> future, TransactionSubmission submission, String claimToken) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            return retryOrFail(submission, claimToken, "PROCESSING_FAILED", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return retryOrFail(submission, claimToken, "PROCESSING_FAILED", "Interrupted");
+        }
+    }
+    
+    private SubmissionResult process(TransactionSubmission submission, String claimToken) {
+        try {
+            String newBalance = submission.getOperation() == TransactionSubmission.Operation.DEPOSIT
+                    ? depositUseCase.deposit(new DepositCommand(submission.getAccountNumber(), submission.getAmount(),
+                            submission.getDescription(), submission.getIdempotencyKey())).getNewBalance()
+                    : withdrawUseCase.withdraw(new WithdrawCommand(submission.getAccountNumber(), submission.getAmount(),
+                            submission.getDescription(), submission.getIdempotencyKey())).getNewBalance();
+            LocalDateTime now = LocalDateTime.now();
+            completed.increment();
+            endToEnd.record(Duration.between(submission.getSubmittedAt(), now));
+            return new SubmissionResult(submission.getSubmissionId(), claimToken, TransactionSubmission.Status.COMPLETED,
+                    submission.getAttempts() + 1, new BigDecimal(newBalance), null, null, now, now);
+        } catch (AccountNotFoundException e) {
+            return fail(submission, claimToken, "ACCOUNT_NOT_FOUND", e.getMessage());
+        } catch (InsufficientFundsException e) {
+            return fail(submission, claimToken, "INSUFFICIENT_FUNDS", e.getMessage());
+        } catch (InactiveAccountException e) {
+            return fail(submission, claimToken, "INACTIVE_ACCOUNT", e.getMessage());
+        } catch (IdempotencyException e) {
+            return fail(submission, claimToken, "IDEMPOTENCY_VIOLATION", e.getMessage());
+        } catch (ConcurrentModificationException e) {
+            return retryOrFail(submission, claimToken, "CONCURRENT_MODIFICATION", e.getMessage());
+        } catch (DomainException | IllegalArgumentException e) {
+            return fail(submission, claimToken, "REJECTED", e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Submission {} failed on attempt {}; will retry", submission.getSubmissionId(),
+                    submission.getAttempts() + 1, e);
+            return retryOrFail(submission, claimToken, "PROCESSING_FAILED", e.getMessage());
+        }
+    }
+    
+    private SubmissionResult fail(TransactionSubmission submission, String claimToken, String errorCode, String message) {
+        LocalDateTime now = LocalDateTime.now();
+        failed.increment();
+        endToEnd.record(Duration.between(submission.getSubmittedAt(), now));
+        return new SubmissionResult(submission.getSubmissionId(), claimToken, TransactionSubmission.Status.FAILED,
+                submission.getAttempts() + 1, null, errorCode, truncate(message), now, now);
+    }
+    
+    private SubmissionResult retryOrFail(TransactionSubmission submission, String claimToken, String errorCode, String message) {
+        int attempts = submission.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            return fail(submission, claimToken, errorCode, message);
+        }
+        retried.increment();
+        // Back off linearly with the number of attempts so a struggling account is not hammered
+        LocalDateTime availableAt = LocalDateTime.now().plus(retryBackoff.multipliedBy(attempts));
+        return new SubmissionResult(submission.getSubmissionId(), claimToken, TransactionSubmission.Status.PENDING,
+                attempts, null, errorCode, truncate(message), null, availableAt);
+    }
+    
+    private void refreshStatsIfDue() {
+        long now = System.currentTimeMillis();
+        if (now - lastStatsRefresh >= 1000) {
+            queue.refreshStats();
+            lastStatsRefresh = now;
+        }
+    }
+    
+    private void maintain() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int released = queue.releaseStale(now.minus(processingTimeout));
+            if (released > 0) {
+                log.warn("Released {} submissions claimed more than {} ago", released, processingTimeout);
+            }
+            int purged;
+            do {
+                purged = queue.purgeFinished(now.minus(retention), 1000);
+            } while (purged > 0);
+        } catch (Exception e) {
+            log.error("Error during submission queue maintenance", e);
+        }
+    }
+    
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+    
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(30, TimeUnit.SECONDS);
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.banking_app.infrastructure.queue;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Schema of the submission queue table. Rows are written and drained with plain JDBC, see
+ * {@link JdbcTransactionQueue} and {@link SubmissionWorker}.
+ */
+@Entity
+@Table(name = "transaction_submissions", indexes = {
+        @Index(name = "idx_submissions_status", columnList = "status, available_at, id"),
+        @Index(name = "idx_submissions_claim", columnList = "claim_token")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSubmissionEntity {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "submission_id", nullable = false, unique = true, length = 36)
+    private String submissionId;
+    
+    @Column(name = "operation", nullable = false, length = 20)
+    private String operation;
+    
+    @Column(name = "account_number", nullable = false)
+    private String accountNumber;
+    
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    @Column(name = "description")
+    private String description;
+    
+    @Column(name = "idempotency_key", nullable = false, unique = true)
+    private String idempotencyKey;
+    
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+    
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+    
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+    
+    @Column(name = "new_balance", precision = 19, scale = 2)
+    private BigDecimal newBalance;
+    
+    @Column(name = "error_code", length = 50)
+    private String errorCode;
+    
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+    
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+    
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,112 @@
+package com.demo.banking_app.infrastructure.retry;
+
+import com.demo.banking_app.application.service.RetryOnConflict;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Re-runs {@link RetryOnConflict} use cases on locking conflicts. Ordered ahead of the
+ * transaction interceptor so every attempt gets a fresh transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+@Slf4j
+public class ConflictRetryAspect {
+    
+    private final ConflictRetryPolicy policy;
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, RetryCounters> counters = new ConcurrentHashMap<>();
+    
+    @Around("@annotation(com.demo.banking_app.application.service.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        // Joining an outer transaction means it is already doomed by the conflict; let the outer caller decide
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RetryCounters retryCounters = counters.computeIfAbsent(method, this::registerCounters);
+        
+        for (int attempt = 1; ; attempt++) {
+            retryCounters.attempts.increment();
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    retryCounters.recovered.increment();
+                }
+                return result;
+            } catch (Throwable error) {
+                if (!policy.isRetryable(error)) {
+                    throw error;
+                }
+                retryCounters.conflicts.increment();
+                if (attempt >= policy.getMaxAttempts()) {
+                    retryCounters.exhausted.increment();
+                    log.warn("Giving up on {} after {} conflicting attempts", method.getName(), attempt);
+                    throw error;
+                }
+                long backoff = policy.backoffMillis(attempt);
+                log.debug("Conflict on attempt {} of {}, retrying in {} ms", attempt, method.getName(), backoff);
+                if (!sleep(backoff)) {
+                    // Interrupted while backing off: keep the flag and report the conflict itself
+                    retryCounters.exhausted.increment();
+                    throw error;
+                }
+            }
+        }
+    }
+    
+    private RetryCounters registerCounters(Method method) {
+        String operation = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        return new RetryCounters(
+                counter("banking.retry.attempts", "Use case attempts, including the first", operation),
+                counter("banking.retry.conflicts", "Attempts that failed on a version conflict or lock failure", operation),
+                counter("banking.retry.recovered", "Invocations that succeeded after at least one retry", operation),
+                counter("banking.retry.exhausted", "Invocations that still conflicted after the last attempt", operation));
+    }
+    
+    private Counter counter(String name, String description, String operation) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+    
+    private static boolean sleep(long millis) {
+        if (millis <= 0) {
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    @Value
+    private static class RetryCounters {
+        Counter attempts;
+        Counter conflicts;
+        Counter recovered;
+        Counter exhausted;
+    }
+}
@@ -0,0 +1,66 @@
+package com.demo.banking_app.infrastructure.retry;
+
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+@Getter
+public class ConflictRetryPolicy {
+    
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double multiplier;
+    private final double jitter;
+    
+    public ConflictRetryPolicy(
+            @Value("${banking.retry.max-attempts:3}") int maxAttempts,
+            @Value("${banking.retry.initial-backoff-ms:20}") long initialBackoffMs,
+            @Value("${banking.retry.max-backoff-ms:500}") long maxBackoffMs,
+            @Value("${banking.retry.multiplier:2.0}") double multiplier,
+            @Value("${banking.retry.jitter:0.5}") double jitter) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("banking.retry.max-attempts must be at least 1");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("banking.retry.jitter must be between 0 and 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+    
+    /**
+     * Only version conflicts and lock failures are worth re-running. Rejections from the
+     * in-process lock manager (queue full, wait timeout) carry no such cause and are not retried.
+     */
+    public boolean isRetryable(Throwable error) {
+        if (error instanceof OptimisticLockingFailureException || error instanceof PessimisticLockingFailureException) {
+            return true;
+        }
+        if (error instanceof ConcurrentModificationException) {
+            Throwable cause = error.getCause();
+            return cause instanceof OptimisticLockingFailureException || cause instanceof PessimisticLockingFailureException;
+        }
+        return false;
+    }
+    
+    /**
+     * Exponential backoff for the given retry (1-based), with the configured fraction randomized
+     * so that colliding writers do not wake up in lockstep.
+     */
+    public long backoffMillis(int retry) {
+        double base = Math.min(maxBackoffMs, initialBackoffMs * Math.pow(multiplier, retry - 1));
+        double fixed = base * (1 - jitter);
+        double random = base * jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.round(fixed + random);
+    }
+}
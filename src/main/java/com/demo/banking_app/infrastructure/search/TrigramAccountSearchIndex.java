@@ -0,0 +1,295 @@
+package com.demo.banking_app.infrastructure.search;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.port.out.AccountSearchIndex;
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index over normalized holder names. Every word is indexed padded as
+ * {@code "  word "}, so one and two character queries hit a single word-prefix trigram, and
+ * the whole name is indexed as {@code " name "} for substrings that cross word boundaries.
+ * Candidates from the posting intersection are verified against the stored name and ranked:
+ * exact match, name prefix, word prefix, then any substring; shorter names first within a rank.
+ * <p>
+ * The index is built from the database on startup and topped up by keyset scans, which also
+ * pick up accounts created on other nodes. Each scan starts {@code rescan-window} ids below the
+ * highest id the previous scan saw, so an account whose id was taken before a higher one but
+ * committed after it is still found; local writes never move that watermark.
+ */
+@Component
+@Slf4j
+public class TrigramAccountSearchIndex implements AccountSearchIndex {
+    
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_NAME_PREFIX = 1;
+    private static final int RANK_WORD_PREFIX = 2;
+    private static final int RANK_SUBSTRING = 3;
+    
+    private final AccountRepository accountRepository;
+    private final long rescanWindow;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, TrigramPostings> postings = new HashMap<>();
+    private final Map<Long, String> names = new HashMap<>();
+    private final AtomicLong highestScannedId = new AtomicLong();
+    
+    public TrigramAccountSearchIndex(AccountRepository accountRepository, MeterRegistry meterRegistry,
+                                     @Value("${banking.search.rescan-window:1000}") long rescanWindow) {
+        if (rescanWindow < 0) {
+            throw new IllegalArgumentException("Search rescan window must not be negative");
+        }
+        this.accountRepository = accountRepository;
+        this.rescanWindow = rescanWindow;
+        Gauge.builder("banking.search.indexed.accounts", this, TrigramAccountSearchIndex::size)
+                .description("Accounts present in the holder-name search index")
+                .register(meterRegistry);
+    }
+    
+    @Override
+    public void index(AccountId accountId, AccountHolderName holderName) {
+        afterCommit(() -> put(accountId.getValue(), holderName.getValue()));
+    }
+    
+    @Override
+    public void remove(AccountId accountId) {
+        afterCommit(() -> delete(accountId.getValue()));
+    }
+    
+    @Override
+    public List<AccountId> search(String query, int offset, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            List<TrigramPostings> lists = new ArrayList<>();
+            for (long trigram : queryTrigrams(normalized)) {
+                TrigramPostings list = postings.get(trigram);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            // Walk the shortest list and probe the others
+            lists.sort(Comparator.comparingInt(TrigramPostings::size));
+            TrigramPostings shortest = lists.get(0);
+            for (int i = 0; i < shortest.size(); i++) {
+                long id = shortest.get(i);
+                if (!inAll(lists, id)) {
+                    continue;
+                }
+                String name = names.get(id);
+                int rank = rank(name, normalized);
+                if (rank >= 0) {
+                    matches.add(new Match(id, rank, name.length()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        matches.sort(Comparator.comparingInt(Match::rank)
+                .thenComparingInt(Match::length)
+                .thenComparingLong(Match::id));
+        return matches.stream()
+                .skip(offset)
+                .limit(limit)
+                .map(match -> AccountId.of(match.id()))
+                .toList();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        long indexed = refresh();
+        log.info("Built holder-name search index with {} accounts in {} ms",
+                indexed, (System.nanoTime() - started) / 1_000_000);
+    }
+    
+    /**
+     * Indexes accounts created since the last scan, including those created by other nodes, and
+     * returns how many accounts the scan passed.
+     */
+    @Scheduled(fixedDelayString = "${banking.search.refresh-interval-ms:60000}",
+               initialDelayString = "${banking.search.refresh-interval-ms:60000}")
+    public long refresh() {
+        long[] count = {0};
+        try {
+            accountRepository.forEachAfter(Math.max(0, highestScannedId.get() - rescanWindow), account -> {
+                long id = account.getId().getValue();
+                put(id, account.getHolderName().getValue());
+                // Rows arrive in id order, so a scan that fails part way keeps what it covered
+                highestScannedId.accumulateAndGet(id, Math::max);
+                count[0]++;
+            });
+        } catch (Exception e) {
+            log.error("Error while refreshing the holder-name search index", e);
+        }
+        return count[0];
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return names.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    void put(long id, String holderName) {
+        String normalized = normalize(holderName);
+        lock.writeLock().lock();
+        try {
+            String previous = names.put(id, normalized);
+            if (previous != null) {
+                for (long trigram : nameTrigrams(previous)) {
+                    removePosting(trigram, id);
+                }
+            }
+            for (long trigram : nameTrigrams(normalized)) {
+                postings.computeIfAbsent(trigram, t -> new TrigramPostings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void delete(long id) {
+        lock.writeLock().lock();
+        try {
+            String previous = names.remove(id);
+            if (previous != null) {
+                for (long trigram : nameTrigrams(previous)) {
+                    removePosting(trigram, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void removePosting(long trigram, long id) {
+        TrigramPostings list = postings.get(trigram);
+        if (list != null) {
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+    
+    private static boolean inAll(List<TrigramPostings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static int rank(String name, String query) {
+        if (name.equals(query)) {
+            return RANK_EXACT;
+        }
+        if (name.startsWith(query)) {
+            return RANK_NAME_PREFIX;
+        }
+        if (name.contains(" " + query)) {
+            return RANK_WORD_PREFIX;
+        }
+        if (query.length() >= 3 && name.contains(query)) {
+            return RANK_SUBSTRING;
+        }
+        return -1;
+    }
+    
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+    
+    private static Set<Long> nameTrigrams(String name) {
+        Set<Long> trigrams = new HashSet<>();
+        addTrigrams(trigrams, " " + name + " ");
+        for (String word : name.split(" ")) {
+            if (!word.isEmpty()) {
+                addTrigrams(trigrams, "  " + word + " ");
+            }
+        }
+        return trigrams;
+    }
+    
+    private static Set<Long> queryTrigrams(String query) {
+        Set<Long> trigrams = new HashSet<>();
+        if (query.length() == 1) {
+            trigrams.add(pack(' ', ' ', query.charAt(0)));
+        } else if (query.length() == 2) {
+            trigrams.add(pack(' ', query.charAt(0), query.charAt(1)));
+        } else {
+            addTrigrams(trigrams, query);
+        }
+        return trigrams;
+    }
+    
+    private static void addTrigrams(Set<Long> trigrams, String padded) {
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(pack(padded.charAt(i), padded.charAt(i + 1), padded.charAt(i + 2)));
+        }
+    }
+    
+    private static long pack(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+    
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    private record Match(long id, int rank, int length) {
+    }
+}
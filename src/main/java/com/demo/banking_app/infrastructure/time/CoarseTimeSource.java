@@ -0,0 +1,57 @@
+package com.demo.banking_app.infrastructure.time;
+
+import com.demo.banking_app.application.port.out.TimeSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the system clock once per tick on a background thread and hands every caller the
+ * same cached instant, so a hot write path neither queries the clock nor allocates a
+ * timestamp per operation. Timestamps lag real time by at most one resolution step.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "banking.time.source", havingValue = "coarse")
+public class CoarseTimeSource implements TimeSource {
+    
+    private final Clock clock = Clock.systemDefaultZone();
+    private final ScheduledExecutorService ticker;
+    
+    private volatile LocalDateTime current = LocalDateTime.now(clock);
+    
+    public CoarseTimeSource(@Value("${banking.time.coarse-resolution-ms:10}") long resolutionMs) {
+        if (resolutionMs <= 0) {
+            throw new IllegalArgumentException("Clock resolution must be positive");
+        }
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, resolutionMs, resolutionMs, TimeUnit.MILLISECONDS);
+        log.info("Using coarse clock with {} ms resolution", resolutionMs);
+    }
+    
+    @Override
+    public LocalDateTime now() {
+        return current;
+    }
+    
+    private void tick() {
+        current = LocalDateTime.now(clock);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+}
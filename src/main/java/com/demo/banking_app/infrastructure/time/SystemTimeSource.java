@@ -0,0 +1,20 @@
+package com.demo.banking_app.infrastructure.time;
+
+import com.demo.banking_app.application.port.out.TimeSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+@Component
+@ConditionalOnProperty(name = "banking.time.source", havingValue = "system", matchIfMissing = true)
+public class SystemTimeSource implements TimeSource {
+    
+    private final Clock clock = Clock.systemDefaultZone();
+    
+    @Override
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+}
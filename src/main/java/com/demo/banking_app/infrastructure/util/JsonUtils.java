@@ -1,68 +1,115 @@
 package com.demo.banking_app.infrastructure.util;
 
 import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.application.service.TransferResponse;
 import com.demo.banking_app.application.service.WithdrawResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 public class JsonUtils {
     
-    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private static final ObjectMapper objectMapper = new ObjectMapper();
     
     public static String serializeDepositResponse(DepositResponse response) {
-        // Return a simple string representation instead of JSON to avoid MySQL JSON validation issues
-        return String.format("DepositResponse{accountNumber='%s', transactionType='%s', amount='%s', newBalance='%s', description='%s', idempotencyKey='%s', timestamp='%s'}",
-                response.getAccountNumber(),
-                response.getTransactionType(),
-                response.getAmount(),
-                response.getNewBalance(),
-                response.getDescription() != null ? response.getDescription() : "",
-                response.getIdempotencyKey(),
-                response.getTimestamp().toString());
+        return write(transactionNode(response.getAccountNumber(), response.getTransactionType(), response.getAmount(),
+                response.getNewBalance(), response.getDescription(), response.getIdempotencyKey(), response.getTimestamp()));
     }
     
-    private static String escapeJsonString(String input) {
-        if (input == null) return "";
-        return input.replace("\\", "\\\\")
-                   .replace("\"", "\\\"")
-                   .replace("\b", "\\b")
-                   .replace("\f", "\\f")
-                   .replace("\n", "\\n")
-                   .replace("\r", "\\r")
-                   .replace("\t", "\\t");
+    public static String serializeWithdrawResponse(WithdrawResponse response) {
+        return write(transactionNode(response.getAccountNumber(), response.getTransactionType(), response.getAmount(),
+                response.getNewBalance(), response.getDescription(), response.getIdempotencyKey(), response.getTimestamp()));
     }
     
-    public static String serializeWithdrawResponse(WithdrawResponse response) {
-        // Return a simple string representation instead of JSON to avoid MySQL JSON validation issues
-        return String.format("WithdrawResponse{accountNumber='%s', transactionType='%s', amount='%s', newBalance='%s', description='%s', idempotencyKey='%s', timestamp='%s'}",
-                response.getAccountNumber(),
-                response.getTransactionType(),
-                response.getAmount(),
-                response.getNewBalance(),
-                response.getDescription() != null ? response.getDescription() : "",
-                response.getIdempotencyKey(),
-                response.getTimestamp().toString());
+    public static String serializeTransferResponse(TransferResponse response) {
+        ObjectNode node = transactionNode(response.getFromAccountNumber(), response.getTransactionType(), response.getAmount(),
+                response.getFromNewBalance(), response.getDescription(), response.getIdempotencyKey(), response.getTimestamp());
+        node.put("toAccountNumber", response.getToAccountNumber());
+        node.put("toNewBalance", response.getToNewBalance());
+        return write(node);
     }
     
     public static DepositResponse parseDepositResponse(String json) {
+        JsonNode node = read(json, "deposit");
+        return new DepositResponse(
+                text(node, "accountNumber"),
+                text(node, "transactionType"),
+                text(node, "amount"),
+                text(node, "newBalance"),
+                text(node, "description"),
+                text(node, "idempotencyKey"),
+                timestamp(node));
+    }
+    
+    public static WithdrawResponse parseWithdrawResponse(String json) {
+        JsonNode node = read(json, "withdraw");
+        return new WithdrawResponse(
+                text(node, "accountNumber"),
+                text(node, "transactionType"),
+                text(node, "amount"),
+                text(node, "newBalance"),
+                text(node, "description"),
+                text(node, "idempotencyKey"),
+                timestamp(node));
+    }
+    
+    public static TransferResponse parseTransferResponse(String json) {
+        JsonNode node = read(json, "transfer");
+        return new TransferResponse(
+                text(node, "accountNumber"),
+                text(node, "toAccountNumber"),
+                text(node, "transactionType"),
+                text(node, "amount"),
+                text(node, "newBalance"),
+                text(node, "toNewBalance"),
+                text(node, "description"),
+                text(node, "idempotencyKey"),
+                timestamp(node));
+    }
+    
+    // Responses are @Value classes without a Jackson creator, so they are mapped field by field
+    private static ObjectNode transactionNode(String accountNumber, String transactionType, String amount, String newBalance,
+                                              String description, String idempotencyKey, LocalDateTime timestamp) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("accountNumber", accountNumber);
+        node.put("transactionType", transactionType);
+        node.put("amount", amount);
+        node.put("newBalance", newBalance);
+        node.put("description", description);
+        node.put("idempotencyKey", idempotencyKey);
+        node.put("timestamp", timestamp != null ? timestamp.toString() : null);
+        return node;
+    }
+    
+    private static String write(ObjectNode node) {
         try {
-            return objectMapper.readValue(json, DepositResponse.class);
+            return objectMapper.writeValueAsString(node);
         } catch (JsonProcessingException e) {
-            log.error("Failed to parse deposit response JSON: {}", json, e);
-            throw new RuntimeException("Failed to parse cached response", e);
+            throw new IllegalStateException("Failed to serialize response", e);
         }
     }
     
-    public static WithdrawResponse parseWithdrawResponse(String json) {
+    private static JsonNode read(String json, String kind) {
         try {
-            return objectMapper.readValue(json, WithdrawResponse.class);
+            return objectMapper.readTree(json);
         } catch (JsonProcessingException e) {
-            log.error("Failed to parse withdraw response JSON: {}", json, e);
+            log.error("Failed to parse {} response JSON: {}", kind, json, e);
             throw new RuntimeException("Failed to parse cached response", e);
         }
     }
+    
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+    
+    private static LocalDateTime timestamp(JsonNode node) {
+        String value = text(node, "timestamp");
+        return value != null ? LocalDateTime.parse(value) : null;
+    }
 }
-
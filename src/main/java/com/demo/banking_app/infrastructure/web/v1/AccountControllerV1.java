@@ -28,7 +28,7 @@ public class AccountControllerV1 {
     
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@RequestBody CreateAccountRequest request) {
-        log.info("Creating new account for: {}", request.getEmail());
+        log.debug("Creating new account");
         
         var command = CreateAccountCommand.of(
                 request.getAccountHolderName(),
@@ -61,7 +61,7 @@ public class AccountControllerV1 {
     
     @PostMapping("/{accountNumber}/deposit")
     public ResponseEntity<TransactionResponse> deposit(@PathVariable String accountNumber, @RequestBody TransactionRequest request) {
-        log.info("Processing deposit request for account: {}", accountNumber);
+        log.debug("Processing deposit request");
         
         var command = DepositCommand.of(accountNumber, request.getAmount().toString(), request.getDescription(), request.getIdempotencyKey());
         var response = depositUseCase.deposit(command);
@@ -85,7 +85,7 @@ public class AccountControllerV1 {
     
     @PostMapping("/{accountNumber}/withdraw")
     public ResponseEntity<TransactionResponse> withdraw(@PathVariable String accountNumber, @RequestBody TransactionRequest request) {
-        log.info("Processing withdrawal request for account: {}", accountNumber);
+        log.debug("Processing withdrawal request");
         
         var command = WithdrawCommand.of(accountNumber, request.getAmount().toString(), request.getDescription(), request.getIdempotencyKey());
         var response = withdrawUseCase.withdraw(command);
@@ -109,7 +109,7 @@ public class AccountControllerV1 {
     
     @GetMapping("/{accountNumber}")
     public ResponseEntity<AccountResponse> getAccount(@PathVariable String accountNumber) {
-        log.info("Fetching account: {}", accountNumber);
+        log.debug("Fetching account");
         
         var command = GetAccountCommand.of(accountNumber);
         var response = getAccountUseCase.getAccount(command);
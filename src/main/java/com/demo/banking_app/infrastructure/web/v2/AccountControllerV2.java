@@ -3,16 +3,27 @@ package com.demo.banking_app.infrastructure.web.v2;
 import com.demo.banking_app.application.port.in.CreateAccountUseCase;
 import com.demo.banking_app.application.port.in.DepositUseCase;
 import com.demo.banking_app.application.port.in.GetAccountUseCase;
+import com.demo.banking_app.application.port.in.ListAccountsUseCase;
+import com.demo.banking_app.application.port.in.SearchAccountsUseCase;
 import com.demo.banking_app.application.port.in.WithdrawUseCase;
 import com.demo.banking_app.application.service.*;
 import com.demo.banking_app.dto.v2.CreateAccountRequestV2;
 import com.demo.banking_app.dto.v2.TransactionRequestV2;
 import com.demo.banking_app.dto.v2.TransactionResponseV2;
 import com.demo.banking_app.dto.v2.AccountResponseV2;
+import com.demo.banking_app.dto.v2.AccountPageResponseV2;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/api/v2/accounts")
@@ -24,10 +35,13 @@ public class AccountControllerV2 {
     private final DepositUseCase depositUseCase;
     private final WithdrawUseCase withdrawUseCase;
     private final GetAccountUseCase getAccountUseCase;
+    private final ListAccountsUseCase listAccountsUseCase;
+    private final SearchAccountsUseCase searchAccountsUseCase;
+    private final ObjectMapper objectMapper;
     
     @PostMapping
     public ResponseEntity<AccountResponseV2> createAccount(@RequestBody CreateAccountRequestV2 request) {
-        log.info("Creating new account for: {}", request.getEmail());
+        log.debug("Creating new account");
         
         var command = CreateAccountCommand.of(
                 request.getAccountHolderName(),
@@ -57,7 +71,7 @@ public class AccountControllerV2 {
     
     @PostMapping("/{accountNumber}/deposit")
     public ResponseEntity<TransactionResponseV2> deposit(@PathVariable String accountNumber, @RequestBody TransactionRequestV2 request) {
-        log.info("Processing deposit request for account: {}", accountNumber);
+        log.debug("Processing deposit request");
         
         var command = DepositCommand.of(accountNumber, request.getAmount().toString(), request.getDescription(), request.getIdempotencyKey());
         var response = depositUseCase.deposit(command);
@@ -79,7 +93,7 @@ public class AccountControllerV2 {
     
     @PostMapping("/{accountNumber}/withdraw")
     public ResponseEntity<TransactionResponseV2> withdraw(@PathVariable String accountNumber, @RequestBody TransactionRequestV2 request) {
-        log.info("Processing withdrawal request for account: {}", accountNumber);
+        log.debug("Processing withdrawal request");
         
         var command = WithdrawCommand.of(accountNumber, request.getAmount().toString(), request.getDescription(), request.getIdempotencyKey());
         var response = withdrawUseCase.withdraw(command);
@@ -99,14 +113,75 @@ public class AccountControllerV2 {
                 .body(transactionResponse);
     }
     
+    @GetMapping
+    public ResponseEntity<AccountPageResponseV2> listAccounts(@RequestParam(required = false) Long after,
+                                                              @RequestParam(required = false) Integer limit) {
+        var response = listAccountsUseCase.listAccounts(ListAccountsCommand.of(after, limit));
+        
+        var pageResponse = AccountPageResponseV2.builder()
+                .accounts(response.getAccounts().stream().map(this::toAccountResponse).toList())
+                .nextCursor(response.getNextCursor())
+                .build();
+        
+        return ResponseEntity.ok()
+                .header("X-API-Version", "2")
+                .body(pageResponse);
+    }
+    
+    /**
+     * Streams all accounts as newline-delimited JSON straight from a database cursor,
+     * so memory use does not grow with the number of accounts.
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamAccounts(@RequestParam(required = false) Long after) {
+        var command = ListAccountsCommand.of(after, null);
+        
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            try {
+                listAccountsUseCase.streamAccounts(command, account -> writeLine(out, toAccountResponse(account)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        
+        return ResponseEntity.ok()
+                .header("X-API-Version", "2")
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<AccountPageResponseV2> searchAccounts(@RequestParam("q") String query,
+                                                                @RequestParam(required = false) Integer offset,
+                                                                @RequestParam(required = false) Integer limit) {
+        var response = searchAccountsUseCase.searchAccounts(SearchAccountsCommand.of(query, offset, limit));
+        
+        var pageResponse = AccountPageResponseV2.builder()
+                .accounts(response.getAccounts().stream().map(this::toAccountResponse).toList())
+                .nextCursor(response.getNextOffset() != null ? response.getNextOffset().longValue() : null)
+                .build();
+        
+        return ResponseEntity.ok()
+                .header("X-API-Version", "2")
+                .body(pageResponse);
+    }
+    
     @GetMapping("/{accountNumber}")
     public ResponseEntity<AccountResponseV2> getAccount(@PathVariable String accountNumber) {
-        log.info("Fetching account: {}", accountNumber);
+        log.debug("Fetching account");
         
         var command = GetAccountCommand.of(accountNumber);
         var response = getAccountUseCase.getAccount(command);
         
-        var accountResponse = AccountResponseV2.builder()
+        return ResponseEntity.ok()
+                .header("X-API-Version", "2")
+                .body(toAccountResponse(response));
+    }
+    
+    private AccountResponseV2 toAccountResponse(GetAccountResponse response) {
+        return AccountResponseV2.builder()
                 .id(response.getId())
                 .accountNumber(response.getAccountNumber())
                 .accountHolderName(response.getHolderName())
@@ -118,9 +193,14 @@ public class AccountControllerV2 {
                 .createdAt(response.getCreatedAt())
                 .updatedAt(response.getUpdatedAt())
                 .build();
-        
-        return ResponseEntity.ok()
-                .header("X-API-Version", "2")
-                .body(accountResponse);
+    }
+    
+    private void writeLine(OutputStream out, AccountResponseV2 account) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(account));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -0,0 +1,93 @@
+package com.demo.banking_app.infrastructure.web.v2;
+
+import com.demo.banking_app.application.port.in.SubmitTransactionUseCase;
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.SubmissionResponse;
+import com.demo.banking_app.application.service.WithdrawCommand;
+import com.demo.banking_app.dto.v2.SubmissionResponseV2;
+import com.demo.banking_app.dto.v2.TransactionRequestV2;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.net.URI;
+
+/**
+ * Asynchronous deposits and withdrawals. A request to the usual deposit or withdraw endpoint
+ * carrying {@code Prefer: respond-async} is validated, queued and answered with
+ * {@code 202 Accepted} and a status URL; the queue worker applies it shortly after.
+ */
+@RestController
+@RequestMapping("/api/v2")
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionControllerV2 {
+    
+    private static final String RESPOND_ASYNC = "Prefer=respond-async";
+    
+    private final SubmitTransactionUseCase submitTransactionUseCase;
+    
+    @PostMapping(value = "/accounts/{accountNumber}/deposit", headers = RESPOND_ASYNC)
+    public ResponseEntity<SubmissionResponseV2> submitDeposit(@PathVariable String accountNumber,
+                                                              @Valid @RequestBody TransactionRequestV2 request) {
+        log.debug("Queueing deposit request");
+        
+        var command = DepositCommand.of(accountNumber, request.getAmount().toString(), request.getDescription(), request.getIdempotencyKey());
+        return accepted(submitTransactionUseCase.submitDeposit(command));
+    }
+    
+    @PostMapping(value = "/accounts/{accountNumber}/withdraw", headers = RESPOND_ASYNC)
+    public ResponseEntity<SubmissionResponseV2> submitWithdrawal(@PathVariable String accountNumber,
+                                                                 @Valid @RequestBody TransactionRequestV2 request) {
+        log.debug("Queueing withdrawal request");
+        
+        var command = WithdrawCommand.of(accountNumber, request.getAmount().toString(), request.getDescription(), request.getIdempotencyKey());
+        return accepted(submitTransactionUseCase.submitWithdrawal(command));
+    }
+    
+    @GetMapping("/submissions/{submissionId}")
+    public ResponseEntity<SubmissionResponseV2> getSubmission(@PathVariable String submissionId) {
+        var response = submitTransactionUseCase.getSubmission(submissionId);
+        
+        var builder = ResponseEntity.ok().header("X-API-Version", "2");
+        if (!isFinished(response)) {
+            builder.header("Retry-After", "1");
+        }
+        return builder.body(toSubmissionResponse(response));
+    }
+    
+    private ResponseEntity<SubmissionResponseV2> accepted(SubmissionResponse response) {
+        var body = toSubmissionResponse(response);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create(body.getStatusUrl()))
+                .header("Preference-Applied", "respond-async")
+                .header("X-API-Version", "2")
+                .body(body);
+    }
+    
+    private static boolean isFinished(SubmissionResponse response) {
+        return "COMPLETED".equals(response.getStatus()) || "FAILED".equals(response.getStatus());
+    }
+    
+    private SubmissionResponseV2 toSubmissionResponse(SubmissionResponse response) {
+        return SubmissionResponseV2.builder()
+                .submissionId(response.getSubmissionId())
+                .status(response.getStatus())
+                .statusUrl("/api/v2/submissions/" + response.getSubmissionId())
+                .transactionType(response.getTransactionType())
+                .accountNumber(response.getAccountNumber())
+                .amount(new BigDecimal(response.getAmount()))
+                .newBalance(response.getNewBalance() != null ? new BigDecimal(response.getNewBalance()) : null)
+                .description(response.getDescription())
+                .idempotencyKey(response.getIdempotencyKey())
+                .errorCode(response.getErrorCode())
+                .errorMessage(response.getErrorMessage())
+                .submittedAt(response.getSubmittedAt())
+                .completedAt(response.getCompletedAt())
+                .build();
+    }
+}
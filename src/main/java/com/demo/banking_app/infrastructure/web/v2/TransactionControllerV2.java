@@ -0,0 +1,66 @@
+package com.demo.banking_app.infrastructure.web.v2;
+
+import com.demo.banking_app.application.port.in.BatchTransactionUseCase;
+import com.demo.banking_app.application.service.BatchTransactionCommand;
+import com.demo.banking_app.application.service.BatchTransactionResponse;
+import com.demo.banking_app.dto.v2.BatchTransactionRequestV2;
+import com.demo.banking_app.dto.v2.BatchTransactionResponseV2;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@RestController
+@ConditionalOnExpression("'${banking.write-path:direct}' != 'engine' and '${banking.write-path:direct}' != 'event-sourced'")
+@RequestMapping("/api/v2/transactions")
+@RequiredArgsConstructor
+@Slf4j
+public class TransactionControllerV2 {
+    
+    private final BatchTransactionUseCase batchTransactionUseCase;
+    
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransactionResponseV2> batch(@Valid @RequestBody BatchTransactionRequestV2 request) {
+        log.debug("Processing batch request with {} items", request.getItems().size());
+        
+        var command = BatchTransactionCommand.of(request.getItems().stream()
+                .map(item -> BatchTransactionCommand.Item.of(
+                        item.getType().name(),
+                        item.getAccountNumber(),
+                        item.getAmount().toString(),
+                        item.getDescription(),
+                        item.getIdempotencyKey()))
+                .toList());
+        var response = batchTransactionUseCase.execute(command);
+        
+        var batchResponse = BatchTransactionResponseV2.builder()
+                .applied(response.getApplied())
+                .replayed(response.getReplayed())
+                .rejected(response.getRejected())
+                .results(response.getResults().stream().map(this::toItemResult).toList())
+                .build();
+        
+        return ResponseEntity.ok()
+                .header("X-API-Version", "2")
+                .body(batchResponse);
+    }
+    
+    private BatchTransactionResponseV2.ItemResult toItemResult(BatchTransactionResponse.ItemResult result) {
+        return BatchTransactionResponseV2.ItemResult.builder()
+                .index(result.getIndex())
+                .status(result.getStatus().name())
+                .accountNumber(result.getAccountNumber())
+                .transactionType(result.getTransactionType())
+                .amount(result.getAmount() != null ? new BigDecimal(result.getAmount()) : null)
+                .newBalance(result.getNewBalance() != null ? new BigDecimal(result.getNewBalance()) : null)
+                .idempotencyKey(result.getIdempotencyKey())
+                .errorCode(result.getErrorCode())
+                .message(result.getMessage())
+                .timestamp(result.getTimestamp())
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.demo.banking_app.infrastructure.web.v2;
+
+import com.demo.banking_app.application.port.in.TransferUseCase;
+import com.demo.banking_app.application.service.TransferCommand;
+import com.demo.banking_app.dto.v2.TransferRequestV2;
+import com.demo.banking_app.dto.v2.TransferResponseV2;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+
+@RestController
+@ConditionalOnExpression("'${banking.write-path:direct}' != 'engine' and '${banking.write-path:direct}' != 'event-sourced'")
+@RequestMapping("/api/v2/transfers")
+@RequiredArgsConstructor
+@Slf4j
+public class TransferControllerV2 {
+    
+    private final TransferUseCase transferUseCase;
+    
+    @PostMapping
+    public ResponseEntity<TransferResponseV2> transfer(@Valid @RequestBody TransferRequestV2 request) {
+        log.debug("Processing transfer request");
+        
+        var command = TransferCommand.of(request.getFromAccountNumber(), request.getToAccountNumber(),
+                request.getAmount().toString(), request.getDescription(), request.getIdempotencyKey());
+        var response = transferUseCase.transfer(command);
+        
+        var transferResponse = TransferResponseV2.builder()
+                .fromAccountNumber(response.getFromAccountNumber())
+                .toAccountNumber(response.getToAccountNumber())
+                .amount(new BigDecimal(response.getAmount()))
+                .fromNewBalance(new BigDecimal(response.getFromNewBalance()))
+                .toNewBalance(new BigDecimal(response.getToNewBalance()))
+                .description(response.getDescription())
+                .idempotencyKey(response.getIdempotencyKey())
+                .timestamp(response.getTimestamp())
+                .build();
+        
+        return ResponseEntity.ok()
+                .header("X-API-Version", "2")
+                .body(transferResponse);
+    }
+}
@@ -0,0 +1,7 @@
+-- One row per one-off maintenance task that has finished, so later starts skip it.
+
+CREATE TABLE maintenance_runs (
+    name         VARCHAR(64) NOT NULL,
+    completed_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
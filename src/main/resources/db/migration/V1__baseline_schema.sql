@@ -0,0 +1,39 @@
+-- Schema as it stood before versioned migrations. Databases that already hold these tables are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only receive the later scripts.
+
+CREATE TABLE accounts (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    account_number      VARCHAR(255) NOT NULL,
+    account_number_hash VARCHAR(255) NOT NULL,
+    account_holder_name VARCHAR(255) NOT NULL,
+    email               VARCHAR(255) NOT NULL,
+    phone_number        VARCHAR(255),
+    email_hash          VARCHAR(255),
+    phone_hash          VARCHAR(255),
+    balance             DECIMAL(19, 2) NOT NULL,
+    account_type        ENUM('SAVINGS', 'CHECKING', 'BUSINESS') NOT NULL,
+    status              ENUM('ACTIVE', 'INACTIVE', 'SUSPENDED') NOT NULL,
+    version             BIGINT NOT NULL DEFAULT 0,
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_account_number_hash (account_number_hash),
+    UNIQUE KEY uk_email_hash (email_hash),
+    INDEX idx_account_holder_name (account_holder_name),
+    INDEX idx_status (status),
+    INDEX idx_created_at (created_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE idempotency_keys (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    idempotency_key     VARCHAR(255) NOT NULL,
+    operation_type      ENUM('DEPOSIT', 'WITHDRAWAL', 'TRANSFER') NOT NULL,
+    account_number_hash VARCHAR(255),
+    amount              DECIMAL(19, 2),
+    status              ENUM('PENDING', 'COMPLETED', 'FAILED') NOT NULL,
+    response_data       TEXT,
+    created_at          DATETIME(6),
+    expires_at          DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_idempotency_key (idempotency_key)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
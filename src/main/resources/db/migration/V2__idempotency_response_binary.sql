@@ -0,0 +1,19 @@
+-- response_data moves from TEXT to VARBINARY(4096) for the versioned binary response format.
+-- Existing rows keep their JSON as UTF-8 bytes, which the binary codecs still decode.
+
+ALTER TABLE idempotency_keys ADD COLUMN response_data_bin VARBINARY(4096);
+
+UPDATE idempotency_keys
+SET response_data_bin = CAST(CONVERT(response_data USING utf8mb4) AS BINARY)
+WHERE response_data IS NOT NULL
+  AND OCTET_LENGTH(CONVERT(response_data USING utf8mb4)) <= 4096;
+
+-- A response that does not fit cannot be replayed. Failing the key makes a retry report an error
+-- instead of running the operation a second time.
+UPDATE idempotency_keys
+SET status = 'FAILED'
+WHERE response_data IS NOT NULL
+  AND response_data_bin IS NULL;
+
+ALTER TABLE idempotency_keys DROP COLUMN response_data;
+ALTER TABLE idempotency_keys RENAME COLUMN response_data_bin TO response_data;
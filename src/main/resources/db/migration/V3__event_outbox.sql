@@ -0,0 +1,15 @@
+-- Transactional outbox drained by OutboxRelay. Each relay stamps the rows it takes with a claim token.
+
+CREATE TABLE event_outbox (
+    id           BIGINT NOT NULL AUTO_INCREMENT,
+    event_id     VARCHAR(36) NOT NULL,
+    event_type   VARCHAR(100) NOT NULL,
+    aggregate_id VARCHAR(255),
+    payload      TEXT NOT NULL,
+    occurred_at  DATETIME(6) NOT NULL,
+    claim_token  VARCHAR(36),
+    claimed_at   DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_event_outbox_event_id (event_id),
+    INDEX idx_event_outbox_claim (claim_token)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,15 @@
+-- Append-only ledger: one row per balance movement, read per account in id order.
+
+CREATE TABLE transactions (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    account_id       BIGINT NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    amount           DECIMAL(19, 2) NOT NULL,
+    balance_after    DECIMAL(19, 2) NOT NULL,
+    currency         VARCHAR(3) NOT NULL,
+    idempotency_key  VARCHAR(255),
+    description      VARCHAR(255),
+    created_at       DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_transactions_account (account_id, id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,7 @@
+-- Counters that account numbers are reserved from in blocks. The allocator inserts a row the first time it needs one.
+
+CREATE TABLE sequence_blocks (
+    sequence_name VARCHAR(64) NOT NULL,
+    next_value    BIGINT NOT NULL,
+    PRIMARY KEY (sequence_name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
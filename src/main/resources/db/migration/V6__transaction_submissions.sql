@@ -0,0 +1,28 @@
+-- Queue behind asynchronous deposits and withdrawals. Workers claim PENDING rows with a claim token
+-- and look their batch up by that token.
+
+CREATE TABLE transaction_submissions (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    submission_id   VARCHAR(36) NOT NULL,
+    operation       VARCHAR(20) NOT NULL,
+    account_number  VARCHAR(255) NOT NULL,
+    amount          DECIMAL(19, 2) NOT NULL,
+    currency        VARCHAR(3) NOT NULL,
+    description     VARCHAR(255),
+    idempotency_key VARCHAR(255) NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    attempts        INT NOT NULL,
+    claim_token     VARCHAR(36),
+    new_balance     DECIMAL(19, 2),
+    error_code      VARCHAR(50),
+    error_message   VARCHAR(500),
+    submitted_at    DATETIME(6) NOT NULL,
+    available_at    DATETIME(6) NOT NULL,
+    started_at      DATETIME(6),
+    completed_at    DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_submissions_submission_id (submission_id),
+    UNIQUE KEY uk_submissions_idempotency_key (idempotency_key),
+    INDEX idx_submissions_status (status, available_at, id),
+    INDEX idx_submissions_claim (claim_token)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
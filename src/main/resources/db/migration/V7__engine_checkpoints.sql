@@ -0,0 +1,8 @@
+-- Per-shard journal position up to which the balance engine has copied movements into accounts.
+
+CREATE TABLE engine_checkpoints (
+    shard           INT NOT NULL,
+    synced_sequence BIGINT NOT NULL,
+    updated_at      DATETIME(6) NOT NULL,
+    PRIMARY KEY (shard)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
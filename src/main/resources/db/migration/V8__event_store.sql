@@ -0,0 +1,44 @@
+-- Event-sourced accounts: the event stream per account, periodic snapshots of it, and the position and
+-- passed id gaps of the projection that copies balances into accounts.
+
+CREATE TABLE account_events (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    account_id      BIGINT NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    event_type      VARCHAR(20) NOT NULL,
+    amount          DECIMAL(19, 2) NOT NULL,
+    currency        VARCHAR(3) NOT NULL,
+    idempotency_key VARCHAR(255),
+    description     VARCHAR(255),
+    occurred_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_account_events_stream (account_id, sequence_number)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE account_snapshots (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    account_id      BIGINT NOT NULL,
+    sequence_number BIGINT NOT NULL,
+    balance         DECIMAL(19, 2) NOT NULL,
+    currency        VARCHAR(3) NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    created_at      DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_account_snapshots_stream (account_id, sequence_number)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE projection_checkpoints (
+    name          VARCHAR(64) NOT NULL,
+    last_event_id BIGINT NOT NULL,
+    updated_at    DATETIME(6) NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE projection_gaps (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    name       VARCHAR(64) NOT NULL,
+    event_id   BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_projection_gaps_event (name, event_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,3 @@
+-- Transfer keys also record the receiving account, so a key reused for another destination is not replayed.
+
+ALTER TABLE idempotency_keys ADD COLUMN counterparty_account_number_hash VARCHAR(255);
@@ -0,0 +1,109 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.BatchTransactionUseCase;
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.TransferUseCase;
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.port.out.AccountLockManager;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.infrastructure.locking.StripedAccountLockManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+@ActiveProfiles("test")
+class AccountLockingTests {
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private WithdrawUseCase withdrawUseCase;
+
+	@Autowired
+	private TransferUseCase transferUseCase;
+
+	@Autowired
+	private BatchTransactionUseCase batchTransactionUseCase;
+
+	@Autowired
+	private RecordingLockManager lockManager;
+
+	@BeforeEach
+	void clearRecord() {
+		lockManager.transactionActiveAtLock.clear();
+	}
+
+	@Test
+	void accountLocksAreTakenBeforeTheTransactionStarts() {
+		String from = createAccount();
+		String to = createAccount();
+
+		depositUseCase.deposit(DepositCommand.of(from, "100.00", "deposit", UUID.randomUUID().toString()));
+		withdrawUseCase.withdraw(WithdrawCommand.of(from, "10.00", "withdrawal", UUID.randomUUID().toString()));
+		transferUseCase.transfer(TransferCommand.of(from, to, "20.00", "transfer", UUID.randomUUID().toString()));
+		batchTransactionUseCase.execute(BatchTransactionCommand.of(List.of(
+				BatchTransactionCommand.Item.of("DEPOSIT", to, "5.00", "batch deposit", UUID.randomUUID().toString()))));
+
+		assertThat(lockManager.transactionActiveAtLock).hasSize(4).containsOnly(false);
+	}
+
+	private String createAccount() {
+		return createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Lock Holder", "lock-" + UUID.randomUUID() + "@example.com", null, "CHECKING")).getAccountNumber();
+	}
+
+	/**
+	 * Records whether a transaction was already open each time an account lock was requested.
+	 */
+	static class RecordingLockManager implements AccountLockManager {
+
+		private final AccountLockManager delegate;
+		private final List<Boolean> transactionActiveAtLock = new CopyOnWriteArrayList<>();
+
+		RecordingLockManager(AccountLockManager delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public <T> T executeLocked(AccountNumber accountNumber, Supplier<T> action) {
+			transactionActiveAtLock.add(TransactionSynchronizationManager.isActualTransactionActive());
+			return delegate.executeLocked(accountNumber, action);
+		}
+
+		@Override
+		public <T> T executeLocked(Collection<AccountNumber> accountNumbers, Supplier<T> action) {
+			transactionActiveAtLock.add(TransactionSynchronizationManager.isActualTransactionActive());
+			return delegate.executeLocked(accountNumbers, action);
+		}
+	}
+
+	@TestConfiguration
+	static class LockRecording {
+
+		@Bean
+		@Primary
+		RecordingLockManager recordingLockManager(StripedAccountLockManager stripedAccountLockManager) {
+			return new RecordingLockManager(stripedAccountLockManager);
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.BatchTransactionUseCase;
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.GetAccountUseCase;
+import com.demo.banking_app.application.service.BatchTransactionCommand.Item;
+import com.demo.banking_app.application.service.BatchTransactionResponse.ItemResult;
+import com.demo.banking_app.application.service.BatchTransactionResponse.Status;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+		"banking.batch.chunk-size=3"
+})
+@ActiveProfiles("test")
+class BatchTransactionTests {
+
+	@Autowired
+	private BatchTransactionUseCase batchTransactionUseCase;
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private GetAccountUseCase getAccountUseCase;
+
+	@Test
+	void rejectedItemsDoNotRollBackTheirNeighbours() {
+		String account = createAccount();
+		String missing = AccountNumber.fromSequence(99_999_999L).getValue();
+
+		BatchTransactionResponse response = execute(
+				item("DEPOSIT", account, "100.00"),
+				item("WITHDRAWAL", account, "500.00"),
+				item("DEPOSIT", missing, "5.00"),
+				item("WITHDRAWAL", account, "30.00"));
+
+		assertThat(response.getResults()).extracting(ItemResult::getStatus)
+				.containsExactly(Status.APPLIED, Status.REJECTED, Status.REJECTED, Status.APPLIED);
+		assertThat(response.getResults()).extracting(ItemResult::getErrorCode)
+				.containsExactly(null, "INSUFFICIENT_FUNDS", "ACCOUNT_NOT_FOUND", null);
+		assertThat(response.getApplied()).isEqualTo(2);
+		assertThat(response.getRejected()).isEqualTo(2);
+		assertThat(balance(account)).isEqualByComparingTo("70.00");
+	}
+
+	@Test
+	void itemsKeepTheirIndexAcrossChunks() {
+		String account = createAccount();
+		List<Item> items = new ArrayList<>();
+		for (int i = 0; i < 7; i++) {
+			items.add(item("DEPOSIT", account, "10.00"));
+		}
+		// Covered only if the deposits of all three chunks were applied
+		items.add(item("WITHDRAWAL", account, "65.00"));
+
+		BatchTransactionResponse response = batchTransactionUseCase.execute(BatchTransactionCommand.of(items));
+
+		assertThat(response.getResults()).extracting(ItemResult::getIndex)
+				.containsExactlyElementsOf(IntStream.range(0, items.size()).boxed().toList());
+		assertThat(response.getApplied()).isEqualTo(items.size());
+		assertThat(new BigDecimal(response.getResults().get(7).getNewBalance())).isEqualByComparingTo("5.00");
+		assertThat(balance(account)).isEqualByComparingTo("5.00");
+	}
+
+	@Test
+	void aResubmittedBatchReplaysAppliedItemsAndRetriesRejectedOnes() {
+		String account = createAccount();
+		List<Item> items = List.of(
+				item("DEPOSIT", account, "40.00"),
+				item("WITHDRAWAL", account, "100.00"),
+				item("WITHDRAWAL", account, "15.00"),
+				item("DEPOSIT", account, "5.00"));
+
+		BatchTransactionResponse first = batchTransactionUseCase.execute(BatchTransactionCommand.of(items));
+		BatchTransactionResponse second = batchTransactionUseCase.execute(BatchTransactionCommand.of(items));
+
+		assertThat(first.getResults()).extracting(ItemResult::getStatus)
+				.containsExactly(Status.APPLIED, Status.REJECTED, Status.APPLIED, Status.APPLIED);
+		// A rejection claims no key, so the item is evaluated again rather than replayed
+		assertThat(second.getResults()).extracting(ItemResult::getStatus)
+				.containsExactly(Status.REPLAYED, Status.REJECTED, Status.REPLAYED, Status.REPLAYED);
+		assertThat(second.getResults()).extracting(ItemResult::getNewBalance)
+				.containsExactly(first.getResults().get(0).getNewBalance(), null,
+						first.getResults().get(2).getNewBalance(), first.getResults().get(3).getNewBalance());
+		assertThat(balance(account)).isEqualByComparingTo("30.00");
+	}
+
+	@Test
+	void aKeyReusedForADifferentItemIsRejectedOnItsOwn() {
+		String account = createAccount();
+		String key = UUID.randomUUID().toString();
+
+		BatchTransactionResponse response = execute(
+				Item.of("DEPOSIT", account, "20.00", "first", key),
+				Item.of("DEPOSIT", account, "25.00", "reused key", key),
+				item("DEPOSIT", account, "1.00"));
+
+		assertThat(response.getResults()).extracting(ItemResult::getStatus)
+				.containsExactly(Status.APPLIED, Status.REJECTED, Status.APPLIED);
+		assertThat(response.getResults().get(1).getErrorCode()).isEqualTo("IDEMPOTENCY_VIOLATION");
+		assertThat(balance(account)).isEqualByComparingTo("21.00");
+	}
+
+	private BatchTransactionResponse execute(Item... items) {
+		return batchTransactionUseCase.execute(BatchTransactionCommand.of(List.of(items)));
+	}
+
+	private static Item item(String type, String accountNumber, String amount) {
+		return Item.of(type, accountNumber, amount, "batch item", UUID.randomUUID().toString());
+	}
+
+	private String createAccount() {
+		return createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Batch Holder", "batch-" + UUID.randomUUID() + "@example.com", null, "CHECKING")).getAccountNumber();
+	}
+
+	private BigDecimal balance(String accountNumber) {
+		return new BigDecimal(getAccountUseCase.getAccount(GetAccountCommand.of(accountNumber)).getBalance());
+	}
+}
@@ -0,0 +1,115 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Its own database: the shared test database is dropped and recreated by every new context
+@SpringBootTest(properties = {
+		"banking.write-path=group-commit",
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}"
+})
+@ActiveProfiles("test")
+class GroupCommitTests {
+
+	private static final int THREADS = 16;
+	private static final int OPERATIONS_PER_THREAD = 50;
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private WithdrawUseCase withdrawUseCase;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void concurrentOperationsOnOneAccountMatchTheLedger() throws Exception {
+		String accountNumber = openAccount();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<BigDecimal>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				boolean withdrawing = t % 4 == 0;
+				futures.add(executor.submit(() -> {
+					BigDecimal applied = BigDecimal.ZERO;
+					for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+						String key = UUID.randomUUID().toString();
+						if (withdrawing) {
+							try {
+								withdrawUseCase.withdraw(WithdrawCommand.of(accountNumber, "3.00", "group test", key));
+								applied = applied.subtract(new BigDecimal("3.00"));
+							} catch (InsufficientFundsException expected) {
+								// Rejected on its own without failing the rest of its group
+							}
+						} else {
+							depositUseCase.deposit(DepositCommand.of(accountNumber, "1.00", "group test", key));
+							// A replayed request must be answered, not applied again
+							depositUseCase.deposit(DepositCommand.of(accountNumber, "1.00", "group test", key));
+							applied = applied.add(new BigDecimal("1.00"));
+						}
+					}
+					return applied;
+				}));
+			}
+			BigDecimal expected = BigDecimal.ZERO;
+			for (Future<BigDecimal> future : futures) {
+				expected = expected.add(future.get());
+			}
+
+			String hash = AccountNumber.of(accountNumber).getHash();
+			BigDecimal balance = jdbcTemplate.queryForObject(
+					"SELECT balance FROM accounts WHERE account_number_hash = ?", BigDecimal.class, hash);
+			BigDecimal ledgerSum = jdbcTemplate.queryForObject(
+					"SELECT COALESCE(SUM(CASE WHEN t.transaction_type = 'DEPOSIT' THEN t.amount ELSE -t.amount END), 0) "
+							+ "FROM transactions t JOIN accounts a ON a.id = t.account_id WHERE a.account_number_hash = ?",
+					BigDecimal.class, hash);
+			assertThat(balance).isEqualByComparingTo(expected);
+			assertThat(ledgerSum).isEqualByComparingTo(expected);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void overdraftIsRejectedWithItsOwnException() {
+		String accountNumber = openAccount();
+		depositUseCase.deposit(DepositCommand.of(accountNumber, "5.00", "seed", UUID.randomUUID().toString()));
+
+		assertThatThrownBy(() -> withdrawUseCase.withdraw(
+				WithdrawCommand.of(accountNumber, "5.01", "overdraft", UUID.randomUUID().toString())))
+				.isInstanceOf(InsufficientFundsException.class);
+
+		WithdrawResponse response = withdrawUseCase.withdraw(
+				WithdrawCommand.of(accountNumber, "5.00", "exact", UUID.randomUUID().toString()));
+		assertThat(new BigDecimal(response.getNewBalance())).isEqualByComparingTo("0.00");
+	}
+
+	private String openAccount() {
+		return createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Group Holder", "group-" + UUID.randomUUID() + "@example.com", null, "CHECKING")).getAccountNumber();
+	}
+}
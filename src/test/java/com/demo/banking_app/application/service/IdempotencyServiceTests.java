@@ -0,0 +1,176 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.out.IdempotencyRepository;
+import com.demo.banking_app.application.port.out.ResponseCodec;
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.infrastructure.cache.CachingIdempotencyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTests {
+
+	private static final AccountNumber ACCOUNT = AccountNumber.fromSequence(1);
+	private static final Money AMOUNT = Money.of(new BigDecimal("10.00"));
+	private static final IdempotencyKey.OperationType DEPOSIT = IdempotencyKey.OperationType.DEPOSIT;
+
+	private final KeyTable store = new KeyTable();
+	private final IdempotencyService idempotencyService = new IdempotencyService(
+			new CachingIdempotencyRepository(store, new SimpleMeterRegistry(), LocalDateTime::now, 1000, 600));
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@Test
+	void aRetryReplaysTheStoredResponse() {
+		assertThat(execute("replay", DEPOSIT, ACCOUNT, AMOUNT)).isEqualTo("run-1");
+
+		assertThat(execute("replay", DEPOSIT, ACCOUNT, AMOUNT)).isEqualTo("run-1");
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void aKeyReusedForADifferentRequestIsRejected() {
+		execute("reused", DEPOSIT, ACCOUNT, AMOUNT);
+
+		assertThatThrownBy(() -> execute("reused", DEPOSIT, ACCOUNT, Money.of(new BigDecimal("11.00"))))
+				.isInstanceOf(IdempotencyException.class)
+				.hasMessageContaining("different request");
+		assertThatThrownBy(() -> execute("reused", DEPOSIT, AccountNumber.fromSequence(2), AMOUNT))
+				.isInstanceOf(IdempotencyException.class);
+		assertThatThrownBy(() -> execute("reused", IdempotencyKey.OperationType.WITHDRAWAL, ACCOUNT, AMOUNT))
+				.isInstanceOf(IdempotencyException.class);
+		assertThat(runs).hasValue(1);
+	}
+
+	@Test
+	void failedAndUnfinishedKeysAreNotReplayed() {
+		store.save(stored("failed", IdempotencyKey.Status.FAILED, LocalDateTime.now().plusHours(1)));
+		store.save(stored("pending", IdempotencyKey.Status.PENDING, LocalDateTime.now().plusHours(1)));
+
+		assertThatThrownBy(() -> execute("failed", DEPOSIT, ACCOUNT, AMOUNT))
+				.isInstanceOf(IdempotencyException.class)
+				.hasMessageContaining("previously failed");
+		assertThatThrownBy(() -> execute("pending", DEPOSIT, ACCOUNT, AMOUNT))
+				.isInstanceOf(IdempotencyException.class)
+				.hasMessageContaining("already being processed");
+		assertThat(runs).hasValue(0);
+	}
+
+	@Test
+	void anExpiredKeyIsTreatedAsNeverUsed() {
+		store.save(stored("expired", IdempotencyKey.Status.COMPLETED, LocalDateTime.now().minusMinutes(1)));
+
+		assertThat(execute("expired", DEPOSIT, ACCOUNT, AMOUNT)).isEqualTo("run-1");
+		assertThat(execute("expired", DEPOSIT, ACCOUNT, AMOUNT)).isEqualTo("run-1");
+	}
+
+	@Test
+	void aCachedKeyIsDroppedOnceItExpires() throws InterruptedException {
+		store.save(stored("cached", IdempotencyKey.Status.COMPLETED, LocalDateTime.now().plusNanos(200_000_000)));
+		assertThat(execute("cached", DEPOSIT, ACCOUNT, AMOUNT)).isEqualTo("stored");
+
+		Thread.sleep(300);
+
+		assertThat(execute("cached", DEPOSIT, ACCOUNT, AMOUNT)).isEqualTo("run-1");
+	}
+
+	@Test
+	void aTransferKeyReusedForAnotherDestinationIsRejected() {
+		AccountNumber destination = AccountNumber.fromSequence(2);
+
+		assertThat(transfer("transfer", destination)).isEqualTo("run-1");
+		assertThat(transfer("transfer", destination)).isEqualTo("run-1");
+
+		assertThatThrownBy(() -> transfer("transfer", AccountNumber.fromSequence(3)))
+				.isInstanceOf(IdempotencyException.class)
+				.hasMessageContaining("different request");
+		assertThat(runs).hasValue(1);
+	}
+
+	private String transfer(String key, AccountNumber destination) {
+		return idempotencyService.execute(key, IdempotencyKey.OperationType.TRANSFER, ACCOUNT, destination, AMOUNT, LocalDateTime.now(), CODEC,
+				() -> "run-" + runs.incrementAndGet());
+	}
+
+	private String execute(String key, IdempotencyKey.OperationType operationType, AccountNumber accountNumber, Money amount) {
+		return idempotencyService.execute(key, operationType, accountNumber, amount, LocalDateTime.now(), CODEC,
+				() -> "run-" + runs.incrementAndGet());
+	}
+
+	private static IdempotencyKey stored(String key, IdempotencyKey.Status status, LocalDateTime expiresAt) {
+		return IdempotencyKey.builder()
+				.idempotencyKey(key)
+				.operationType(DEPOSIT)
+				.accountNumberHash(ACCOUNT.getHash())
+				.amount(AMOUNT)
+				.status(status)
+				.responseData(CODEC.encode("stored"))
+				.createdAt(LocalDateTime.now())
+				.expiresAt(expiresAt)
+				.build();
+	}
+
+	private static final ResponseCodec<String> CODEC = new ResponseCodec<>() {
+		@Override
+		public byte[] encode(String response) {
+			return response.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public String decode(byte[] data) {
+			return new String(data, StandardCharsets.UTF_8);
+		}
+	};
+
+	/**
+	 * Keeps rows until they are replaced, like a store whose purge has not run yet.
+	 */
+	private static class KeyTable implements IdempotencyRepository {
+
+		private final Map<String, IdempotencyKey> rows = new ConcurrentHashMap<>();
+
+		@Override
+		public Optional<IdempotencyKey> findByIdempotencyKey(String key) {
+			return Optional.ofNullable(rows.get(key));
+		}
+
+		@Override
+		public IdempotencyKey save(IdempotencyKey key) {
+			rows.put(key.getIdempotencyKey(), key);
+			return key;
+		}
+
+		@Override
+		public boolean claim(IdempotencyKey key) {
+			IdempotencyKey existing = rows.get(key.getIdempotencyKey());
+			if (existing != null && !existing.isExpired(LocalDateTime.now())) {
+				return false;
+			}
+			rows.put(key.getIdempotencyKey(), key);
+			return true;
+		}
+
+		@Override
+		public void complete(IdempotencyKey key) {
+			rows.put(key.getIdempotencyKey(), key);
+		}
+
+		@Override
+		public void deleteExpiredKeys() {
+			LocalDateTime now = LocalDateTime.now();
+			rows.values().removeIf(key -> key.isExpired(now));
+		}
+	}
+}
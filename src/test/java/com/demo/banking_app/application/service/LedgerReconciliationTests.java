@@ -0,0 +1,112 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LedgerReconciliationTests {
+
+	private static final int ACCOUNTS = 8;
+	private static final int THREADS = 8;
+	private static final int OPERATIONS_PER_THREAD = 100;
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private WithdrawUseCase withdrawUseCase;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void ledgerSumsMatchAccountBalances() throws Exception {
+		List<String> accountNumbers = new ArrayList<>();
+		for (int i = 0; i < ACCOUNTS; i++) {
+			CreateAccountResponse account = createAccountUseCase.createAccount(CreateAccountCommand.of(
+					"Ledger Holder " + i, "ledger-" + UUID.randomUUID() + "@example.com", null, "CHECKING"));
+			accountNumbers.add(account.getAccountNumber());
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+						String accountNumber = accountNumbers.get(random.nextInt(ACCOUNTS));
+						String amount = random.nextInt(1, 100) + "." + random.nextInt(10, 100);
+						String key = UUID.randomUUID().toString();
+						if (random.nextInt(3) == 0) {
+							try {
+								withdrawUseCase.withdraw(WithdrawCommand.of(accountNumber, amount, "ledger test", key));
+							} catch (InsufficientFundsException expected) {
+								// Rejected withdrawals must leave no ledger entry behind
+							}
+						} else {
+							depositUseCase.deposit(DepositCommand.of(accountNumber, amount, "ledger test", key));
+							// A replayed request must not be recorded twice
+							depositUseCase.deposit(DepositCommand.of(accountNumber, amount, "ledger test", key));
+						}
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+				"SELECT a.id, a.balance, " +
+				"COALESCE(SUM(CASE WHEN t.transaction_type IN ('DEPOSIT', 'TRANSFER_IN') THEN t.amount ELSE -t.amount END), 0) AS ledger_sum, " +
+				"COUNT(t.id) AS entries " +
+				"FROM accounts a LEFT JOIN transactions t ON t.account_id = a.id " +
+				"WHERE a.account_holder_name LIKE 'Ledger Holder %' " +
+				"GROUP BY a.id, a.balance");
+
+		assertThat(rows).hasSize(ACCOUNTS);
+		long totalEntries = 0;
+		for (Map<String, Object> row : rows) {
+			BigDecimal balance = (BigDecimal) row.get("balance");
+			BigDecimal ledgerSum = (BigDecimal) row.get("ledger_sum");
+			assertThat(ledgerSum).as("ledger sum for account %s", row.get("id")).isEqualByComparingTo(balance);
+			totalEntries += ((Number) row.get("entries")).longValue();
+		}
+		assertThat(totalEntries).isPositive();
+
+		// The latest entry of each account carries the balance it left behind
+		List<Map<String, Object>> mismatched = jdbcTemplate.queryForList(
+				"SELECT a.id FROM accounts a JOIN transactions t ON t.account_id = a.id " +
+				"WHERE t.id = (SELECT MAX(t2.id) FROM transactions t2 WHERE t2.account_id = a.id) " +
+				"AND t.balance_after <> a.balance");
+		assertThat(mismatched).isEmpty();
+	}
+
+}
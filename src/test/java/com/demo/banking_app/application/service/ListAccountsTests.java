@@ -0,0 +1,133 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.ListAccountsUseCase;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.AccountType;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Accounts of earlier tests have lower ids, so paging from just before a test's first account sees only its own
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+@ActiveProfiles("test")
+class ListAccountsTests {
+
+	private static final AtomicLong SEQUENCE = new AtomicLong(8_000_000);
+
+	@Autowired
+	@Qualifier("accountStore")
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private ListAccountsUseCase listAccountsUseCase;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void followingTheCursorVisitsEveryAccountOnce() {
+		List<Long> ids = newAccounts(5);
+
+		List<Long> visited = new ArrayList<>();
+		List<Integer> pageSizes = new ArrayList<>();
+		Long cursor = ids.get(0) - 1;
+		while (cursor != null) {
+			ListAccountsResponse page = listAccountsUseCase.listAccounts(ListAccountsCommand.of(cursor, 2));
+			page.getAccounts().forEach(account -> visited.add(account.getId()));
+			pageSizes.add(page.getAccounts().size());
+			cursor = page.getNextCursor();
+		}
+
+		assertThat(visited).containsExactlyElementsOf(ids);
+		assertThat(pageSizes).containsExactly(2, 2, 1);
+	}
+
+	@Test
+	void aLastPageThatExactlyFillsTheLimitHasNoCursor() {
+		List<Long> ids = newAccounts(4);
+
+		ListAccountsResponse first = listAccountsUseCase.listAccounts(ListAccountsCommand.of(ids.get(0) - 1, 2));
+		ListAccountsResponse second = listAccountsUseCase.listAccounts(ListAccountsCommand.of(first.getNextCursor(), 2));
+
+		assertThat(first.getNextCursor()).isEqualTo(ids.get(1));
+		assertThat(second.getAccounts()).extracting(GetAccountResponse::getId).containsExactly(ids.get(2), ids.get(3));
+		assertThat(second.getNextCursor()).isNull();
+	}
+
+	@Test
+	void aCursorAtTheLastAccountReturnsAnEmptyPage() {
+		List<Long> ids = newAccounts(2);
+		long last = ids.get(1);
+
+		assertThat(accountRepository.findPage(last, 10)).isEmpty();
+		assertThat(listAccountsUseCase.listAccounts(ListAccountsCommand.of(last, 10)))
+				.satisfies(page -> {
+					assertThat(page.getAccounts()).isEmpty();
+					assertThat(page.getNextCursor()).isNull();
+				});
+
+		List<Account> streamed = new ArrayList<>();
+		accountRepository.forEachAfter(last, streamed::add);
+		assertThat(streamed).isEmpty();
+	}
+
+	@Test
+	void aCursorOnADeletedAccountResumesAtTheNextOne() {
+		List<Long> ids = newAccounts(4);
+		jdbcTemplate.update("DELETE FROM accounts WHERE id = ?", ids.get(1));
+
+		assertThat(accountRepository.findPage(ids.get(1), 10))
+				.extracting(account -> account.getId().getValue())
+				.containsExactly(ids.get(2), ids.get(3));
+		assertThat(accountRepository.findPage(ids.get(0) - 1, 2))
+				.extracting(account -> account.getId().getValue())
+				.containsExactly(ids.get(0), ids.get(2));
+	}
+
+	@Test
+	void streamingStartsAfterTheCursorAndKeepsIdOrder() {
+		List<Long> ids = newAccounts(3);
+
+		List<Long> streamed = new ArrayList<>();
+		accountRepository.forEachAfter(ids.get(0), account -> streamed.add(account.getId().getValue()));
+
+		assertThat(streamed).containsExactly(ids.get(1), ids.get(2));
+	}
+
+	private List<Long> newAccounts(int count) {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			long sequence = SEQUENCE.incrementAndGet();
+			Account saved = accountRepository.save(Account.builder()
+					.accountNumber(AccountNumber.fromSequence(sequence))
+					.holderName(AccountHolderName.of("Paged Holder"))
+					.email(Email.of("paged-" + sequence + "@example.com"))
+					.balance(Money.zero())
+					.type(AccountType.CHECKING)
+					.status(AccountStatus.ACTIVE)
+					.version(Version.initial())
+					.createdAt(LocalDateTime.now())
+					.updatedAt(LocalDateTime.now())
+					.build());
+			ids.add(saved.getId().getValue());
+		}
+		return ids;
+	}
+}
@@ -0,0 +1,92 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.GetAccountUseCase;
+import com.demo.banking_app.application.port.in.SubmitTransactionUseCase;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SubmitTransactionTests {
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private GetAccountUseCase getAccountUseCase;
+
+	@Autowired
+	private SubmitTransactionUseCase submitTransactionUseCase;
+
+	@Test
+	void queuedDepositIsAppliedByTheWorker() throws Exception {
+		String accountNumber = createAccount();
+		String key = UUID.randomUUID().toString();
+
+		SubmissionResponse accepted = submitTransactionUseCase.submitDeposit(
+				DepositCommand.of(accountNumber, "125.50", "queued deposit", key));
+		assertThat(accepted.getStatus()).isEqualTo("PENDING");
+
+		SubmissionResponse finished = awaitFinished(accepted.getSubmissionId());
+		assertThat(finished.getStatus()).isEqualTo("COMPLETED");
+		assertThat(finished.getNewBalance()).isEqualTo("125.50");
+		assertThat(getAccountUseCase.getAccount(GetAccountCommand.of(accountNumber)).getBalance()).isEqualTo("125.50");
+	}
+
+	@Test
+	void resubmissionWithTheSameKeyReturnsTheOriginalSubmission() {
+		String accountNumber = createAccount();
+		String key = UUID.randomUUID().toString();
+
+		SubmissionResponse first = submitTransactionUseCase.submitDeposit(
+				DepositCommand.of(accountNumber, "10.00", "queued deposit", key));
+		SubmissionResponse second = submitTransactionUseCase.submitDeposit(
+				DepositCommand.of(accountNumber, "10.00", "queued deposit", key));
+
+		assertThat(second.getSubmissionId()).isEqualTo(first.getSubmissionId());
+	}
+
+	@Test
+	void rejectedWithdrawalFailsWithReason() throws Exception {
+		String accountNumber = createAccount();
+
+		SubmissionResponse accepted = submitTransactionUseCase.submitWithdrawal(
+				WithdrawCommand.of(accountNumber, "50.00", "queued withdrawal", UUID.randomUUID().toString()));
+
+		SubmissionResponse finished = awaitFinished(accepted.getSubmissionId());
+		assertThat(finished.getStatus()).isEqualTo("FAILED");
+		assertThat(finished.getErrorCode()).isEqualTo("INSUFFICIENT_FUNDS");
+	}
+
+	@Test
+	void unknownAccountIsRejectedBeforeQueueing() {
+		assertThatThrownBy(() -> submitTransactionUseCase.submitDeposit(
+				DepositCommand.of("9999999999", "10.00", "queued deposit", UUID.randomUUID().toString())))
+				.isInstanceOf(AccountNotFoundException.class);
+	}
+
+	private String createAccount() {
+		return createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Queue Holder", "queue-" + UUID.randomUUID() + "@example.com", null, "CHECKING")).getAccountNumber();
+	}
+
+	private SubmissionResponse awaitFinished(String submissionId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		SubmissionResponse response = submitTransactionUseCase.getSubmission(submissionId);
+		while (!"COMPLETED".equals(response.getStatus()) && !"FAILED".equals(response.getStatus())
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(50);
+			response = submitTransactionUseCase.getSubmission(submissionId);
+		}
+		return response;
+	}
+}
@@ -0,0 +1,64 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.GetAccountUseCase;
+import com.demo.banking_app.application.port.in.TransferUseCase;
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+@ActiveProfiles("test")
+class TransferIdempotencyTests {
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private TransferUseCase transferUseCase;
+
+	@Autowired
+	private GetAccountUseCase getAccountUseCase;
+
+	@Test
+	void aKeyReusedForAnotherDestinationIsRejectedInsteadOfReplayed() {
+		String from = createAccount();
+		String to = createAccount();
+		String other = createAccount();
+		depositUseCase.deposit(DepositCommand.of(from, "500.00", "opening balance", UUID.randomUUID().toString()));
+		String key = UUID.randomUUID().toString();
+
+		TransferResponse first = transferUseCase.transfer(TransferCommand.of(from, to, "100.00", "rent", key));
+		TransferResponse retried = transferUseCase.transfer(TransferCommand.of(from, to, "100.00", "rent", key));
+
+		assertThat(retried.getToAccountNumber()).isEqualTo(to);
+		assertThat(retried.getFromNewBalance()).isEqualTo(first.getFromNewBalance());
+		assertThatThrownBy(() -> transferUseCase.transfer(TransferCommand.of(from, other, "100.00", "rent", key)))
+				.isInstanceOf(IdempotencyException.class)
+				.hasMessageContaining("different request");
+		assertThat(balance(from)).isEqualByComparingTo("400.00");
+		assertThat(balance(to)).isEqualByComparingTo("100.00");
+		assertThat(balance(other)).isEqualByComparingTo("0.00");
+	}
+
+	private String createAccount() {
+		return createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Transfer Holder", "transfer-key-" + UUID.randomUUID() + "@example.com", null, "CHECKING")).getAccountNumber();
+	}
+
+	private BigDecimal balance(String accountNumber) {
+		return new BigDecimal(getAccountUseCase.getAccount(GetAccountCommand.of(accountNumber)).getBalance());
+	}
+}
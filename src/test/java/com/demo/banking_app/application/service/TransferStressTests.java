@@ -0,0 +1,116 @@
+package com.demo.banking_app.application.service;
+
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.TransferUseCase;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferStressTests {
+
+	private static final int ACCOUNTS = 1_000;
+	private static final int THREADS = 32;
+	private static final int TRANSFERS_PER_THREAD = 200;
+	private static final BigDecimal OPENING_BALANCE = new BigDecimal("100.00");
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private TransferUseCase transferUseCase;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void randomCrossTrafficConservesMoneyWithoutDeadlocks() throws Exception {
+		String holderPrefix = "Transfer " + UUID.randomUUID().toString().substring(0, 8);
+		List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+		for (int i = 0; i < ACCOUNTS; i++) {
+			CreateAccountResponse account = createAccountUseCase.createAccount(CreateAccountCommand.of(
+					holderPrefix + " " + i, "transfer-" + UUID.randomUUID() + "@example.com", null, "CHECKING"));
+			depositUseCase.deposit(DepositCommand.of(account.getAccountNumber(), OPENING_BALANCE.toPlainString(),
+					"opening balance", UUID.randomUUID().toString()));
+			accountNumbers.add(account.getAccountNumber());
+		}
+
+		AtomicInteger completed = new AtomicInteger();
+		AtomicInteger insufficient = new AtomicInteger();
+		AtomicInteger conflicts = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					ThreadLocalRandom random = ThreadLocalRandom.current();
+					start.await();
+					for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+						int from = random.nextInt(ACCOUNTS);
+						int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+						String amount = random.nextInt(1, 80) + "." + random.nextInt(10, 100);
+						try {
+							transferUseCase.transfer(TransferCommand.of(accountNumbers.get(from), accountNumbers.get(to),
+									amount, "stress", UUID.randomUUID().toString()));
+							completed.incrementAndGet();
+						} catch (InsufficientFundsException e) {
+							insufficient.incrementAndGet();
+						} catch (ConcurrentModificationException e) {
+							// Retries exhausted under contention; the transfer rolled back as a whole
+							conflicts.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			// A deadlock would leave workers blocked until this times out
+			for (Future<?> future : futures) {
+				future.get(5, TimeUnit.MINUTES);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(completed.get() + insufficient.get() + conflicts.get()).isEqualTo(THREADS * TRANSFERS_PER_THREAD);
+		assertThat(completed.get()).isPositive();
+
+		BigDecimal total = jdbcTemplate.queryForObject(
+				"SELECT SUM(balance) FROM accounts WHERE account_holder_name LIKE ?", BigDecimal.class, holderPrefix + " %");
+		assertThat(total).isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+
+		Integer negative = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM accounts WHERE account_holder_name LIKE ? AND balance < 0", Integer.class, holderPrefix + " %");
+		assertThat(negative).isZero();
+
+		Integer legs = jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM transactions WHERE transaction_type IN ('TRANSFER_IN', 'TRANSFER_OUT') AND description = 'stress'",
+				Integer.class);
+		assertThat(legs).isEqualTo(2 * completed.get());
+	}
+
+}
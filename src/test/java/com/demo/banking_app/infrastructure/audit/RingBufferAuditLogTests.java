@@ -0,0 +1,93 @@
+package com.demo.banking_app.infrastructure.audit;
+
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAuditLogTests {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void writesEveryRecordPublishedConcurrently() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		RingBufferAuditLog auditLog = new RingBufferAuditLog(meterRegistry, directory.toString(), 16384, 64, 30, 50);
+		int threads = 8;
+		int perThread = 1000;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> producers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long accountId = t + 1;
+			Thread producer = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < perThread; i++) {
+					auditLog.record(entry(accountId, "key-" + accountId + "-" + i));
+				}
+			});
+			producer.start();
+			producers.add(producer);
+		}
+		start.countDown();
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		auditLog.shutdown();
+
+		assertThat(lines()).hasSize(threads * perThread);
+		assertThat(meterRegistry.get("banking.audit.written").counter().count()).isEqualTo(threads * perThread);
+		assertThat(meterRegistry.get("banking.audit.dropped").counter().count()).isZero();
+	}
+
+	@Test
+	void writesCompactEscapedLines() throws Exception {
+		RingBufferAuditLog auditLog = new RingBufferAuditLog(new SimpleMeterRegistry(), directory.toString(), 16, 64, 30, 50);
+		auditLog.record(entry(42, "say \"hi\"\n"));
+		auditLog.shutdown();
+
+		assertThat(lines()).containsExactly("{\"ts\":\"2026-10-16T09:30:15\",\"act\":\"DEPOSIT\",\"acct\":42,"
+				+ "\"amt\":\"10.05\",\"bal\":\"1000.00\",\"cur\":\"USD\",\"ref\":\"say \\\"hi\\\"\\n\"}");
+	}
+
+	@Test
+	void formatsMinorUnitsAtTheCurrencyScale() {
+		assertThat(RingBufferAuditLog.appendAmount(new StringBuilder(), 7, 2)).hasToString("0.07");
+		assertThat(RingBufferAuditLog.appendAmount(new StringBuilder(), 123456, 2)).hasToString("1234.56");
+		assertThat(RingBufferAuditLog.appendAmount(new StringBuilder(), 500, 0)).hasToString("500");
+		assertThat(RingBufferAuditLog.appendAmount(new StringBuilder(), 1001, 3)).hasToString("1.001");
+	}
+
+	private static LedgerEntry entry(long accountId, String idempotencyKey) {
+		return new LedgerEntry(null, AccountId.of(accountId), LedgerEntry.Type.DEPOSIT, Money.ofMinor(1005, Money.USD),
+				Money.ofMinor(100000, Money.USD), idempotencyKey, "Audit test", LocalDateTime.of(2026, 10, 16, 9, 30, 15));
+	}
+
+	private List<String> lines() throws IOException {
+		List<String> lines = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : files.sorted().toList()) {
+				lines.addAll(Files.readAllLines(file));
+			}
+		}
+		return lines;
+	}
+}
@@ -0,0 +1,177 @@
+package com.demo.banking_app.infrastructure.cache;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.AccountType;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingAccountRepositoryTests {
+
+	private static final Money ONE = Money.of(BigDecimal.ONE);
+
+	private final Account account = newAccount();
+	private final CountingStore store = new CountingStore(account);
+	private final CachingAccountRepository repository = new CachingAccountRepository(store, new SimpleMeterRegistry(), 100, 600);
+
+	@Test
+	void readsAreServedFromTheCacheUntilAWrite() {
+		repository.findByAccountNumber(account.getAccountNumber());
+		repository.findByAccountNumber(account.getAccountNumber());
+
+		assertThat(store.loads).isEqualTo(1);
+	}
+
+	@Test
+	void everyWritePathEvictsTheAccount() {
+		List<Runnable> writes = List.of(
+				() -> repository.save(account),
+				() -> repository.deposit(account.getAccountNumber(), ONE, LocalDateTime.now()),
+				() -> repository.withdraw(account.getAccountNumber(), ONE, LocalDateTime.now()),
+				() -> repository.updateBalances(List.of(account)),
+				() -> repository.evict(List.of(account.getAccountNumber())));
+
+		int expectedLoads = 0;
+		for (Runnable write : writes) {
+			repository.findByAccountNumber(account.getAccountNumber());
+			expectedLoads++;
+
+			write.run();
+			repository.findByAccountNumber(account.getAccountNumber());
+			expectedLoads++;
+
+			assertThat(store.loads).isEqualTo(expectedLoads);
+		}
+	}
+
+	@Test
+	void aCopyReadBeforeTheWriteCommitsIsEvictedWhenItCompletes() {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			repository.deposit(account.getAccountNumber(), ONE, LocalDateTime.now());
+			// A concurrent reader repopulates the entry from the pre-commit row
+			repository.findByAccountNumber(account.getAccountNumber());
+			assertThat(store.loads).isEqualTo(1);
+
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		repository.findByAccountNumber(account.getAccountNumber());
+		assertThat(store.loads).isEqualTo(2);
+	}
+
+	private static Account newAccount() {
+		return Account.builder()
+				.id(AccountId.of(1L))
+				.accountNumber(AccountNumber.fromSequence(1))
+				.holderName(AccountHolderName.of("Cached Holder"))
+				.email(Email.of("cached@example.com"))
+				.balance(Money.zero())
+				.type(AccountType.CHECKING)
+				.status(AccountStatus.ACTIVE)
+				.version(Version.initial())
+				.createdAt(LocalDateTime.now())
+				.updatedAt(LocalDateTime.now())
+				.build();
+	}
+
+	/**
+	 * Serves one account and counts how often the cache falls through to it.
+	 */
+	private static class CountingStore implements AccountRepository {
+
+		private final Account account;
+		private int loads;
+
+		CountingStore(Account account) {
+			this.account = account;
+		}
+
+		@Override
+		public Optional<Account> findByAccountNumber(AccountNumber accountNumber) {
+			loads++;
+			return Optional.of(account);
+		}
+
+		@Override
+		public Account save(Account account) {
+			return account;
+		}
+
+		@Override
+		public Optional<AccountBalance> deposit(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+			return Optional.empty();
+		}
+
+		@Override
+		public Optional<AccountBalance> withdraw(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+			return Optional.empty();
+		}
+
+		@Override
+		public void updateBalances(List<Account> accounts) {
+		}
+
+		@Override
+		public Optional<Account> findById(AccountId id) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<Account> findByEmail(Email email) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Account> findPage(long afterId, int limit) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void forEachAfter(long afterId, Consumer<Account> consumer) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Account> findAllById(List<AccountId> ids) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Account> findAllByAccountNumbers(Collection<AccountNumber> accountNumbers) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean existsByEmail(Email email) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean existsByAccountNumber(AccountNumber accountNumber) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
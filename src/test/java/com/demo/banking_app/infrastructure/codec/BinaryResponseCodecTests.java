@@ -0,0 +1,81 @@
+package com.demo.banking_app.infrastructure.codec;
+
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.application.service.TransferResponse;
+import com.demo.banking_app.application.service.WithdrawResponse;
+import com.demo.banking_app.infrastructure.util.JsonUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryResponseCodecTests {
+
+	private final BinaryDepositResponseCodec depositCodec = new BinaryDepositResponseCodec();
+	private final BinaryWithdrawResponseCodec withdrawCodec = new BinaryWithdrawResponseCodec();
+	private final BinaryTransferResponseCodec transferCodec = new BinaryTransferResponseCodec();
+
+	@Test
+	void depositResponseRoundTrips() {
+		DepositResponse response = new DepositResponse("1234567890", "DEPOSIT", "250.75", "1000250.75",
+				"Salary \u2013 M\u00e4rz", "idem-7f3c2a", LocalDateTime.of(2026, 10, 16, 9, 30, 15, 123456789));
+
+		assertThat(depositCodec.decode(depositCodec.encode(response))).isEqualTo(response);
+	}
+
+	@Test
+	void withdrawResponseRoundTripsWithNullOptionalFields() {
+		WithdrawResponse response = new WithdrawResponse("0000000001", "WITHDRAWAL", "0.01", "0.00",
+				null, null, null);
+
+		assertThat(withdrawCodec.decode(withdrawCodec.encode(response))).isEqualTo(response);
+	}
+
+	@Test
+	void transferResponseRoundTripsWithCounterparty() {
+		TransferResponse response = new TransferResponse("00000000018", "00000000026", "TRANSFER", "99.99", "0.01",
+				"199.99", "Rent", "idem-t1", LocalDateTime.of(2026, 10, 16, 12, 0));
+
+		assertThat(transferCodec.decode(transferCodec.encode(response))).isEqualTo(response);
+	}
+
+	@Test
+	void unknownTransactionTypeIsPreserved() {
+		DepositResponse response = new DepositResponse("1234567890", "REVERSAL", "10.00", "20.00",
+				"Chargeback", "idem-1", LocalDateTime.of(1969, 12, 31, 23, 59, 59));
+
+		assertThat(depositCodec.decode(depositCodec.encode(response))).isEqualTo(response);
+	}
+
+	@Test
+	void binaryEncodingIsMuchSmallerThanJson() {
+		DepositResponse response = new DepositResponse("1234567890", "DEPOSIT", "250.75", "1000250.75",
+				"Monthly salary", "3f1c9a52-8d7e-4b6a-9c0d-2e4f5a6b7c8d", LocalDateTime.of(2026, 10, 16, 9, 30, 15));
+
+		int binarySize = depositCodec.encode(response).length;
+		int jsonSize = JsonUtils.serializeDepositResponse(response).getBytes(StandardCharsets.UTF_8).length;
+
+		assertThat(binarySize).isLessThan(jsonSize / 2);
+	}
+
+	@Test
+	void decodesResponsesStoredAsJsonBeforeTheSwitch() {
+		DepositResponse response = new DepositResponse("1234567890", "DEPOSIT", "5.00", "15.00",
+				"Legacy", "idem-legacy", LocalDateTime.of(2026, 1, 1, 0, 0));
+		byte[] legacy = JsonUtils.serializeDepositResponse(response).getBytes(StandardCharsets.UTF_8);
+
+		assertThat(depositCodec.decode(legacy)).isEqualTo(response);
+	}
+
+	@Test
+	void rejectsTruncatedData() {
+		byte[] encoded = depositCodec.encode(new DepositResponse("1234567890", "DEPOSIT", "5.00", "15.00",
+				"Truncated", "idem-2", LocalDateTime.of(2026, 1, 1, 0, 0)));
+		byte[] truncated = java.util.Arrays.copyOf(encoded, encoded.length - 3);
+
+		assertThatThrownBy(() -> depositCodec.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,184 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.domain.exception.IdempotencyException;
+import com.demo.banking_app.domain.exception.InactiveAccountException;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.LedgerEntry;
+import com.demo.banking_app.domain.model.Money;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EngineShardTests {
+
+	private static final AccountNumber ACCOUNT_NUMBER = AccountNumber.fromSequence(1);
+	private static final Money ONE = Money.of(new BigDecimal("1.00"));
+
+	@TempDir
+	Path directory;
+
+	private final List<EngineShard> started = new ArrayList<>();
+
+	@AfterEach
+	void stop() throws InterruptedException {
+		for (EngineShard shard : started) {
+			shard.shutdown(Duration.ofSeconds(5));
+		}
+	}
+
+	@Test
+	void appliesDomainRulesAndReplaysKeys() throws IOException {
+		EngineShard shard = start();
+
+		JournalRecord deposit = shard.submit(command(LedgerEntry.Type.DEPOSIT, ONE, "key-1", stored("10.00")), 1000);
+		assertThat(deposit.balanceAfter()).isEqualTo(Money.of(new BigDecimal("11.00")));
+
+		assertThat(shard.submit(command(LedgerEntry.Type.DEPOSIT, ONE, "key-1", null), 1000)).isEqualTo(deposit);
+		assertThatThrownBy(() -> shard.submit(command(LedgerEntry.Type.WITHDRAWAL, ONE, "key-1", null), 1000))
+				.isInstanceOf(IdempotencyException.class);
+		assertThatThrownBy(() -> shard.submit(command(LedgerEntry.Type.WITHDRAWAL, Money.of(new BigDecimal("11.01")), null, null), 1000))
+				.isInstanceOf(InsufficientFundsException.class);
+		assertThat(shard.journal().lastSequence()).isEqualTo(1);
+	}
+
+	@Test
+	void concurrentMovementsAreSerializedByTheWriter() throws Exception {
+		EngineShard shard = start();
+		shard.submit(command(LedgerEntry.Type.DEPOSIT, ONE, null, stored("0.00")), 1000);
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 250; i++) {
+						shard.submit(command(LedgerEntry.Type.DEPOSIT, ONE, null, null), 5000);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		JournalRecord last = shard.submit(command(LedgerEntry.Type.WITHDRAWAL, ONE, null, null), 1000);
+		assertThat(last.balanceAfter()).isEqualTo(Money.of(new BigDecimal("2000.00")));
+		assertThat(last.sequence()).isEqualTo(2002);
+	}
+
+	@Test
+	void restartRecoversFromSnapshotAndJournal() throws Exception {
+		EngineShard first = start();
+		first.submit(command(LedgerEntry.Type.DEPOSIT, ONE, "before-snapshot", stored("5.00")), 1000);
+		first.shutdown(Duration.ofSeconds(5));
+		started.remove(first);
+
+		// Written after the snapshot, then the process is killed without a clean shutdown
+		EngineShard second = start();
+		assertThat(second.snapshotSequence()).isEqualTo(1);
+		second.submit(command(LedgerEntry.Type.WITHDRAWAL, ONE, "after-snapshot", null), 1000);
+		started.remove(second);
+
+		EngineShard recovered = open();
+		recovered.recover(0);
+		recovered.start();
+		started.add(recovered);
+
+		assertThat(recovered.submit(command(LedgerEntry.Type.WITHDRAWAL, ONE, "after-snapshot", null), 1000).sequence())
+				.isEqualTo(2);
+		assertThat(recovered.submit(command(LedgerEntry.Type.DEPOSIT, ONE, "before-snapshot", null), 1000).sequence())
+				.isEqualTo(1);
+		assertThat(recovered.submit(command(LedgerEntry.Type.DEPOSIT, ONE, null, null), 1000).balanceAfter())
+				.isEqualTo(Money.of(new BigDecimal("6.00")));
+	}
+
+	@Test
+	void journalAloneIsEnoughToRecover() throws Exception {
+		EngineShard first = start();
+		first.submit(command(LedgerEntry.Type.DEPOSIT, ONE, null, stored("5.00")), 1000);
+		first.submit(command(LedgerEntry.Type.DEPOSIT, ONE, null, null), 1000);
+		first.shutdown(Duration.ofSeconds(5));
+		started.remove(first);
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path snapshot : files.filter(file -> file.getFileName().toString().startsWith("snapshot-")).toList()) {
+				Files.delete(snapshot);
+			}
+		}
+
+		EngineShard recovered = start();
+
+		assertThat(recovered.snapshotSequence()).isZero();
+		assertThat(recovered.submit(command(LedgerEntry.Type.WITHDRAWAL, ONE, null, null), 1000).balanceAfter())
+				.isEqualTo(Money.of(new BigDecimal("6.00")));
+	}
+
+	@Test
+	void recoveredAccountsTakeTheirStatusFromTheDatabase() throws Exception {
+		EngineShard first = start();
+		first.submit(command(LedgerEntry.Type.DEPOSIT, ONE, null, stored("5.00")), 1000);
+		first.shutdown(Duration.ofSeconds(5));
+		started.remove(first);
+
+		EngineShard recovered = open();
+		recovered.recover(0);
+		recovered.loadStatuses(ids -> ids.stream()
+				.map(id -> EngineSnapshot.resident(id.getValue(), ACCOUNT_NUMBER, Money.of(new BigDecimal("6.00")), AccountStatus.SUSPENDED))
+				.toList(), 100);
+		recovered.start();
+		started.add(recovered);
+
+		assertThatThrownBy(() -> recovered.submit(command(LedgerEntry.Type.DEPOSIT, ONE, null, null), 1000))
+				.isInstanceOf(InactiveAccountException.class);
+	}
+
+	@Test
+	void refusesToStartWhenTheDatabaseIsAheadOfTheJournal() throws IOException {
+		EngineShard shard = open();
+
+		assertThatThrownBy(() -> shard.recover(5)).isInstanceOf(IllegalStateException.class);
+	}
+
+	private EngineShard start() throws IOException {
+		EngineShard shard = open();
+		shard.recover(0);
+		shard.start();
+		started.add(shard);
+		return shard;
+	}
+
+	private EngineShard open() throws IOException {
+		Timer timer = Timer.builder("banking.engine.batch").register(new SimpleMeterRegistry());
+		return new EngineShard(0, directory, 1 << 20, 1024, 64, true, 100_000, Duration.ofMinutes(10), timer);
+	}
+
+	private static EngineShard.Command command(LedgerEntry.Type type, Money amount, String key, Account loaded) {
+		return new EngineShard.Command(type, ACCOUNT_NUMBER, amount, key, null, LocalDateTime.now(), loaded);
+	}
+
+	private static Account stored(String balance) {
+		return EngineSnapshot.resident(1, ACCOUNT_NUMBER, Money.of(new BigDecimal(balance)), AccountStatus.ACTIVE);
+	}
+}
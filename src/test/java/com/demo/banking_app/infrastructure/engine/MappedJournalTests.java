@@ -0,0 +1,126 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.domain.model.LedgerEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedJournalTests {
+
+	private static final int SEGMENT_BYTES = 4096;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void recordsSurviveReopenAcrossSegments() throws IOException {
+		try (MappedJournal journal = MappedJournal.open(directory, SEGMENT_BYTES)) {
+			for (long sequence = 1; sequence <= 500; sequence++) {
+				journal.append(record(sequence));
+			}
+			journal.sync(true);
+			assertThat(journal.segmentCount()).isGreaterThan(1);
+		}
+
+		try (MappedJournal journal = MappedJournal.open(directory, SEGMENT_BYTES)) {
+			assertThat(journal.lastSequence()).isEqualTo(500);
+			assertThat(readAll(journal, 0)).containsExactlyElementsOf(expected(1, 500));
+			assertThat(readAll(journal, 250)).first().isEqualTo(record(251));
+		}
+	}
+
+	@Test
+	void tornWriteIsDiscardedAndAppendsContinueBehindIt() throws IOException {
+		MappedJournal crashed = MappedJournal.open(directory, SEGMENT_BYTES);
+		for (long sequence = 1; sequence <= 12; sequence++) {
+			crashed.append(record(sequence));
+		}
+		crashed.sync(false);
+		// The process dies while record 11 is half on disk; record 12 made it but must not be trusted
+		corruptRecord(11);
+
+		try (MappedJournal journal = MappedJournal.open(directory, SEGMENT_BYTES)) {
+			assertThat(journal.lastSequence()).isEqualTo(10);
+			journal.append(record(11));
+			journal.sync(true);
+		}
+
+		try (MappedJournal journal = MappedJournal.open(directory, SEGMENT_BYTES)) {
+			assertThat(journal.lastSequence()).isEqualTo(11);
+			assertThat(readAll(journal, 0)).containsExactlyElementsOf(expected(1, 11));
+		}
+	}
+
+	@Test
+	void deletedSegmentsCanNoLongerBeRead() throws IOException {
+		try (MappedJournal journal = MappedJournal.open(directory, SEGMENT_BYTES)) {
+			for (long sequence = 1; sequence <= 300; sequence++) {
+				journal.append(record(sequence));
+			}
+			journal.sync(true);
+			int segments = journal.segmentCount();
+
+			journal.deleteSegmentsThrough(200);
+
+			assertThat(journal.segmentCount()).isLessThan(segments);
+			assertThat(readAll(journal, 200)).containsExactlyElementsOf(expected(201, 300));
+			assertThatThrownBy(() -> readAll(journal, 0)).isInstanceOf(IllegalStateException.class);
+		}
+	}
+
+	static JournalRecord record(long sequence) {
+		return new JournalRecord(sequence, sequence % 3 == 0 ? LedgerEntry.Type.WITHDRAWAL : LedgerEntry.Type.DEPOSIT,
+				42, "00000000018", 100, 10_000 + sequence, "USD", sequence % 2 == 0 ? "key-" + sequence : null,
+				"Café " + sequence, LocalDateTime.of(2026, 10, 16, 9, 30, 15, 123_456_789));
+	}
+
+	private static List<JournalRecord> expected(long from, long to) {
+		List<JournalRecord> records = new ArrayList<>();
+		for (long sequence = from; sequence <= to; sequence++) {
+			records.add(record(sequence));
+		}
+		return records;
+	}
+
+	private static List<JournalRecord> readAll(MappedJournal journal, long afterSequence) throws IOException {
+		List<JournalRecord> records = new ArrayList<>();
+		try (MappedJournal.Reader reader = journal.reader(afterSequence)) {
+			JournalRecord record;
+			while ((record = reader.next(journal.durableSequence())) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+
+	private void corruptRecord(long sequence) throws IOException {
+		Path segment;
+		try (Stream<Path> files = Files.list(directory)) {
+			segment = files.max(Comparator.naturalOrder()).orElseThrow();
+		}
+		try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+			long position = 0;
+			for (long skipped = 1; skipped < sequence; skipped++) {
+				file.seek(position);
+				position += MappedJournal.HEADER_BYTES + file.readInt();
+			}
+			long target = position + MappedJournal.HEADER_BYTES + 20;
+			file.seek(target);
+			int original = file.read();
+			file.seek(target);
+			file.write(original ^ 0xff);
+		}
+	}
+}
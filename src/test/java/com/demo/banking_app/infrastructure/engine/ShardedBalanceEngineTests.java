@@ -0,0 +1,130 @@
+package com.demo.banking_app.infrastructure.engine;
+
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.BatchTransactionUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.GetAccountUseCase;
+import com.demo.banking_app.application.port.in.TransferUseCase;
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.service.CreateAccountCommand;
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.DepositResponse;
+import com.demo.banking_app.application.service.GetAccountCommand;
+import com.demo.banking_app.application.service.WithdrawCommand;
+import com.demo.banking_app.application.service.WithdrawResponse;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Its own database: the shared test database is dropped and recreated by every new context
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+		"banking.write-path=engine",
+		"banking.engine.shards=4",
+		"banking.engine.journal.segment-size-mb=1",
+		"banking.engine.sync.interval-ms=20"
+})
+@ActiveProfiles("test")
+class ShardedBalanceEngineTests {
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private WithdrawUseCase withdrawUseCase;
+
+	@Autowired
+	private GetAccountUseCase getAccountUseCase;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationContext context;
+
+	// The database starts empty, so the journal must as well
+	@DynamicPropertySource
+	static void engineDirectory(DynamicPropertyRegistry registry) throws IOException {
+		Path directory = Files.createTempDirectory("engine-test");
+		registry.add("banking.engine.directory", directory::toString);
+	}
+
+	@Test
+	void movementsAreAnsweredFromMemoryAndCopiedToTheDatabase() throws InterruptedException {
+		String accountNumber = openAccount();
+		// Cached before the engine moves it, so a stale copy would show
+		assertThat(new BigDecimal(getAccountUseCase.getAccount(GetAccountCommand.of(accountNumber)).getBalance()))
+				.isEqualByComparingTo("0.00");
+		String depositKey = UUID.randomUUID().toString();
+		DepositCommand deposit = DepositCommand.of(accountNumber, "100.00", "engine test", depositKey);
+
+		DepositResponse deposited = depositUseCase.deposit(deposit);
+		WithdrawResponse withdrawn = withdrawUseCase.withdraw(
+				WithdrawCommand.of(accountNumber, "30.00", "engine test", UUID.randomUUID().toString()));
+		assertThat(new BigDecimal(deposited.getNewBalance())).isEqualByComparingTo("100.00");
+		assertThat(new BigDecimal(withdrawn.getNewBalance())).isEqualByComparingTo("70.00");
+
+		assertThatThrownBy(() -> withdrawUseCase.withdraw(
+				WithdrawCommand.of(accountNumber, "70.01", "overdraft", UUID.randomUUID().toString())))
+				.isInstanceOf(InsufficientFundsException.class);
+
+		String hash = AccountNumber.of(accountNumber).getHash();
+		awaitLedger(hash, 2);
+		BigDecimal balance = jdbcTemplate.queryForObject(
+				"SELECT balance FROM accounts WHERE account_number_hash = ?", BigDecimal.class, hash);
+		BigDecimal ledgerSum = jdbcTemplate.queryForObject(
+				"SELECT COALESCE(SUM(CASE WHEN t.transaction_type = 'DEPOSIT' THEN t.amount ELSE -t.amount END), 0) "
+						+ "FROM transactions t JOIN accounts a ON a.id = t.account_id WHERE a.account_number_hash = ?",
+				BigDecimal.class, hash);
+		assertThat(balance).isEqualByComparingTo("70.00");
+		assertThat(ledgerSum).isEqualByComparingTo("70.00");
+		assertThat(new BigDecimal(getAccountUseCase.getAccount(GetAccountCommand.of(accountNumber)).getBalance()))
+				.isEqualByComparingTo("70.00");
+
+		// Once copied, the stored response answers the retry exactly as the engine did
+		assertThat(depositUseCase.deposit(deposit)).isEqualTo(deposited);
+	}
+
+	@Test
+	void transfersAndBatchesAreSwitchedOff() {
+		assertThat(context.getBeanProvider(TransferUseCase.class).getIfAvailable()).isNull();
+		assertThat(context.getBeanProvider(BatchTransactionUseCase.class).getIfAvailable()).isNull();
+	}
+
+	private void awaitLedger(String hash, int entries) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (countEntries(hash) < entries && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+	}
+
+	private int countEntries(String hash) {
+		return jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM transactions t JOIN accounts a ON a.id = t.account_id WHERE a.account_number_hash = ?",
+				Integer.class, hash);
+	}
+
+	private String openAccount() {
+		return createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Engine Holder", "engine-" + UUID.randomUUID() + "@example.com", null, "CHECKING")).getAccountNumber();
+	}
+}
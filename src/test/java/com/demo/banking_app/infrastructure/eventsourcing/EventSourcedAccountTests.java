@@ -0,0 +1,230 @@
+package com.demo.banking_app.infrastructure.eventsourcing;
+
+import com.demo.banking_app.application.port.in.BatchTransactionUseCase;
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.GetAccountUseCase;
+import com.demo.banking_app.application.port.in.TransferUseCase;
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.port.out.AccountEventStore;
+import com.demo.banking_app.application.service.CreateAccountCommand;
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.GetAccountCommand;
+import com.demo.banking_app.application.service.WithdrawCommand;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Its own database: the shared test database is dropped and recreated by every new context
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+		"banking.write-path=event-sourced",
+		"banking.event-store.snapshot-every=5",
+		"banking.event-store.projection.partitions=4",
+		// Projected only when a test calls catchUp, and gaps are passed at once
+		"banking.event-store.projection.interval-ms=3600000",
+		"banking.event-store.projection.gap-timeout-ms=0"
+})
+@ActiveProfiles("test")
+class EventSourcedAccountTests {
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private WithdrawUseCase withdrawUseCase;
+
+	@Autowired
+	private AccountEventStore eventStore;
+
+	@Autowired
+	private AccountProjector projector;
+
+	@Autowired
+	private GetAccountUseCase getAccountUseCase;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void movementsAreAppendedAndFoldedBackIntoTheAccount() {
+		String accountNumber = openAccount();
+		DepositCommand deposit = DepositCommand.of(accountNumber, "100.00", "event test", UUID.randomUUID().toString());
+		depositUseCase.deposit(deposit);
+		depositUseCase.deposit(deposit);
+		withdrawUseCase.withdraw(WithdrawCommand.of(accountNumber, "30.00", "event test", UUID.randomUUID().toString()));
+
+		assertThatThrownBy(() -> withdrawUseCase.withdraw(
+				WithdrawCommand.of(accountNumber, "70.01", "overdraft", UUID.randomUUID().toString())))
+				.isInstanceOf(InsufficientFundsException.class);
+
+		// Opening balance, one deposit despite the replay, one withdrawal
+		Account account = load(accountNumber);
+		assertThat(account.getBalance().getAmount()).isEqualByComparingTo("70.00");
+		assertThat(account.getVersion().getValue()).isEqualTo(3);
+		assertThat(countEvents(account.getId().getValue())).isEqualTo(3);
+
+		projector.catchUp();
+		assertThat(storedBalance(accountNumber)).isEqualByComparingTo("70.00");
+	}
+
+	@Test
+	void rehydrationStartsFromTheNewestSnapshot() {
+		String accountNumber = openAccount();
+		for (int i = 0; i < 12; i++) {
+			depositUseCase.deposit(DepositCommand.of(accountNumber, "1.00", "snapshot test", UUID.randomUUID().toString()));
+		}
+		long accountId = load(accountNumber).getId().getValue();
+		assertThat(jdbcTemplate.queryForList(
+				"SELECT sequence_number FROM account_snapshots WHERE account_id = ? ORDER BY sequence_number",
+				Long.class, accountId)).containsExactly(5L, 10L);
+
+		// Events covered by the snapshot are no longer read; project them first so the
+		// projection does not wait on the ids deleted here
+		projector.catchUp();
+		jdbcTemplate.update("DELETE FROM account_events WHERE account_id = ? AND sequence_number <= 10", accountId);
+		Account account = load(accountNumber);
+		assertThat(account.getBalance().getAmount()).isEqualByComparingTo("12.00");
+		assertThat(account.getVersion().getValue()).isEqualTo(13);
+		assertThat(account.getStatus()).isEqualTo(AccountStatus.ACTIVE);
+		assertThat(account.getUpdatedAt()).isEqualTo(jdbcTemplate.queryForObject(
+				"SELECT occurred_at FROM account_events WHERE account_id = ? AND sequence_number = 13",
+				LocalDateTime.class, accountId));
+		assertThat(jdbcTemplate.queryForList("SELECT status FROM account_snapshots WHERE account_id = ?", String.class, accountId))
+				.containsOnly("ACTIVE");
+	}
+
+	@Test
+	void projectedBalancesAreNotServedStaleFromTheCache() {
+		String accountNumber = openAccount();
+		assertThat(new BigDecimal(getAccountUseCase.getAccount(GetAccountCommand.of(accountNumber)).getBalance()))
+				.isEqualByComparingTo("0.00");
+
+		depositUseCase.deposit(DepositCommand.of(accountNumber, "25.00", "cache test", UUID.randomUUID().toString()));
+		projector.catchUp();
+
+		assertThat(new BigDecimal(getAccountUseCase.getAccount(GetAccountCommand.of(accountNumber)).getBalance()))
+				.isEqualByComparingTo("25.00");
+	}
+
+	@Test
+	void eventsCommittedBehindTheCheckpointAreStillProjected() {
+		String late = openAccount();
+		String other = openAccount();
+		depositUseCase.deposit(DepositCommand.of(late, "10.00", "gap test", UUID.randomUUID().toString()));
+		projector.catchUp();
+
+		// The late account's next event takes an id, but is invisible until after the other
+		// account's events have been projected, like an append whose transaction commits late
+		depositUseCase.deposit(DepositCommand.of(late, "5.00", "gap test", UUID.randomUUID().toString()));
+		long lateId = load(late).getId().getValue();
+		Map<String, Object> held = jdbcTemplate.queryForMap(
+				"SELECT * FROM account_events WHERE account_id = ? AND sequence_number = 3", lateId);
+		jdbcTemplate.update("DELETE FROM account_events WHERE id = ?", held.get("ID"));
+		depositUseCase.deposit(DepositCommand.of(other, "7.00", "gap test", UUID.randomUUID().toString()));
+
+		projector.catchUp();
+		assertThat(storedBalance(other)).isEqualByComparingTo("7.00");
+		assertThat(storedBalance(late)).isEqualByComparingTo("10.00");
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projection_gaps WHERE event_id = ?",
+				Integer.class, held.get("ID"))).isEqualTo(1);
+
+		jdbcTemplate.update("INSERT INTO account_events (id, account_id, sequence_number, event_type, amount, currency, "
+						+ "idempotency_key, description, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+				held.get("ID"), held.get("ACCOUNT_ID"), held.get("SEQUENCE_NUMBER"), held.get("EVENT_TYPE"), held.get("AMOUNT"),
+				held.get("CURRENCY"), held.get("IDEMPOTENCY_KEY"), held.get("DESCRIPTION"), held.get("OCCURRED_AT"));
+
+		assertThat(projector.catchUp()).isEqualTo(1);
+		assertThat(storedBalance(late)).isEqualByComparingTo("15.00");
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM projection_gaps WHERE event_id = ?",
+				Integer.class, held.get("ID"))).isZero();
+	}
+
+	@Test
+	void transfersAndBatchesAreSwitchedOff() {
+		assertThat(context.getBeanProvider(TransferUseCase.class).getIfAvailable()).isNull();
+		assertThat(context.getBeanProvider(BatchTransactionUseCase.class).getIfAvailable()).isNull();
+	}
+
+	@Test
+	void concurrentMovementsFormOneGaplessStream() throws Exception {
+		String accountNumber = openAccount();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < 8; t++) {
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < 20; i++) {
+						depositUseCase.deposit(DepositCommand.of(accountNumber, "1.00", "stream test", UUID.randomUUID().toString()));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		Account account = load(accountNumber);
+		assertThat(account.getBalance().getAmount()).isEqualByComparingTo("160.00");
+		assertThat(account.getVersion().getValue()).isEqualTo(161);
+		assertThat(countEvents(account.getId().getValue())).isEqualTo(161);
+	}
+
+	@Test
+	void rebuildRestoresProjectedBalances() {
+		String accountNumber = openAccount();
+		depositUseCase.deposit(DepositCommand.of(accountNumber, "42.00", "rebuild test", UUID.randomUUID().toString()));
+		projector.catchUp();
+		jdbcTemplate.update("UPDATE accounts SET balance = 0 WHERE account_number_hash = ?",
+				AccountNumber.of(accountNumber).getHash());
+
+		assertThat(projector.rebuild()).isPositive();
+		assertThat(storedBalance(accountNumber)).isEqualByComparingTo("42.00");
+	}
+
+	private Account load(String accountNumber) {
+		return eventStore.load(AccountNumber.of(accountNumber)).orElseThrow();
+	}
+
+	private int countEvents(long accountId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM account_events WHERE account_id = ?", Integer.class, accountId);
+	}
+
+	private BigDecimal storedBalance(String accountNumber) {
+		return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_number_hash = ?",
+				BigDecimal.class, AccountNumber.of(accountNumber).getHash());
+	}
+
+	private String openAccount() {
+		return createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Event Holder", "events-" + UUID.randomUUID() + "@example.com", null, "CHECKING")).getAccountNumber();
+	}
+}
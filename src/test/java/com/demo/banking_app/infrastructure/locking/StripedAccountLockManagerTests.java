@@ -0,0 +1,146 @@
+package com.demo.banking_app.infrastructure.locking;
+
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.AccountType;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedAccountLockManagerTests {
+
+	private static final int THREADS = 64;
+	private static final int DEPOSITS_PER_THREAD = 500;
+
+	@Test
+	void noLostUpdatesWhenManyThreadsHammerOneAccount() throws Exception {
+		StripedAccountLockManager lockManager = new StripedAccountLockManager(16, THREADS, Duration.ofSeconds(30), new SimpleMeterRegistry());
+		AccountNumber accountNumber = AccountNumber.of("0000000042");
+		Account[] holder = { newAccount(accountNumber) };
+		Money one = Money.of(BigDecimal.ONE);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < DEPOSITS_PER_THREAD; i++) {
+						// Plain read-modify-write: only the lock keeps this from losing updates
+						lockManager.executeLocked(accountNumber, () -> holder[0] = holder[0].deposit(one, LocalDateTime.now()));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		long expected = (long) THREADS * DEPOSITS_PER_THREAD;
+		assertThat(holder[0].getBalance().getAmount()).isEqualByComparingTo(BigDecimal.valueOf(expected));
+
+		StripedAccountLockManager.StripeStats stats = lockManager.stripeStats().get(lockManager.stripeIndex(accountNumber));
+		assertThat(stats.getAcquisitions()).isEqualTo(expected);
+		assertThat(stats.getRejections()).isZero();
+		assertThat(stats.getQueueDepth()).isZero();
+		assertThat(stats.getMaxQueueDepth()).isLessThanOrEqualTo(THREADS);
+	}
+
+	@Test
+	void withoutATransactionTheLockIsReleasedWhenTheActionEnds() throws Exception {
+		StripedAccountLockManager lockManager = new StripedAccountLockManager(16, 4, Duration.ofMillis(50), new SimpleMeterRegistry());
+		AccountNumber accountNumber = AccountNumber.of("0000000042");
+
+		assertThat(lockManager.executeLocked(accountNumber, () -> "done")).isEqualTo("done");
+		assertThat(lockableFromAnotherThread(lockManager, accountNumber)).isTrue();
+
+		assertThatThrownBy(() -> lockManager.executeLocked(accountNumber, () -> {
+			throw new IllegalStateException("failed");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(lockableFromAnotherThread(lockManager, accountNumber)).isTrue();
+	}
+
+	@Test
+	void insideATransactionTheLocksAreHeldUntilItCompletes() throws Exception {
+		StripedAccountLockManager lockManager = new StripedAccountLockManager(16, 4, Duration.ofMillis(50), new SimpleMeterRegistry());
+		AccountNumber first = AccountNumber.of("0000000042");
+		AccountNumber second = AccountNumber.of("0000000043");
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			lockManager.executeLocked(first, () -> "single");
+			lockManager.executeLocked(List.of(first, second), () -> "pair");
+
+			assertThat(lockableFromAnotherThread(lockManager, first)).isFalse();
+			assertThat(lockableFromAnotherThread(lockManager, second)).isFalse();
+
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			assertThat(synchronizations).hasSize(2);
+			synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		assertThat(lockableFromAnotherThread(lockManager, first)).isTrue();
+		assertThat(lockableFromAnotherThread(lockManager, second)).isTrue();
+	}
+
+	// The stripe locks are reentrant, so only another thread can tell whether one is still held
+	private static boolean lockableFromAnotherThread(StripedAccountLockManager lockManager, AccountNumber accountNumber) throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Callable<Boolean> attempt = () -> {
+				try {
+					return lockManager.executeLocked(accountNumber, () -> true);
+				} catch (ConcurrentModificationException e) {
+					return false;
+				}
+			};
+			return executor.submit(attempt).get();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Account newAccount(AccountNumber accountNumber) {
+		return Account.builder()
+				.id(AccountId.of(1L))
+				.accountNumber(accountNumber)
+				.holderName(AccountHolderName.of("Merchant Account"))
+				.email(Email.of("merchant@example.com"))
+				.balance(Money.zero())
+				.type(AccountType.BUSINESS)
+				.status(AccountStatus.ACTIVE)
+				.version(Version.initial())
+				.createdAt(LocalDateTime.now())
+				.updatedAt(LocalDateTime.now())
+				.build();
+	}
+}
@@ -0,0 +1,71 @@
+package com.demo.banking_app.infrastructure.metrics;
+
+import com.demo.banking_app.application.port.in.CreateAccountUseCase;
+import com.demo.banking_app.application.port.in.DepositUseCase;
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.service.CreateAccountCommand;
+import com.demo.banking_app.application.service.CreateAccountResponse;
+import com.demo.banking_app.application.service.DepositCommand;
+import com.demo.banking_app.application.service.WithdrawCommand;
+import com.demo.banking_app.domain.exception.AccountNotFoundException;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UseCaseMetricsTests {
+
+	@Autowired
+	private CreateAccountUseCase createAccountUseCase;
+
+	@Autowired
+	private DepositUseCase depositUseCase;
+
+	@Autowired
+	private WithdrawUseCase withdrawUseCase;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void recordsLatencyPerOutcomeAndDatabaseTime() {
+		CreateAccountResponse account = createAccountUseCase.createAccount(CreateAccountCommand.of(
+				"Metrics Holder", "metrics-" + UUID.randomUUID() + "@example.com", null, "CHECKING"));
+		long successes = count("Deposit", "success");
+		long notFound = count("Deposit", "not_found");
+		long insufficient = count("Withdraw", "insufficient_funds");
+		Timer existingDbTime = meterRegistry.find("banking.usecase.db.time").tag("use_case", "Deposit").timer();
+		long dbCalls = existingDbTime != null ? existingDbTime.count() : 0;
+
+		depositUseCase.deposit(DepositCommand.of(account.getAccountNumber(), "10.00", "metrics", null));
+		assertThatThrownBy(() -> depositUseCase.deposit(DepositCommand.of("99999999999", "10.00", "metrics", null)))
+				.isInstanceOf(AccountNotFoundException.class);
+		assertThatThrownBy(() -> withdrawUseCase.withdraw(WithdrawCommand.of(account.getAccountNumber(), "50.00", "metrics", null)))
+				.isInstanceOf(InsufficientFundsException.class);
+
+		assertThat(count("Deposit", "success")).isEqualTo(successes + 1);
+		assertThat(count("Deposit", "not_found")).isEqualTo(notFound + 1);
+		assertThat(count("Withdraw", "insufficient_funds")).isEqualTo(insufficient + 1);
+
+		Timer dbTime = meterRegistry.get("banking.usecase.db.time").tag("use_case", "Deposit").timer();
+		assertThat(dbTime.count()).isEqualTo(dbCalls + 2);
+		assertThat(dbTime.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+		assertThat(meterRegistry.get("banking.usecase.in.flight").tag("use_case", "Deposit").gauge().value()).isZero();
+	}
+
+	private long count(String useCase, String outcome) {
+		Timer timer = meterRegistry.find("banking.usecase.latency").tag("use_case", useCase).tag("outcome", outcome).timer();
+		return timer != null ? timer.count() : 0;
+	}
+}
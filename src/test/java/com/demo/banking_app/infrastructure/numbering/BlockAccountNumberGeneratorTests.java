@@ -0,0 +1,91 @@
+package com.demo.banking_app.infrastructure.numbering;
+
+import com.demo.banking_app.domain.model.AccountNumber;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockAccountNumberGeneratorTests {
+
+	private static final int THREADS = 16;
+	private static final int NUMBERS_PER_THREAD = 62_500;
+	private static final int BLOCK_SIZE = 100;
+
+	@Test
+	void millionNumbersAcrossThreadsAreUniqueAndCheckDigitValid() throws Exception {
+		// Two generators share the allocator, like two nodes sharing the sequence table
+		AtomicLong sequence = new AtomicLong(1);
+		AtomicInteger reservations = new AtomicInteger();
+		SequenceBlockAllocator allocator = size -> {
+			reservations.incrementAndGet();
+			return sequence.getAndAdd(size);
+		};
+		BlockAccountNumberGenerator[] nodes = {
+				new BlockAccountNumberGenerator(allocator, BLOCK_SIZE),
+				new BlockAccountNumberGenerator(allocator, BLOCK_SIZE)
+		};
+
+		long[][] issued = new long[THREADS][NUMBERS_PER_THREAD];
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					BlockAccountNumberGenerator generator = nodes[thread % nodes.length];
+					start.await();
+					for (int i = 0; i < NUMBERS_PER_THREAD; i++) {
+						AccountNumber number = generator.next();
+						assertThat(number.hasValidCheckDigit()).isTrue();
+						issued[thread][i] = Long.parseLong(number.getValue());
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		long[] all = Arrays.stream(issued).flatMapToLong(Arrays::stream).sorted().toArray();
+		assertThat(all).hasSize(THREADS * NUMBERS_PER_THREAD);
+		for (int i = 1; i < all.length; i++) {
+			assertThat(all[i]).as("duplicate account number").isNotEqualTo(all[i - 1]);
+		}
+		// Each node wastes at most the tail of its current block
+		assertThat(reservations.get()).isLessThanOrEqualTo(all.length / BLOCK_SIZE + nodes.length);
+	}
+
+	@Test
+	void checkDigitCatchesSingleDigitTypos() {
+		AccountNumber number = AccountNumber.fromSequence(1234567890L);
+		assertThat(number.getValue()).hasSize(AccountNumber.SEQUENCE_DIGITS + 1);
+		assertThat(number.hasValidCheckDigit()).isTrue();
+
+		char[] digits = number.getValue().toCharArray();
+		digits[3] = digits[3] == '9' ? '0' : (char) (digits[3] + 1);
+		assertThat(AccountNumber.of(new String(digits)).hasValidCheckDigit()).isFalse();
+	}
+
+	@Test
+	void hashIsSha256Hex() {
+		assertThat(AccountNumber.of("00000000018").getHash())
+				.hasSize(64)
+				.isNotEqualTo(AccountNumber.of("00000000026").getHash());
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.demo.banking_app.infrastructure.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The scheduled relay runs once at startup and then stays out of the way
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+		"banking.events.relay.interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class OutboxRelayTests {
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+	private final List<OutboxMessage> delivered = new ArrayList<>();
+
+	@BeforeEach
+	void clearOutbox() {
+		jdbcTemplate.update("DELETE FROM event_outbox");
+	}
+
+	@Test
+	void eventsAreDeliveredInIdOrderAndThenDeleted() {
+		List<String> eventIds = insert(5);
+
+		assertThat(relay(delivered::addAll, 2).drain()).isEqualTo(5);
+
+		assertThat(delivered).extracting(OutboxMessage::getEventId).containsExactlyElementsOf(eventIds);
+		assertThat(outboxSize()).isZero();
+	}
+
+	@Test
+	void aRejectedBatchIsReleasedAndRedelivered() {
+		insert(3);
+		OutboxRelay failing = relay(batch -> {
+			throw new IllegalStateException("sink down");
+		}, 10);
+
+		assertThat(failing.drain()).isZero();
+		assertThat(outboxSize()).isEqualTo(3);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox WHERE claim_token IS NOT NULL", Long.class))
+				.isZero();
+
+		assertThat(relay(delivered::addAll, 10).drain()).isEqualTo(3);
+		assertThat(outboxSize()).isZero();
+	}
+
+	@Test
+	void concurrentRelaysNeverPublishTheSameRow() {
+		insert(4);
+		List<OutboxMessage> second = new ArrayList<>();
+		OutboxRelay other = relay(second::addAll, 10);
+		int[] drainedByOther = {-1};
+
+		// The second relay runs while the first holds its claim but has not deleted the rows yet
+		OutboxRelay first = relay(batch -> {
+			drainedByOther[0] = other.drain();
+			delivered.addAll(batch);
+		}, 10);
+
+		assertThat(first.drain()).isEqualTo(4);
+		assertThat(drainedByOther[0]).isZero();
+		assertThat(second).isEmpty();
+		assertThat(delivered).hasSize(4);
+	}
+
+	@Test
+	void claimsOfADeadRelayAreTakenOverAfterTheTimeout() {
+		insert(2);
+		jdbcTemplate.update("UPDATE event_outbox SET claim_token = ?, claimed_at = ?",
+				UUID.randomUUID().toString(), LocalDateTime.now().minusMinutes(5));
+
+		assertThat(relay(delivered::addAll, 10).drain()).isEqualTo(2);
+		assertThat(outboxSize()).isZero();
+	}
+
+	@Test
+	void freshClaimsOfAnotherRelayAreLeftAlone() {
+		insert(2);
+		jdbcTemplate.update("UPDATE event_outbox SET claim_token = ?, claimed_at = ?",
+				UUID.randomUUID().toString(), LocalDateTime.now());
+
+		assertThat(relay(delivered::addAll, 10).drain()).isZero();
+		assertThat(outboxSize()).isEqualTo(2);
+	}
+
+	private OutboxRelay relay(EventSink sink, int batchSize) {
+		return new OutboxRelay(jdbcTemplate, namedJdbcTemplate, sink, new SimpleMeterRegistry(), batchSize, 10, 60_000);
+	}
+
+	private List<String> insert(int count) {
+		List<String> eventIds = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			String eventId = UUID.randomUUID().toString();
+			jdbcTemplate.update("INSERT INTO event_outbox (event_id, event_type, aggregate_id, payload, occurred_at) VALUES (?, ?, ?, ?, ?)",
+					eventId, "DepositCompleted", "1", "{}", LocalDateTime.now());
+			eventIds.add(eventId);
+		}
+		return eventIds;
+	}
+
+	private long outboxSize() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_outbox", Long.class);
+	}
+}
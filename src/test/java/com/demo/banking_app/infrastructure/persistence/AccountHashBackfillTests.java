@@ -0,0 +1,74 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.ValueHash;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AccountHashBackfillTests {
+
+	@Autowired
+	private AccountHashBackfill backfill;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void legacyHashedAccountsAreFoundAfterTheBackfill() {
+		String number = String.format("%010d", Math.floorMod(UUID.randomUUID().getLeastSignificantBits(), 10_000_000_000L));
+		String email = "legacy-" + UUID.randomUUID() + "@example.com";
+		jdbcTemplate.update("INSERT INTO accounts (account_number, account_number_hash, account_holder_name, email, email_hash, "
+						+ "balance, account_type, status, version) VALUES (?, ?, 'Legacy Holder', ?, ?, 10.00, 'SAVINGS', 'ACTIVE', 0)",
+				number, ValueHash.legacy(number), email, ValueHash.legacy(email));
+		assertThat(accountRepository.findByAccountNumber(AccountNumber.of(number))).isEmpty();
+
+		assertThat(backfill.backfill()).isGreaterThanOrEqualTo(1);
+
+		assertThat(jdbcTemplate.queryForObject("SELECT account_number_hash FROM accounts WHERE account_number = ?",
+				String.class, number)).isEqualTo(AccountNumber.of(number).getHash());
+		assertThat(accountRepository.findByAccountNumber(AccountNumber.of(number))).isPresent();
+		assertThat(accountRepository.findByEmail(Email.of(email))).isPresent();
+		// Every row is current now, so a second pass has nothing to do
+		assertThat(backfill.backfill()).isZero();
+	}
+
+	@Test
+	void aFinishedBackfillIsNotRepeatedOnTheNextStart() {
+		// The pass that ran at startup recorded its marker
+		assertThat(backfill.isDone()).isTrue();
+		String number = String.format("%010d", Math.floorMod(UUID.randomUUID().getLeastSignificantBits(), 10_000_000_000L));
+		String email = "rerun-" + UUID.randomUUID() + "@example.com";
+		jdbcTemplate.update("INSERT INTO accounts (account_number, account_number_hash, account_holder_name, email, email_hash, "
+						+ "balance, account_type, status, version) VALUES (?, ?, 'Legacy Holder', ?, ?, 10.00, 'SAVINGS', 'ACTIVE', 0)",
+				number, ValueHash.legacy(number), email, ValueHash.legacy(email));
+
+		backfill.afterSingletonsInstantiated();
+
+		assertThat(jdbcTemplate.queryForObject("SELECT account_number_hash FROM accounts WHERE account_number = ?",
+				String.class, number)).isEqualTo(ValueHash.legacy(number));
+		jdbcTemplate.update("DELETE FROM accounts WHERE account_number = ?", number);
+	}
+
+	@Test
+	void accountNumbersMatchTheirLegacyHash() {
+		AccountNumber number = AccountNumber.fromSequence(42);
+
+		assertThat(number.matchesHash(number.getHash())).isTrue();
+		assertThat(number.matchesHash(ValueHash.legacy(number.getValue()))).isTrue();
+		assertThat(number.matchesHash(AccountNumber.fromSequence(43).getHash())).isFalse();
+	}
+}
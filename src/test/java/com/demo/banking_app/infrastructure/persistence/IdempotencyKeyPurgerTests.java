@@ -0,0 +1,114 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.TransactionSystemException;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+@ActiveProfiles("test")
+class IdempotencyKeyPurgerTests {
+
+	@Autowired
+	private IdempotencyKeyJpaRepository jpaRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void clearKeys() {
+		jpaRepository.deleteAll();
+	}
+
+	@Test
+	void onlyExpiredKeysAreDeletedChunkByChunk() {
+		insert(true, false, true, true, false, true, true);
+
+		assertThat(purger(2, 5000, 300).purge()).isEqualTo(5);
+
+		assertThat(jpaRepository.findAll()).allSatisfy(key -> assertThat(key.getExpiresAt()).isAfter(LocalDateTime.now()));
+		assertThat(jpaRepository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void aRunCutShortIsResumedByAFreshPurger() {
+		insert(true, true, true, true, true);
+
+		// One row per second against a one second budget stops the run after the first chunk
+		assertThat(purger(2, 1, 1).purge()).isEqualTo(2);
+
+		// A restarted node has no cursor of its own and starts from the table
+		assertThat(purger(2, 5000, 300).purge()).isEqualTo(3);
+		assertThat(jpaRepository.count()).isZero();
+	}
+
+	@Test
+	void aChunkThatRollsBackIsRetriedByTheNextRun() {
+		insert(true, true, true, true);
+		IdempotencyKeyPurger purger = new IdempotencyKeyPurger(jpaRepository, failingFirstCommit(transactionManager),
+				new SimpleMeterRegistry(), 2, 5000, 300);
+
+		assertThatThrownBy(purger::purge).isInstanceOf(TransactionSystemException.class);
+		assertThat(jpaRepository.count()).isEqualTo(4);
+
+		assertThat(purger.purge()).isEqualTo(4);
+		assertThat(jpaRepository.count()).isZero();
+	}
+
+	private IdempotencyKeyPurger purger(int chunkSize, long maxRowsPerSecond, long maxRunSeconds) {
+		return new IdempotencyKeyPurger(jpaRepository, transactionManager, new SimpleMeterRegistry(),
+				chunkSize, maxRowsPerSecond, maxRunSeconds);
+	}
+
+	private void insert(boolean... expired) {
+		LocalDateTime now = LocalDateTime.now();
+		for (boolean isExpired : expired) {
+			jpaRepository.save(IdempotencyKeyEntity.builder()
+					.idempotencyKey("purge-" + UUID.randomUUID())
+					.operationType(IdempotencyKeyEntity.OperationType.DEPOSIT)
+					.status(IdempotencyKeyEntity.Status.COMPLETED)
+					.expiresAt(isExpired ? now.minusHours(1) : now.plusHours(1))
+					.build());
+		}
+	}
+
+	/**
+	 * Rolls back the first transaction it is asked to commit, as a lost connection would.
+	 */
+	private static PlatformTransactionManager failingFirstCommit(PlatformTransactionManager delegate) {
+		AtomicBoolean failed = new AtomicBoolean();
+		return new PlatformTransactionManager() {
+			@Override
+			public TransactionStatus getTransaction(TransactionDefinition definition) {
+				return delegate.getTransaction(definition);
+			}
+
+			@Override
+			public void commit(TransactionStatus status) {
+				if (failed.compareAndSet(false, true)) {
+					delegate.rollback(status);
+					throw new TransactionSystemException("Simulated commit failure");
+				}
+				delegate.commit(status);
+			}
+
+			@Override
+			public void rollback(TransactionStatus status) {
+				delegate.rollback(status);
+			}
+		};
+	}
+}
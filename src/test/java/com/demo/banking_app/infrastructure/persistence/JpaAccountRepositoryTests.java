@@ -0,0 +1,134 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.application.port.in.WithdrawUseCase;
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.application.service.WithdrawCommand;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import com.demo.banking_app.domain.exception.InactiveAccountException;
+import com.demo.banking_app.domain.exception.InsufficientFundsException;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.AccountType;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:${random.uuid}")
+@ActiveProfiles("test")
+class JpaAccountRepositoryTests {
+
+	private static final AtomicLong SEQUENCE = new AtomicLong(9_000_000);
+
+	@Autowired
+	@Qualifier("accountStore")
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private WithdrawUseCase withdrawUseCase;
+
+	@Test
+	void aConditionalCreditAddsToTheBalanceAndBumpsTheVersion() {
+		Account account = newAccount("50.00", AccountStatus.ACTIVE);
+
+		Optional<AccountBalance> balance = transactionTemplate.execute(status ->
+				accountRepository.deposit(account.getAccountNumber(), money("25.00"), LocalDateTime.now()));
+
+		assertThat(balance).get().satisfies(credited -> {
+			assertThat(credited.getBalance().getAmount()).isEqualByComparingTo("75.00");
+			assertThat(credited.getVersion().getValue()).isEqualTo(account.getVersion().getValue() + 1);
+		});
+	}
+
+	@Test
+	void aConditionalDebitThatWouldOverdrawMatchesNothing() {
+		Account account = newAccount("10.00", AccountStatus.ACTIVE);
+
+		Optional<AccountBalance> overdrawn = transactionTemplate.execute(status ->
+				accountRepository.withdraw(account.getAccountNumber(), money("10.01"), LocalDateTime.now()));
+		Optional<AccountBalance> covered = transactionTemplate.execute(status ->
+				accountRepository.withdraw(account.getAccountNumber(), money("10.00"), LocalDateTime.now()));
+
+		assertThat(overdrawn).isEmpty();
+		assertThat(covered).get()
+				.satisfies(debited -> assertThat(debited.getBalance().getAmount()).isEqualByComparingTo("0.00"));
+	}
+
+	@Test
+	void anInactiveAccountMatchesNothing() {
+		Account account = newAccount("10.00", AccountStatus.SUSPENDED);
+
+		assertThat(transactionTemplate.execute(status -> accountRepository.deposit(account.getAccountNumber(), money("1.00"), LocalDateTime.now())))
+				.isEmpty();
+		assertThat(transactionTemplate.execute(status -> accountRepository.withdraw(account.getAccountNumber(), money("1.00"), LocalDateTime.now())))
+				.isEmpty();
+	}
+
+	@Test
+	void aBalanceWriteFromAStaleVersionIsALostRace() {
+		Account loaded = newAccount("20.00", AccountStatus.ACTIVE);
+		transactionTemplate.executeWithoutResult(status -> accountRepository.deposit(loaded.getAccountNumber(), money("1.00"), LocalDateTime.now()));
+
+		Account stale = loaded.deposit(money("5.00"), LocalDateTime.now());
+
+		assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> accountRepository.updateBalances(List.of(stale))))
+				.isInstanceOf(ConcurrentModificationException.class)
+				.hasCauseInstanceOf(OptimisticLockingFailureException.class);
+		assertThat(accountRepository.findById(loaded.getId())).get()
+				.satisfies(current -> assertThat(current.getBalance().getAmount()).isEqualByComparingTo("21.00"));
+	}
+
+	@Test
+	void aRejectedWithdrawalReportsWhyTheUpdateMissed() {
+		Account active = newAccount("10.00", AccountStatus.ACTIVE);
+		Account suspended = newAccount("10.00", AccountStatus.SUSPENDED);
+
+		assertThatThrownBy(() -> withdrawUseCase.withdraw(WithdrawCommand.of(active.getAccountNumber().getValue(), "10.01",
+				"overdraft", UUID.randomUUID().toString())))
+				.isInstanceOf(InsufficientFundsException.class);
+		assertThatThrownBy(() -> withdrawUseCase.withdraw(WithdrawCommand.of(suspended.getAccountNumber().getValue(), "1.00",
+				"suspended", UUID.randomUUID().toString())))
+				.isInstanceOf(InactiveAccountException.class);
+	}
+
+	private Account newAccount(String balance, AccountStatus status) {
+		long sequence = SEQUENCE.incrementAndGet();
+		return accountRepository.save(Account.builder()
+				.accountNumber(AccountNumber.fromSequence(sequence))
+				.holderName(AccountHolderName.of("Repository Holder"))
+				.email(Email.of("repository-" + sequence + "@example.com"))
+				.balance(money(balance))
+				.type(AccountType.CHECKING)
+				.status(status)
+				.version(Version.initial())
+				.createdAt(LocalDateTime.now())
+				.updatedAt(LocalDateTime.now())
+				.build());
+	}
+
+	private static Money money(String amount) {
+		return Money.of(new BigDecimal(amount));
+	}
+}
@@ -0,0 +1,131 @@
+package com.demo.banking_app.infrastructure.persistence;
+
+import com.demo.banking_app.domain.model.IdempotencyKey;
+import com.demo.banking_app.domain.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Each test keeps to its own hours of the ring, so the shared segments never collide
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+		"banking.idempotency.store=partitioned",
+		"banking.idempotency.partitions.slots=26"
+})
+@ActiveProfiles("test")
+class PartitionedIdempotencyRepositoryTests {
+
+	private static final int SLOTS = 26;
+
+	@Autowired
+	private PartitionedIdempotencyRepository repository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void theRingMustOutlastTheKeyTtl() {
+		assertThatThrownBy(() -> new PartitionedIdempotencyRepository(jdbcTemplate, transactionManager, LocalDateTime::now, 25))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("26 segments");
+		assertThat(new PartitionedIdempotencyRepository(jdbcTemplate, transactionManager, LocalDateTime::now, 26)).isNotNull();
+	}
+
+	@Test
+	void rotationTruncatesSegmentsWhoseHourHasPassed() {
+		IdempotencyKey expired = key(LocalDateTime.now().minusHours(3));
+		IdempotencyKey live = key(LocalDateTime.now().plusHours(1));
+		repository.save(expired);
+		repository.save(live);
+		assertThat(repository.findByIdempotencyKey(expired.getIdempotencyKey())).isEmpty();
+		assertThat(rowsFor(expired.getIdempotencyKey())).isEqualTo(1);
+
+		repository.deleteExpiredKeys();
+
+		assertThat(rowsFor(expired.getIdempotencyKey())).isZero();
+		assertThat(repository.findByIdempotencyKey(live.getIdempotencyKey())).isPresent();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key_segments WHERE bucket_hour < ?",
+				Long.class, hourOf(LocalDateTime.now()))).isZero();
+	}
+
+	@Test
+	void aSegmentIsRecycledWhenTheRingComesRoundToIt() {
+		// Twenty-six hours apart, so both land in the same segment
+		IdempotencyKey old = key(LocalDateTime.now().minusHours(20));
+		IdempotencyKey next = key(LocalDateTime.now().plusHours(6));
+		repository.save(old);
+
+		repository.save(next);
+
+		assertThat(rowsFor(old.getIdempotencyKey())).isZero();
+		assertThat(repository.findByIdempotencyKey(next.getIdempotencyKey())).isPresent();
+	}
+
+	@Test
+	void aDuplicateClaimInANeighbouringHourIsRejected() {
+		String key = "dup-" + UUID.randomUUID();
+		assertThat(repository.claim(key(key, LocalDateTime.now().plusHours(2)))).isTrue();
+		assertThat(repository.claim(key(key, LocalDateTime.now().plusHours(2)))).isFalse();
+
+		assertThat(repository.claim(key(key, LocalDateTime.now().plusHours(3)))).isFalse();
+
+		assertThat(rowsFor(key)).isEqualTo(1);
+	}
+
+	@Test
+	void completedKeysAreReplayedFromTheirSegment() {
+		IdempotencyKey claimed = IdempotencyKey.create("done-" + UUID.randomUUID(), IdempotencyKey.OperationType.DEPOSIT,
+				"hash", Money.of(new BigDecimal("5.00")), LocalDateTime.now());
+		assertThat(repository.claim(claimed)).isTrue();
+
+		repository.complete(claimed.markCompleted());
+
+		assertThat(repository.findByIdempotencyKey(claimed.getIdempotencyKey()))
+				.get()
+				.extracting(IdempotencyKey::getStatus)
+				.isEqualTo(IdempotencyKey.Status.COMPLETED);
+	}
+
+	private long rowsFor(String key) {
+		long rows = 0;
+		for (int slot = 0; slot < SLOTS; slot++) {
+			rows += jdbcTemplate.queryForObject(String.format("SELECT COUNT(*) FROM idempotency_keys_p%02d WHERE idempotency_key = ?", slot),
+					Long.class, key);
+		}
+		return rows;
+	}
+
+	private static long hourOf(LocalDateTime time) {
+		return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 3600L);
+	}
+
+	private static IdempotencyKey key(LocalDateTime expiresAt) {
+		return key("key-" + UUID.randomUUID(), expiresAt);
+	}
+
+	private static IdempotencyKey key(String key, LocalDateTime expiresAt) {
+		return IdempotencyKey.builder()
+				.idempotencyKey(key)
+				.operationType(IdempotencyKey.OperationType.DEPOSIT)
+				.accountNumberHash("hash")
+				.amount(Money.of(new BigDecimal("1.00")))
+				.status(IdempotencyKey.Status.PENDING)
+				.createdAt(LocalDateTime.now())
+				.expiresAt(expiresAt)
+				.build();
+	}
+}
@@ -0,0 +1,67 @@
+package com.demo.banking_app.infrastructure.queue;
+
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.TransactionSubmission;
+import com.demo.banking_app.infrastructure.queue.JdbcTransactionQueue.ClaimedBatch;
+import com.demo.banking_app.infrastructure.queue.JdbcTransactionQueue.SubmissionResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The scheduled worker polls once at startup and then stays out of the way
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:${random.uuid}",
+		"banking.submissions.worker.poll-interval-ms=3600000",
+		"banking.submissions.maintenance-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class JdbcTransactionQueueTests {
+
+	@Autowired
+	private JdbcTransactionQueue queue;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void anOutcomeIsOnlyRecordedUnderTheClaimItWasProcessedWith() {
+		LocalDateTime now = LocalDateTime.now();
+		TransactionSubmission submission = queue.enqueue(TransactionSubmission.create(TransactionSubmission.Operation.DEPOSIT,
+				AccountNumber.fromSequence(1), Money.of(new BigDecimal("5.00")), "queued", UUID.randomUUID().toString(),
+				now.minusSeconds(1)));
+
+		ClaimedBatch stalled = queue.claim(10, now);
+		// The first worker outlives the processing timeout, so its claim is released and taken again
+		assertThat(queue.releaseStale(now.plusSeconds(1))).isEqualTo(1);
+		ClaimedBatch current = queue.claim(10, now.plusSeconds(1));
+		assertThat(current.submissions()).extracting(TransactionSubmission::getSubmissionId)
+				.containsExactly(submission.getSubmissionId());
+
+		assertThat(queue.finish(List.of(completed(submission, stalled.claimToken())))).isEqualTo(1);
+		assertThat(status(submission)).isEqualTo("PROCESSING");
+
+		assertThat(queue.finish(List.of(completed(submission, current.claimToken())))).isZero();
+		assertThat(status(submission)).isEqualTo("COMPLETED");
+	}
+
+	private static SubmissionResult completed(TransactionSubmission submission, String claimToken) {
+		LocalDateTime now = LocalDateTime.now();
+		return new SubmissionResult(submission.getSubmissionId(), claimToken, TransactionSubmission.Status.COMPLETED,
+				1, new BigDecimal("5.00"), null, null, now, now);
+	}
+
+	private String status(TransactionSubmission submission) {
+		return jdbcTemplate.queryForObject("SELECT status FROM transaction_submissions WHERE submission_id = ?",
+				String.class, submission.getSubmissionId());
+	}
+}
@@ -0,0 +1,140 @@
+package com.demo.banking_app.infrastructure.retry;
+
+import com.demo.banking_app.application.service.RetryOnConflict;
+import com.demo.banking_app.domain.exception.ConcurrentModificationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictRetryAspectTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void clearInterrupt() {
+		Thread.interrupted();
+	}
+
+	@Test
+	void aConflictIsRetriedUntilTheUseCaseSucceeds() {
+		Conflicting target = new Conflicting(2);
+
+		assertThat(proxy(target, policy(3, 1, 10)).update()).isEqualTo("done");
+
+		assertThat(target.calls).hasValue(3);
+		assertThat(count("banking.retry.attempts")).isEqualTo(3);
+		assertThat(count("banking.retry.conflicts")).isEqualTo(2);
+		assertThat(count("banking.retry.recovered")).isEqualTo(1);
+		assertThat(count("banking.retry.exhausted")).isZero();
+	}
+
+	@Test
+	void theLastConflictIsRethrownOnceAttemptsRunOut() {
+		Conflicting target = new Conflicting(Integer.MAX_VALUE);
+
+		assertThatThrownBy(() -> proxy(target, policy(3, 1, 10)).update())
+				.isInstanceOf(ConcurrentModificationException.class)
+				.hasCauseInstanceOf(OptimisticLockingFailureException.class);
+
+		assertThat(target.calls).hasValue(3);
+		assertThat(count("banking.retry.exhausted")).isEqualTo(1);
+	}
+
+	@Test
+	void otherFailuresAreNotRetried() {
+		// A lock queue rejection carries no locking failure as its cause
+		Conflicting target = new Conflicting(Integer.MAX_VALUE,
+				() -> new ConcurrentModificationException("Too many concurrent operations on this account. Please retry."));
+
+		assertThatThrownBy(() -> proxy(target, policy(3, 1, 10)).update())
+				.isInstanceOf(ConcurrentModificationException.class);
+
+		assertThat(target.calls).hasValue(1);
+	}
+
+	@Test
+	void backoffGrowsExponentiallyUpToTheCap() {
+		ConflictRetryPolicy policy = policy(5, 20, 100);
+
+		assertThat(policy.backoffMillis(1)).isEqualTo(20);
+		assertThat(policy.backoffMillis(2)).isEqualTo(40);
+		assertThat(policy.backoffMillis(3)).isEqualTo(80);
+		assertThat(policy.backoffMillis(4)).isEqualTo(100);
+	}
+
+	@Test
+	void retriesWaitOutTheBackoff() {
+		Conflicting target = new Conflicting(2);
+		long started = System.nanoTime();
+
+		proxy(target, policy(3, 50, 500)).update();
+
+		// 50 ms before the second attempt and 100 ms before the third
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isGreaterThanOrEqualTo(150);
+	}
+
+	@Test
+	void anInterruptDuringBackoffRethrowsTheConflictAndKeepsTheFlag() {
+		Conflicting target = new Conflicting(Integer.MAX_VALUE);
+		Thread.currentThread().interrupt();
+
+		assertThatThrownBy(() -> proxy(target, policy(3, 50, 500)).update())
+				.isInstanceOf(ConcurrentModificationException.class)
+				.hasCauseInstanceOf(OptimisticLockingFailureException.class);
+
+		assertThat(target.calls).hasValue(1);
+		assertThat(Thread.currentThread().isInterrupted()).isTrue();
+	}
+
+	private Conflicting proxy(Conflicting target, ConflictRetryPolicy policy) {
+		AspectJProxyFactory factory = new AspectJProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAspect(new ConflictRetryAspect(policy, meterRegistry));
+		return factory.getProxy();
+	}
+
+	private static ConflictRetryPolicy policy(int maxAttempts, long initialBackoffMs, long maxBackoffMs) {
+		return new ConflictRetryPolicy(maxAttempts, initialBackoffMs, maxBackoffMs, 2.0, 0.0);
+	}
+
+	private double count(String name) {
+		return meterRegistry.get(name).tag("operation", "Conflicting.update").counter().count();
+	}
+
+	/**
+	 * Fails the given number of times before succeeding, by default with a lost version race.
+	 */
+	static class Conflicting {
+
+		final AtomicInteger calls = new AtomicInteger();
+		private final int failures;
+		private final Supplier<RuntimeException> failure;
+
+		Conflicting(int failures) {
+			this(failures, () -> new ConcurrentModificationException("Account was modified by another transaction. Please retry.",
+					new OptimisticLockingFailureException("stale version")));
+		}
+
+		Conflicting(int failures, Supplier<RuntimeException> failure) {
+			this.failures = failures;
+			this.failure = failure;
+		}
+
+		@RetryOnConflict
+		public String update() {
+			if (calls.incrementAndGet() <= failures) {
+				throw failure.get();
+			}
+			return "done";
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package com.demo.banking_app.infrastructure.search;
+
+import com.demo.banking_app.application.port.out.AccountRepository;
+import com.demo.banking_app.domain.model.Account;
+import com.demo.banking_app.domain.model.AccountBalance;
+import com.demo.banking_app.domain.model.AccountHolderName;
+import com.demo.banking_app.domain.model.AccountId;
+import com.demo.banking_app.domain.model.AccountNumber;
+import com.demo.banking_app.domain.model.AccountStatus;
+import com.demo.banking_app.domain.model.AccountType;
+import com.demo.banking_app.domain.model.Email;
+import com.demo.banking_app.domain.model.Money;
+import com.demo.banking_app.domain.model.Version;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramAccountSearchIndexTests {
+
+	private final AccountTable accounts = new AccountTable();
+	private final TrigramAccountSearchIndex index = new TrigramAccountSearchIndex(accounts, new SimpleMeterRegistry(), 10);
+
+	@Test
+	void matchesAreRankedExactThenPrefixThenWordPrefixThenSubstring() {
+		index.put(1, "Mary Annette Jones");
+		index.put(2, "Ann");
+		index.put(3, "Joanna Smith");
+		index.put(4, "Annabel Lee");
+		index.put(5, "Bob Stone");
+
+		assertThat(index.search("ann", 0, 10)).extracting(AccountId::getValue)
+				.containsExactly(2L, 4L, 1L, 3L);
+		assertThat(index.search("ann", 1, 2)).extracting(AccountId::getValue)
+				.containsExactly(4L, 1L);
+	}
+
+	@Test
+	void diacriticsAndCaseAreIgnored() {
+		index.put(1, "José Núñez");
+
+		assertThat(index.search("jose nunez", 0, 10)).extracting(AccountId::getValue).containsExactly(1L);
+		assertThat(index.search("NÚÑ", 0, 10)).extracting(AccountId::getValue).containsExactly(1L);
+	}
+
+	@Test
+	void shortQueriesOnlyMatchTheStartOfAWord() {
+		index.put(1, "Li Wei");
+		index.put(2, "Olivia Brown");
+
+		assertThat(index.search("li", 0, 10)).extracting(AccountId::getValue).containsExactly(1L);
+		assertThat(index.search("w", 0, 10)).extracting(AccountId::getValue).containsExactly(1L);
+		assertThat(index.search("  ", 0, 10)).isEmpty();
+	}
+
+	@Test
+	void renamedAndRemovedAccountsDropOutOfTheIndex() {
+		index.put(1, "Carla Diaz");
+		index.put(1, "Carla Moreno");
+		index.put(2, "Diane Fox");
+		index.delete(2);
+
+		assertThat(index.search("diaz", 0, 10)).isEmpty();
+		assertThat(index.search("moreno", 0, 10)).extracting(AccountId::getValue).containsExactly(1L);
+		assertThat(index.search("diane", 0, 10)).isEmpty();
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void localWritesDoNotHideLowerIdsFromTheNextRefresh() {
+		accounts.add(1, "Alice Walker");
+		assertThat(index.refresh()).isEqualTo(1);
+
+		// This node indexes a new high id while another node's lower id is still uncommitted
+		accounts.add(500, "Zoe Local");
+		index.index(AccountId.of(500L), AccountHolderName.of("Zoe Local"));
+		accounts.add(200, "Remote Holder");
+
+		index.refresh();
+
+		assertThat(index.search("remote", 0, 10)).extracting(AccountId::getValue).containsExactly(200L);
+		assertThat(index.size()).isEqualTo(3);
+	}
+
+	@Test
+	void idsCommittedBelowTheWatermarkAreFoundWithinTheRescanWindow() {
+		accounts.add(10, "Early Bird");
+		accounts.add(12, "Quick Commit");
+		index.refresh();
+
+		// Id 11 was taken before 12 but committed after the scan passed it
+		accounts.add(11, "Late Commit");
+		index.refresh();
+
+		assertThat(index.search("late", 0, 10)).extracting(AccountId::getValue).containsExactly(11L);
+	}
+
+	@Test
+	void refreshRescansOnlyTheTrailingWindow() {
+		for (long id = 1; id <= 50; id++) {
+			accounts.add(id, "Holder " + id);
+		}
+		assertThat(index.refresh()).isEqualTo(50);
+
+		accounts.add(51, "Holder 51");
+
+		assertThat(index.refresh()).isEqualTo(11);
+		assertThat(index.size()).isEqualTo(51);
+	}
+
+	/**
+	 * Holds accounts by id and serves the keyset scan the index refreshes from.
+	 */
+	private static class AccountTable implements AccountRepository {
+
+		private final TreeMap<Long, Account> rows = new TreeMap<>();
+
+		void add(long id, String holderName) {
+			rows.put(id, Account.builder()
+					.id(AccountId.of(id))
+					.accountNumber(AccountNumber.fromSequence(id))
+					.holderName(AccountHolderName.of(holderName))
+					.email(Email.of("holder" + id + "@example.com"))
+					.balance(Money.zero())
+					.type(AccountType.CHECKING)
+					.status(AccountStatus.ACTIVE)
+					.version(Version.initial())
+					.createdAt(LocalDateTime.now())
+					.updatedAt(LocalDateTime.now())
+					.build());
+		}
+
+		@Override
+		public void forEachAfter(long afterId, Consumer<Account> consumer) {
+			rows.tailMap(afterId, false).values().forEach(consumer);
+		}
+
+		@Override
+		public List<Account> findPage(long afterId, int limit) {
+			return rows.tailMap(afterId, false).values().stream().limit(limit).toList();
+		}
+
+		@Override
+		public Account save(Account account) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<Account> findById(AccountId id) {
+			return Optional.ofNullable(rows.get(id.getValue()));
+		}
+
+		@Override
+		public Optional<Account> findByAccountNumber(AccountNumber accountNumber) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<Account> findByEmail(Email email) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Account> findAllById(List<AccountId> ids) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Account> findAllByAccountNumbers(Collection<AccountNumber> accountNumbers) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean existsByEmail(Email email) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean existsByAccountNumber(AccountNumber accountNumber) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<AccountBalance> deposit(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Optional<AccountBalance> withdraw(AccountNumber accountNumber, Money amount, LocalDateTime at) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void updateBalances(List<Account> accounts) {
+			throw new UnsupportedOperationException();
+		}
+	}
+}